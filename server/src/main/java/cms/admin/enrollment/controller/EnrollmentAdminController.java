@@ -4,6 +4,7 @@ import cms.admin.enrollment.dto.CancelRequestAdminDto;
 import cms.admin.enrollment.dto.EnrollAdminResponseDto;
 import cms.admin.enrollment.service.EnrollmentAdminService;
 import cms.common.dto.ApiResponseSchema;
+import cms.common.dto.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -64,6 +65,22 @@ public class EnrollmentAdminController {
         return ResponseEntity.ok(ApiResponseSchema.success(enrollments, "신청 내역 조회 성공"));
     }
 
+    @Operation(summary = "신청 내역 커서 조회", description = "최신순(등록일시, ID) 키셋 페이징으로 신청 내역을 조회합니다. 다음 페이지는 응답의 nextCursor 를 cursor 로 전달합니다.")
+    @GetMapping("/seek")
+    public ResponseEntity<ApiResponseSchema<CursorPage<EnrollAdminResponseDto>>> getAllEnrollmentsBySeek(
+            @Parameter(description = "조회 연도 (YYYY)") @RequestParam(required = false) Integer year,
+            @Parameter(description = "조회 월 (1-12)") @RequestParam(required = false) Integer month,
+            @Parameter(description = "강습 ID") @RequestParam(required = false) Long lessonId,
+            @Parameter(description = "사용자 UUID") @RequestParam(required = false) String userId,
+            @Parameter(description = "결제 상태 (UNPAID, PAID, REFUNDED 등)") @RequestParam(required = false) String payStatus,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "첫 페이지에 전체 건수 포함 여부") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<EnrollAdminResponseDto> enrollments = enrollmentAdminService.getAllEnrollmentsBySeek(year, month,
+                lessonId, userId, payStatus, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponseSchema.success(enrollments, "신청 내역 조회 성공"));
+    }
+
     @Operation(summary = "특정 신청 상세 조회", description = "신청 ID로 특정 신청의 상세 정보를 조회합니다.")
     @GetMapping("/{enrollId}")
     public ResponseEntity<ApiResponseSchema<EnrollAdminResponseDto>> getEnrollmentById(
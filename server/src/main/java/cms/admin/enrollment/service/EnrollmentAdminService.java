@@ -12,11 +12,18 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import cms.enroll.domain.Enroll;
+import cms.common.dto.CursorPage;
 
 public interface EnrollmentAdminService {
         Page<EnrollAdminResponseDto> getAllEnrollments(Integer year, Integer month, Long lessonId, String userId,
                         String payStatus, Pageable pageable);
 
+        /**
+         * 최신순 키셋 페이징 (cursor 는 이전 응답의 nextCursor, 첫 페이지는 null)
+         */
+        CursorPage<EnrollAdminResponseDto> getAllEnrollmentsBySeek(Integer year, Integer month, Long lessonId,
+                        String userId, String payStatus, String cursor, int size, boolean includeTotal);
+
         EnrollAdminResponseDto getEnrollmentById(Long enrollId);
 
         Page<CancelRequestAdminDto> getCancelRequests(Long lessonId, List<Enroll.CancelStatusType> cancelStatuses,
@@ -15,6 +15,8 @@ import cms.payment.repository.PaymentRepository;
 import cms.common.exception.ResourceNotFoundException;
 import cms.common.exception.ErrorCode;
 import cms.common.exception.BusinessRuleException;
+import cms.common.dto.CursorPage;
+import cms.common.util.SeekCursor;
 import cms.locker.service.LockerService;
 import cms.enroll.domain.Enroll.DiscountStatusType;
 import cms.user.domain.User;
@@ -32,7 +34,11 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.List;
 
@@ -50,6 +56,9 @@ public class EnrollmentAdminServiceImpl implements EnrollmentAdminService {
     private final LockerService lockerService;
     private final UserRepository userRepository;
     private final LessonRepository lessonRepository;
+    private final EntityManager entityManager;
+
+    private static final int MAX_SEEK_PAGE_SIZE = 100;
 
     @Value("${app.default-locker-fee:5000}")
     private int defaultLockerFee;
@@ -63,8 +72,10 @@ public class EnrollmentAdminServiceImpl implements EnrollmentAdminService {
             return null;
 
         List<Payment> payments = paymentRepository.findByEnroll_EnrollIdOrderByCreatedAtDesc(enroll.getEnrollId());
-        Payment latestPayment = payments.isEmpty() ? null : payments.get(0);
+        return convertToEnrollAdminResponseDto(enroll, payments.isEmpty() ? null : payments.get(0));
+    }
 
+    private EnrollAdminResponseDto convertToEnrollAdminResponseDto(Enroll enroll, Payment latestPayment) {
         EnrollAdminResponseDto.PaymentInfoForEnrollAdmin paymentInfo = null;
         if (latestPayment != null) {
             boolean isFullRefund = latestPayment.getPaidAmt() != null &&
@@ -198,7 +209,74 @@ public class EnrollmentAdminServiceImpl implements EnrollmentAdminService {
         Specification<Enroll> spec = EnrollSpecification.filterByAdminCriteria(lessonId, userId, payStatus, null, year,
                 month, false);
         Page<Enroll> enrollPage = enrollRepository.findAll(spec, pageable);
-        return enrollPage.map(this::convertToEnrollAdminResponseDto);
+        Map<Long, Payment> latestPayments = findLatestPayments(enrollPage.getContent());
+        return enrollPage.map(enroll -> convertToEnrollAdminResponseDto(enroll, latestPayments.get(enroll.getEnrollId())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EnrollAdminResponseDto> getAllEnrollmentsBySeek(Integer year, Integer month, Long lessonId,
+            String userId, String payStatus, String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > MAX_SEEK_PAGE_SIZE) {
+            throw new BusinessRuleException(ErrorCode.INVALID_INPUT_VALUE,
+                    "size 는 1 이상 " + MAX_SEEK_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        SeekCursor after = SeekCursor.decode(cursor);
+        Specification<Enroll> spec = EnrollSpecification.filterByAdminCriteria(lessonId, userId, payStatus, null, year,
+                month, false);
+
+        // 1) 키셋 조건으로 id 만 size + 1 건 조회  2) 해당 id 의 신청을 강습 / 사용자와 함께 한 번에 로딩
+        List<Long> ids = SeekCursor.findIds(entityManager, Enroll.class, spec, "enrollId", after, size + 1);
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+        Map<Long, Enroll> loaded = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Enroll enroll : enrollRepository.findAllWithLessonAndUserByEnrollIdIn(ids)) {
+                loaded.put(enroll.getEnrollId(), enroll);
+            }
+        }
+        List<Enroll> enrolls = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Enroll enroll = loaded.get(id);
+            if (enroll != null) {
+                enrolls.add(enroll);
+            }
+        }
+
+        Map<Long, Payment> latestPayments = findLatestPayments(enrolls);
+        List<EnrollAdminResponseDto> content = new ArrayList<>(enrolls.size());
+        for (Enroll enroll : enrolls) {
+            content.add(convertToEnrollAdminResponseDto(enroll, latestPayments.get(enroll.getEnrollId())));
+        }
+
+        String nextCursor = null;
+        if (hasNext && !enrolls.isEmpty()) {
+            Enroll last = enrolls.get(enrolls.size() - 1);
+            nextCursor = new SeekCursor(last.getCreatedAt(), last.getEnrollId()).encode();
+        }
+        // 전체 건수는 첫 페이지에서만 계산 (이후 페이지는 화면이 첫 응답 값을 유지)
+        Long total = includeTotal && after == null ? enrollRepository.count(spec) : null;
+        return new CursorPage<>(content, size, nextCursor, hasNext, total);
+    }
+
+    /**
+     * 신청별 최근 결제를 한 번의 조회로 가져옵니다 (목록 행마다 결제를 조회하지 않도록).
+     */
+    private Map<Long, Payment> findLatestPayments(List<Enroll> enrolls) {
+        Map<Long, Payment> latest = new HashMap<>();
+        if (enrolls.isEmpty()) {
+            return latest;
+        }
+        List<Long> enrollIds = new ArrayList<>(enrolls.size());
+        for (Enroll enroll : enrolls) {
+            enrollIds.add(enroll.getEnrollId());
+        }
+        for (Payment payment : paymentRepository.findByEnroll_EnrollIdInOrderByCreatedAtDesc(enrollIds)) {
+            latest.putIfAbsent(payment.getEnroll().getEnrollId(), payment);
+        }
+        return latest;
     }
 
     @Override
@@ -6,6 +6,8 @@ import cms.admin.lesson.dto.AdminLessonUpdateRequestDto;
 import cms.common.dto.ApiResponseSchema;
 import cms.admin.lesson.service.LessonAdminService;
 import cms.admin.lesson.dto.CloneLessonRequestDto;
+import cms.admin.lesson.dto.LessonBulkCloneRequestDto;
+import cms.swimming.clone.LessonClonePlan;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -108,4 +110,26 @@ public class LessonAdminController {
                 createdIp);
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponseSchema.success(clonedLesson, "강습 복제 성공"));
     }
+
+    @Operation(summary = "월별 강습 일괄 복제 미리보기 (관리자용)", description = "원본 월의 강습을 대상 월(들)로 복제할 때 만들어질 강습과 이미 있는 강습을 조회합니다.")
+    @GetMapping("/clone-preview")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SYSTEM_ADMIN')")
+    public ResponseEntity<ApiResponseSchema<LessonClonePlan>> previewMonthlyClone(
+            @Parameter(description = "원본 월 (YYYY-MM)") @RequestParam String sourceMonth,
+            @Parameter(description = "대상 시작 월 (YYYY-MM)") @RequestParam String targetStartMonth,
+            @Parameter(description = "대상 종료 월 (YYYY-MM), 생략 시 시작 월") @RequestParam(required = false) String targetEndMonth) {
+        LessonClonePlan plan = lessonAdminService.previewMonthlyClone(sourceMonth, targetStartMonth, targetEndMonth);
+        return ResponseEntity.ok(ApiResponseSchema.success(plan, "강습 일괄 복제 미리보기 성공"));
+    }
+
+    @Operation(summary = "월별 강습 일괄 복제 (관리자용)", description = "원본 월의 강습을 대상 월(들)로 일괄 복제합니다. 같은 월 / 강습명 / 수업 시간의 강습이 이미 있으면 건너뜁니다.")
+    @PostMapping("/bulk-clone")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SYSTEM_ADMIN')")
+    public ResponseEntity<ApiResponseSchema<LessonClonePlan>> bulkCloneMonths(
+            @Valid @RequestBody LessonBulkCloneRequestDto bulkCloneRequest) {
+        String createdBy = getCurrentUsername();
+        String createdIp = IpUtil.getClientIp();
+        LessonClonePlan result = lessonAdminService.bulkCloneMonths(bulkCloneRequest, createdBy, createdIp);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponseSchema.success(result, "강습 일괄 복제 성공"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package cms.admin.lesson.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.NotBlank;
+
+@Getter
+@Setter
+public class LessonBulkCloneRequestDto {
+    @NotBlank
+    private String sourceMonth; // yyyy-MM 형식
+
+    @NotBlank
+    private String targetStartMonth; // yyyy-MM 형식
+
+    private String targetEndMonth; // yyyy-MM 형식, 비우면 targetStartMonth 한 달만 복제
+}
@@ -5,6 +5,8 @@ import cms.admin.lesson.dto.AdminLessonCreateRequestDto;
 import cms.admin.lesson.dto.AdminLessonResponseDto;
 import cms.admin.lesson.dto.AdminLessonUpdateRequestDto;
 import cms.admin.lesson.dto.CloneLessonRequestDto;
+import cms.admin.lesson.dto.LessonBulkCloneRequestDto;
+import cms.swimming.clone.LessonClonePlan;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -19,6 +21,8 @@ public interface LessonAdminService {
     AdminLessonResponseDto updateLessonAdmin(Long lessonId, AdminLessonUpdateRequestDto updateRequestDto, String updatedBy, String updatedIp);
     void deleteLessonAdmin(Long lessonId);
     AdminLessonResponseDto cloneLessonAdmin(Long lessonId, CloneLessonRequestDto cloneLessonRequestDto, String createdBy, String createdIp);
+    LessonClonePlan previewMonthlyClone(String sourceMonth, String targetStartMonth, String targetEndMonth);
+    LessonClonePlan bulkCloneMonths(LessonBulkCloneRequestDto bulkCloneRequestDto, String createdBy, String createdIp);
 
     // These seem redundant if getAllLessonsAdmin and getLessonByIdAdmin are comprehensive
     // Page<LessonDto> getLessonsByStatusAdmin(String status, Pageable pageable); 
@@ -1,5 +1,7 @@
 package cms.admin.lesson.service.impl;
 
+import cms.swimming.clone.LessonCloneEngine;
+import cms.swimming.clone.LessonClonePlan;
 import cms.swimming.domain.Lesson;
 import cms.swimming.repository.LessonRepository;
 import cms.swimming.repository.specification.LessonSpecification;
@@ -7,6 +9,7 @@ import cms.admin.lesson.dto.AdminLessonCreateRequestDto;
 import cms.admin.lesson.dto.AdminLessonResponseDto;
 import cms.admin.lesson.dto.AdminLessonUpdateRequestDto;
 import cms.admin.lesson.dto.CloneLessonRequestDto;
+import cms.admin.lesson.dto.LessonBulkCloneRequestDto;
 import cms.admin.lesson.service.LessonAdminService;
 import cms.common.exception.ResourceNotFoundException;
 import cms.common.exception.ErrorCode;
@@ -41,6 +44,7 @@ public class LessonAdminServiceImpl implements LessonAdminService {
     private static final Logger logger = LoggerFactory.getLogger(LessonAdminServiceImpl.class);
     private final LessonRepository lessonRepository;
     private final EnrollRepository enrollRepository;
+    private final LessonCloneEngine lessonCloneEngine;
 
     // Helper method to convert Lesson entity to AdminLessonResponseDto
     private AdminLessonResponseDto convertToAdminLessonResponseDto(Lesson lesson) {
@@ -239,9 +243,38 @@ public class LessonAdminServiceImpl implements LessonAdminService {
                 .createdIp(createdIp)
                 .build();
 
-        Lesson savedClonedLesson = lessonRepository.save(clonedLesson);
+        // 자연키(시작일, 강습명, 수업 시간) 삽입이라 요청을 재시도해도 강습이 하나만 생김
+        Lesson savedClonedLesson = lessonCloneEngine.cloneLesson(clonedLesson);
         return convertToAdminLessonResponseDto(savedClonedLesson);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LessonClonePlan previewMonthlyClone(String sourceMonth, String targetStartMonth, String targetEndMonth) {
+        YearMonth targetStart = parseMonth(targetStartMonth, "targetStartMonth");
+        YearMonth targetEnd = targetEndMonth == null || targetEndMonth.isEmpty() ? targetStart : parseMonth(targetEndMonth, "targetEndMonth");
+        return lessonCloneEngine.preview(parseMonth(sourceMonth, "sourceMonth"), targetStart, targetEnd);
+    }
+
+    @Override
+    public LessonClonePlan bulkCloneMonths(LessonBulkCloneRequestDto bulkCloneRequestDto, String createdBy, String createdIp) {
+        YearMonth sourceMonth = parseMonth(bulkCloneRequestDto.getSourceMonth(), "sourceMonth");
+        YearMonth targetStart = parseMonth(bulkCloneRequestDto.getTargetStartMonth(), "targetStartMonth");
+        String targetEndMonth = bulkCloneRequestDto.getTargetEndMonth();
+        YearMonth targetEnd = targetEndMonth == null || targetEndMonth.isEmpty() ? targetStart : parseMonth(targetEndMonth, "targetEndMonth");
+        return lessonCloneEngine.cloneMonths(sourceMonth, targetStart, targetEnd, createdBy, createdIp);
+    }
+
+    private YearMonth parseMonth(String value, String fieldName) {
+        if (value == null) {
+            throw new InvalidInputException("Missing " + fieldName + ". Expected YYYY-MM.", ErrorCode.INVALID_INPUT_VALUE);
+        }
+        try {
+            return YearMonth.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidInputException("Invalid " + fieldName + " format. Expected YYYY-MM.", ErrorCode.INVALID_INPUT_VALUE, e);
+        }
+    }
     
     // The old methods like getAllLessons, getLessonById, createLesson, updateLesson that used LessonDto
     // and the helper convertToDto, convertToEntity have been removed as they are replaced by Admin specific DTOs/methods.
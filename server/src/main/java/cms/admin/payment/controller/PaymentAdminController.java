@@ -3,6 +3,7 @@ package cms.admin.payment.controller;
 import cms.admin.payment.dto.PaymentAdminDto;
 import cms.admin.payment.service.PaymentAdminService;
 import cms.common.dto.ApiResponseSchema;
+import cms.common.dto.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -48,6 +49,24 @@ public class PaymentAdminController {
         return ResponseEntity.ok(ApiResponseSchema.success(payments, "결제 내역 조회 성공"));
     }
 
+    @Operation(summary = "결제/환불 내역 커서 조회", description = "최신순(생성일시, ID) 키셋 페이징으로 결제 및 환불 내역을 조회합니다. 다음 페이지는 응답의 nextCursor 를 cursor 로 전달합니다.")
+    @GetMapping("/seek")
+    public ResponseEntity<ApiResponseSchema<CursorPage<PaymentAdminDto>>> getAllPaymentsBySeek(
+            @Parameter(description = "강습 ID") @RequestParam(required = false) Long lessonId,
+            @Parameter(description = "신청 ID") @RequestParam(required = false) Long enrollId,
+            @Parameter(description = "사용자 UUID") @RequestParam(required = false) String userId,
+            @Parameter(description = "KISPG 거래 ID (TID)") @RequestParam(required = false) String tid,
+            @Parameter(description = "조회 시작일 (YYYY-MM-DD)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "조회 종료일 (YYYY-MM-DD)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "결제 상태 (PAID, FAILED, CANCELED, PARTIAL_REFUNDED, REFUND_REQUESTED)") @RequestParam(required = false) PaymentStatus status,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "첫 페이지에 전체 건수 포함 여부") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<PaymentAdminDto> payments = paymentAdminService.getAllPaymentsBySeek(lessonId, enrollId, userId, tid,
+                startDate, endDate, status, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponseSchema.success(payments, "결제 내역 조회 성공"));
+    }
+
     @Operation(summary = "특정 결제 상세 조회", description = "결제 ID로 특정 결제의 상세 정보를 조회합니다.")
     @GetMapping("/{paymentId}")
     public ResponseEntity<ApiResponseSchema<PaymentAdminDto>> getPaymentById(
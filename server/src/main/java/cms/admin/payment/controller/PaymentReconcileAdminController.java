@@ -0,0 +1,93 @@
+package cms.admin.payment.controller;
+
+import cms.admin.payment.dto.PaymentReconcileMismatchDto;
+import cms.admin.payment.dto.PaymentReconcileRunDto;
+import cms.common.dto.ApiResponseSchema;
+import cms.payment.reconcile.PaymentReconciliationEngine;
+import cms.payment.repository.PaymentReconcileMismatchRepository;
+import cms.payment.repository.PaymentReconcileRunRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@Tag(name = "CMS - Payment Reconciliation", description = "결제 대사 (DB 결제 내역과 KISPG 거래조회 비교) API (관리자용)")
+@RestController
+@RequestMapping("/cms/payments/reconcile")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'SYSTEM_ADMIN')")
+public class PaymentReconcileAdminController {
+
+    private final PaymentReconciliationEngine reconciliationEngine;
+    private final PaymentReconcileRunRepository runRepository;
+    private final PaymentReconcileMismatchRepository mismatchRepository;
+
+    @Operation(summary = "결제 대사 시작", description = "기간(결제 생성일 기준) 안의 결제를 KISPG 거래조회와 비교하는 대사를 백그라운드로 시작합니다.")
+    @PostMapping
+    public ResponseEntity<ApiResponseSchema<PaymentReconcileRunDto>> startRun(
+            @Parameter(description = "시작일 (YYYY-MM-DD)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "종료일 (YYYY-MM-DD, 포함)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        PaymentReconcileRunDto run = PaymentReconcileRunDto.from(reconciliationEngine.startRun(startDate, endDate,
+                userDetails != null ? userDetails.getUsername() : null));
+        return ResponseEntity.ok(ApiResponseSchema.success(run, "결제 대사를 시작했습니다."));
+    }
+
+    @Operation(summary = "결제 대사 목록 조회", description = "최근 실행 순으로 결제 대사 실행 내역을 조회합니다.")
+    @GetMapping
+    public ResponseEntity<ApiResponseSchema<Page<PaymentReconcileRunDto>>> getRuns(
+            @PageableDefault(size = 10) Pageable pageable) {
+        Page<PaymentReconcileRunDto> runs = runRepository.findAllByOrderByRunIdDesc(pageable)
+                .map(PaymentReconcileRunDto::from);
+        return ResponseEntity.ok(ApiResponseSchema.success(runs, "결제 대사 목록 조회 성공"));
+    }
+
+    @Operation(summary = "결제 대사 진행 상황 조회")
+    @GetMapping("/{runId}")
+    public ResponseEntity<ApiResponseSchema<PaymentReconcileRunDto>> getRun(
+            @Parameter(description = "대사 실행 ID") @PathVariable Long runId) {
+        PaymentReconcileRunDto run = PaymentReconcileRunDto.from(reconciliationEngine.getRun(runId));
+        return ResponseEntity.ok(ApiResponseSchema.success(run, "결제 대사 조회 성공"));
+    }
+
+    @Operation(summary = "결제 대사 재개", description = "멈춘(PAUSED, STOPPED, FAILED) 대사를 마지막 재개 지점부터 이어서 실행합니다.")
+    @PostMapping("/{runId}/resume")
+    public ResponseEntity<ApiResponseSchema<PaymentReconcileRunDto>> resumeRun(
+            @Parameter(description = "대사 실행 ID") @PathVariable Long runId) {
+        PaymentReconcileRunDto run = PaymentReconcileRunDto.from(reconciliationEngine.resumeRun(runId));
+        return ResponseEntity.ok(ApiResponseSchema.success(run, "결제 대사를 재개했습니다."));
+    }
+
+    @Operation(summary = "결제 대사 중지", description = "진행 중인 배치가 끝나면 대사를 멈춥니다. 이후 재개할 수 있습니다.")
+    @PostMapping("/{runId}/stop")
+    public ResponseEntity<ApiResponseSchema<PaymentReconcileRunDto>> stopRun(
+            @Parameter(description = "대사 실행 ID") @PathVariable Long runId) {
+        PaymentReconcileRunDto run = PaymentReconcileRunDto.from(reconciliationEngine.stopRun(runId));
+        return ResponseEntity.ok(ApiResponseSchema.success(run, "결제 대사 중지를 요청했습니다."));
+    }
+
+    @Operation(summary = "결제 대사 불일치 내역 조회", description = "결제 ID 순으로 불일치 내역을 조회합니다.")
+    @GetMapping("/{runId}/mismatches")
+    public ResponseEntity<ApiResponseSchema<Page<PaymentReconcileMismatchDto>>> getMismatches(
+            @Parameter(description = "대사 실행 ID") @PathVariable Long runId,
+            @Parameter(description = "불일치 유형 (MISSING_AT_PG, AMOUNT, STATUS, QUERY_ERROR)") @RequestParam(required = false) String type,
+            @PageableDefault(size = 20) Pageable pageable) {
+        reconciliationEngine.getRun(runId);
+        Page<PaymentReconcileMismatchDto> mismatches = (type == null || type.isEmpty()
+                ? mismatchRepository.findByRunIdOrderByPaymentIdAsc(runId, pageable)
+                : mismatchRepository.findByRunIdAndMismatchTypeOrderByPaymentIdAsc(runId, type, pageable))
+                .map(PaymentReconcileMismatchDto::from);
+        return ResponseEntity.ok(ApiResponseSchema.success(mismatches, "결제 대사 불일치 내역 조회 성공"));
+    }
+}
@@ -0,0 +1,43 @@
+package cms.admin.payment.dto;
+
+import cms.payment.domain.PaymentReconcileMismatch;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReconcileMismatchDto {
+    private Long paymentId;
+    private String tid;
+    private String moid;
+    private String mismatchType; // MISSING_AT_PG, AMOUNT, STATUS, QUERY_ERROR
+    private String dbStatus;
+    private Integer dbAmount;
+    private String pgResultCode;
+    private Boolean pgCancelled;
+    private Integer pgAmount;
+    private String detail;
+    private LocalDateTime createdAt;
+
+    public static PaymentReconcileMismatchDto from(PaymentReconcileMismatch mismatch) {
+        return PaymentReconcileMismatchDto.builder()
+                .paymentId(mismatch.getPaymentId())
+                .tid(mismatch.getTid())
+                .moid(mismatch.getMoid())
+                .mismatchType(mismatch.getMismatchType())
+                .dbStatus(mismatch.getDbStatus())
+                .dbAmount(mismatch.getDbAmount())
+                .pgResultCode(mismatch.getPgResultCode())
+                .pgCancelled(mismatch.getPgCancelled())
+                .pgAmount(mismatch.getPgAmount())
+                .detail(mismatch.getDetail())
+                .createdAt(mismatch.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package cms.admin.payment.dto;
+
+import cms.payment.domain.PaymentReconcileRun;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReconcileRunDto {
+    private Long runId;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private String status; // RUNNING, PAUSED, STOPPED, FAILED, COMPLETED
+    private long totalCount;
+    private long scannedCount;
+    private long matchedCount;
+    private long mismatchedCount;
+    private long skippedCount;
+    private long checkpointPaymentId; // 재개 지점 (처리를 마친 마지막 결제 ID)
+    private String lastError;
+    private String createdBy;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    public static PaymentReconcileRunDto from(PaymentReconcileRun run) {
+        return PaymentReconcileRunDto.builder()
+                .runId(run.getRunId())
+                .periodStart(run.getPeriodStart())
+                .periodEnd(run.getPeriodEnd())
+                .status(run.getStatus())
+                .totalCount(run.getTotalCount())
+                .scannedCount(run.getScannedCount())
+                .matchedCount(run.getMatchedCount())
+                .mismatchedCount(run.getMismatchedCount())
+                .skippedCount(run.getSkippedCount())
+                .checkpointPaymentId(run.getCheckpointPaymentId())
+                .lastError(run.getLastError())
+                .createdBy(run.getCreatedBy())
+                .startedAt(run.getStartedAt())
+                .updatedAt(run.getUpdatedAt())
+                .finishedAt(run.getFinishedAt())
+                .build();
+    }
+}
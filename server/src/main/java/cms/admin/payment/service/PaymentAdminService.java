@@ -1,6 +1,7 @@
 package cms.admin.payment.service;
 
 import cms.admin.payment.dto.PaymentAdminDto;
+import cms.common.dto.CursorPage;
 import cms.payment.domain.PaymentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +12,13 @@ public interface PaymentAdminService {
             LocalDate startDate, LocalDate endDate, PaymentStatus status,
             Pageable pageable);
 
+    /**
+     * 최신순 키셋 페이징 (cursor 는 이전 응답의 nextCursor, 첫 페이지는 null)
+     */
+    CursorPage<PaymentAdminDto> getAllPaymentsBySeek(Long lessonId, Long enrollId, String userId, String tid,
+            LocalDate startDate, LocalDate endDate, PaymentStatus status,
+            String cursor, int size, boolean includeTotal);
+
     PaymentAdminDto getPaymentById(Long paymentId);
 
     PaymentAdminDto manualRefund(Long paymentId, int amount, String reason, String adminNote);
@@ -11,6 +11,8 @@ import cms.swimming.domain.Lesson; // Needed for enriching DTO
 import cms.common.exception.ResourceNotFoundException;
 import cms.common.exception.ErrorCode;
 import cms.common.exception.BusinessRuleException;
+import cms.common.dto.CursorPage;
+import cms.common.util.SeekCursor;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,8 +22,13 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import cms.payment.domain.PaymentStatus;
 
 @Service
@@ -32,6 +39,9 @@ public class PaymentAdminServiceImpl implements PaymentAdminService {
     private static final Logger logger = LoggerFactory.getLogger(PaymentAdminServiceImpl.class);
     private final PaymentRepository paymentRepository;
     private final EnrollRepository enrollRepository; // For DTO enrichment
+    private final EntityManager entityManager;
+
+    private static final int MAX_SEEK_PAGE_SIZE = 100;
 
     @Override
     @Transactional(readOnly = true)
@@ -45,6 +55,47 @@ public class PaymentAdminServiceImpl implements PaymentAdminService {
         return paymentPage.map(this::convertToPaymentAdminDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentAdminDto> getAllPaymentsBySeek(Long lessonId, Long enrollId, String userId, String tid,
+            LocalDate startDate, LocalDate endDate, PaymentStatus status,
+            String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > MAX_SEEK_PAGE_SIZE) {
+            throw new BusinessRuleException(ErrorCode.INVALID_INPUT_VALUE,
+                    "size 는 1 이상 " + MAX_SEEK_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        SeekCursor after = SeekCursor.decode(cursor);
+        Specification<Payment> spec = PaymentSpecification.filterByAdminCriteria(lessonId, enrollId, userId, tid,
+                startDate, endDate, status);
+
+        // 1) 키셋 조건으로 id 만 size + 1 건 조회  2) 해당 id 의 결제를 신청 / 사용자 / 강습과 함께 한 번에 로딩
+        List<Long> ids = SeekCursor.findIds(entityManager, Payment.class, spec, "id", after, size + 1);
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+        Map<Long, Payment> loaded = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Payment payment : paymentRepository.findAllWithEnrollByIdIn(ids)) {
+                loaded.put(payment.getId(), payment);
+            }
+        }
+        List<PaymentAdminDto> content = new ArrayList<>(ids.size());
+        Payment last = null;
+        for (Long id : ids) {
+            Payment payment = loaded.get(id);
+            if (payment != null) {
+                content.add(convertToPaymentAdminDto(payment));
+                last = payment;
+            }
+        }
+
+        String nextCursor = hasNext && last != null ? new SeekCursor(last.getCreatedAt(), last.getId()).encode() : null;
+        // 전체 건수는 첫 페이지에서만 계산 (이후 페이지는 화면이 첫 응답 값을 유지)
+        Long total = includeTotal && after == null ? paymentRepository.count(spec) : null;
+        return new CursorPage<>(content, size, nextCursor, hasNext, total);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PaymentAdminDto getPaymentById(Long paymentId) {
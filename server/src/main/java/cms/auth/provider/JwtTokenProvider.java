@@ -1,6 +1,7 @@
 package cms.auth.provider;
 
 import cms.auth.security.JwtAuthenticationToken;
+import cms.auth.security.VerifiedTokenCache;
 import cms.user.domain.User;
 import cms.user.domain.UserRoleType;
 import io.jsonwebtoken.*;
@@ -28,6 +29,8 @@ public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
     @Value("${jwt.secret}")
     private String secretKey;
 
@@ -81,9 +84,6 @@ public class JwtTokenProvider {
     }
 
     public Authentication getAuthentication(String token) {
-        logger.debug("=== JwtTokenProvider.getAuthentication Start ===");
-        logger.debug("Token to authenticate: {}", token);
-        
         Key key = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), SignatureAlgorithm.HS256.getJcaName());
      
         Claims claims = Jwts.parserBuilder()
@@ -92,19 +92,67 @@ public class JwtTokenProvider {
                 .parseClaimsJws(token)
                 .getBody();
 
-        logger.debug("Token claims parsed successfully");
-        logger.debug("Subject: {}", claims.getSubject());
-        logger.debug("User ID: {}", claims.get("userId"));
-        logger.debug("Gender from token: {}", claims.get("gender", String.class));
-        logger.debug("Name: {}", claims.get("name"));
-        logger.debug("Email: {}", claims.get("email"));
-        logger.debug("Phone: {}", claims.get("phone"));
-        
+        return buildAuthentication(claims, token);
+    }
+
+    /**
+     * 요청 인증용. 이미 검증된 토큰이면 캐시된 클레임을 사용하고, 처음 보는 토큰만 서명을 검증합니다.
+     *
+     * @throws JwtException 토큰이 유효하지 않거나 무효화된 경우 ({@link #validateToken(String)} 과 동일한 메시지),
+     *                      또는 사용자 무효화(비밀번호 변경 등) 이전에 발급된 경우
+     */
+    public Authentication authenticate(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            throw new JwtException("토큰이 비어있습니다.");
+        }
+        String trimmed = token.trim();
+        if (verifiedTokenCache.isRevoked(trimmed)) {
+            throw new JwtException("로그아웃된 토큰입니다.");
+        }
+        Claims claims = verifiedTokenCache.get(trimmed);
+        boolean cached = claims != null;
+        if (!cached) {
+            claims = parseAccessToken(trimmed);
+        }
+        if (verifiedTokenCache.isIssuedBeforeCutoff(claims)) {
+            throw new JwtException("무효화된 토큰입니다. 다시 로그인해 주세요.");
+        }
+        if (!cached) {
+            verifiedTokenCache.put(trimmed, claims);
+        }
+        return buildAuthentication(claims, trimmed);
+    }
+
+    /**
+     * 로그아웃 시 토큰 무효화. 토큰 만료 시각까지 인증에 사용할 수 없습니다.
+     */
+    public void revokeToken(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return;
+        }
+        String trimmed = token.trim();
+        Date expiration = null;
+        try {
+            Key key = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), SignatureAlgorithm.HS256.getJcaName());
+            expiration = Jwts.parserBuilder()
+                    .setSigningKey(key)
+                    .build()
+                    .parseClaimsJws(trimmed)
+                    .getBody()
+                    .getExpiration();
+        } catch (JwtException | IllegalArgumentException e) {
+            // 이미 만료되었거나 유효하지 않은 토큰은 무효 목록에 둘 필요가 없음
+            logger.debug("Skipping revocation of invalid token: {}", e.getMessage());
+            return;
+        }
+        verifiedTokenCache.revoke(trimmed, expiration);
+    }
+
+    private Authentication buildAuthentication(Claims claims, String token) {
         String roleStr = claims.get("role", String.class);
-        logger.info("[JwtTokenProvider] Original role string from token: '{}'", roleStr);
+        logger.debug("[JwtTokenProvider] Role string from token: '{}'", roleStr);
         
         Collection<? extends GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(roleStr));
-        logger.debug("Created authorities: {}", authorities);
 
         String processedRoleStr = null;
         if (roleStr != null && roleStr.startsWith("ROLE_")) {
@@ -112,7 +160,6 @@ public class JwtTokenProvider {
         } else {
             processedRoleStr = roleStr;
         }
-        logger.info("[JwtTokenProvider] Processed role string for Enum.valueOf(): '{}'", processedRoleStr);
         
         UserRoleType userRoleTypeEnum;
         try {
@@ -133,14 +180,8 @@ public class JwtTokenProvider {
                 .gender(claims.get("gender", String.class))
                 .phone(claims.get("phone", String.class))
                 .build();
-        logger.debug("Created UserDetails: {}, with gender: {}, name: '{}', email: '{}', phone: '{}'", 
-            principal, ((User)principal).getGender(), ((User)principal).getName(), ((User)principal).getEmail(), ((User)principal).getPhone());
 
-        JwtAuthenticationToken authentication = new JwtAuthenticationToken(principal, token, authorities, token);
-        logger.debug("Created JwtAuthenticationToken: {}", authentication);
-        logger.debug("=== JwtTokenProvider.getAuthentication End ===");
-        
-        return authentication;
+        return new JwtAuthenticationToken(principal, token, authorities, token);
     }
 
     public String resolveToken(HttpServletRequest request) {
@@ -152,34 +193,28 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
-        logger.debug("=== JwtTokenProvider.validateToken Start ===");
-        logger.debug("Token to validate: {}", token);
-        
         if (token == null || token.trim().isEmpty()) {
             logger.error("Token is null or empty");
             throw new JwtException("토큰이 비어있습니다.");
         }
+        parseAccessToken(token.trim());
+        return true;
+    }
 
+    /**
+     * 액세스 토큰 서명/만료/타입/필수 클레임 검증 후 클레임 반환
+     */
+    private Claims parseAccessToken(String token) {
         try {
             Key key = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), SignatureAlgorithm.HS256.getJcaName());
-            logger.debug("Using secret key for validation");
             
             Claims claims = Jwts.parserBuilder()
                 .setSigningKey(key)
                 .build()
-                .parseClaimsJws(token.trim())
+                .parseClaimsJws(token)
                 .getBody();
             
-            logger.debug("Token validation successful");
-            logger.debug("Subject: {}", claims.getSubject());
-            logger.debug("User ID: {}", claims.get("userId"));
-            logger.debug("Role: {}", claims.get("role"));
-            logger.debug("Name: {}", claims.get("name"));
-            logger.debug("Email: {}", claims.get("email"));
-            logger.debug("Phone: {}", claims.get("phone"));
-            logger.debug("Token type: {}", claims.get(TOKEN_TYPE_CLAIM));
-            logger.debug("Issued at: {}", claims.getIssuedAt());
-            logger.debug("Expiration: {}", claims.getExpiration());
+            logger.debug("Token validation successful. Subject: {}, expiration: {}", claims.getSubject(), claims.getExpiration());
             
             // Validate token type (case-insensitive)
             String tokenType = claims.get(TOKEN_TYPE_CLAIM, String.class);
@@ -194,11 +229,9 @@ public class JwtTokenProvider {
                 throw new JwtException("토큰에 필수 정보가 없습니다.");
             }
             
-            logger.debug("=== JwtTokenProvider.validateToken End ===");
-            return true;
+            return claims;
         } catch (ExpiredJwtException e) {
-            logger.error("JWT Token has expired: {}", e.getMessage());
-            logger.error("Expiration time: {}", e.getClaims().getExpiration());
+            logger.debug("JWT Token has expired: {}", e.getMessage());
             throw new JwtException("토큰이 만료되었습니다.");
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token format: {}", e.getMessage());
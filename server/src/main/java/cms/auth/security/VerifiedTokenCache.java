@@ -0,0 +1,278 @@
+package cms.auth.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 서명 검증을 마친 액세스 토큰의 클레임 캐시
+ *
+ * 토큰 원문 대신 SHA-256 해시를 키로 사용하며, 항목은 토큰 만료 시각까지만 유지됩니다. 같은 토큰으로 들어오는
+ * 요청은 JWS 파싱과 서명 검증 없이 캐시된 클레임으로 인증 객체를 만듭니다. 인증 객체 자체는 요청마다 새로
+ * 만들어 요청 간에 공유되지 않도록 합니다.
+ *
+ * - max-entries 를 넘으면 가장 오래 사용되지 않은 토큰부터 제거 (LRU)
+ * - 로그아웃한 토큰은 만료 시각까지 무효 목록에 보관
+ * - 비밀번호 변경 등으로 사용자를 무효화하면 캐시 항목을 제거하고, 그 시각 이전에 발급된 토큰은 서명이 유효해도
+ *   거부하도록 사용자별 기준 시각을 액세스 토큰 유효 기간 동안 보관 (노드 메모리 기준)
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private static final String USER_ID_CLAIM = "userId";
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long accessTokenValidity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, VerifiedToken> store = new LinkedHashMap<>(256, 0.75f, true);
+    // 토큰 해시 -> 토큰 만료 시각 (epoch millis)
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // 사용자 UUID -> 이 시각 이전에 발급된 토큰은 무효 (epoch millis)
+    private final ConcurrentHashMap<String, Long> userCutoffs = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder revokedRejections = new LongAdder();
+    private final LongAdder cutoffRejections = new LongAdder();
+
+    public VerifiedTokenCache(@Value("${app.security.token-cache.enabled:true}") boolean enabled,
+            @Value("${app.security.token-cache.max-entries:10000}") int maxEntries,
+            @Value("${jwt.access-token.validity-in-milliseconds:3600000}") long accessTokenValidity) {
+        this.enabled = enabled;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.accessTokenValidity = accessTokenValidity;
+    }
+
+    /**
+     * 검증된 클레임 조회. 캐시에 없거나 만료되었으면 null
+     */
+    public Claims get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            VerifiedToken entry = store.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt <= now) {
+                store.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.claims;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String token, Claims claims) {
+        if (!enabled || claims.getExpiration() == null) {
+            return;
+        }
+        VerifiedToken entry = new VerifiedToken(claims, claims.get(USER_ID_CLAIM, String.class),
+                claims.getExpiration().getTime());
+        String key = hash(token);
+        lock.lock();
+        try {
+            store.put(key, entry);
+            Iterator<VerifiedToken> it = store.values().iterator();
+            while (store.size() > maxEntries && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 로그아웃 등으로 토큰을 무효화합니다. 토큰 만료 시각까지 {@link #isRevoked(String)} 가 true 를 반환합니다.
+     */
+    public void revoke(String token, Date expiration) {
+        String key = hash(token);
+        long expiresAt = expiration != null ? expiration.getTime() : System.currentTimeMillis();
+        revokedTokens.put(key, expiresAt);
+        lock.lock();
+        try {
+            if (store.remove(key) != null) {
+                invalidations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isRevoked(String token) {
+        if (revokedTokens.isEmpty()) {
+            return false;
+        }
+        Long expiresAt = revokedTokens.get(hash(token));
+        if (expiresAt == null) {
+            return false;
+        }
+        revokedRejections.increment();
+        return true;
+    }
+
+    /**
+     * 사용자 무효화 시각 이전에 발급된 토큰인지 확인합니다. 캐시된 클레임과 새로 검증한 클레임 모두에 적용해야 합니다.
+     */
+    public boolean isIssuedBeforeCutoff(Claims claims) {
+        if (userCutoffs.isEmpty()) {
+            return false;
+        }
+        Long cutoff = userCutoffs.get(String.valueOf(claims.get(USER_ID_CLAIM)));
+        if (cutoff == null) {
+            return false;
+        }
+        // iat 는 초 단위이므로 무효화와 같은 초에 재발급된 토큰은 유효하게 둠
+        Date issuedAt = claims.getIssuedAt();
+        if (issuedAt != null && issuedAt.getTime() >= cutoff / 1000 * 1000) {
+            return false;
+        }
+        cutoffRejections.increment();
+        return true;
+    }
+
+    /**
+     * 사용자의 캐시 항목을 모두 제거하고, 지금까지 발급된 해당 사용자의 토큰을 무효화합니다. (비밀번호 변경 등)
+     *
+     * @return 제거된 항목 수
+     */
+    public int invalidateUser(String userUuid) {
+        if (userUuid == null) {
+            return 0;
+        }
+        userCutoffs.merge(userUuid, System.currentTimeMillis(), Math::max);
+        int removed = 0;
+        lock.lock();
+        try {
+            Iterator<VerifiedToken> it = store.values().iterator();
+            while (it.hasNext()) {
+                if (userUuid.equals(it.next().userUuid)) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        invalidations.add(removed);
+        return removed;
+    }
+
+    /**
+     * 만료된 캐시 항목과 무효 목록을 정리합니다.
+     *
+     * @return 제거된 항목 수
+     */
+    public int cleanUp() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        lock.lock();
+        try {
+            Iterator<VerifiedToken> it = store.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().expiresAt <= now) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        expirations.add(removed);
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        // 기준 시각 이전에 발급된 토큰이 모두 만료되었으면 더 이상 보관할 필요가 없음
+        userCutoffs.values().removeIf(cutoff -> cutoff + accessTokenValidity <= now);
+        return removed;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("security.token.cache.size", this, VerifiedTokenCache::size)
+                .register(registry);
+        FunctionCounter.builder("security.token.cache.gets", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("security.token.cache.gets", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("security.token.cache.evictions", evictions, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("security.token.cache.expirations", expirations, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("security.token.cache.invalidations", invalidations, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("security.token.revoked", revokedTokens, Map::size)
+                .description("Logged-out tokens that have not expired yet")
+                .register(registry);
+        FunctionCounter.builder("security.token.revoked.rejections", revokedRejections, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("security.token.user.cutoffs", userCutoffs, Map::size)
+                .description("Users whose earlier tokens are rejected until they expire")
+                .register(registry);
+        FunctionCounter.builder("security.token.user.cutoff.rejections", cutoffRejections, LongAdder::sum)
+                .register(registry);
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return store.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class VerifiedToken {
+        private final Claims claims;
+        private final String userUuid;
+        private final long expiresAt;
+
+        private VerifiedToken(Claims claims, String userUuid, long expiresAt) {
+            this.claims = claims;
+            this.userUuid = userUuid;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.util.StringUtils;
 
 import cms.auth.provider.JwtTokenProvider;
+import cms.auth.security.VerifiedTokenCache;
 import cms.auth.dto.LoginRequest;
 import cms.auth.dto.ResetPasswordRequest;
 import cms.auth.dto.UserRegistrationRequest;
@@ -59,6 +60,7 @@ public class AuthServiceImpl implements AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final PasswordEncoder passwordEncoder;
     private final JavaMailSender mailSender;
     private final UserRepository userRepository;
@@ -111,7 +113,7 @@ public class AuthServiceImpl implements AuthService {
     public ResponseEntity<ApiResponseSchema<Void>> logout(HttpServletRequest request) {
         String token = jwtTokenProvider.resolveToken(request);
         if (token != null) {
-            // TODO: 토큰 무효화 로직 구현
+            jwtTokenProvider.revokeToken(token);
         }
         SecurityContextHolder.clearContext();
         return ResponseEntity.ok(ApiResponseSchema.success("로그아웃이 완료되었습니다."));
@@ -127,7 +129,7 @@ public class AuthServiceImpl implements AuthService {
             if (!jwtTokenProvider.validateToken(token)) {
                 throw new IllegalArgumentException("유효하지 않은 토큰입니다.");
             }
-            return jwtTokenProvider.getAuthentication(token);
+            return jwtTokenProvider.authenticate(token);
         } catch (ExpiredJwtException e) {
             throw new IllegalArgumentException("토큰이 만료되었습니다.");
         } catch (JwtException e) {
@@ -197,6 +199,7 @@ public class AuthServiceImpl implements AuthService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        verifiedTokenCache.invalidateUser(user.getUuid());
 
         return ResponseEntity.ok(ApiResponseSchema.success("비밀번호가 성공적으로 변경되었습니다."));
     }
@@ -212,6 +215,7 @@ public class AuthServiceImpl implements AuthService {
 
         existingUser.setPassword(passwordEncoder.encode(passwordMap.get("newPassword")));
         userRepository.save(existingUser);
+        verifiedTokenCache.invalidateUser(existingUser.getUuid());
 
         return ResponseEntity.ok(ApiResponseSchema.success("비밀번호가 성공적으로 변경되었습니다."));
     }
@@ -348,6 +352,10 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public ResponseEntity<ApiResponseSchema<Void>> logoutUser(HttpServletRequest request) {
+        String token = jwtTokenProvider.resolveToken(request);
+        if (token != null) {
+            jwtTokenProvider.revokeToken(token);
+        }
         SecurityContextHolder.clearContext();
         return ResponseEntity.ok(ApiResponseSchema.success("로그아웃이 완료되었습니다."));
     }
@@ -0,0 +1,184 @@
+package cms.board.hits;
+
+import cms.board.repository.BbsArticleRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글 조회수 지연 반영 (write-behind)
+ *
+ * 조회마다 글을 읽고 저장하는 대신 글별 LongAdder 에 증가분을 모아 두고, flush 주기마다
+ * 같은 증가분의 글을 묶어 {@code UPDATE ... SET hits = hits + ?} 로 한 번에 반영합니다.
+ *
+ * - 카운터는 두 세대(active / draining)로 교대: flush 는 한 주기 전에 교대된 세대를 기록하므로
+ *   교대 직전에 카운터를 잡은 요청의 증가분도 유실되지 않음 (DB 반영은 최대 두 주기 지연)
+ * - 조회 응답은 {@link #pending(Long)} 을 더해 아직 반영되지 않은 증가분을 포함.
+ *   기록 중인 세대(writing)도 글별로 커밋될 때까지 포함하므로 flush 중에 조회수가 줄어 보이지 않음
+ * - 기록 실패 시 증가분을 active 세대로 되돌려 다음 주기에 재시도, 종료 시 두 세대를 모두 기록
+ */
+@Component
+public class ArticleHitCounter implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleHitCounter.class);
+    private static final int UPDATE_CHUNK_SIZE = 500;
+
+    private final BbsArticleRepository bbsArticleRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile ConcurrentHashMap<Long, LongAdder> active = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<Long, LongAdder> draining = new ConcurrentHashMap<>();
+    // flush 가 기록 중인 세대. 문장이 커밋되면 해당 글을 제거
+    private volatile ConcurrentHashMap<Long, LongAdder> writing = new ConcurrentHashMap<>();
+
+    private final LongAdder recorded = new LongAdder();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public ArticleHitCounter(BbsArticleRepository bbsArticleRepository, PlatformTransactionManager transactionManager) {
+        this.bbsArticleRepository = bbsArticleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 조회수 1 증가를 기록합니다.
+     */
+    public void increment(Long nttId) {
+        recorded.increment();
+        active.computeIfAbsent(nttId, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 증가분
+     */
+    public int pending(Long nttId) {
+        // 교대가 writing -> draining -> active 순으로 일어나므로 역순으로 읽으면 중복은 있어도 누락은 없음
+        return (int) (sum(active.get(nttId)) + sum(draining.get(nttId)) + sum(writing.get(nttId)));
+    }
+
+    /**
+     * 한 주기 전에 교대된 세대를 기록하고 세대를 교대합니다.
+     *
+     * @return 반영한 조회수 합계
+     */
+    public synchronized long flush() {
+        ConcurrentHashMap<Long, LongAdder> toWrite = draining;
+        writing = toWrite;
+        draining = active;
+        active = new ConcurrentHashMap<>();
+        return writeOrRequeue(toWrite);
+    }
+
+    /**
+     * 종료 시 두 세대를 모두 기록합니다. 실행 중에는 교대 직후의 증가분을 놓칠 수 있으므로 {@link #flush()} 를 사용합니다.
+     */
+    @PreDestroy
+    public synchronized void flushAll() {
+        ConcurrentHashMap<Long, LongAdder> toWrite = new ConcurrentHashMap<>(draining);
+        active.forEach((id, adder) -> toWrite.merge(id, adder, (a, b) -> {
+            a.add(b.sum());
+            return a;
+        }));
+        writing = toWrite;
+        draining = new ConcurrentHashMap<>();
+        active = new ConcurrentHashMap<>();
+        long total = writeOrRequeue(toWrite);
+        if (total > 0) {
+            logger.info("[ArticleHits] Flushed {} pending hit(s) on shutdown", total);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("board.article.hits.pending", this, counter -> counter.active.size() + counter.draining.size() + counter.writing.size())
+                .description("Articles with view counts not yet written to the database")
+                .register(registry);
+        FunctionCounter.builder("board.article.hits.recorded", recorded, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("board.article.hits.flushed", flushed, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("board.article.hits.statements", statements, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("board.article.hits.failures", failures, AtomicLong::get)
+                .register(registry);
+    }
+
+    private long writeOrRequeue(ConcurrentHashMap<Long, LongAdder> counters) {
+        try {
+            return write(counters);
+        } finally {
+            writing = new ConcurrentHashMap<>();
+        }
+    }
+
+    private long write(ConcurrentHashMap<Long, LongAdder> counters) {
+        if (counters.isEmpty()) {
+            return 0;
+        }
+        // 증가분별로 글을 묶음 (대부분 1~몇 가지 값이라 문장 수가 적음)
+        Map<Integer, List<Long>> byDelta = new TreeMap<>();
+        counters.forEach((nttId, adder) -> {
+            int delta = (int) adder.sum();
+            if (delta > 0) {
+                byDelta.computeIfAbsent(delta, k -> new ArrayList<>()).add(nttId);
+            }
+        });
+
+        long written = 0;
+        List<Map.Entry<Integer, List<Long>>> groups = new ArrayList<>(byDelta.entrySet());
+        for (int g = 0; g < groups.size(); g++) {
+            int delta = groups.get(g).getKey();
+            List<Long> ids = groups.get(g).getValue();
+            ids.sort(null); // 노드 간 잠금 순서 고정
+            for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + UPDATE_CHUNK_SIZE));
+                try {
+                    // 문장마다 커밋하므로 실패 시 아직 기록하지 않은 증가분만 되돌리면 됨
+                    transactionTemplate.execute(status -> bbsArticleRepository.addHits(delta, chunk));
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    logger.warn("[ArticleHits] Failed to flush hits, will retry: {}", e.getMessage());
+                    requeue(counters, delta, ids.subList(from, ids.size()));
+                    for (int rest = g + 1; rest < groups.size(); rest++) {
+                        requeue(counters, groups.get(rest).getKey(), groups.get(rest).getValue());
+                    }
+                    flushed.addAndGet(written);
+                    return written;
+                }
+                chunk.forEach(counters::remove);
+                statements.incrementAndGet();
+                written += (long) delta * chunk.size();
+            }
+        }
+        flushed.addAndGet(written);
+        return written;
+    }
+
+    private void requeue(Map<Long, LongAdder> writingCounters, int delta, List<Long> nttIds) {
+        for (Long nttId : nttIds) {
+            // active 에 먼저 더한 뒤 writing 에서 빼야 조회 시 누락되지 않음
+            active.computeIfAbsent(nttId, k -> new LongAdder()).add(delta);
+            writingCounters.remove(nttId);
+        }
+    }
+
+    private static long sum(LongAdder adder) {
+        return adder == null ? 0 : adder.sum();
+    }
+}
@@ -0,0 +1,30 @@
+package cms.board.hits;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게시글 조회수 반영 주기를 앞당기는 actuator 엔드포인트 (POST /actuator/article-hits, 관리자 전용)
+ * 지연 반영 상태는 board.article.hits.* 메트릭으로 확인합니다.
+ */
+@Component
+@Endpoint(id = "article-hits")
+public class ArticleHitEndpoint {
+
+    private final ArticleHitCounter articleHitCounter;
+
+    public ArticleHitEndpoint(ArticleHitCounter articleHitCounter) {
+        this.articleHitCounter = articleHitCounter;
+    }
+
+    /**
+     * 정기 반영 작업과 같은 {@link ArticleHitCounter#flush()} 를 한 번 실행합니다.
+     *
+     * @return 반영한 조회수 합계
+     */
+    @WriteOperation
+    public long flush() {
+        return articleHitCounter.flush();
+    }
+}
@@ -5,12 +5,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -91,4 +93,18 @@ public interface BbsArticleRepository extends JpaRepository<BbsArticleDomain, Lo
 
         @Query("SELECT a.nttId, a.content FROM BbsArticleDomain a WHERE a.content LIKE '%/api/v1/cms/file/public/view/%' ORDER BY a.createdAt DESC")
         List<Object[]> findSampleArticlesWithImages(Pageable pageable);
-}
\ No newline at end of file
+
+        /**
+         * 검색 색인 재구성용 (nttId 키셋 페이징)
+         * [nttId, bbsId, menuId, title, content, writer, postedAt, publishState, noticeState]
+         */
+        @Query("SELECT a.nttId, b.bbsId, m.id, a.title, a.content, a.writer, a.postedAt, a.publishState, a.noticeState "
+                        + "FROM BbsArticleDomain a JOIN a.bbsMaster b LEFT JOIN a.menu m "
+                        + "WHERE a.nttId > :afterId ORDER BY a.nttId")
+        List<Object[]> findSearchSourceAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+        // 조회수 일괄 반영 (ArticleHitCounter): 같은 증가분의 글을 한 번에 갱신
+        @Modifying
+        @Query("UPDATE BbsArticleDomain a SET a.hits = a.hits + :delta WHERE a.nttId IN :nttIds")
+        int addHits(@Param("delta") int delta, @Param("nttIds") Collection<Long> nttIds);
+}
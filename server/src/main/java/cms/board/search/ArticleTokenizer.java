@@ -0,0 +1,169 @@
+package cms.board.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 게시글 검색용 토크나이저
+ *
+ * - 한글/한자/가나: 음절 unigram + bigram (형태소 분석기 없이 부분 문자열 검색을 지원)
+ * - 영문/숫자: 단어와 2자 이상 접두어
+ * - 질의의 한글 어절은 끝의 조사/어미를 떼어 검색 범위를 넓힘 (예: "수영장에서" -> "수영장")
+ */
+class ArticleTokenizer {
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final int MAX_PREFIX_LENGTH = 15;
+    private static final String[] PARTICLES = {
+            "에서는", "으로는", "에게서", "이라고", "까지", "부터", "에서", "으로", "에게", "처럼", "보다", "하고", "이나", "이랑",
+            "은", "는", "이", "가", "을", "를", "의", "에", "와", "과", "도", "만", "로", "랑"
+    };
+
+    private final ObjectMapper objectMapper;
+
+    ArticleTokenizer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 색인용 토큰을 가중치와 함께 누적합니다.
+     */
+    void addTerms(String text, int weight, Map<String, Integer> termFreqs) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        for (String run : runs(normalize(text))) {
+            if (isCjk(run.charAt(0))) {
+                for (int i = 0; i < run.length(); i++) {
+                    termFreqs.merge(run.substring(i, i + 1), weight, Integer::sum);
+                    if (i + 1 < run.length()) {
+                        termFreqs.merge(run.substring(i, i + 2), weight, Integer::sum);
+                    }
+                }
+            } else {
+                int maxPrefix = Math.min(run.length() - 1, MAX_PREFIX_LENGTH);
+                for (int length = 2; length <= maxPrefix; length++) {
+                    termFreqs.merge(run.substring(0, length), weight, Integer::sum);
+                }
+                termFreqs.merge(run, weight, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * 질의 토큰. 모든 토큰을 포함하는 게시글만 검색 대상이 됩니다.
+     */
+    List<String> queryTerms(String keyword) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (keyword == null) {
+            return new ArrayList<>(terms);
+        }
+        for (String run : runs(normalize(keyword))) {
+            if (isCjk(run.charAt(0))) {
+                String stem = stripParticle(run);
+                if (stem.length() == 1) {
+                    terms.add(stem);
+                }
+                for (int i = 0; i + 1 < stem.length(); i++) {
+                    terms.add(stem.substring(i, i + 2));
+                }
+            } else {
+                // 색인에는 MAX_PREFIX_LENGTH 까지의 접두어와 전체 단어가 있으므로 긴 단어는 접두어로 검색
+                terms.add(run.length() <= MAX_PREFIX_LENGTH ? run : run.substring(0, MAX_PREFIX_LENGTH));
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * 에디터 JSON 본문이면 text 노드만 추출하고, 그 외에는 HTML 태그를 제거합니다.
+     */
+    String extractText(String content) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        String trimmed = content.trim();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            try {
+                StringBuilder text = new StringBuilder();
+                collectText(objectMapper.readTree(trimmed), text);
+                return text.toString();
+            } catch (IOException e) {
+                // JSON 이 아니면 일반 텍스트로 처리
+            }
+        }
+        return HTML_TAG.matcher(content).replaceAll(" ");
+    }
+
+    private void collectText(JsonNode node, StringBuilder text) {
+        if (node.isArray()) {
+            for (JsonNode child : node) {
+                collectText(child, text);
+            }
+        } else if (node.isObject()) {
+            JsonNode value = node.get("text");
+            if (value != null && value.isTextual()) {
+                text.append(value.asText()).append(' ');
+            }
+            node.fields().forEachRemaining(entry -> {
+                if (entry.getValue().isContainerNode()) {
+                    collectText(entry.getValue(), text);
+                }
+            });
+        }
+    }
+
+    private static String stripParticle(String word) {
+        for (String particle : PARTICLES) {
+            if (word.length() - particle.length() >= 2 && word.endsWith(particle)) {
+                return word.substring(0, word.length() - particle.length());
+            }
+        }
+        return word;
+    }
+
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 같은 문자 종류(CJK / 영문·숫자)가 이어진 구간으로 분리
+     */
+    private static List<String> runs(String text) {
+        List<String> runs = new ArrayList<>();
+        int start = -1;
+        boolean startCjk = false;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            boolean cjk = isCjk(c);
+            boolean word = cjk || Character.isLetterOrDigit(c);
+            if (start >= 0 && (!word || cjk != startCjk)) {
+                runs.add(text.substring(start, i));
+                start = -1;
+            }
+            if (word && start < 0) {
+                start = i;
+                startCjk = cjk;
+            }
+        }
+        return runs;
+    }
+
+    private static boolean isCjk(char c) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
@@ -0,0 +1,456 @@
+package cms.board.search;
+
+import cms.board.domain.BbsArticleDomain;
+import cms.board.repository.BbsArticleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 검색용 메모리 역색인
+ *
+ * 제목/작성자/본문/게시일을 {@link ArticleTokenizer} 로 토큰화하여 토큰 -> (게시글 ID -> 가중 빈도) 색인을 유지합니다.
+ * 검색은 질의 토큰을 모두 포함하는 게시글을 BM25 점수로 정렬하며, 공지 우선 정렬은 기존 목록과 동일하게 유지합니다.
+ *
+ * - 게시글 생성/수정/삭제는 트랜잭션 커밋 후 색인에 반영
+ * - 기동 시 백그라운드로 전체 색인을 만들고, 완료 전까지는 {@link #isReady()} 가 false (호출 측은 DB 검색 사용)
+ * - 재색인 중 발생한 변경은 새 색인으로 교체한 뒤 다시 적용
+ * - 색인은 노드별로 유지됩니다. 다른 노드에서 발생한 변경은 재색인(rebuild-interval) 시점에 반영
+ */
+@Component
+public class BbsArticleSearchIndex implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BbsArticleSearchIndex.class);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int WRITER_WEIGHT = 2;
+    private static final int DATE_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+
+    private final BbsArticleRepository bbsArticleRepository;
+    private final ArticleTokenizer tokenizer;
+    private final boolean enabled;
+    private final int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    // 재색인 중 들어온 변경 (재색인 완료 후 새 색인에 다시 적용)
+    private List<Object> changesDuringRebuild;
+
+    private volatile boolean ready;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong totalQueryMicros = new AtomicLong();
+    private final AtomicLong maxQueryMicros = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong removals = new AtomicLong();
+    private volatile long lastRebuildMillis;
+
+    public BbsArticleSearchIndex(BbsArticleRepository bbsArticleRepository, ObjectMapper objectMapper,
+            @Value("${app.board.search.enabled:true}") boolean enabled,
+            @Value("${app.board.search.rebuild-batch-size:500}") int rebuildBatchSize) {
+        this.bbsArticleRepository = bbsArticleRepository;
+        this.tokenizer = new ArticleTokenizer(objectMapper);
+        this.enabled = enabled;
+        this.rebuildBatchSize = Math.max(50, rebuildBatchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("[BoardSearch] Initial index build failed: {}", e.getMessage(), e);
+            }
+        }, "board-search-indexer");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 전체 게시글로 색인을 다시 만듭니다. 이미 재색인 중이면 -1 을 반환합니다.
+     *
+     * @return 색인된 게시글 수
+     */
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return -1;
+        }
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Segment fresh = new Segment();
+            long afterId = 0;
+            while (true) {
+                List<Object[]> rows = bbsArticleRepository.findSearchSourceAfter(afterId,
+                        PageRequest.of(0, rebuildBatchSize));
+                for (Object[] row : rows) {
+                    fresh.add(toDocument((Long) row[0], (Long) row[1], (Long) row[2], (String) row[3],
+                            (String) row[4], (String) row[5], (LocalDateTime) row[6], (String) row[7],
+                            (String) row[8]));
+                    afterId = (Long) row[0];
+                }
+                if (rows.size() < rebuildBatchSize) {
+                    break;
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (Object change : changesDuringRebuild) {
+                    if (change instanceof IndexedArticle) {
+                        fresh.add((IndexedArticle) change);
+                    } else {
+                        fresh.remove((Long) change);
+                    }
+                }
+                segment = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            lastRebuildMillis = System.currentTimeMillis() - started;
+            logger.info("[BoardSearch] Indexed {} articles ({} terms) in {} ms", fresh.documents.size(),
+                    fresh.postings.size(), lastRebuildMillis);
+            return fresh.documents.size();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 게시글 생성/수정 반영. 현재 값으로 색인 문서를 만들어 두고 커밋 후 적용합니다.
+     */
+    public void indexAfterCommit(BbsArticleDomain article) {
+        if (!enabled || article == null || article.getNttId() == null) {
+            return;
+        }
+        IndexedArticle document = toDocument(article.getNttId(),
+                article.getBbsMaster() != null ? article.getBbsMaster().getBbsId() : null,
+                article.getMenu() != null ? article.getMenu().getId() : null,
+                article.getTitle(), article.getContent(), article.getWriter(), article.getPostedAt(),
+                article.getPublishState(), article.getNoticeState());
+        afterCommit(() -> apply(document));
+    }
+
+    public void removeAfterCommit(Long nttId) {
+        if (!enabled || nttId == null) {
+            return;
+        }
+        afterCommit(() -> apply(nttId));
+    }
+
+    /**
+     * 게시판/메뉴 내 검색. 질의에서 토큰을 만들 수 없으면 null (호출 측은 DB 검색 사용)
+     *
+     * @param includeUnpublished 관리자 검색 여부 (비공개 글 포함)
+     */
+    public SearchResult search(Long bbsId, Long menuId, String keyword, boolean includeUnpublished, long offset,
+            int limit) {
+        List<String> terms = tokenizer.queryTerms(keyword);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        long started = System.nanoTime();
+        List<ScoredArticle> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> posting = segment.postings.get(term);
+                if (posting == null) {
+                    return record(started, SearchResult.EMPTY);
+                }
+                termPostings.add(posting);
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            int documentCount = segment.documents.size();
+            double averageLength = documentCount == 0 ? 1.0 : (double) segment.totalLength / documentCount;
+            double[] idf = new double[termPostings.size()];
+            for (int i = 0; i < idf.length; i++) {
+                int df = termPostings.get(i).size();
+                idf[i] = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+            }
+
+            // 가장 짧은 posting 을 기준으로 교집합
+            for (Long nttId : termPostings.get(0).keySet()) {
+                IndexedArticle document = segment.documents.get(nttId);
+                if (document == null || !document.matches(bbsId, menuId, includeUnpublished)) {
+                    continue;
+                }
+                double score = 0;
+                boolean all = true;
+                for (int i = 0; i < termPostings.size(); i++) {
+                    Integer tf = termPostings.get(i).get(nttId);
+                    if (tf == null) {
+                        all = false;
+                        break;
+                    }
+                    double norm = BM25_K1 * (1 - BM25_B + BM25_B * document.length / averageLength);
+                    score += idf[i] * (tf * (BM25_K1 + 1)) / (tf + norm);
+                }
+                if (all) {
+                    matches.add(new ScoredArticle(document, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(RANKING);
+        List<Long> page = new ArrayList<>();
+        for (long i = offset; i < matches.size() && page.size() < limit; i++) {
+            page.add(matches.get((int) i).document.nttId);
+        }
+        return record(started, new SearchResult(page, matches.size()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("board.search.documents", this, BbsArticleSearchIndex::documentCount)
+                .register(registry);
+        Gauge.builder("board.search.terms", this, BbsArticleSearchIndex::termCount)
+                .register(registry);
+        Gauge.builder("board.search.ready", this, index -> index.ready ? 1 : 0)
+                .register(registry);
+        FunctionTimer.builder("board.search.queries", this, index -> index.queries.get(),
+                        index -> index.totalQueryMicros.get(), TimeUnit.MICROSECONDS)
+                .register(registry);
+        Gauge.builder("board.search.query.max", maxQueryMicros, AtomicLong::get)
+                .baseUnit("microseconds")
+                .register(registry);
+        FunctionCounter.builder("board.search.updates", updates, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("board.search.removals", removals, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("board.search.rebuild.duration", this, index -> index.lastRebuildMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private double documentCount() {
+        lock.readLock().lock();
+        try {
+            return segment.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double termCount() {
+        lock.readLock().lock();
+        try {
+            return segment.postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchResult record(long startedNanos, SearchResult result) {
+        long micros = (System.nanoTime() - startedNanos) / 1000;
+        queries.incrementAndGet();
+        totalQueryMicros.addAndGet(micros);
+        maxQueryMicros.accumulateAndGet(micros, Math::max);
+        return result;
+    }
+
+    private void apply(Object change) {
+        lock.writeLock().lock();
+        try {
+            if (change instanceof IndexedArticle) {
+                segment.add((IndexedArticle) change);
+                updates.incrementAndGet();
+            } else {
+                segment.remove((Long) change);
+                removals.incrementAndGet();
+            }
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private IndexedArticle toDocument(Long nttId, Long bbsId, Long menuId, String title, String content,
+            String writer, LocalDateTime postedAt, String publishState, String noticeState) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        tokenizer.addTerms(title, TITLE_WEIGHT, termFreqs);
+        tokenizer.addTerms(writer, WRITER_WEIGHT, termFreqs);
+        tokenizer.addTerms(tokenizer.extractText(content), CONTENT_WEIGHT, termFreqs);
+        if (postedAt != null) {
+            tokenizer.addTerms(postedAt.format(DATE_FORMAT), DATE_WEIGHT, termFreqs);
+        }
+        return new IndexedArticle(nttId, bbsId, menuId, publishState, noticeState, postedAt, termFreqs);
+    }
+
+    // 공지 우선(기존 목록 정렬과 동일), 그다음 점수, 게시일 최신순
+    private static final Comparator<ScoredArticle> RANKING = Comparator
+            .comparing((ScoredArticle a) -> a.document.noticeState == null ? "" : a.document.noticeState,
+                    Comparator.reverseOrder())
+            .thenComparing(a -> a.score, Comparator.reverseOrder())
+            .thenComparing(a -> a.document.postedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(a -> a.document.nttId, Comparator.reverseOrder());
+
+    public static final class SearchResult {
+        static final SearchResult EMPTY = new SearchResult(Collections.emptyList(), 0);
+
+        private final List<Long> nttIds;
+        private final long total;
+
+        SearchResult(List<Long> nttIds, long total) {
+            this.nttIds = nttIds;
+            this.total = total;
+        }
+
+        public List<Long> getNttIds() {
+            return nttIds;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+
+    private static final class Segment {
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final Map<Long, IndexedArticle> documents = new HashMap<>();
+        private long totalLength;
+
+        void add(IndexedArticle document) {
+            remove(document.nttId);
+            documents.put(document.nttId, document);
+            totalLength += document.length;
+            document.termFreqs.forEach((term, tf) -> postings.computeIfAbsent(term, k -> new HashMap<>())
+                    .put(document.nttId, tf));
+        }
+
+        void remove(Long nttId) {
+            IndexedArticle previous = documents.remove(nttId);
+            if (previous == null) {
+                return;
+            }
+            totalLength -= previous.length;
+            for (String term : previous.termFreqs.keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(nttId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class IndexedArticle {
+        private final Long nttId;
+        private final Long bbsId;
+        private final Long menuId;
+        private final String publishState;
+        private final String noticeState;
+        private final LocalDateTime postedAt;
+        private final Map<String, Integer> termFreqs;
+        private final int length;
+
+        IndexedArticle(Long nttId, Long bbsId, Long menuId, String publishState, String noticeState,
+                LocalDateTime postedAt, Map<String, Integer> termFreqs) {
+            this.nttId = nttId;
+            this.bbsId = bbsId;
+            this.menuId = menuId;
+            this.publishState = publishState;
+            this.noticeState = noticeState;
+            this.postedAt = postedAt;
+            this.termFreqs = termFreqs;
+            int sum = 0;
+            for (Integer tf : termFreqs.values()) {
+                sum += tf;
+            }
+            this.length = Math.max(1, sum);
+        }
+
+        boolean matches(Long bbsId, Long menuId, boolean includeUnpublished) {
+            if (bbsId != null && !bbsId.equals(this.bbsId)) {
+                return false;
+            }
+            if (menuId != null && !menuId.equals(this.menuId)) {
+                return false;
+            }
+            return includeUnpublished || "Y".equals(publishState) || "P".equals(publishState);
+        }
+    }
+
+    private static final class ScoredArticle {
+        private final IndexedArticle document;
+        private final double score;
+
+        ScoredArticle(IndexedArticle document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package cms.board.search;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 게시글 검색 전체 재색인용 actuator 엔드포인트 (POST /actuator/board-search, 관리자 전용)
+ * 색인 상태는 board.search.* 메트릭으로 확인합니다.
+ */
+@Component
+@Endpoint(id = "board-search")
+public class BoardSearchEndpoint {
+
+    private final BbsArticleSearchIndex articleSearchIndex;
+
+    public BoardSearchEndpoint(BbsArticleSearchIndex articleSearchIndex) {
+        this.articleSearchIndex = articleSearchIndex;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        int indexed = articleSearchIndex.rebuild();
+        return Collections.singletonMap("rebuildResult", indexed < 0 ? "already-running" : "indexed " + indexed);
+    }
+}
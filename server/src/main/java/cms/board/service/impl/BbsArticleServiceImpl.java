@@ -5,11 +5,13 @@ import cms.board.domain.BbsArticleDomain;
 import cms.board.domain.BbsCategoryDomain;
 import cms.board.domain.BbsMasterDomain;
 import cms.board.dto.BbsArticleDto;
+import cms.board.hits.ArticleHitCounter;
 import cms.board.dto.BbsCategoryDto;
 import cms.board.repository.BbsArticleCategoryRepository;
 import cms.board.repository.BbsArticleRepository;
 import cms.board.repository.BbsCategoryRepository;
 import cms.board.repository.BbsMasterRepository;
+import cms.board.search.BbsArticleSearchIndex;
 import cms.board.service.BbsArticleService;
 import cms.common.exception.BbsArticleNotFoundException;
 import cms.common.exception.BbsMasterNotFoundException;
@@ -62,6 +64,8 @@ public class BbsArticleServiceImpl implements BbsArticleService {
     private final MenuRepository menuRepository;
     private final FileService fileService;
     private final ObjectMapper objectMapper;
+    private final BbsArticleSearchIndex articleSearchIndex;
+    private final ArticleHitCounter articleHitCounter;
 
     @Value("${app.api.base-url}")
     private String appApiBaseUrl;
@@ -257,6 +261,7 @@ public class BbsArticleServiceImpl implements BbsArticleService {
             fileService.uploadFiles(ARTICLE_ATTACHMENT_MENU_TYPE, finalSavedArticle.getNttId(), attachments);
         }
 
+        articleSearchIndex.indexAfterCommit(finalSavedArticle);
         return convertToDto(finalSavedArticle);
     }
 
@@ -498,7 +503,9 @@ public class BbsArticleServiceImpl implements BbsArticleService {
             article.updateHits(articleDto.getHits());
         }
 
-        return convertToDto(bbsArticleRepository.save(article));
+        BbsArticleDomain updatedArticle = bbsArticleRepository.save(article);
+        articleSearchIndex.indexAfterCommit(updatedArticle);
+        return convertToDto(updatedArticle);
     }
 
     @Override
@@ -529,6 +536,7 @@ public class BbsArticleServiceImpl implements BbsArticleService {
         }
 
         bbsArticleRepository.delete(article);
+        articleSearchIndex.removeAfterCommit(nttId);
     }
 
     @Override
@@ -571,6 +579,23 @@ public class BbsArticleServiceImpl implements BbsArticleService {
     @Transactional(readOnly = true)
     public Page<BbsArticleDto> searchArticles(Long bbsId, Long menuId, String keyword, Pageable pageable,
             boolean isAdmin) {
+        if (articleSearchIndex.isReady()) {
+            BbsArticleSearchIndex.SearchResult result = articleSearchIndex.search(bbsId, menuId, keyword, isAdmin,
+                    pageable.isPaged() ? pageable.getOffset() : 0,
+                    pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE);
+            if (result != null) {
+                Map<Long, BbsArticleDomain> found = bbsArticleRepository.findAllById(result.getNttIds()).stream()
+                        .collect(Collectors.toMap(BbsArticleDomain::getNttId, a -> a));
+                // 검색 순위 순서 유지 (색인 반영 전 삭제된 글은 제외)
+                List<BbsArticleDomain> ranked = result.getNttIds().stream()
+                        .map(found::get)
+                        .filter(a -> a != null)
+                        .collect(Collectors.toList());
+                return toDtoPageWithArticleNumber(new PageImpl<>(ranked, pageable, result.getTotal()), pageable,
+                        bbsId, menuId, isAdmin);
+            }
+        }
+
         Page<BbsArticleDomain> articlesPage;
         if (isAdmin) {
             articlesPage = bbsArticleRepository.searchAllByKeywordAndMenuId(bbsId, menuId, keyword, pageable);
@@ -590,12 +615,9 @@ public class BbsArticleServiceImpl implements BbsArticleService {
     }
 
     @Override
-    @Transactional
     public void increaseHits(Long nttId) {
-        BbsArticleDomain article = bbsArticleRepository.findById(nttId)
-                .orElseThrow(() -> new BbsArticleNotFoundException(nttId));
-        article.increaseHits();
-        bbsArticleRepository.save(article);
+        // 글을 읽고 저장하지 않고 메모리 카운터에 모아 주기적으로 일괄 반영
+        articleHitCounter.increment(nttId);
     }
 
     @Override
@@ -620,6 +642,7 @@ public class BbsArticleServiceImpl implements BbsArticleService {
                 .build();
 
         BbsArticleDomain savedArticle = bbsArticleRepository.save(article);
+        articleSearchIndex.indexAfterCommit(savedArticle);
         return convertToDto(savedArticle);
     }
 
@@ -646,6 +669,7 @@ public class BbsArticleServiceImpl implements BbsArticleService {
                 boardDto.getPostedAt() != null ? boardDto.getPostedAt() : article.getPostedAt(),
                 boardDto.getDisplayWriter());
 
+        articleSearchIndex.indexAfterCommit(article);
         return convertToDto(article);
     }
 
@@ -655,6 +679,7 @@ public class BbsArticleServiceImpl implements BbsArticleService {
         BbsArticleDomain article = bbsArticleRepository.findById(nttId)
                 .orElseThrow(() -> new BbsArticleNotFoundException(nttId));
         bbsArticleRepository.delete(article);
+        articleSearchIndex.removeAfterCommit(nttId);
     }
 
     @Override
@@ -774,7 +799,7 @@ public class BbsArticleServiceImpl implements BbsArticleService {
                 .publishStartDt(article.getPublishStartDt())
                 .publishEndDt(article.getPublishEndDt())
                 .externalLink(article.getExternalLink())
-                .hits(article.getHits())
+                .hits(article.getHits() + articleHitCounter.pending(article.getNttId()))
                 .postedAt(postedAt)
                 .displayWriter(article.getDisplayWriter())
                 .createdAt(article.getCreatedAt())
@@ -5,6 +5,7 @@ import cms.board.dto.BbsMasterDto;
 import cms.board.repository.BbsMasterRepository;
 import cms.board.service.BbsMasterService;
 import cms.common.exception.BbsMasterNotFoundException;
+import cms.menu.index.MenuIndex;
 import cms.menu.repository.MenuRepository;
 import cms.menu.domain.Menu;
 import cms.menu.domain.MenuType;
@@ -22,6 +23,7 @@ public class BbsMasterServiceImpl implements BbsMasterService {
 
     private final BbsMasterRepository bbsMasterRepository;
     private final MenuRepository menuRepository;
+    private final MenuIndex menuIndex;
 
     @Override
     @Transactional
@@ -73,6 +75,7 @@ public class BbsMasterServiceImpl implements BbsMasterService {
                     .orElseThrow(() -> new RuntimeException("Menu not found with id: " + bbsMasterDto.getMenuId()));
             menu.updateTargetId(bbsId);
             menuRepository.save(menu);
+            menuIndex.refreshAfterCommit();
         }
 
         return convertToDto(bbsMaster);
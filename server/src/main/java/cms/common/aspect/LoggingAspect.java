@@ -55,18 +55,22 @@ public class LoggingAspect {
 
             if (authentication != null && authentication.isAuthenticated()) {
                 String userUuid = null;
+                String organizationId = null;
                 Object principal = authentication.getPrincipal();
 
                 if (principal instanceof CustomUserDetails) {
                     userUuid = ((CustomUserDetails) principal).getUser().getUuid();
+                    organizationId = ((CustomUserDetails) principal).getUser().getOrganizationId();
                 } else if (principal instanceof User) {
                     userUuid = ((User) principal).getUuid();
+                    organizationId = ((User) principal).getOrganizationId();
                 } else if (principal instanceof String) {
                     String username = (String) principal;
                     User user = userRepository.findByUsername(username)
                             .orElse(null);
                     if (user != null) {
                         userUuid = user.getUuid();
+                        organizationId = user.getOrganizationId();
                     } else {
                         log.warn("User not found with username: {} during activity logging.", username);
                         userUuid = username;
@@ -88,7 +92,9 @@ public class LoggingAspect {
                 }
 
                 String defaultGroupId = "00000000-0000-0000-0000-000000000000";
-                String defaultOrgId = "00000000-0000-0000-0000-000000000000";
+                // 인증 정보에 조직이 있으면 그대로 사용 (없으면 기록 시점에 일괄 조회)
+                String defaultOrgId = organizationId != null ? organizationId
+                        : "00000000-0000-0000-0000-000000000000";
 
                 userActivityLogService.logActivity(
                         UUID.randomUUID().toString(),
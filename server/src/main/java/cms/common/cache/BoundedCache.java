@@ -0,0 +1,319 @@
+package cms.common.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 크기/가중치 제한과 TTL/TTI 만료를 지원하는 로컬 캐시
+ *
+ * 접근 순서(LRU) LinkedHashMap 을 단일 잠금으로 보호합니다. 대상 캐시(메뉴, 콘텐츠, 템플릿, 파일 메타)는
+ * 조회 빈도에 비해 항목 수가 작으므로 잠금 경합보다 예측 가능한 메모리 상한이 더 중요합니다.
+ * 만료는 조회 시점에 지연 처리되며, {@link #cleanUp()} 으로 주기적으로 일괄 정리합니다.
+ */
+public class BoundedCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final CacheSpec spec;
+    private final CacheWeigher weigher;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Object, CacheEntry> store = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentHashMap<Object, Object> loadingLocks = new ConcurrentHashMap<>();
+    private long totalWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public BoundedCache(String name, CacheSpec spec, CacheWeigher weigher, boolean allowNullValues) {
+        super(allowNullValues);
+        this.name = name;
+        this.spec = spec;
+        this.weigher = weigher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            CacheEntry entry = store.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (isExpired(entry, now)) {
+                removeEntry(key, entry);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            entry.accessedAt = now;
+            hits.increment();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        // 같은 키에 대한 동시 로드는 한 번만 수행
+        Object keyLock = loadingLocks.computeIfAbsent(key, k -> new Object());
+        try {
+            synchronized (keyLock) {
+                Object storeValue = peek(key);
+                if (storeValue != null) {
+                    return (T) fromStoreValue(storeValue);
+                }
+                T value;
+                try {
+                    value = valueLoader.call();
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(key, valueLoader, e);
+                }
+                put(key, value);
+                return value;
+            }
+        } finally {
+            loadingLocks.remove(key, keyLock);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        putStoreValue(key, toStoreValue(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        lock.lock();
+        try {
+            Object existing = peek(key);
+            if (existing != null) {
+                return new SimpleValueWrapper(fromStoreValue(existing));
+            }
+            putStoreValue(key, storeValue);
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        lock.lock();
+        try {
+            CacheEntry entry = store.get(key);
+            if (entry != null) {
+                removeEntry(key, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            store.clear();
+            totalWeight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 문자열 형태가 keyText 와 같은 항목을 제거합니다. (다른 노드에서 받은 무효화 처리용)
+     *
+     * @return 제거된 항목 수
+     */
+    int evictByKeyText(String keyText) {
+        int removed = 0;
+        lock.lock();
+        try {
+            Iterator<Map.Entry<Object, CacheEntry>> it = store.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Object, CacheEntry> entry = it.next();
+                if (keyText.equals(String.valueOf(entry.getKey()))) {
+                    it.remove();
+                    totalWeight -= entry.getValue().weight;
+                    removed++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return removed;
+    }
+
+    /**
+     * 통계에 영향을 주지 않고 저장값을 조회합니다. (만료 항목은 null)
+     */
+    Object peek(Object key) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            CacheEntry entry = store.get(key);
+            if (entry == null || isExpired(entry, now)) {
+                return null;
+            }
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 저장 형태(null 치환 포함) 그대로 값을 저장합니다.
+     */
+    void putStoreValue(Object key, Object storeValue) {
+        long now = System.currentTimeMillis();
+        int weight = spec.getMaxWeight() > 0 ? Math.max(1, weigher.weigh(key, storeValue)) : 1;
+        lock.lock();
+        try {
+            CacheEntry previous = store.put(key, new CacheEntry(storeValue, weight, now));
+            if (previous != null) {
+                totalWeight -= previous.weight;
+            }
+            totalWeight += weight;
+            puts.increment();
+            evictIfNecessary();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 만료된 항목을 일괄 제거합니다.
+     *
+     * @return 제거된 항목 수
+     */
+    public int cleanUp() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        lock.lock();
+        try {
+            Iterator<Map.Entry<Object, CacheEntry>> it = store.entrySet().iterator();
+            while (it.hasNext()) {
+                CacheEntry entry = it.next().getValue();
+                if (isExpired(entry, now)) {
+                    it.remove();
+                    totalWeight -= entry.weight;
+                    removed++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        expirations.add(removed);
+        return removed;
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return store.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long weight() {
+        lock.lock();
+        try {
+            return totalWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long putCount() {
+        return puts.sum();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    long expirationCount() {
+        return expirations.sum();
+    }
+
+    private boolean isExpired(CacheEntry entry, long now) {
+        if (spec.getExpireAfterWrite() > 0 && now - entry.writtenAt >= spec.getExpireAfterWrite()) {
+            return true;
+        }
+        return spec.getExpireAfterAccess() > 0 && now - entry.accessedAt >= spec.getExpireAfterAccess();
+    }
+
+    private void removeEntry(Object key, CacheEntry entry) {
+        store.remove(key);
+        totalWeight -= entry.weight;
+    }
+
+    // lock 보유 상태에서 호출. 접근 순서상 가장 오래된 항목부터 제거
+    private void evictIfNecessary() {
+        Iterator<Map.Entry<Object, CacheEntry>> it = store.entrySet().iterator();
+        while (it.hasNext() && overLimit()) {
+            CacheEntry eldest = it.next().getValue();
+            it.remove();
+            totalWeight -= eldest.weight;
+            evictions.increment();
+        }
+    }
+
+    private boolean overLimit() {
+        return (spec.getMaxEntries() > 0 && store.size() > spec.getMaxEntries())
+                || (spec.getMaxWeight() > 0 && totalWeight > spec.getMaxWeight());
+    }
+
+    private static final class CacheEntry {
+        private final Object value;
+        private final int weight;
+        private final long writtenAt;
+        private long accessedAt;
+
+        private CacheEntry(Object value, int weight, long now) {
+            this.value = value;
+            this.weight = weight;
+            this.writtenAt = now;
+            this.accessedAt = now;
+        }
+    }
+}
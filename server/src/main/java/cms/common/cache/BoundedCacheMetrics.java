@@ -0,0 +1,63 @@
+package cms.common.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * BoundedCache 용 Micrometer 캐시 메트릭 (cache.gets / cache.puts / cache.evictions / cache.size 등)
+ */
+class BoundedCacheMetrics extends CacheMeterBinder<BoundedCache> {
+
+    private final BoundedCache cache;
+    private final String cacheName;
+    private final Iterable<Tag> tags;
+
+    BoundedCacheMetrics(BoundedCache cache, String cacheName, Iterable<Tag> tags) {
+        super(cache, cacheName, tags);
+        this.cache = cache;
+        this.cacheName = cacheName;
+        this.tags = tags;
+    }
+
+    @Override
+    protected Long size() {
+        return (long) cache.size();
+    }
+
+    @Override
+    protected long hitCount() {
+        return cache.hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        return cache.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return cache.evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return cache.putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        Gauge.builder("cache.weight", cache, BoundedCache::weight)
+                .tags(tags)
+                .tag("cache", cacheName)
+                .description("Approximate weight of the entries in the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.expirations", cache, BoundedCache::expirationCount)
+                .tags(tags)
+                .tag("cache", cacheName)
+                .description("Entries removed because they expired")
+                .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package cms.common.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 캐시별 제한 설정. 0 이하 값은 제한 없음으로 취급합니다.
+ */
+@Getter
+@Setter
+public class CacheSpec {
+    /** 최대 항목 수 */
+    private long maxEntries = 1000;
+    /** 최대 가중치 합 (CacheWeigher.APPROXIMATE_SIZE 기준, 대략 byte) */
+    private long maxWeight = 0;
+    /** 저장 후 만료 시간(ms), TTL */
+    private long expireAfterWrite = 600000;
+    /** 마지막 조회 후 만료 시간(ms), TTI */
+    private long expireAfterAccess = 0;
+
+    public CacheSpec copy() {
+        CacheSpec spec = new CacheSpec();
+        spec.setMaxEntries(maxEntries);
+        spec.setMaxWeight(maxWeight);
+        spec.setExpireAfterWrite(expireAfterWrite);
+        spec.setExpireAfterAccess(expireAfterAccess);
+        return spec;
+    }
+}
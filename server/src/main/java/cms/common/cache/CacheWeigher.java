@@ -0,0 +1,22 @@
+package cms.common.cache;
+
+/**
+ * 캐시 항목 가중치 계산기. maxWeight 가 설정된 캐시는 가중치 합이 한도를 넘으면 오래된 항목부터 제거합니다.
+ */
+@FunctionalInterface
+public interface CacheWeigher {
+
+    int weigh(Object key, Object value);
+
+    /**
+     * 대략적인 힙 사용량(byte) 기준 가중치. 객체 그래프를 따라가며 필드 크기를 더한 근사치입니다. ({@link ObjectSizeEstimator})
+     */
+    CacheWeigher APPROXIMATE_SIZE = (key, value) -> estimate(key) + estimate(value);
+
+    static int estimate(Object value) {
+        if (value == null) {
+            return 16;
+        }
+        return Math.max(16, ObjectSizeEstimator.estimate(value));
+    }
+}
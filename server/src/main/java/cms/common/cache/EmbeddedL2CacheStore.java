@@ -0,0 +1,100 @@
+package cms.common.cache;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 프로세스 내장 L2 저장소
+ *
+ * 외부 공유 저장소가 없는 환경에서 L2 를 대신합니다. 저장소 자체는 노드마다 따로 있으므로, 다중 노드에서는
+ * {@link JdbcCacheInvalidationBus} 를 연결해 한 노드의 변경/삭제를 다른 노드의 L2 와 near cache 에서도 제거합니다.
+ * 버스가 없으면 같은 JVM 안에서만 무효화되므로 단일 노드 배포나 개발/검증용으로만 사용합니다.
+ */
+public class EmbeddedL2CacheStore implements L2CacheStore {
+
+    private final CacheSpec spec;
+    private final JdbcCacheInvalidationBus invalidationBus;
+    private final ConcurrentHashMap<String, BoundedCache> regions = new ConcurrentHashMap<>();
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    public EmbeddedL2CacheStore(CacheSpec spec) {
+        this(spec, null);
+    }
+
+    /**
+     * @param invalidationBus null 이면 같은 JVM 안에서만 무효화
+     */
+    public EmbeddedL2CacheStore(CacheSpec spec, JdbcCacheInvalidationBus invalidationBus) {
+        this.spec = spec;
+        this.invalidationBus = invalidationBus;
+        if (invalidationBus != null) {
+            invalidationBus.subscribe(this::onRemoteInvalidate);
+        }
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        return region(cacheName).peek(key);
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object storeValue, String originNodeId) {
+        region(cacheName).putStoreValue(key, storeValue);
+        publish(cacheName, key, originNodeId);
+    }
+
+    @Override
+    public void evict(String cacheName, Object key, String originNodeId) {
+        region(cacheName).evict(key);
+        publish(cacheName, key, originNodeId);
+    }
+
+    @Override
+    public void clear(String cacheName, String originNodeId) {
+        region(cacheName).clear();
+        publish(cacheName, null, originNodeId);
+    }
+
+    @Override
+    public void addInvalidationListener(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void cleanUp() {
+        regions.values().forEach(BoundedCache::cleanUp);
+    }
+
+    JdbcCacheInvalidationBus getInvalidationBus() {
+        return invalidationBus;
+    }
+
+    BoundedCache region(String cacheName) {
+        return regions.computeIfAbsent(cacheName,
+                name -> new BoundedCache("l2:" + name, spec, CacheWeigher.APPROXIMATE_SIZE, true));
+    }
+
+    private void publish(String cacheName, Object key, String originNodeId) {
+        if (invalidationBus != null) {
+            invalidationBus.publish(cacheName, key);
+        }
+        notifyListeners(cacheName, key, originNodeId);
+    }
+
+    // 다른 노드의 변경: 이 노드의 L2 에서 제거한 뒤 near cache 에 전달
+    private void onRemoteInvalidate(String cacheName, Object key, String originNodeId) {
+        BoundedCache region = region(cacheName);
+        if (key == null) {
+            region.clear();
+        } else {
+            region.evictByKeyText(((JdbcCacheInvalidationBus.RemoteKey) key).getText());
+        }
+        notifyListeners(cacheName, key, originNodeId);
+    }
+
+    private void notifyListeners(String cacheName, Object key, String originNodeId) {
+        for (InvalidationListener listener : listeners) {
+            listener.onInvalidate(cacheName, key, originNodeId);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package cms.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 공유 DB 테이블(cache_invalidation_event)을 이용한 노드 간 캐시 무효화 전파
+ *
+ * 내장 L2 는 노드마다 따로 있으므로, 한 노드의 변경은 이 버스를 통해 다른 노드의 L2 와 near cache 에서 제거됩니다.
+ * 발행은 호출 트랜잭션이 끝난 뒤 outbox 에 쌓았다가 poll-interval 마다 한 번의 배치 INSERT 로 기록하므로
+ * 캐시 put 마다 DB 쓰기가 생기지 않고 읽기 전용 트랜잭션 안에서도 발행할 수 있습니다.
+ * 수신은 poll-interval 마다 커서 이후의 행을 PK 범위로 조회합니다.
+ *
+ * 무효화 이벤트는 하나라도 놓치면 오래된 값이 남으므로, 커밋 순서가 ID 순서와 달라 생긴 빈 ID 는
+ * gap-timeout 동안 커서를 멈춘 채 다시 조회합니다. (롤백 / auto_increment 건너뜀으로 끝내 나타나지 않는 ID 는 시간 초과 후 넘어감)
+ *
+ * 키는 문자열 형태로 전달되므로 노드 간에 같은 문자열이 보장되는 키(문자열, 숫자, enum, UUID, SimpleKey)만 키 단위로
+ * 무효화하고, 그 밖의 키나 너무 긴 키는 캐시 전체를 무효화합니다.
+ */
+public class JdbcCacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcCacheInvalidationBus.class);
+    private static final int POLL_BATCH_SIZE = 500;
+    private static final int MAX_KEY_LENGTH = 500;
+    // 한 번에 기록할 캐시별 키가 이보다 많으면 캐시 전체 무효화 한 건으로 합침
+    private static final int MAX_KEYS_PER_CACHE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long pollIntervalMillis;
+    private final long retentionMillis;
+    private final long gapTimeoutMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<L2CacheStore.InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    // {cacheName, keyText}. keyText 가 null 이면 캐시 전체
+    private final ConcurrentLinkedQueue<String[]> outbox = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService poller;
+
+    // 아래 필드는 poller 스레드에서만 사용
+    // 이 ID 이하의 이벤트는 모두 처리됨
+    private long cursor;
+    // cursor 이후에 이미 처리한 ID (빈 ID 가 채워지기를 기다리는 동안 중복 전달 방지)
+    private final TreeSet<Long> seenAboveCursor = new TreeSet<>();
+    private long gapSince;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong skippedGaps = new AtomicLong();
+
+    public JdbcCacheInvalidationBus(JdbcTemplate jdbcTemplate, long pollIntervalMillis, long retentionMillis,
+            long gapTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retentionMillis = retentionMillis;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+    }
+
+    public void start() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_invalidation_event", Long.class);
+        cursor = maxId == null ? 0 : maxId;
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::flushOutbox, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purge, 60, 60, TimeUnit.SECONDS);
+        logger.info("[CacheBus] JDBC cache invalidation bus started. node={}, cursor={}", nodeId, cursor);
+    }
+
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        flushOutbox();
+    }
+
+    /**
+     * 다른 노드에 무효화를 알립니다. 트랜잭션 안이면 트랜잭션이 끝난 뒤(커밋/롤백 모두) 기록되므로,
+     * 다른 노드가 커밋 전의 이전 값을 다시 읽어 캐시에 담는 일이 없습니다.
+     *
+     * @param key null 이면 캐시 전체
+     */
+    public void publish(String cacheName, Object key) {
+        String[] event = { cacheName, keyText(key) };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // 이 노드의 L2 는 이미 바뀌었으므로 롤백이어도 다른 노드에서 제거
+                    outbox.add(event);
+                }
+            });
+        } else {
+            outbox.add(event);
+        }
+    }
+
+    /**
+     * 다른 노드에서 발행된 무효화를 받습니다. key 는 {@link RemoteKey} 이거나 null(캐시 전체)입니다.
+     */
+    public void subscribe(L2CacheStore.InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    long publishedCount() {
+        return published.get();
+    }
+
+    long receivedCount() {
+        return received.get();
+    }
+
+    long skippedGapCount() {
+        return skippedGaps.get();
+    }
+
+    /**
+     * 노드 간에 같은 문자열이 보장되는 키만 문자열로 바꿉니다.
+     *
+     * @return 키 문자열, 키 단위 무효화가 불가능하면 null (캐시 전체)
+     */
+    static String keyText(Object key) {
+        if (key == null) {
+            return null;
+        }
+        boolean stable = key instanceof CharSequence || key instanceof Number || key instanceof Boolean
+                || key instanceof Character || key instanceof Enum || key instanceof UUID || key instanceof SimpleKey;
+        if (!stable) {
+            return null;
+        }
+        String text = String.valueOf(key);
+        return text.length() > MAX_KEY_LENGTH ? null : text;
+    }
+
+    void flushOutbox() {
+        Map<String, Set<String>> byCache = new LinkedHashMap<>();
+        String[] event;
+        while ((event = outbox.poll()) != null) {
+            Set<String> keys = byCache.computeIfAbsent(event[0], k -> new LinkedHashSet<>());
+            if (keys.contains(null)) {
+                continue;
+            }
+            if (event[1] == null || keys.size() >= MAX_KEYS_PER_CACHE) {
+                keys.clear();
+                keys.add(null);
+            } else {
+                keys.add(event[1]);
+            }
+        }
+        if (byCache.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = new ArrayList<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        byCache.forEach((cacheName, keys) -> keys.forEach(key -> batchArgs.add(new Object[] { cacheName, key, nodeId, now })));
+        try {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO cache_invalidation_event (cache_name, cache_key, origin_node, created_at) VALUES (?, ?, ?, ?)",
+                    batchArgs);
+            published.addAndGet(batchArgs.size());
+        } catch (Exception e) {
+            // 합친 상태로 되돌려 다음 주기에 재시도 (outbox 는 캐시별 최대 MAX_KEYS_PER_CACHE 건으로 유지)
+            logger.error("[CacheBus] Failed to publish {} cache invalidation(s), will retry: {}", batchArgs.size(),
+                    e.getMessage());
+            byCache.forEach((cacheName, keys) -> keys.forEach(key -> outbox.add(new String[] { cacheName, key })));
+        }
+    }
+
+    void poll() {
+        try {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT id, cache_name, cache_key, origin_node FROM cache_invalidation_event "
+                            + "WHERE id > ? ORDER BY id LIMIT " + POLL_BATCH_SIZE,
+                    (rs, rowNum) -> new Object[] {
+                            rs.getLong("id"), rs.getString("cache_name"), rs.getString("cache_key"),
+                            rs.getString("origin_node")
+                    },
+                    cursor);
+            for (Object[] row : rows) {
+                long id = (Long) row[0];
+                if (!seenAboveCursor.add(id)) {
+                    continue;
+                }
+                if (!nodeId.equals(row[3])) {
+                    received.incrementAndGet();
+                    String keyText = (String) row[2];
+                    deliver((String) row[1], keyText == null ? null : new RemoteKey(keyText), (String) row[3]);
+                }
+            }
+            advanceCursor(System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.error("[CacheBus] Failed to poll cache invalidations: {}", e.getMessage());
+        }
+    }
+
+    private void advanceCursor(long now) {
+        while (true) {
+            while (seenAboveCursor.remove(cursor + 1)) {
+                cursor++;
+            }
+            if (seenAboveCursor.isEmpty()) {
+                gapSince = 0;
+                return;
+            }
+            // cursor + 1 이 아직 보이지 않음: 늦게 커밋될 수 있으므로 잠시 기다림
+            if (gapSince == 0) {
+                gapSince = now;
+                return;
+            }
+            if (now - gapSince < gapTimeoutMillis) {
+                return;
+            }
+            long next = seenAboveCursor.first();
+            skippedGaps.addAndGet(next - cursor - 1);
+            cursor = next - 1;
+            gapSince = 0;
+        }
+    }
+
+    private void purge() {
+        try {
+            jdbcTemplate.update("DELETE FROM cache_invalidation_event WHERE created_at < ?",
+                    new Timestamp(System.currentTimeMillis() - retentionMillis));
+        } catch (Exception e) {
+            logger.warn("[CacheBus] Failed to purge old cache invalidations: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(String cacheName, Object key, String originNodeId) {
+        for (L2CacheStore.InvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidate(cacheName, key, originNodeId);
+            } catch (Exception e) {
+                logger.error("[CacheBus] Listener failed for cache {}: {}", cacheName, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 다른 노드에서 받은 키. 원래 키 객체 대신 문자열만 있으므로 같은 문자열 형태의 항목을 제거하는 데 씁니다.
+     */
+    static final class RemoteKey {
+        private final String text;
+
+        RemoteKey(String text) {
+            this.text = text;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package cms.common.cache;
+
+/**
+ * 2단계 캐시의 공유 저장소(L2). 노드 간에 공유되는 저장소(Redis 등)로 교체할 수 있도록 분리한 확장 지점입니다.
+ *
+ * 값 변경/삭제 시 무효화 이벤트를 발행하며, 각 노드의 near cache 는 자신이 발행하지 않은 이벤트를 받으면
+ * 해당 키를 제거하여 노드 간 일관성을 유지합니다.
+ */
+public interface L2CacheStore {
+
+    /**
+     * @return 저장값 (AbstractValueAdaptingCache 의 store value), 없으면 null
+     */
+    Object get(String cacheName, Object key);
+
+    void put(String cacheName, Object key, Object storeValue, String originNodeId);
+
+    void evict(String cacheName, Object key, String originNodeId);
+
+    void clear(String cacheName, String originNodeId);
+
+    void addInvalidationListener(InvalidationListener listener);
+
+    @FunctionalInterface
+    interface InvalidationListener {
+        /**
+         * @param key 무효화할 키, null 이면 캐시 전체
+         */
+        void onInvalidate(String cacheName, Object key, String originNodeId);
+    }
+}
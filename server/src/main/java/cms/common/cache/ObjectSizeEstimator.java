@@ -0,0 +1,180 @@
+package cms.common.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 캐시 값의 대략적인 힙 사용량(byte) 추정
+ *
+ * 객체 그래프를 필드 단위로 따라가며 64bit JVM(compressed oops) 기준 크기를 더합니다. 정확한 측정이 아니라
+ * maxWeight 한도가 실제 메모리에 비례하도록 하는 근사치입니다.
+ * - 같은 객체는 한 번만 셈 (공유 / 순환 참조)
+ * - 큰 컬렉션 / 배열은 앞쪽 {@link #SAMPLE_SIZE} 개 원소 평균으로 나머지를 추정
+ * - 깊이 {@link #MAX_DEPTH} 를 넘는 객체, 접근할 수 없는 JDK 내부 클래스, Hibernate 프록시 / 지연 컬렉션은
+ *   초기화를 일으키지 않도록 고정값으로 셈
+ */
+final class ObjectSizeEstimator {
+
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int ARRAY_HEADER = 16;
+    private static final int OPAQUE_OBJECT = 64;
+    private static final int MAX_DEPTH = 8;
+    private static final int SAMPLE_SIZE = 32;
+
+    private static final Map<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+    private static final Field[] INACCESSIBLE = new Field[0];
+
+    private ObjectSizeEstimator() {
+    }
+
+    static int estimate(Object value) {
+        long size = sizeOf(value, 0, new IdentityHashMap<>());
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    private static long sizeOf(Object value, int depth, IdentityHashMap<Object, Boolean> visited) {
+        if (value == null) {
+            return 0;
+        }
+        if (visited.put(value, Boolean.TRUE) != null) {
+            return 0;
+        }
+        Class<?> type = value.getClass();
+        if (value instanceof String) {
+            return align(HEADER + 8) + align(ARRAY_HEADER + ((String) value).length() * 2L);
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum) {
+            return value instanceof Enum ? 0 : align(HEADER + primitiveSize(type));
+        }
+        if (type.isArray()) {
+            return arraySize(value, type.getComponentType(), depth, visited);
+        }
+        if (depth >= MAX_DEPTH || type.getName().startsWith("org.hibernate.")) {
+            return OPAQUE_OBJECT;
+        }
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            return align(HEADER + 24) + collection.size() * (long) (REFERENCE + 16)
+                    + sampled(collection.iterator(), collection.size(), depth, visited);
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            List<Object> keysAndValues = new ArrayList<>();
+            Iterator<? extends Map.Entry<?, ?>> it = map.entrySet().iterator();
+            for (int i = 0; i < SAMPLE_SIZE && it.hasNext(); i++) {
+                Map.Entry<?, ?> entry = it.next();
+                keysAndValues.add(entry.getKey());
+                keysAndValues.add(entry.getValue());
+            }
+            long sampledSize = 0;
+            for (Object element : keysAndValues) {
+                sampledSize += sizeOf(element, depth + 1, visited);
+            }
+            int sampledEntries = keysAndValues.size() / 2;
+            long entriesSize = sampledEntries == 0 ? 0 : sampledSize * map.size() / sampledEntries;
+            return align(HEADER + 32) + map.size() * (long) (REFERENCE + 32) + entriesSize;
+        }
+        return objectSize(value, type, depth, visited);
+    }
+
+    private static long arraySize(Object array, Class<?> componentType, int depth, IdentityHashMap<Object, Boolean> visited) {
+        int length = Array.getLength(array);
+        if (componentType.isPrimitive()) {
+            return align(ARRAY_HEADER + (long) length * primitiveSize(componentType));
+        }
+        long size = align(ARRAY_HEADER + (long) length * REFERENCE);
+        if (depth >= MAX_DEPTH) {
+            return size;
+        }
+        long sampledSize = 0;
+        int sampled = Math.min(length, SAMPLE_SIZE);
+        for (int i = 0; i < sampled; i++) {
+            sampledSize += sizeOf(Array.get(array, i), depth + 1, visited);
+        }
+        return size + (sampled == 0 ? 0 : sampledSize * length / sampled);
+    }
+
+    private static long sampled(Iterator<?> it, int size, int depth, IdentityHashMap<Object, Boolean> visited) {
+        long sampledSize = 0;
+        int sampled = 0;
+        while (sampled < SAMPLE_SIZE && it.hasNext()) {
+            sampledSize += sizeOf(it.next(), depth + 1, visited);
+            sampled++;
+        }
+        return sampled == 0 ? 0 : sampledSize * size / sampled;
+    }
+
+    private static long objectSize(Object value, Class<?> type, int depth, IdentityHashMap<Object, Boolean> visited) {
+        Field[] fields = fieldsOf(type);
+        if (fields == INACCESSIBLE) {
+            return OPAQUE_OBJECT;
+        }
+        long shallow = HEADER;
+        long referenced = 0;
+        for (Field field : fields) {
+            Class<?> fieldType = field.getType();
+            if (fieldType.isPrimitive()) {
+                shallow += primitiveSize(fieldType);
+                continue;
+            }
+            shallow += REFERENCE;
+            try {
+                referenced += sizeOf(field.get(value), depth + 1, visited);
+            } catch (IllegalAccessException e) {
+                referenced += OPAQUE_OBJECT;
+            }
+        }
+        return align(shallow) + referenced;
+    }
+
+    private static Field[] fieldsOf(Class<?> type) {
+        return FIELDS.computeIfAbsent(type, t -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = t; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                    } catch (RuntimeException e) {
+                        // JDK 9+ 모듈로 막힌 내부 필드 (java.* 등)
+                        return INACCESSIBLE;
+                    }
+                    fields.add(field);
+                }
+            }
+            return fields.toArray(new Field[0]);
+        });
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class || type == Long.class || type == Double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class || type == Integer.class || type == Float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class || type == Short.class || type == Character.class) {
+            return 2;
+        }
+        if (type == byte.class || type == boolean.class || type == Byte.class || type == Boolean.class) {
+            return 1;
+        }
+        // BigDecimal / BigInteger 등
+        return 24;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
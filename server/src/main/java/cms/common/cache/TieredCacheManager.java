@@ -0,0 +1,128 @@
+package cms.common.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 캐시별 제한(CacheSpec)을 적용하는 CacheManager
+ *
+ * mode=local 이면 노드별 BoundedCache, mode=two-level 이면 near cache + L2 로 구성합니다.
+ * two-level 에서 다른 노드의 변경은 L2 무효화 이벤트로 받아 near cache 에서 제거합니다.
+ * 설정에 없는 캐시 이름은 기본 spec 으로 생성되므로 제한 없이 커지는 캐시는 만들어지지 않습니다.
+ * 캐시별 적중/제거 통계는 Micrometer cache.* 메트릭(tier=near|l2)으로 등록합니다.
+ */
+public class TieredCacheManager extends AbstractCacheManager implements MeterBinder {
+
+    private final CacheSpec defaultSpec;
+    private final Map<String, CacheSpec> specs;
+    private final L2CacheStore l2;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile MeterRegistry meterRegistry;
+
+    /**
+     * @param l2 null 이면 로컬 모드
+     */
+    public TieredCacheManager(CacheSpec defaultSpec, Map<String, CacheSpec> specs, L2CacheStore l2) {
+        this.defaultSpec = defaultSpec;
+        this.specs = specs;
+        this.l2 = l2;
+        if (l2 != null) {
+            l2.addInvalidationListener(this::onInvalidate);
+        }
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        specs.keySet().forEach(name -> caches.add(createCache(name)));
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    /**
+     * 만료 항목 일괄 정리
+     *
+     * @return 제거된 항목 수
+     */
+    public int cleanUp() {
+        int removed = 0;
+        for (String name : getCacheNames()) {
+            Cache cache = getCache(name);
+            if (cache instanceof TwoLevelCache) {
+                removed += ((TwoLevelCache) cache).cleanUp();
+            } else if (cache instanceof BoundedCache) {
+                removed += ((BoundedCache) cache).cleanUp();
+            }
+        }
+        if (l2 instanceof EmbeddedL2CacheStore) {
+            ((EmbeddedL2CacheStore) l2).cleanUp();
+        }
+        return removed;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        for (String name : getCacheNames()) {
+            bindCache(registry, getCache(name));
+        }
+        JdbcCacheInvalidationBus bus = l2 instanceof EmbeddedL2CacheStore
+                ? ((EmbeddedL2CacheStore) l2).getInvalidationBus()
+                : null;
+        if (bus != null) {
+            FunctionCounter.builder("cache.invalidation.published", bus, JdbcCacheInvalidationBus::publishedCount)
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidation.received", bus, JdbcCacheInvalidationBus::receivedCount)
+                    .description("Invalidations received from other nodes")
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidation.gaps.skipped", bus, JdbcCacheInvalidationBus::skippedGapCount)
+                    .description("Event ids given up on after the gap timeout")
+                    .register(registry);
+        }
+    }
+
+    private void bindCache(MeterRegistry registry, Cache cache) {
+        BoundedCache near = cache instanceof TwoLevelCache ? ((TwoLevelCache) cache).getNear() : (BoundedCache) cache;
+        new BoundedCacheMetrics(near, cache.getName(), Tags.of("tier", "near")).bindTo(registry);
+        if (l2 instanceof EmbeddedL2CacheStore) {
+            BoundedCache region = ((EmbeddedL2CacheStore) l2).region(cache.getName());
+            new BoundedCacheMetrics(region, cache.getName(), Tags.of("tier", "l2")).bindTo(registry);
+        }
+    }
+
+    private Cache createCache(String name) {
+        CacheSpec spec = specs.getOrDefault(name, defaultSpec);
+        BoundedCache near = new BoundedCache(name, spec, CacheWeigher.APPROXIMATE_SIZE, true);
+        Cache cache = l2 == null ? near : new TwoLevelCache(near, l2, nodeId);
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            // 메트릭 등록 이후 처음 요청된 캐시
+            bindCache(registry, cache);
+        }
+        return cache;
+    }
+
+    private void onInvalidate(String cacheName, Object key, String originNodeId) {
+        if (nodeId.equals(originNodeId)) {
+            return;
+        }
+        Cache cache = lookupCache(cacheName);
+        if (cache instanceof TwoLevelCache) {
+            ((TwoLevelCache) cache).invalidateLocal(key);
+        }
+    }
+}
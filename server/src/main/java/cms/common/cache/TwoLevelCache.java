@@ -0,0 +1,118 @@
+package cms.common.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * near cache(로컬 BoundedCache) + 공유 L2 로 구성된 2단계 캐시
+ *
+ * 조회: near -> L2 -> (miss). L2 적중 시 near 로 승격합니다.
+ * 변경: L2 에 먼저 반영한 뒤 무효화 이벤트로 다른 노드의 near 항목을 제거합니다.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final BoundedCache near;
+    private final L2CacheStore l2;
+    private final String nodeId;
+    private final ConcurrentHashMap<Object, Object> loadingLocks = new ConcurrentHashMap<>();
+
+    public TwoLevelCache(BoundedCache near, L2CacheStore l2, String nodeId) {
+        super(true);
+        this.near = near;
+        this.l2 = l2;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String getName() {
+        return near.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        ValueWrapper local = near.get(key);
+        if (local != null) {
+            return toStoreValue(local.get());
+        }
+        Object shared = l2.get(getName(), key);
+        if (shared != null) {
+            near.putStoreValue(key, shared);
+        }
+        return shared;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        Object keyLock = loadingLocks.computeIfAbsent(key, k -> new Object());
+        try {
+            synchronized (keyLock) {
+                Object storeValue = lookup(key);
+                if (storeValue != null) {
+                    return (T) fromStoreValue(storeValue);
+                }
+                T value;
+                try {
+                    value = valueLoader.call();
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(key, valueLoader, e);
+                }
+                put(key, value);
+                return value;
+            }
+        } finally {
+            loadingLocks.remove(key, keyLock);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        l2.put(getName(), key, storeValue, nodeId);
+        near.putStoreValue(key, storeValue);
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(getName(), key, nodeId);
+        near.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        l2.clear(getName(), nodeId);
+        near.clear();
+    }
+
+    /**
+     * 다른 노드에서 발행된 무효화 이벤트 처리
+     */
+    void invalidateLocal(Object key) {
+        if (key == null) {
+            near.clear();
+        } else if (key instanceof JdbcCacheInvalidationBus.RemoteKey) {
+            near.evictByKeyText(((JdbcCacheInvalidationBus.RemoteKey) key).getText());
+        } else {
+            near.evict(key);
+        }
+    }
+
+    public int cleanUp() {
+        return near.cleanUp();
+    }
+
+    BoundedCache getNear() {
+        return near;
+    }
+}
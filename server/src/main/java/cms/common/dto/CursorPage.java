@@ -0,0 +1,29 @@
+package cms.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "커서(seek) 페이지 응답")
+public class CursorPage<T> {
+    @Schema(description = "페이지 데이터")
+    private List<T> content;
+
+    @Schema(description = "요청한 페이지 크기", example = "20")
+    private int size;
+
+    @Schema(description = "다음 페이지 커서 (마지막 페이지면 null)")
+    private String nextCursor;
+
+    @Schema(description = "다음 페이지 존재 여부")
+    private boolean hasNext;
+
+    @Schema(description = "전체 건수 (includeTotal 로 첫 페이지를 요청한 경우에만)")
+    private Long totalElements;
+}
@@ -63,6 +63,10 @@ public enum ErrorCode {
             HttpStatus.FORBIDDEN),
     DUPLICATE_ENROLLMENT("EN_0011", "이미 해당 강습에 신청 내역이 존재합니다.", HttpStatus.CONFLICT),
     REGISTRATION_PERIOD_INVALID("EN_0012", "신청 기간이 아닙니다.", HttpStatus.BAD_REQUEST),
+    ADMISSION_TICKET_REQUIRED("EN_0013", "수강 신청 대기열 입장권이 필요합니다.", HttpStatus.FORBIDDEN),
+    ADMISSION_TICKET_INVALID("EN_0014", "유효하지 않은 대기열 입장권입니다.", HttpStatus.FORBIDDEN),
+    ADMISSION_TICKET_EXPIRED("EN_0015", "대기열 입장권이 만료되었습니다. 다시 대기열에 입장해주세요.", HttpStatus.FORBIDDEN),
+    ADMISSION_NOT_YET_ALLOWED("EN_0016", "아직 입장 순서가 아닙니다. 잠시 후 다시 시도해주세요.", HttpStatus.TOO_MANY_REQUESTS),
 
     // Payment Errors (PM_xxxx)
     PAYMENT_INFO_NOT_FOUND("PM_0001", "결제 정보를 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
@@ -79,6 +83,9 @@ public enum ErrorCode {
     PAYMENT_CANCEL_FAILED("PM_0012", "PG사 결제 취소에 실패했습니다. (PG사 거부)", HttpStatus.BAD_REQUEST),
     PAYMENT_GATEWAY_ERROR("PM_0013", "PG사와의 통신 중 오류가 발생했습니다.", HttpStatus.INTERNAL_SERVER_ERROR),
     PG_TRANSACTION_NOT_FOUND("PM_0014", "PG사에서 해당 거래를 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
+    PG_CIRCUIT_OPEN("PM_0015", "PG사 통신이 일시적으로 중단되었습니다. 잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE),
+    RECONCILE_RUN_NOT_FOUND("PM_0016", "결제 대사 실행 정보를 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
+    RECONCILE_RUN_IN_PROGRESS("PM_0017", "이미 진행 중인 결제 대사가 있습니다.", HttpStatus.CONFLICT),
 
     // Locker Errors (LK_xxxx)
     LOCKER_NOT_AVAILABLE("LK_0001", "사용 가능한 사물함이 없습니다.", HttpStatus.CONFLICT),
@@ -92,6 +99,12 @@ public enum ErrorCode {
     FILE_NOT_FOUND("FL_0002", "파일을 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
     INVALID_FILE_FORMAT("FL_0003", "지원하지 않는 파일 형식입니다.", HttpStatus.BAD_REQUEST),
     FILE_SIZE_EXCEEDED("FL_0004", "파일 크기가 너무 큽니다.", HttpStatus.PAYLOAD_TOO_LARGE),
+    UPLOAD_SESSION_NOT_FOUND("FL_0005", "업로드 세션을 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
+    UPLOAD_SESSION_CLOSED("FL_0006", "이미 완료되었거나 만료된 업로드 세션입니다.", HttpStatus.CONFLICT),
+    UPLOAD_SESSION_INCOMPLETE("FL_0007", "아직 업로드되지 않은 조각이 있습니다.", HttpStatus.CONFLICT),
+    INVALID_UPLOAD_CHUNK("FL_0008", "업로드 조각 정보가 올바르지 않습니다.", HttpStatus.BAD_REQUEST),
+    UPLOAD_QUOTA_EXCEEDED("FL_0009", "진행 중인 업로드가 너무 많습니다. 기존 업로드를 완료하거나 취소한 뒤 다시 시도해 주세요.",
+            HttpStatus.TOO_MANY_REQUESTS),
 
     // Content Errors (CT_xxxx)
     CONTENT_BLOCK_NOT_FOUND("CT_0001", "콘텐츠 블록을 찾을 수 없습니다.", HttpStatus.NOT_FOUND),
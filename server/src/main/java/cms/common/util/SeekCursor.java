@@ -0,0 +1,85 @@
+package cms.common.util;
+
+import cms.common.exception.BusinessRuleException;
+import cms.common.exception.ErrorCode;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 키셋(seek) 페이징 위치 (createdAt, id) - 최신순(createdAt desc, id desc) 목록용.
+ * 커서 토큰은 "createdAt,id" 의 base64url 인코딩입니다.
+ */
+public final class SeekCursor {
+
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    public SeekCursor(LocalDateTime createdAt, long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createdAt + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int comma = raw.lastIndexOf(',');
+            return new SeekCursor(LocalDateTime.parse(raw.substring(0, comma)),
+                    Long.parseLong(raw.substring(comma + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new BusinessRuleException(ErrorCode.INVALID_INPUT_VALUE, "유효하지 않은 cursor 입니다.");
+        }
+    }
+
+    /**
+     * spec 조건을 만족하는 행 중 커서 다음 위치부터 limit 건의 id 를 최신순으로 조회합니다.
+     * id 만 선택하므로 (created_at, id) 인덱스를 따라 읽고 OFFSET / COUNT 가 없습니다.
+     */
+    public static <T> List<Long> findIds(EntityManager entityManager, Class<T> type, Specification<T> spec,
+            String idAttribute, SeekCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        Path<LocalDateTime> createdAt = root.get("createdAt");
+        Path<Long> id = root.get(idAttribute);
+
+        Predicate where = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (after != null) {
+            Predicate seek = cb.or(cb.lessThan(createdAt, after.createdAt),
+                    cb.and(cb.equal(createdAt, after.createdAt), cb.lessThan(id, after.id)));
+            where = where != null ? cb.and(where, seek) : seek;
+        }
+        query.select(id);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(cb.desc(createdAt), cb.desc(id));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
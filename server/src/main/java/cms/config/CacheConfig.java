@@ -1,25 +1,50 @@
 package cms.config;
 
-import org.springframework.cache.CacheManager;
+import cms.common.cache.CacheSpec;
+import cms.common.cache.EmbeddedL2CacheStore;
+import cms.common.cache.JdbcCacheInvalidationBus;
+import cms.common.cache.TieredCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    private static final String MODE_TWO_LEVEL = "two-level";
+
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager(
-            "menus",
-            "contents",
-            "templates",
-            "files"
-        );
+    public TieredCacheManager cacheManager(CacheTierProperties properties,
+            ObjectProvider<JdbcCacheInvalidationBus> invalidationBus) {
+        Map<String, CacheSpec> specs = new LinkedHashMap<>();
+        // 기본 캐시는 설정이 없어도 항상 생성
+        for (String name : Arrays.asList("menus", "contents", "templates", "files")) {
+            specs.put(name, properties.getDefaults().copy());
+        }
+        specs.putAll(properties.getSpecs());
+
+        EmbeddedL2CacheStore l2 = MODE_TWO_LEVEL.equalsIgnoreCase(properties.getMode())
+                ? new EmbeddedL2CacheStore(properties.getL2(), invalidationBus.getIfAvailable())
+                : null;
+        return new TieredCacheManager(properties.getDefaults(), specs, l2);
+    }
+
+    /**
+     * 다중 노드 two-level 캐시의 노드 간 무효화 전파 (app.cache.invalidation.type=jdbc)
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnExpression("'${app.cache.mode:local}' == 'two-level' && '${app.cache.invalidation.type:local}' == 'jdbc'")
+    public JdbcCacheInvalidationBus cacheInvalidationBus(JdbcTemplate jdbcTemplate, CacheTierProperties properties) {
+        CacheTierProperties.Invalidation invalidation = properties.getInvalidation();
+        return new JdbcCacheInvalidationBus(jdbcTemplate, invalidation.getPollInterval(), invalidation.getRetention(),
+                invalidation.getGapTimeout());
     }
-} 
- 
- 
- 
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package cms.config;
+
+import cms.common.cache.CacheSpec;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+@Getter
+@Setter
+public class CacheTierProperties {
+    /** local: 노드별 캐시, two-level: near cache + L2 */
+    private String mode = "local";
+    /** specs 에 없는 캐시에 적용할 기본 제한 */
+    private CacheSpec defaults = new CacheSpec();
+    /** 캐시 이름별 제한 */
+    private Map<String, CacheSpec> specs = new LinkedHashMap<>();
+    /** 내장 L2 제한 (two-level 모드) */
+    private CacheSpec l2 = new CacheSpec();
+    /** 노드 간 무효화 전파 (two-level 모드) */
+    private Invalidation invalidation = new Invalidation();
+
+    @Getter
+    @Setter
+    public static class Invalidation {
+        /** local: 같은 JVM 안에서만 전파, jdbc: 공유 DB 테이블(cache_invalidation_event) 폴링 */
+        private String type = "local";
+        /** 다른 노드 이벤트 폴링 주기(ms) */
+        private long pollInterval = 500;
+        /** 이벤트 보관 기간(ms) */
+        private long retention = 600000;
+        /** ID 순서보다 늦게 커밋되는 이벤트를 기다리는 최대 시간(ms) */
+        private long gapTimeout = 5000;
+    }
+}
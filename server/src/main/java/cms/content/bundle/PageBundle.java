@@ -0,0 +1,79 @@
+package cms.content.bundle;
+
+import java.time.LocalDateTime;
+
+/**
+ * 미리 직렬화/압축해 둔 공개 페이지 묶음 응답
+ */
+public final class PageBundle {
+
+    private final String key;
+    private final long version;
+    private final long menuVersion;
+    private final String etag;
+    private final byte[] json;
+    private final byte[] gzip;
+    private final LocalDateTime builtAt;
+    private final long builtAtMillis;
+    // 팝업 노출 기간 경계 등으로 내용이 바뀌는 시각 (Long.MAX_VALUE 이면 없음)
+    private final long validUntilMillis;
+
+    PageBundle(String key, long version, long menuVersion, String etag, byte[] json, byte[] gzip,
+            long builtAtMillis, long validUntilMillis) {
+        this.key = key;
+        this.version = version;
+        this.menuVersion = menuVersion;
+        this.etag = etag;
+        this.json = json;
+        this.gzip = gzip;
+        this.builtAt = LocalDateTime.now();
+        this.builtAtMillis = builtAtMillis;
+        this.validUntilMillis = validUntilMillis;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getMenuVersion() {
+        return menuVersion;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * gzip 본문의 ETag. 같은 내용이라도 인코딩별로 다른 표현이므로 강한 ETag 를 구분합니다.
+     */
+    public String getGzipEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * gzip 본문. 압축 효과가 없으면 null
+     */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    public long getValidUntilMillis() {
+        return validUntilMillis;
+    }
+}
@@ -0,0 +1,84 @@
+package cms.content.bundle;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 페이지 묶음 보관소
+ *
+ * 관리자 변경(콘텐츠 블록, 팝업, 메인 미디어)은 커밋 후 invalidate 로 묶음을 비우고 세대(generation)를 올립니다.
+ * 묶음을 만드는 동안 세대가 바뀌었으면 만든 결과를 저장하지 않아 오래된 내용이 남지 않습니다.
+ * 메뉴 변경은 메뉴 색인 버전으로 따로 확인합니다.
+ */
+@Component
+public class PageBundleCache {
+
+    public static final String MAIN_KEY = "main";
+    private static final String MENU_KEY_PREFIX = "menu:";
+
+    private final ConcurrentHashMap<String, PageBundle> bundles = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public static String menuKey(Long menuId) {
+        return MENU_KEY_PREFIX + menuId;
+    }
+
+    PageBundle get(String key) {
+        return bundles.get(key);
+    }
+
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 만드는 동안 무효화가 없었을 때만 저장합니다.
+     */
+    void putIfCurrent(PageBundle bundle, long expectedGeneration) {
+        bundles.put(bundle.getKey(), bundle);
+        if (generation.get() != expectedGeneration) {
+            bundles.remove(bundle.getKey(), bundle);
+        }
+    }
+
+    void remove(String key, PageBundle bundle) {
+        bundles.remove(key, bundle);
+    }
+
+    int size() {
+        return bundles.size();
+    }
+
+    long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 모든 묶음을 무효화합니다.
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        invalidateAll();
+                    }
+                }
+            });
+        } else {
+            invalidateAll();
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        bundles.clear();
+    }
+}
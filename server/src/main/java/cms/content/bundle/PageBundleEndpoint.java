@@ -0,0 +1,25 @@
+package cms.content.bundle;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 페이지 묶음 강제 무효화용 actuator 엔드포인트 (POST /actuator/page-bundles, 관리자 전용)
+ * 묶음 상태는 page.bundle.* 메트릭으로 확인합니다.
+ */
+@Component
+@Endpoint(id = "page-bundles")
+public class PageBundleEndpoint {
+
+    private final PageBundleCache pageBundleCache;
+
+    public PageBundleEndpoint(PageBundleCache pageBundleCache) {
+        this.pageBundleCache = pageBundleCache;
+    }
+
+    @WriteOperation
+    public void invalidate() {
+        pageBundleCache.invalidateAll();
+    }
+}
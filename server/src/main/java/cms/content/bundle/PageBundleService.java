@@ -0,0 +1,222 @@
+package cms.content.bundle;
+
+import cms.common.dto.ApiResponseSchema;
+import cms.common.exception.ResourceNotFoundException;
+import cms.content.service.ContentBlockService;
+import cms.mainmedia.service.MainMediaService;
+import cms.menu.index.MenuEntry;
+import cms.menu.index.MenuIndex;
+import cms.menu.service.MenuService;
+import cms.popup.domain.Popup;
+import cms.popup.dto.PopupRes;
+import cms.popup.repository.PopupRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 공개 페이지 묶음 응답
+ *
+ * 메인 페이지(메뉴 + 메인 콘텐츠 블록 + 활성 팝업 + 메인 미디어)와 메뉴별 페이지(메뉴 + 해당 메뉴 콘텐츠 블록 + 활성 팝업)를
+ * 한 번에 내려줄 수 있도록 미리 JSON 으로 직렬화하고 gzip 으로 압축해 둡니다.
+ *
+ * 묶음은 다음 경우 다시 만듭니다.
+ * - 콘텐츠 블록 / 팝업 / 메인 미디어 관리자 변경 (커밋 후 {@link PageBundleCache#invalidateAfterCommit()})
+ * - 메뉴 색인 버전 변경
+ * - 팝업 노출 시작/종료 시각 도달
+ * - ttl 경과 (다른 노드에서의 변경 반영)
+ */
+@Service
+public class PageBundleService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageBundleService.class);
+
+    private final PageBundleCache cache;
+    private final MenuIndex menuIndex;
+    private final MenuService menuService;
+    private final ContentBlockService contentBlockService;
+    private final PopupRepository popupRepository;
+    private final MainMediaService mainMediaService;
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<String, Object> buildLocks = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong totalBuildMillis = new AtomicLong();
+
+    public PageBundleService(PageBundleCache cache, MenuIndex menuIndex, MenuService menuService,
+            ContentBlockService contentBlockService, PopupRepository popupRepository,
+            MainMediaService mainMediaService, ObjectMapper objectMapper,
+            @Value("${app.page-bundle.ttl:60000}") long ttlMillis) {
+        this.cache = cache;
+        this.menuIndex = menuIndex;
+        this.menuService = menuService;
+        this.contentBlockService = contentBlockService;
+        this.popupRepository = popupRepository;
+        this.mainMediaService = mainMediaService;
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public PageBundle getMainBundle() {
+        return getOrBuild(PageBundleCache.MAIN_KEY, null);
+    }
+
+    public PageBundle getMenuBundle(Long menuId) {
+        MenuEntry menu = menuIndex.snapshot().get(menuId);
+        if (menu == null || !menu.isVisible()) {
+            throw new ResourceNotFoundException("Menu", menuId);
+        }
+        return getOrBuild(PageBundleCache.menuKey(menuId), menuId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("page.bundle.cached", cache, PageBundleCache::size)
+                .register(registry);
+        FunctionCounter.builder("page.bundle.hits", hits, AtomicLong::get)
+                .register(registry);
+        FunctionTimer.builder("page.bundle.builds", this, service -> service.builds.get(),
+                        service -> service.totalBuildMillis.get(), TimeUnit.MILLISECONDS)
+                .register(registry);
+        FunctionCounter.builder("page.bundle.invalidations", cache, PageBundleCache::getInvalidations)
+                .register(registry);
+    }
+
+    private PageBundle getOrBuild(String key, Long menuId) {
+        long menuVersion = menuIndex.snapshot().getVersion();
+        PageBundle bundle = cache.get(key);
+        if (isFresh(bundle, menuVersion)) {
+            hits.incrementAndGet();
+            return bundle;
+        }
+        // 같은 묶음을 동시에 여러 번 만들지 않도록 키별로 직렬화
+        synchronized (buildLocks.computeIfAbsent(key, k -> new Object())) {
+            bundle = cache.get(key);
+            if (isFresh(bundle, menuVersion)) {
+                hits.incrementAndGet();
+                return bundle;
+            }
+            if (bundle != null) {
+                cache.remove(key, bundle);
+            }
+            long generation = cache.generation();
+            PageBundle built = build(key, menuId, menuVersion);
+            cache.putIfCurrent(built, generation);
+            return built;
+        }
+    }
+
+    private boolean isFresh(PageBundle bundle, long menuVersion) {
+        if (bundle == null || bundle.getMenuVersion() != menuVersion) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        return now < bundle.getValidUntilMillis() && now - bundle.getBuiltAtMillis() < ttlMillis;
+    }
+
+    private PageBundle build(String key, Long menuId, long menuVersion) {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("menus", menuService.getActiveMenus());
+        if (menuId == null) {
+            data.put("contentBlocks", contentBlockService.getContentBlocksForMainPage());
+        } else {
+            data.put("menu", menuService.getMenu(menuId));
+            data.put("contentBlocks", contentBlockService.getContentBlocksByMenu(menuId));
+        }
+
+        // 활성 팝업 (findActivePopups 와 같은 조건) 과 다음 노출 변경 시각
+        List<PopupRes> popups = new ArrayList<>();
+        LocalDateTime nextChange = null;
+        for (Popup popup : popupRepository.findAllByOrderByDisplayOrderAsc()) {
+            if (!popup.isVisible() || popup.getStartDate() == null || popup.getEndDate() == null) {
+                continue;
+            }
+            if (popup.getStartDate().isAfter(now)) {
+                nextChange = earlier(nextChange, popup.getStartDate());
+            } else if (!popup.getEndDate().isBefore(now)) {
+                popups.add(PopupRes.from(popup));
+                nextChange = earlier(nextChange, popup.getEndDate().plusNanos(1_000_000));
+            }
+        }
+        data.put("popups", popups);
+        if (menuId == null) {
+            data.put("mainMedia", mainMediaService.getAllMainMedia());
+        }
+
+        long version = versions.incrementAndGet();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(ApiResponseSchema.success(data, "페이지 정보를 성공적으로 조회했습니다."));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize page bundle " + key, e);
+        }
+        byte[] gzip = gzip(json);
+        long validUntil = nextChange == null ? Long.MAX_VALUE
+                : nextChange.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        long elapsed = System.currentTimeMillis() - started;
+        builds.incrementAndGet();
+        totalBuildMillis.addAndGet(elapsed);
+        logger.debug("Page bundle {} v{} built in {} ms ({} bytes, gzip {})", key, version, elapsed, json.length,
+                gzip != null ? gzip.length : -1);
+        return new PageBundle(key, version, menuVersion, "\"" + sha256Hex(json).substring(0, 32) + "\"", json,
+                gzip, started, validUntil);
+    }
+
+    private static LocalDateTime earlier(LocalDateTime current, LocalDateTime candidate) {
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            return null;
+        }
+        byte[] compressed = out.toByteArray();
+        return compressed.length < json.length ? compressed : null;
+    }
+
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
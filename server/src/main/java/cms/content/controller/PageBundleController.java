@@ -0,0 +1,97 @@
+package cms.content.controller;
+
+import cms.content.bundle.PageBundle;
+import cms.content.bundle.PageBundleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Locale;
+
+/**
+ * 공개 페이지 묶음 API. 본문은 미리 직렬화된 ApiResponseSchema JSON 입니다.
+ */
+@RestController
+@RequestMapping("/cms/page-bundles/public")
+@Tag(name = "cms_02_PageBundle", description = "공개 페이지 묶음 조회 API")
+public class PageBundleController {
+
+    private final PageBundleService pageBundleService;
+    private final long maxAge;
+
+    public PageBundleController(PageBundleService pageBundleService,
+            @Value("${app.page-bundle.max-age:0}") long maxAge) {
+        this.pageBundleService = pageBundleService;
+        this.maxAge = maxAge;
+    }
+
+    @Operation(summary = "메인 페이지 묶음 조회", description = "메뉴, 메인 콘텐츠 블록, 활성 팝업, 메인 미디어를 한 번에 조회합니다.")
+    @GetMapping("/main")
+    public ResponseEntity<byte[]> getMainBundle(HttpServletRequest request) {
+        return toResponse(pageBundleService.getMainBundle(), request);
+    }
+
+    @Operation(summary = "메뉴 페이지 묶음 조회", description = "메뉴, 해당 메뉴의 콘텐츠 블록, 활성 팝업을 한 번에 조회합니다.")
+    @GetMapping("/menus/{menuId}")
+    public ResponseEntity<byte[]> getMenuBundle(
+            @Parameter(description = "메뉴 ID") @PathVariable Long menuId,
+            HttpServletRequest request) {
+        return toResponse(pageBundleService.getMenuBundle(menuId), request);
+    }
+
+    private ResponseEntity<byte[]> toResponse(PageBundle bundle, HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = bundle.getGzip() != null && acceptEncoding != null
+                && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("public, max-age=" + maxAge + ", must-revalidate");
+        headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        // 압축하지 않은 표현은 어떤 클라이언트든 재사용할 수 있으므로, 그 ETag 가 맞으면 304 에 그대로 돌려줌
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String matched = matchingEtag(ifNoneMatch, bundle, gzip);
+            if (matched != null) {
+                headers.setETag(matched);
+                return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+            }
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            headers.setETag(bundle.getGzipEtag());
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new ResponseEntity<>(bundle.getGzip(), headers, HttpStatus.OK);
+        }
+        headers.setETag(bundle.getEtag());
+        return new ResponseEntity<>(bundle.getJson(), headers, HttpStatus.OK);
+    }
+
+    private static String matchingEtag(String header, PageBundle bundle, boolean gzip) {
+        String preferred = gzip ? bundle.getGzipEtag() : bundle.getEtag();
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(preferred)) {
+                return preferred;
+            }
+            if (value.equals(bundle.getEtag())) {
+                return bundle.getEtag();
+            }
+        }
+        return null;
+    }
+}
@@ -2,6 +2,7 @@ package cms.content.service.impl;
 
 import cms.content.domain.ContentBlock;
 import cms.content.domain.ContentBlockHistory;
+import cms.content.bundle.PageBundleCache;
 import cms.content.dto.ContentBlockCreateRequest;
 import cms.content.dto.ContentBlockReorderRequest;
 import cms.content.dto.ContentBlockResponse;
@@ -44,6 +45,7 @@ public class ContentBlockServiceImpl implements ContentBlockService {
     private final MenuRepository menuRepository;
     private final FileRepository fileRepository;
     private final ContentBlockHistoryRepository historyRepository;
+    private final PageBundleCache pageBundleCache;
     private final ContentBlockFileRepository contentBlockFileRepository;
     private final ObjectMapper objectMapper;
     private static final int MAX_HISTORY_COUNT = 10;
@@ -89,6 +91,7 @@ public class ContentBlockServiceImpl implements ContentBlockService {
             associateFilesToContentBlock(savedContentBlock, request.getFileIds());
         }
 
+        pageBundleCache.invalidateAfterCommit();
         return new ContentBlockResponse(findContentBlockById(savedContentBlock.getId()));
     }
 
@@ -112,6 +115,7 @@ public class ContentBlockServiceImpl implements ContentBlockService {
             associateFilesToContentBlock(savedContentBlock, request.getFileIds());
         }
 
+        pageBundleCache.invalidateAfterCommit();
         return new ContentBlockResponse(findContentBlockById(savedContentBlock.getId()));
     }
 
@@ -134,6 +138,7 @@ public class ContentBlockServiceImpl implements ContentBlockService {
 
         contentBlock.increaseVersion();
 
+        pageBundleCache.invalidateAfterCommit();
         return new ContentBlockResponse(contentBlockRepository.save(contentBlock));
     }
 
@@ -143,6 +148,7 @@ public class ContentBlockServiceImpl implements ContentBlockService {
             throw new EntityNotFoundException("ContentBlock not found with id: " + contentId);
         }
         contentBlockRepository.deleteById(contentId);
+        pageBundleCache.invalidateAfterCommit();
     }
 
     @Override
@@ -152,6 +158,7 @@ public class ContentBlockServiceImpl implements ContentBlockService {
                     .orElseThrow(() -> new EntityNotFoundException("ContentBlock not found with id: " + item.getId()));
             contentBlock.updateSortOrder(item.getSortOrder());
         });
+        pageBundleCache.invalidateAfterCommit();
     }
 
     @Override
@@ -185,6 +192,7 @@ public class ContentBlockServiceImpl implements ContentBlockService {
 
         contentBlock.increaseVersion();
 
+        pageBundleCache.invalidateAfterCommit();
         return new ContentBlockResponse(contentBlockRepository.save(contentBlock));
     }
 
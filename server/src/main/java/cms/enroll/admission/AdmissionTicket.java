@@ -0,0 +1,27 @@
+package cms.enroll.admission;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 서명 검증이 끝난 입장권 내용
+ */
+@Getter
+@AllArgsConstructor
+public class AdmissionTicket {
+    private final String token;
+    private final Long lessonId;
+    private final String userUuid;
+    /** 신청 경로 진입이 허용되는 시각 (epoch millis) */
+    private final long admitAt;
+    /** 입장권 만료 시각 (epoch millis) */
+    private final long expiresAt;
+
+    public boolean isAdmitted(long now) {
+        return now >= admitAt && now < expiresAt;
+    }
+
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
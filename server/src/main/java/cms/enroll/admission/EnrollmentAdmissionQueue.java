@@ -0,0 +1,283 @@
+package cms.enroll.admission;
+
+import cms.common.exception.BusinessRuleException;
+import cms.common.exception.ErrorCode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 수강 신청 오픈 시점용 입장 대기열 (Virtual waiting room)
+ *
+ * 사용자는 강습별로 서명된 입장권을 발급받고, 입장권에 기록된 입장 시각 이후에만 신청/결제 준비 경로에 들어갈 수 있습니다.
+ * 입장 시각은 강습별로 release-per-second 간격으로 배정되므로 DB 에는 초당 일정량의 요청만 도달합니다.
+ *
+ * - 입장권은 HMAC-SHA256 으로 서명되며 검증에 서버 상태가 필요 없음 (다른 노드에서도 검증 가능)
+ * - 같은 사용자가 같은 강습에 대해 다시 요청하면 기존 입장권을 그대로 돌려줌 (새로고침으로 순번이 밀리지 않음)
+ * - 서명 키는 JWT 서명 키와 분리된 전용 키(app.enrollment.admission.secret)를 사용
+ * - 입장 시각 배정은 노드 로컬이므로, 다중 노드 환경에서는 release-per-second 를 노드 수로 나눈 값으로 설정
+ */
+@Component
+public class EnrollmentAdmissionQueue implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentAdmissionQueue.class);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    public static final String STATUS_WAITING = "WAITING";
+    public static final String STATUS_ADMITTED = "ADMITTED";
+    public static final String STATUS_EXPIRED = "EXPIRED";
+
+    private final boolean enabled;
+    private final int releasePerSecond;
+    private final int burst;
+    private final long admissionWindowMillis;
+    private final SecretKeySpec signingKey;
+
+    // 강습별 다음 입장 슬롯 (epoch micros), 배정과 정리 모두 키 단위 compute 로만 갱신
+    private final ConcurrentHashMap<Long, Long> nextSlots = new ConcurrentHashMap<>();
+    // lessonId:userUuid -> 발급된 입장권
+    private final ConcurrentHashMap<String, AdmissionTicket> heldTickets = new ConcurrentHashMap<>();
+
+    private final AtomicLong issuedCount = new AtomicLong();
+    private final AtomicLong reissuedCount = new AtomicLong();
+    private final AtomicLong admittedCount = new AtomicLong();
+    private final AtomicLong earlyRejectedCount = new AtomicLong();
+    private final AtomicLong invalidCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    public EnrollmentAdmissionQueue(
+            @Value("${app.enrollment.admission.enabled:false}") boolean enabled,
+            @Value("${app.enrollment.admission.release-per-second:5}") int releasePerSecond,
+            @Value("${app.enrollment.admission.burst:5}") int burst,
+            @Value("${app.enrollment.admission.window:600000}") long admissionWindowMillis,
+            @Value("${app.enrollment.admission.secret:}") String secret) {
+        this.enabled = enabled;
+        this.releasePerSecond = Math.max(1, releasePerSecond);
+        this.burst = Math.max(0, burst);
+        this.admissionWindowMillis = admissionWindowMillis;
+        this.signingKey = new SecretKeySpec(signingKeyBytes(enabled, secret), HMAC_ALGORITHM);
+        logger.info("[Admission] enabled={}, releasePerSecond={}, burst={}, window={}ms",
+                enabled, this.releasePerSecond, this.burst, admissionWindowMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 강습 입장권을 발급합니다. 유효한 입장권이 이미 있으면 그대로 반환합니다.
+     */
+    public AdmissionTicket issue(Long lessonId, String userUuid) {
+        long now = System.currentTimeMillis();
+        String key = lessonId + ":" + userUuid;
+        AdmissionTicket held = heldTickets.get(key);
+        if (held != null && !held.isExpired(now)) {
+            reissuedCount.incrementAndGet();
+            return held;
+        }
+        return heldTickets.compute(key, (k, existing) -> {
+            if (existing != null && !existing.isExpired(now)) {
+                reissuedCount.incrementAndGet();
+                return existing;
+            }
+            long admitAt = nextSlot(lessonId, now);
+            long expiresAt = admitAt + admissionWindowMillis;
+            issuedCount.incrementAndGet();
+            return new AdmissionTicket(sign(lessonId, userUuid, admitAt, expiresAt), lessonId, userUuid, admitAt,
+                    expiresAt);
+        });
+    }
+
+    /**
+     * 입장권 서명을 검증하고 내용을 반환합니다.
+     *
+     * @return 서명이 올바르지 않거나 형식이 잘못되었으면 null
+     */
+    public AdmissionTicket parse(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, dot)),
+                    StandardCharsets.UTF_8);
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(hmac(payload), signature)) {
+                return null;
+            }
+            String[] parts = payload.split(":");
+            if (parts.length != 4) {
+                return null;
+            }
+            return new AdmissionTicket(token, Long.valueOf(parts[0]), parts[1], Long.parseLong(parts[2]),
+                    Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 신청/결제 준비 경로 진입 전에 호출합니다. 대기열이 비활성화되어 있으면 아무것도 하지 않습니다.
+     */
+    public void checkAdmission(String token, String userUuid, Long lessonId) {
+        if (!enabled) {
+            return;
+        }
+        if (token == null || token.isEmpty()) {
+            earlyRejectedCount.incrementAndGet();
+            throw new BusinessRuleException(ErrorCode.ADMISSION_TICKET_REQUIRED,
+                    "수강 신청 대기열 입장권이 필요합니다. 대기열에 먼저 입장해주세요.");
+        }
+        AdmissionTicket ticket = parse(token);
+        if (ticket == null || !ticket.getLessonId().equals(lessonId) || !ticket.getUserUuid().equals(userUuid)) {
+            invalidCount.incrementAndGet();
+            throw new BusinessRuleException(ErrorCode.ADMISSION_TICKET_INVALID);
+        }
+        long now = System.currentTimeMillis();
+        if (ticket.isExpired(now)) {
+            expiredCount.incrementAndGet();
+            throw new BusinessRuleException(ErrorCode.ADMISSION_TICKET_EXPIRED);
+        }
+        if (!ticket.isAdmitted(now)) {
+            earlyRejectedCount.incrementAndGet();
+            throw new BusinessRuleException(ErrorCode.ADMISSION_NOT_YET_ALLOWED,
+                    "아직 입장 순서가 아닙니다. 대기 순번: " + positionOf(ticket, now));
+        }
+        admittedCount.incrementAndGet();
+    }
+
+    public String statusOf(AdmissionTicket ticket, long now) {
+        if (ticket.isExpired(now)) {
+            return STATUS_EXPIRED;
+        }
+        return ticket.isAdmitted(now) ? STATUS_ADMITTED : STATUS_WAITING;
+    }
+
+    /**
+     * 입장까지 남은 순번. 입장 시각 간격(1/release-per-second)으로 환산합니다.
+     */
+    public long positionOf(AdmissionTicket ticket, long now) {
+        long remaining = ticket.getAdmitAt() - now;
+        if (remaining <= 0) {
+            return 0;
+        }
+        return (remaining * releasePerSecond + 999) / 1000;
+    }
+
+    /**
+     * 만료된 입장권과 대기자가 없는 강습의 슬롯 정보를 정리합니다.
+     */
+    public int evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = heldTickets.size();
+        heldTickets.values().removeIf(ticket -> ticket.isExpired(now));
+        long nowMicros = now * 1000;
+        for (Long lessonId : nextSlots.keySet()) {
+            // 같은 키의 슬롯 배정과 겹치지 않도록 compute 안에서 다시 확인 후 제거
+            nextSlots.computeIfPresent(lessonId, (k, tail) -> tail < nowMicros ? null : tail);
+        }
+        return before - heldTickets.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("enrollment.admission.tickets", heldTickets, Map::size)
+                .description("Admission tickets currently held")
+                .register(registry);
+        Gauge.builder("enrollment.admission.waiting", this, EnrollmentAdmissionQueue::waitingCount)
+                .description("Tickets whose admission time has not been reached yet")
+                .register(registry);
+        FunctionCounter.builder("enrollment.admission.issued", issuedCount, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("enrollment.admission.reissued", reissuedCount, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("enrollment.admission.admitted", admittedCount, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("enrollment.admission.rejected", earlyRejectedCount, AtomicLong::get)
+                .tag("reason", "early")
+                .register(registry);
+        FunctionCounter.builder("enrollment.admission.rejected", invalidCount, AtomicLong::get)
+                .tag("reason", "invalid")
+                .register(registry);
+        FunctionCounter.builder("enrollment.admission.rejected", expiredCount, AtomicLong::get)
+                .tag("reason", "expired")
+                .register(registry);
+    }
+
+    private double waitingCount() {
+        long nowMicros = System.currentTimeMillis() * 1000;
+        long waiting = 0;
+        for (Long slot : nextSlots.values()) {
+            long backlogMicros = slot - nowMicros;
+            if (backlogMicros > 0) {
+                waiting += backlogMicros * releasePerSecond / 1_000_000L;
+            }
+        }
+        return waiting;
+    }
+
+    /**
+     * 강습별 입장 슬롯 배정. 유휴 상태에서는 burst 만큼 즉시 입장을 허용하고 이후 일정 간격으로 배정합니다.
+     */
+    private long nextSlot(Long lessonId, long nowMillis) {
+        long interval = 1_000_000L / releasePerSecond;
+        long floor = nowMillis * 1000 - burst * interval;
+        long[] assigned = new long[1];
+        nextSlots.compute(lessonId, (k, tail) -> {
+            long slot = tail == null ? floor : Math.max(tail, floor);
+            assigned[0] = slot;
+            return slot + interval;
+        });
+        return Math.max(nowMillis, assigned[0] / 1000);
+    }
+
+    private static byte[] signingKeyBytes(boolean enabled, String secret) {
+        if (secret != null && !secret.isEmpty()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        if (enabled) {
+            throw new IllegalStateException(
+                    "app.enrollment.admission.secret must be set when the admission queue is enabled");
+        }
+        // 대기열 비활성화 시에는 입장권을 검증하지 않으므로 프로세스 임시 키 사용
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    private String sign(Long lessonId, String userUuid, long admitAt, long expiresAt) {
+        String payload = lessonId + ":" + userUuid + ":" + admitAt + ":" + expiresAt;
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(hmac(payload));
+    }
+
+    private byte[] hmac(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("입장권 서명 생성에 실패했습니다.", e);
+        }
+    }
+}
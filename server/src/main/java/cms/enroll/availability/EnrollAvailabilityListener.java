@@ -0,0 +1,59 @@
+package cms.enroll.availability;
+
+import cms.enroll.domain.Enroll;
+import cms.enroll.expiry.EnrollmentExpiryEngine;
+import cms.websocket.broadcast.LessonCapacityBroadcaster;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Enroll 엔티티 변경 시 해당 강습의 가용 현황 스냅샷을 갱신 대상으로 표시하고 정원 알림을 요청하는 JPA 엔티티 리스너
+ * 결제대기 신청은 만료 처리 대상으로 등록합니다.
+ *
+ * 세 빈 모두 Repository 에 의존하므로 EntityManagerFactory 생성 시점의 순환 참조를 피하기 위해 지연 조회합니다.
+ */
+@Component
+public class EnrollAvailabilityListener {
+
+    private final ObjectProvider<LessonAvailabilityProjection> projection;
+    private final ObjectProvider<LessonCapacityBroadcaster> broadcaster;
+    private final ObjectProvider<EnrollmentExpiryEngine> expiryEngine;
+
+    public EnrollAvailabilityListener(ObjectProvider<LessonAvailabilityProjection> projection,
+            ObjectProvider<LessonCapacityBroadcaster> broadcaster,
+            ObjectProvider<EnrollmentExpiryEngine> expiryEngine) {
+        this.projection = projection;
+        this.broadcaster = broadcaster;
+        this.expiryEngine = expiryEngine;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onEnrollChanged(Enroll enroll) {
+        if (enroll.getLesson() == null) {
+            return;
+        }
+        Long lessonId = enroll.getLesson().getLessonId();
+        // 프로젝션 갱신 표시가 먼저 등록되어야 브로드캐스트 시점에 변경이 반영됨
+        LessonAvailabilityProjection target = projection.getIfAvailable();
+        if (target != null) {
+            target.markChanged(lessonId);
+        }
+        LessonCapacityBroadcaster capacityBroadcaster = broadcaster.getIfAvailable();
+        if (capacityBroadcaster != null) {
+            capacityBroadcaster.capacityChanged(lessonId);
+        }
+        if ("UNPAID".equals(enroll.getPayStatus()) && "APPLIED".equals(enroll.getStatus())
+                && enroll.getExpireDt() != null) {
+            EnrollmentExpiryEngine engine = expiryEngine.getIfAvailable();
+            if (engine != null) {
+                engine.schedule(enroll.getEnrollId(), lessonId, enroll.getExpireDt());
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package cms.enroll.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 강습별 가용 현황 스냅샷 (불변)
+ */
+@Getter
+@AllArgsConstructor
+public class LessonAvailability {
+
+    static final LessonAvailability EMPTY = new LessonAvailability(0, 0, Collections.emptyMap(), null, 0L);
+
+    /** 결제완료(PAID) 신청 수 */
+    private final long paid;
+    /** 만료 전 결제대기(UNPAID hold) 신청 수 */
+    private final long unpaidHeld;
+    /** 성별(대문자) -> 사물함 사용 신청 수 */
+    private final Map<String, Long> lockersByGender;
+    /** 가장 이른 결제대기 만료 시각. 이 시각이 지나면 unpaidHeld 가 줄어들므로 스냅샷을 다시 읽음 */
+    private final LocalDateTime nextHoldExpiry;
+    /** 스냅샷 생성 시각 (epoch millis) */
+    private final long loadedAt;
+
+    public long getOccupied() {
+        return paid + unpaidHeld;
+    }
+
+    public int remaining(Integer capacity) {
+        if (capacity == null) {
+            return 0;
+        }
+        return (int) Math.max(0, capacity - getOccupied());
+    }
+
+    public long lockers(String gender) {
+        if (gender == null) {
+            return 0;
+        }
+        return lockersByGender.getOrDefault(gender.toUpperCase(), 0L);
+    }
+}
@@ -0,0 +1,190 @@
+package cms.enroll.availability;
+
+import cms.enroll.repository.EnrollRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 강습 가용 현황 프로젝션 (결제완료 / 결제대기 / 성별 사물함)
+ *
+ * 강습 목록 조회 시 강습마다 COUNT 쿼리를 실행하는 대신, 메모리의 스냅샷을 사용하고
+ * 변경된 강습만 한 번의 묶음 집계로 다시 읽습니다.
+ *
+ * - enroll 변경(신청, 결제, 취소, 만료, 환불)은 {@link EnrollAvailabilityListener} 가 커밋 후 {@link #markChanged(Long)} 호출
+ * - 변경 표시된 강습은 refresh-interval 이내에 한 번만 다시 읽음 (신청 폭주 시 DB 부하 상한)
+ * - 결제대기 만료 시각이 지났거나 max-age 를 넘긴 스냅샷도 다시 읽음 (벌크 UPDATE 등 이벤트 누락 대비)
+ */
+@Component
+public class LessonAvailabilityProjection implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LessonAvailabilityProjection.class);
+
+    private final EnrollRepository enrollRepository;
+    private final long refreshIntervalMillis;
+    private final long maxAgeMillis;
+
+    private final ConcurrentHashMap<Long, LessonAvailability> snapshots = new ConcurrentHashMap<>();
+    private final Set<Long> changedLessons = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong servedFromMemory = new AtomicLong();
+    private final AtomicLong lessonsLoaded = new AtomicLong();
+    private final AtomicLong batchLoads = new AtomicLong();
+    private final AtomicLong changeEvents = new AtomicLong();
+
+    public LessonAvailabilityProjection(EnrollRepository enrollRepository,
+            @Value("${app.enrollment.availability.refresh-interval:1000}") long refreshIntervalMillis,
+            @Value("${app.enrollment.availability.max-age:60000}") long maxAgeMillis) {
+        this.enrollRepository = enrollRepository;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public LessonAvailability get(Long lessonId) {
+        return getAll(Collections.singletonList(lessonId)).getOrDefault(lessonId, LessonAvailability.EMPTY);
+    }
+
+    /**
+     * 여러 강습의 가용 현황을 반환합니다. 새로 읽어야 하는 강습은 한 번에 묶어서 집계합니다.
+     */
+    public Map<Long, LessonAvailability> getAll(Collection<Long> lessonIds) {
+        long now = System.currentTimeMillis();
+        LocalDateTime nowDateTime = LocalDateTime.now();
+        Map<Long, LessonAvailability> result = new HashMap<>();
+        Set<Long> stale = new LinkedHashSet<>();
+
+        for (Long lessonId : lessonIds) {
+            LessonAvailability snapshot = snapshots.get(lessonId);
+            if (snapshot == null || isStale(lessonId, snapshot, now, nowDateTime)) {
+                stale.add(lessonId);
+            } else {
+                result.put(lessonId, snapshot);
+            }
+        }
+        servedFromMemory.addAndGet(result.size());
+
+        if (!stale.isEmpty()) {
+            result.putAll(load(stale, now, nowDateTime));
+        }
+        return result;
+    }
+
+    /**
+     * 강습의 enroll 이 변경되었음을 알립니다. 트랜잭션 안에서는 커밋 후 반영됩니다.
+     */
+    public void markChanged(Long lessonId) {
+        if (lessonId == null) {
+            return;
+        }
+        changeEvents.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        changedLessons.add(lessonId);
+                    }
+                }
+            });
+        } else {
+            changedLessons.add(lessonId);
+        }
+    }
+
+    /**
+     * 커밋된 변경이 아직 스냅샷에 반영되지 않았는지 여부 (refresh-interval 로 재집계가 보류된 경우)
+     */
+    public boolean isChangePending(Long lessonId) {
+        return changedLessons.contains(lessonId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("enrollment.availability.lessons", snapshots, Map::size)
+                .description("Lessons held in the availability projection")
+                .register(registry);
+        Gauge.builder("enrollment.availability.pending.changes", changedLessons, Set::size)
+                .register(registry);
+        FunctionCounter.builder("enrollment.availability.served", servedFromMemory, AtomicLong::get)
+                .description("Availability lookups answered from memory")
+                .register(registry);
+        FunctionCounter.builder("enrollment.availability.loaded", lessonsLoaded, AtomicLong::get)
+                .description("Lessons loaded from the database")
+                .register(registry);
+        FunctionCounter.builder("enrollment.availability.batch.loads", batchLoads, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("enrollment.availability.change.events", changeEvents, AtomicLong::get)
+                .register(registry);
+    }
+
+    private boolean isStale(Long lessonId, LessonAvailability snapshot, long now, LocalDateTime nowDateTime) {
+        long age = now - snapshot.getLoadedAt();
+        if (age >= maxAgeMillis) {
+            return true;
+        }
+        if (snapshot.getNextHoldExpiry() != null && !nowDateTime.isBefore(snapshot.getNextHoldExpiry())) {
+            return true;
+        }
+        return changedLessons.contains(lessonId) && age >= refreshIntervalMillis;
+    }
+
+    private Map<Long, LessonAvailability> load(Set<Long> lessonIds, long now, LocalDateTime nowDateTime) {
+        // 집계 전에 변경 표시를 지워야 집계 중 들어온 변경이 유실되지 않음
+        changedLessons.removeAll(lessonIds);
+        List<Long> ids = new ArrayList<>(lessonIds);
+
+        Map<Long, Map<String, Long>> lockers = new HashMap<>();
+        for (Object[] row : enrollRepository.countUsedLockersByLessonIdsGroupedByGender(ids)) {
+            if (row[1] == null) {
+                continue;
+            }
+            // 성별 값의 대소문자가 섞여 있으면("m", "M") 그룹이 나뉘어 오므로 합산
+            lockers.computeIfAbsent((Long) row[0], k -> new HashMap<>())
+                    .merge(((String) row[1]).toUpperCase(), ((Number) row[2]).longValue(), Long::sum);
+        }
+
+        Map<Long, LessonAvailability> loaded = new HashMap<>();
+        for (Object[] row : enrollRepository.summarizeAvailabilityByLessonIds(ids, nowDateTime)) {
+            Long lessonId = (Long) row[0];
+            loaded.put(lessonId, new LessonAvailability(
+                    toLong(row[1]),
+                    toLong(row[2]),
+                    Collections.unmodifiableMap(lockers.getOrDefault(lessonId, Collections.emptyMap())),
+                    (LocalDateTime) row[3],
+                    now));
+        }
+        for (Long lessonId : ids) {
+            loaded.computeIfAbsent(lessonId,
+                    id -> new LessonAvailability(0, 0, Collections.emptyMap(), null, now));
+        }
+
+        snapshots.putAll(loaded);
+        batchLoads.incrementAndGet();
+        lessonsLoaded.addAndGet(loaded.size());
+        logger.debug("[Availability] Loaded availability for {} lesson(s)", loaded.size());
+        return loaded;
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+}
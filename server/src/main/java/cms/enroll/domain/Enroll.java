@@ -1,5 +1,6 @@
 package cms.enroll.domain;
 
+import cms.enroll.availability.EnrollAvailabilityListener;
 import cms.user.domain.User;
 import cms.swimming.domain.Lesson;
 import lombok.Getter;
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+@EntityListeners(EnrollAvailabilityListener.class)
 @Table(name = "enroll", indexes = {
         @Index(name = "idx_user_lesson_status", columnList = "user_uuid, lesson_id, status"),
         @Index(name = "idx_lesson_paystatus", columnList = "lesson_id, pay_status"),
@@ -0,0 +1,319 @@
+package cms.enroll.expiry;
+
+import cms.enroll.availability.LessonAvailabilityProjection;
+import cms.enroll.ledger.LessonSeatLedger;
+import cms.enroll.repository.EnrollRepository;
+import cms.websocket.broadcast.LessonCapacityBroadcaster;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 결제대기(UNPAID hold) 만료 처리
+ *
+ * 신청 시 만료 시각(expireDt)을 DelayQueue 에 등록해 두고, 전용 스레드가 만료 시각이 지난 신청을
+ * chunk-size 단위로 묶어 한 번의 UPDATE 로 EXPIRED 처리합니다. 좌석은 만료 직후(수 초 이내) 해제됩니다.
+ *
+ * - 등록: {@code EnrollAvailabilityListener} 가 결제대기 신청 저장 시 커밋 후 {@link #schedule} 호출
+ * - 기동 시 / sweep 주기마다 horizon 안에 만료되는 결제대기 신청을 다시 읽어 등록 (다른 노드에서 만든 신청 포함)
+ * - UPDATE 는 결제대기 + 만료 조건을 다시 확인하므로 그 사이 결제된 신청은 바뀌지 않고, 노드 간 중복 실행도 안전
+ * - 벌크 UPDATE 는 엔티티 리스너를 거치지 않으므로 영향받은 강습의 좌석 원장 / 가용 현황 / 정원 알림을 직접 갱신
+ * - {@link #sweepOverdue()} 는 큐에서 빠진 신청을 처리하는 안전망 (ExpiredUnpaidEnrollmentCleanupJob)
+ */
+@Component
+public class EnrollmentExpiryEngine implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentExpiryEngine.class);
+    private static final long RETRY_DELAY_MILLIS = 5000;
+
+    private final EnrollRepository enrollRepository;
+    private final LessonSeatLedger seatLedger;
+    private final LessonAvailabilityProjection availabilityProjection;
+    private final LessonCapacityBroadcaster capacityBroadcaster;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long horizonMillis;
+
+    private final DelayQueue<ExpiryTask> queue = new DelayQueue<>();
+    // enrollId -> 등록된 만료 시각 (epoch millis). 만료 시각이 바뀌면 이전 항목은 꺼낼 때 무시
+    private final ConcurrentHashMap<Long, Long> deadlines = new ConcurrentHashMap<>();
+
+    private Thread worker;
+    private volatile boolean running;
+
+    private final AtomicLong scheduled = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong sweptByScan = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile long lastLagMillis;
+
+    public EnrollmentExpiryEngine(EnrollRepository enrollRepository, LessonSeatLedger seatLedger,
+            LessonAvailabilityProjection availabilityProjection, LessonCapacityBroadcaster capacityBroadcaster,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.enrollment.expiry.chunk-size:500}") int chunkSize,
+            @Value("${app.enrollment.expiry.horizon:3600000}") long horizonMillis) {
+        this.enrollRepository = enrollRepository;
+        this.seatLedger = seatLedger;
+        this.availabilityProjection = availabilityProjection;
+        this.capacityBroadcaster = capacityBroadcaster;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.horizonMillis = horizonMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "enroll-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void hydrate() {
+        try {
+            int loaded = loadUpcoming();
+            logger.info("[Expiry] Scheduled {} pending hold(s) on startup", loaded);
+        } catch (Exception e) {
+            // 실패해도 sweep 주기에 다시 읽음
+            logger.error("[Expiry] Initial hold hydration failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 결제대기 신청의 만료 시각을 등록합니다. 트랜잭션 안에서는 커밋 후 등록됩니다.
+     */
+    public void schedule(Long enrollId, Long lessonId, LocalDateTime expireDt) {
+        if (enrollId == null || expireDt == null) {
+            return;
+        }
+        long deadline = toMillis(expireDt);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(enrollId, lessonId, deadline);
+                    }
+                }
+            });
+        } else {
+            enqueue(enrollId, lessonId, deadline);
+        }
+    }
+
+    /**
+     * 만료 시각이 지난 결제대기 신청을 모두 처리하고 horizon 안의 신청을 다시 등록합니다.
+     *
+     * @return 스캔으로 만료 처리한 신청 수
+     */
+    public int sweepOverdue() {
+        int total = 0;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> rows = enrollRepository.findOverdueHolds(now, PageRequest.of(0, chunkSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                ids.add((Long) row[0]);
+            }
+            int count = expire(ids);
+            total += count;
+            if (count == 0 || rows.size() < chunkSize) {
+                break;
+            }
+        }
+        sweptByScan.addAndGet(total);
+        loadUpcoming();
+        return total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("enrollment.expiry.queued", queue, DelayQueue::size)
+                .description("Unpaid holds waiting in the expiry queue")
+                .register(registry);
+        Gauge.builder("enrollment.expiry.tracked", deadlines, Map::size)
+                .register(registry);
+        FunctionCounter.builder("enrollment.expiry.scheduled", scheduled, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("enrollment.expiry.expired", expired, AtomicLong::get)
+                .description("Enrollments moved to EXPIRED")
+                .register(registry);
+        FunctionCounter.builder("enrollment.expiry.skipped", skipped, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("enrollment.expiry.batches", batches, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("enrollment.expiry.swept", sweptByScan, AtomicLong::get)
+                .description("Holds found by the safety-net scan instead of the queue")
+                .register(registry);
+        FunctionCounter.builder("enrollment.expiry.failures", failures, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("enrollment.expiry.lag", this, engine -> engine.lastLagMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("enrollment.expiry.lag.max", maxLagMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private void enqueue(Long enrollId, Long lessonId, long deadline) {
+        if (deadline - System.currentTimeMillis() > horizonMillis) {
+            return; // sweep 주기에 horizon 안으로 들어오면 등록
+        }
+        Long previous = deadlines.put(enrollId, deadline);
+        if (previous == null || previous != deadline) {
+            queue.put(new ExpiryTask(enrollId, lessonId, deadline));
+            scheduled.incrementAndGet();
+        }
+    }
+
+    private int loadUpcoming() {
+        LocalDateTime until = LocalDateTime.now().plusNanos(horizonMillis * 1_000_000L);
+        int count = 0;
+        for (Object[] row : enrollRepository.findPendingHoldsExpiringBefore(until)) {
+            enqueue((Long) row[0], (Long) row[1], toMillis((LocalDateTime) row[2]));
+            count++;
+        }
+        return count;
+    }
+
+    private void run() {
+        List<ExpiryTask> batch = new ArrayList<>(chunkSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, chunkSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                logger.error("[Expiry] Failed to expire {} hold(s), retrying: {}", batch.size(), e.getMessage(), e);
+                long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+                for (ExpiryTask task : batch) {
+                    if (deadlines.putIfAbsent(task.enrollId, retryAt) == null) {
+                        queue.put(new ExpiryTask(task.enrollId, task.lessonId, retryAt));
+                    }
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<ExpiryTask> batch) {
+        long now = System.currentTimeMillis();
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (ExpiryTask task : batch) {
+            // 다시 등록되어 만료 시각이 바뀐 항목은 새 항목이 처리
+            if (deadlines.remove(task.enrollId, task.deadline)) {
+                ids.add(task.enrollId);
+                long lag = now - task.deadline;
+                lastLagMillis = lag;
+                maxLagMillis.accumulateAndGet(lag, Math::max);
+            }
+        }
+        if (!ids.isEmpty()) {
+            expire(ids);
+        }
+    }
+
+    /**
+     * 주어진 신청 중 아직 결제대기이고 만료 시각이 지난 것을 EXPIRED 로 바꿉니다.
+     */
+    private int expire(List<Long> ids) {
+        Integer updated = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> rows = enrollRepository.findExpiredHolds(ids, now);
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            List<Long> expiredIds = new ArrayList<>(rows.size());
+            Set<Long> lessonIds = new HashSet<>();
+            for (Object[] row : rows) {
+                expiredIds.add((Long) row[0]);
+                lessonIds.add((Long) row[1]);
+            }
+            int count = enrollRepository.expireHolds(expiredIds, now);
+            // 커밋 후 원장 재정렬 / 가용 현황 갱신 / 정원 알림
+            for (Long lessonId : lessonIds) {
+                seatLedger.resync(lessonId);
+                availabilityProjection.markChanged(lessonId);
+                capacityBroadcaster.capacityChanged(lessonId);
+            }
+            logger.debug("[Expiry] Expired {} hold(s) across {} lesson(s)", count, lessonIds.size());
+            return count;
+        });
+        int count = updated == null ? 0 : updated;
+        batches.incrementAndGet();
+        expired.addAndGet(count);
+        skipped.addAndGet(ids.size() - count);
+        return count;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class ExpiryTask implements Delayed {
+        private final Long enrollId;
+        private final Long lessonId;
+        private final long deadline;
+
+        private ExpiryTask(Long enrollId, Long lessonId, long deadline) {
+            this.enrollId = enrollId;
+            this.lessonId = lessonId;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadline, ((ExpiryTask) other).deadline);
+        }
+    }
+}
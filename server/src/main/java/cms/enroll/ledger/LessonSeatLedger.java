@@ -0,0 +1,366 @@
+package cms.enroll.ledger;
+
+import cms.enroll.repository.EnrollRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 강습별 좌석 원장 (In-memory seat ledger)
+ *
+ * 신규 신청 시 lesson row 비관적 잠금 + SERIALIZABLE 재집계 대신, 강습별 원자 카운터(CAS)로
+ * 좌석을 즉시 승인/거절합니다. 카운터 값은 "결제완료(PAID) + 만료 전 결제대기(UNPAID hold)" 수이며
+ * {@code EnrollRepository.countActiveEnrollmentsForLesson} 과 같은 의미를 가집니다.
+ *
+ * - 기동 시 DB 집계 한 번으로 하이드레이션, 처음 보는 강습은 최초 접근 시 개별 하이드레이션
+ * - 예약은 현재 트랜잭션에 묶여 롤백 시 자동 반환, 커밋 전까지는 pending 으로 관리
+ * - 취소/만료 등 좌석 해제 경로는 {@link #resync(Long)} 로 DB 값에 맞춰 재정렬 (중복 차감 방지)
+ * - {@link #reconcileAll()} 이 주기적으로 원장과 enroll 테이블을 비교하여 차이를 기록/보정
+ *
+ * 원장은 노드 로컬이므로 정원 초과 여부의 최종 판정이 아니라 빠른 사전 검사입니다. 원장을 통과한 신청은
+ * {@code LessonRepository.claimSeatIfAvailable} 로 DB 에서 다시 확인하며, 노드 간 편차는 재정렬 주기 안으로 제한됩니다.
+ */
+@Component
+public class LessonSeatLedger implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LessonSeatLedger.class);
+    private static final int RESYNC_MAX_ATTEMPTS = 3;
+
+    private final EnrollRepository enrollRepository;
+
+    private final ConcurrentHashMap<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+
+    private final AtomicLong admittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong reconciliationRuns = new AtomicLong();
+    private final AtomicLong driftCorrections = new AtomicLong();
+    private volatile int lastReconciliationMismatches;
+
+    public LessonSeatLedger(EnrollRepository enrollRepository) {
+        this.enrollRepository = enrollRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void hydrate() {
+        try {
+            reconcileAll();
+            logger.info("[SeatLedger] Hydrated seat ledger for {} lessons", counters.size());
+        } catch (Exception e) {
+            // 하이드레이션 실패 시에도 강습별 지연 하이드레이션으로 동작 가능
+            logger.error("[SeatLedger] Initial hydration failed, falling back to lazy hydration: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 정원 내에서 좌석 하나를 예약합니다. 현재 트랜잭션이 롤백되면 예약은 자동으로 반환됩니다.
+     *
+     * @return 좌석을 확보했으면 true, 정원 마감이면 false
+     */
+    public boolean tryReserve(Long lessonId, int capacity) {
+        while (true) {
+            SeatCounter counter = counterFor(lessonId);
+            // 재정렬이 "DB 집계 + pending" 으로 계산하므로 pending 을 먼저 올려 두어 예약이 누락되지 않게 함
+            boolean transactional = beginPending(counter);
+            int result = counter.tryIncrement(capacity);
+            if (result == SeatCounter.RETIRED) {
+                endPending(counter, transactional);
+                continue; // 재정렬로 제거된 카운터, 새 카운터로 재시도
+            }
+            if (result == SeatCounter.FULL) {
+                endPending(counter, transactional);
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+            admittedCount.incrementAndGet();
+            bindToTransaction(counter, transactional);
+            return true;
+        }
+    }
+
+    /**
+     * 정원 검사 없이 좌석 하나를 점유합니다. PG 승인이 이미 끝난 결제완료 건처럼 거절할 수 없는 경로에서 사용합니다.
+     */
+    public void occupy(Long lessonId) {
+        while (true) {
+            SeatCounter counter = counterFor(lessonId);
+            boolean transactional = beginPending(counter);
+            if (counter.tryIncrement(Integer.MAX_VALUE) != SeatCounter.RETIRED) {
+                bindToTransaction(counter, transactional);
+                return;
+            }
+            endPending(counter, transactional);
+        }
+    }
+
+    /**
+     * 남은 좌석 수 (DB 조회 없음)
+     */
+    public int availableSlots(Long lessonId, int capacity) {
+        return Math.max(0, capacity - occupiedSlots(lessonId));
+    }
+
+    /**
+     * 원장상 점유 좌석 수 (결제완료 + 결제대기)
+     */
+    public int occupiedSlots(Long lessonId) {
+        while (true) {
+            int occupied = SeatCounter.occupiedOf(counterFor(lessonId).state.get());
+            if (occupied != SeatCounter.RETIRED) {
+                return occupied;
+            }
+        }
+    }
+
+    /**
+     * 좌석이 해제된 경로(취소, 만료, 환불 등)에서 호출합니다. 트랜잭션 커밋 후 해당 강습을 DB 값으로 재정렬합니다.
+     */
+    public void resync(Long lessonId) {
+        if (lessonId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // 같은 트랜잭션의 예약 동기화(pending 해제)가 먼저 끝난 뒤 실행되도록 afterCompletion 사용
+                    if (status == STATUS_COMMITTED) {
+                        resyncNow(lessonId);
+                    }
+                }
+            });
+        } else {
+            resyncNow(lessonId);
+        }
+    }
+
+    /**
+     * 원장 전체를 enroll 테이블과 비교하여 보정합니다.
+     *
+     * 집계 전에 카운터 상태(점유 수 + 변경 번호)를 찍어 두고, 집계 후 그 상태에서 바뀌지 않은 카운터만 CAS 로 덮어씁니다.
+     * 집계 도중 예약/해제가 있었거나 집계 이후 새로 만들어진 카운터는 건드리지 않고 다음 주기에 비교합니다.
+     *
+     * @return 불일치가 발견된 강습 수
+     */
+    public int reconcileAll() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, SeatCounter> tracked = new HashMap<>(counters);
+        Map<Long, Long> snapshotStates = new HashMap<>();
+        Map<Long, Integer> snapshotPending = new HashMap<>();
+        tracked.forEach((lessonId, counter) -> {
+            snapshotStates.put(lessonId, counter.state.get());
+            snapshotPending.put(lessonId, counter.pending.get());
+        });
+
+        List<Object[]> rows = enrollRepository.countActiveEnrollmentsGroupedByLesson(now.toLocalDate(), now);
+        Map<Long, Long> dbCounts = new HashMap<>();
+        for (Object[] row : rows) {
+            dbCounts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+
+        int mismatches = 0;
+        for (Map.Entry<Long, Long> entry : dbCounts.entrySet()) {
+            Long lessonId = entry.getKey();
+            int dbCount = entry.getValue().intValue();
+            SeatCounter counter = tracked.get(lessonId);
+            if (counter == null) {
+                // 집계 전에는 없던 강습: 아직 아무도 만들지 않았을 때만 집계 값으로 등록
+                counters.putIfAbsent(lessonId, new SeatCounter(dbCount));
+                continue;
+            }
+            long snapshot = snapshotStates.get(lessonId);
+            int actual = SeatCounter.occupiedOf(snapshot);
+            int expected = dbCount + snapshotPending.get(lessonId);
+            if (actual == SeatCounter.RETIRED || actual == expected) {
+                continue;
+            }
+            if (counter.compareAndSet(snapshot, expected)) {
+                mismatches++;
+                driftCorrections.incrementAndGet();
+                logger.warn("[SeatLedger] Drift corrected for lesson {}: ledger={}, table={}, pending={}",
+                        lessonId, actual, dbCount, snapshotPending.get(lessonId));
+            }
+        }
+
+        // 집계 결과에 없는 강습(활성 좌석 0 또는 종료된 강습)은 원장에서 제거 후 필요 시 재하이드레이션
+        tracked.forEach((lessonId, counter) -> {
+            if (!dbCounts.containsKey(lessonId) && snapshotPending.get(lessonId) == 0
+                    && counter.retire(snapshotStates.get(lessonId))) {
+                counters.remove(lessonId, counter);
+            }
+        });
+
+        reconciliationRuns.incrementAndGet();
+        lastReconciliationMismatches = mismatches;
+        return mismatches;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("enrollment.seat.ledger.lessons", counters, Map::size)
+                .description("Lessons tracked by the seat ledger")
+                .register(registry);
+        FunctionCounter.builder("enrollment.seat.ledger.admitted", admittedCount, AtomicLong::get)
+                .description("Seats reserved through the ledger")
+                .register(registry);
+        FunctionCounter.builder("enrollment.seat.ledger.rejected", rejectedCount, AtomicLong::get)
+                .description("Reservations rejected because the lesson was full")
+                .register(registry);
+        FunctionCounter.builder("enrollment.seat.ledger.reconciliations", reconciliationRuns, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("enrollment.seat.ledger.drift.corrections", driftCorrections, AtomicLong::get)
+                .description("Counters corrected to match the enroll table")
+                .register(registry);
+        Gauge.builder("enrollment.seat.ledger.last.mismatches", this, ledger -> ledger.lastReconciliationMismatches)
+                .register(registry);
+    }
+
+    private SeatCounter counterFor(Long lessonId) {
+        return counters.computeIfAbsent(lessonId, id -> new SeatCounter(
+                (int) enrollRepository.countActiveEnrollmentsForLesson(id, LocalDateTime.now())));
+    }
+
+    private void resyncNow(Long lessonId) {
+        SeatCounter counter = counters.get(lessonId);
+        if (counter == null) {
+            return; // 다음 접근 시 DB에서 하이드레이션
+        }
+        for (int attempt = 0; attempt < RESYNC_MAX_ATTEMPTS; attempt++) {
+            long snapshot = counter.state.get();
+            int pending = counter.pending.get();
+            if (SeatCounter.occupiedOf(snapshot) == SeatCounter.RETIRED) {
+                return;
+            }
+            long dbCount = enrollRepository.countActiveEnrollmentsForLesson(lessonId, LocalDateTime.now());
+            if (counter.compareAndSet(snapshot, (int) dbCount + pending)) {
+                return;
+            }
+        }
+        logger.debug("[SeatLedger] Resync for lesson {} skipped due to concurrent reservations", lessonId);
+    }
+
+    private static boolean beginPending(SeatCounter counter) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        counter.pending.incrementAndGet();
+        return true;
+    }
+
+    private static void endPending(SeatCounter counter, boolean transactional) {
+        if (transactional) {
+            counter.pending.decrementAndGet();
+        }
+    }
+
+    private void bindToTransaction(SeatCounter counter, boolean transactional) {
+        if (!transactional) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    counter.decrement();
+                    counter.pending.decrementAndGet();
+                } else {
+                    // 커밋 후 pending 에서 빠지는 것도 상태 변경으로 기록해 진행 중인 재정렬 CAS 를 무효화
+                    counter.pending.decrementAndGet();
+                    counter.touch();
+                }
+            }
+        });
+    }
+
+    /**
+     * 점유 좌석 수와 변경 번호를 하나의 long 에 담아 한 번의 CAS 로 갱신하는 카운터
+     */
+    private static final class SeatCounter {
+        static final int FULL = -2;
+        /** 재정렬로 원장에서 제거된 카운터 표시 */
+        static final int RETIRED = -1;
+
+        /** 상위 32비트: 변경 번호, 하위 32비트: 점유 좌석 (커밋 + 진행 중 트랜잭션 포함) */
+        private final AtomicLong state;
+        /** 아직 커밋되지 않은 예약 수 */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private SeatCounter(int occupied) {
+            this.state = new AtomicLong(pack(0, occupied));
+        }
+
+        static int occupiedOf(long state) {
+            return (int) state;
+        }
+
+        private static long pack(long stamp, int occupied) {
+            return (stamp << 32) | (occupied & 0xFFFFFFFFL);
+        }
+
+        private static long next(long state, int occupied) {
+            return pack((state >>> 32) + 1, occupied);
+        }
+
+        /**
+         * @return 증가 후 점유 수, 정원 초과면 {@link #FULL}, 제거된 카운터면 {@link #RETIRED}
+         */
+        int tryIncrement(int capacity) {
+            while (true) {
+                long current = state.get();
+                int occupied = occupiedOf(current);
+                if (occupied == RETIRED) {
+                    return RETIRED;
+                }
+                if (occupied >= capacity) {
+                    return FULL;
+                }
+                if (state.compareAndSet(current, next(current, occupied + 1))) {
+                    return occupied + 1;
+                }
+            }
+        }
+
+        void decrement() {
+            while (true) {
+                long current = state.get();
+                int occupied = occupiedOf(current);
+                if (occupied == RETIRED
+                        || state.compareAndSet(current, next(current, occupied > 0 ? occupied - 1 : 0))) {
+                    return;
+                }
+            }
+        }
+
+        void touch() {
+            while (true) {
+                long current = state.get();
+                if (occupiedOf(current) == RETIRED || state.compareAndSet(current, next(current, occupiedOf(current)))) {
+                    return;
+                }
+            }
+        }
+
+        boolean compareAndSet(long expectedState, int occupied) {
+            return state.compareAndSet(expectedState, next(expectedState, occupied));
+        }
+
+        boolean retire(long expectedState) {
+            return occupiedOf(expectedState) != RETIRED && compareAndSet(expectedState, RETIRED);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +26,22 @@ public interface EnrollRepository extends JpaRepository<Enroll, Long>, JpaSpecif
 
        List<Enroll> findByUserUuid(String userUuid);
 
+       // 마이페이지 신청 목록 (EnrollmentServiceImpl.getEnrollments)
+       long countByUserUuid(String userUuid);
+
+       long countByUserUuidAndLessonStartDateGreaterThanEqual(String userUuid, LocalDate startDate);
+
+       @Query("SELECT DISTINCT l FROM Enroll e JOIN e.lesson l " +
+                     "WHERE e.user.uuid = :userUuid AND e.payStatus = 'PAID' " +
+                     "AND l.startDate >= :monthStart AND l.startDate <= :monthEnd")
+       List<Lesson> findPaidLessonsOfUserStartingBetween(@Param("userUuid") String userUuid,
+                     @Param("monthStart") LocalDate monthStart, @Param("monthEnd") LocalDate monthEnd);
+
+       // PAID 또는 만료 전 UNPAID 신청이 있는 강습
+       @Query("SELECT DISTINCT e.lesson.lessonId FROM Enroll e WHERE e.user.uuid = :userUuid " +
+                     "AND (e.payStatus = 'PAID' OR (e.payStatus = 'UNPAID' AND e.expireDt > :now))")
+       List<Long> findActiveLessonIdsOfUser(@Param("userUuid") String userUuid, @Param("now") LocalDateTime now);
+
        List<Enroll> findByUserUuidAndPayStatusInOrderByLesson_StartDateDesc(String userUuid, List<String> payStatuses);
 
        List<Enroll> findByUserUuidAndLessonLessonId(String userUuid, Long lessonId);
@@ -44,6 +61,23 @@ public interface EnrollRepository extends JpaRepository<Enroll, Long>, JpaSpecif
                      "AND e.status = 'APPLIED'")
        long countUsedLockersByLessonAndUserGender(@Param("lessonId") Long lessonId, @Param("gender") String gender);
 
+       // 강습 가용 현황 일괄 집계 (결제완료, 만료 전 결제대기, 가장 이른 결제대기 만료 시각)
+       @Query("SELECT e.lesson.lessonId, " +
+                     "SUM(CASE WHEN e.payStatus = 'PAID' THEN 1 ELSE 0 END), " +
+                     "SUM(CASE WHEN e.payStatus = 'UNPAID' AND e.status = 'APPLIED' AND e.expireDt > :now THEN 1 ELSE 0 END), " +
+                     "MIN(CASE WHEN e.payStatus = 'UNPAID' AND e.status = 'APPLIED' AND e.expireDt > :now THEN e.expireDt END) " +
+                     "FROM Enroll e WHERE e.lesson.lessonId IN :lessonIds " +
+                     "GROUP BY e.lesson.lessonId")
+       List<Object[]> summarizeAvailabilityByLessonIds(@Param("lessonIds") Collection<Long> lessonIds,
+                     @Param("now") LocalDateTime now);
+
+       @Query("SELECT e.lesson.lessonId, e.user.gender, COUNT(e) FROM Enroll e " +
+                     "WHERE e.lesson.lessonId IN :lessonIds " +
+                     "AND e.usesLocker = true " +
+                     "AND e.status = 'APPLIED' " +
+                     "GROUP BY e.lesson.lessonId, e.user.gender")
+       List<Object[]> countUsedLockersByLessonIdsGroupedByGender(@Param("lessonIds") Collection<Long> lessonIds);
+
        // Added methods for capacity checks
        long countByLessonLessonIdAndPayStatus(Long lessonId, String payStatus);
 
@@ -63,6 +97,15 @@ public interface EnrollRepository extends JpaRepository<Enroll, Long>, JpaSpecif
        @Query("SELECT COUNT(e) FROM Enroll e WHERE e.lesson.lessonId = :lessonId AND (e.payStatus = 'PAID' OR (e.payStatus = 'UNPAID' AND e.status = 'APPLIED' AND e.expireDt > :now))")
        long countActiveEnrollmentsForLesson(@Param("lessonId") Long lessonId, @Param("now") LocalDateTime now);
 
+       // For LessonSeatLedger hydration/reconciliation: active enrollments per
+       // not-yet-ended lesson in a single aggregate query
+       @Query("SELECT e.lesson.lessonId, COUNT(e) FROM Enroll e " +
+                     "WHERE e.lesson.endDate >= :today " +
+                     "AND (e.payStatus = 'PAID' OR (e.payStatus = 'UNPAID' AND e.status = 'APPLIED' AND e.expireDt > :now)) " +
+                     "GROUP BY e.lesson.lessonId")
+       List<Object[]> countActiveEnrollmentsGroupedByLesson(@Param("today") LocalDate today,
+                     @Param("now") LocalDateTime now);
+
        // Method to count UNPAID, APPLIED, active locker users for a lesson by gender
        @Query("SELECT COUNT(e) FROM Enroll e WHERE e.lesson.lessonId = :lessonId AND e.user.gender = :gender AND e.usesLocker = true AND e.payStatus IN :payStatuses AND e.status = 'APPLIED' AND e.expireDt > :now")
        long countByLessonLessonIdAndUserGenderAndUsesLockerTrueAndPayStatusInAndExpireDtAfter(
@@ -201,6 +244,18 @@ public interface EnrollRepository extends JpaRepository<Enroll, Long>, JpaSpecif
        List<Enroll> findActivePaidLockerUsersInDateRange(@Param("startDate") LocalDate startDate,
                      @Param("endDate") LocalDate endDate);
 
+       // 사물함 재고 동기화: findActivePaidLockerUsersInDateRange 와 같은 조건을 성별 코드별로 집계
+       @Query("SELECT u.gender, COUNT(e) FROM Enroll e " +
+                     "JOIN e.user u " +
+                     "JOIN e.lesson l " +
+                     "WHERE e.payStatus = 'PAID' " +
+                     "AND e.usesLocker = true " +
+                     "AND (e.cancelStatus IS NULL OR e.cancelStatus = 'NONE') " +
+                     "AND l.startDate <= :endDate AND l.endDate >= :startDate " +
+                     "GROUP BY u.gender")
+       List<Object[]> countActivePaidLockerUsersByGender(@Param("startDate") LocalDate startDate,
+                     @Param("endDate") LocalDate endDate);
+
        boolean existsByUserUuidAndCancelStatusIn(String userUuid, List<Enroll.CancelStatusType> cancelStatuses);
 
        boolean existsByUserUuidAndCancelStatusAndPayStatusNotIn(String userUuid, Enroll.CancelStatusType cancelStatus,
@@ -241,4 +296,27 @@ public interface EnrollRepository extends JpaRepository<Enroll, Long>, JpaSpecif
        @Modifying
        @Query("UPDATE Enroll e SET e.payStatus = :payStatus WHERE e.enrollId = :enrollId")
        void updatePayStatus(@Param("enrollId") Long enrollId, @Param("payStatus") String payStatus);
-}
\ No newline at end of file
+
+       // 관리자 목록용: 강습 / 사용자를 함께 조회
+       @Query("SELECT e FROM Enroll e LEFT JOIN FETCH e.lesson LEFT JOIN FETCH e.user WHERE e.enrollId IN :ids")
+       List<Enroll> findAllWithLessonAndUserByEnrollIdIn(@Param("ids") Collection<Long> ids);
+
+       // 결제대기 만료 처리 (EnrollmentExpiryEngine)
+       @Query("SELECT e.enrollId, e.lesson.lessonId, e.expireDt FROM Enroll e " +
+                     "WHERE e.payStatus = 'UNPAID' AND e.status = 'APPLIED' AND e.expireDt <= :until")
+       List<Object[]> findPendingHoldsExpiringBefore(@Param("until") LocalDateTime until);
+
+       @Query("SELECT e.enrollId, e.lesson.lessonId FROM Enroll e " +
+                     "WHERE e.payStatus = 'UNPAID' AND e.status = 'APPLIED' AND e.expireDt <= :now " +
+                     "ORDER BY e.expireDt")
+       List<Object[]> findOverdueHolds(@Param("now") LocalDateTime now, Pageable pageable);
+
+       @Query("SELECT e.enrollId, e.lesson.lessonId FROM Enroll e " +
+                     "WHERE e.enrollId IN :ids AND e.payStatus = 'UNPAID' AND e.status = 'APPLIED' AND e.expireDt <= :now")
+       List<Object[]> findExpiredHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+       @Modifying
+       @Query("UPDATE Enroll e SET e.status = 'EXPIRED', e.updatedAt = :now " +
+                     "WHERE e.enrollId IN :ids AND e.payStatus = 'UNPAID' AND e.status = 'APPLIED' AND e.expireDt <= :now")
+       int expireHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
@@ -2,6 +2,8 @@ package cms.enroll.service.impl;
 
 import cms.enroll.domain.Enroll;
 import cms.enroll.domain.Enroll.CancelStatusType;
+import cms.enroll.availability.LessonAvailabilityProjection;
+import cms.enroll.ledger.LessonSeatLedger;
 import cms.enroll.repository.EnrollRepository;
 import cms.enroll.service.EnrollmentService;
 
@@ -37,19 +39,21 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.annotation.Isolation;
 
+import javax.persistence.EntityManager;
 import javax.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset; // Import for ZoneOffset
 import java.time.temporal.ChronoUnit; // Added for calculating daysBetween
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import cms.common.exception.BusinessRuleException;
 import cms.common.exception.ErrorCode;
@@ -60,10 +64,10 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.dao.DeadlockLoserDataAccessException;
 import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.orm.jpa.JpaOptimisticLockingFailureException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import cms.websocket.handler.LessonCapacityWebSocketHandler;
 import cms.admin.enrollment.dto.CalculatedRefundDetailsDto; // 새로 추가한 DTO
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter; // Added for formatting
@@ -84,8 +88,10 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     private final LockerService lockerService;
     private final UserRepository userRepository;
     private final LessonRepository lessonRepository;
-    private final LessonCapacityWebSocketHandler webSocketHandler;
     private final PaymentService paymentService;
+    private final LessonSeatLedger seatLedger;
+    private final LessonAvailabilityProjection availabilityProjection;
+    private final EntityManager entityManager;
 
     @Value("${app.default-locker-fee:5000}") // Default to 5000 if not set in properties
     private int defaultLockerFee;
@@ -109,8 +115,10 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             @Qualifier("lockerServiceImpl") LockerService lockerService,
             UserRepository userRepository,
             LessonRepository lessonRepository,
-            LessonCapacityWebSocketHandler webSocketHandler,
-            PaymentService paymentService
+            PaymentService paymentService,
+            LessonSeatLedger seatLedger,
+            LessonAvailabilityProjection availabilityProjection,
+            EntityManager entityManager
     /* , KispgService kispgService */) { // 주입
         this.enrollRepository = enrollRepository;
         this.paymentRepository = paymentRepository;
@@ -118,8 +126,10 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         this.lockerService = lockerService;
         this.userRepository = userRepository;
         this.lessonRepository = lessonRepository;
-        this.webSocketHandler = webSocketHandler;
         this.paymentService = paymentService;
+        this.seatLedger = seatLedger;
+        this.availabilityProjection = availabilityProjection;
+        this.entityManager = entityManager;
         // this.kispgService = kispgService;
     }
 
@@ -130,78 +140,109 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             throw new BusinessRuleException(ErrorCode.AUTHENTICATION_FAILED, HttpStatus.UNAUTHORIZED);
         }
 
-        List<Enroll> userEnrollments = enrollRepository.findByUserUuid(user.getUuid());
-
-        List<EnrollDto> dtoList = userEnrollments.stream()
-                .map(this::convertToMypageEnrollDto)
-                .collect(Collectors.toList());
-
         LocalDate today = LocalDate.now();
         YearMonth currentMonth = YearMonth.from(today);
 
         boolean isRenewalWindowActive = today.getDayOfMonth() >= 20 && today.getDayOfMonth() <= 24;
 
-        if (isRenewalWindowActive) {
-            List<EnrollDto> renewalPreviews = userEnrollments.stream()
-                    .filter(enroll -> "PAID".equals(enroll.getPayStatus())
-                            && YearMonth.from(enroll.getLesson().getStartDate()).equals(currentMonth))
-                    .map(Enroll::getLesson)
-                    .distinct()
-                    .flatMap(currentLesson -> {
-                        LocalDate nextMonthStart = currentMonth.plusMonths(1).atDay(1);
-                        LocalDate nextMonthEnd = currentMonth.plusMonths(1).atEndOfMonth();
-
-                        logger.debug(
-                                "Searching for next month's lesson with: Title='{}', Time='{}'",
-                                currentLesson.getTitle(), currentLesson.getLessonTime());
-
-                        return lessonRepository.findNextMonthLesson(
-                                currentLesson.getTitle(),
-                                currentLesson.getLessonTime(),
-                                nextMonthStart,
-                                nextMonthEnd).map(Stream::of).orElseGet(Stream::empty);
-                    })
-                    .filter(nextMonthLesson -> {
-                        boolean alreadyHasActiveEnrollment = enrollRepository.findByUserUuid(user.getUuid()).stream()
-                                .anyMatch(e -> {
-                                    if (!e.getLesson().getLessonId().equals(nextMonthLesson.getLessonId())) {
-                                        return false;
-                                    }
-                                    String payStatus = e.getPayStatus();
-                                    // PAID 상태는 활성으로 간주
-                                    if ("PAID".equals(payStatus)) {
-                                        return true;
-                                    }
-                                    // UNPAID 상태이고 만료되지 않았으면 활성으로 간주
-                                    if ("UNPAID".equals(payStatus) && e.getExpireDt() != null
-                                            && e.getExpireDt().isAfter(LocalDateTime.now())) {
-                                        return true;
-                                    }
-                                    // REFUNDED, EXPIRED, CANCELED 등 다른 모든 상태는 비활성으로 간주
-                                    return false;
-                                });
-
-                        if (alreadyHasActiveEnrollment) {
+        List<EnrollDto> renewalPreviews = isRenewalWindowActive
+                ? findRenewalPreviews(user, currentMonth)
+                : Collections.emptyList();
+
+        // 신청 목록은 강습 시작일 내림차순으로 DB 에서 페이징하고, 재수강 미리보기는 같은 정렬상의 위치에 끼워 넣음
+        // (시작일이 같으면 신청이 먼저 - 기존 안정 정렬과 동일)
+        long enrollCount = enrollRepository.countByUserUuid(user.getUuid());
+        int previewCount = renewalPreviews.size();
+        long[] previewPositions = new long[previewCount];
+        for (int i = 0; i < previewCount; i++) {
+            LocalDate previewStart = LocalDate.parse(renewalPreviews.get(i).getLesson().getStartDate());
+            previewPositions[i] = enrollRepository.countByUserUuidAndLessonStartDateGreaterThanEqual(user.getUuid(),
+                    previewStart) + i;
+        }
+
+        long total = enrollCount + previewCount;
+        long from = Math.min(pageable.getOffset(), total);
+        long to = Math.min(from + pageable.getPageSize(), total);
+
+        int previewsBefore = 0;
+        int previewsInPage = 0;
+        for (long position : previewPositions) {
+            if (position < from) {
+                previewsBefore++;
+            } else if (position < to) {
+                previewsInPage++;
+            }
+        }
+        long enrollOffset = from - previewsBefore;
+        int enrollLimit = (int) (to - from) - previewsInPage;
+
+        List<Enroll> pageEnrollments = enrollLimit <= 0 ? Collections.emptyList()
+                : entityManager.createQuery("SELECT e FROM Enroll e JOIN FETCH e.lesson l "
+                        + "WHERE e.user.uuid = :uuid ORDER BY l.startDate DESC, e.enrollId ASC", Enroll.class)
+                        .setParameter("uuid", user.getUuid())
+                        .setFirstResult((int) enrollOffset)
+                        .setMaxResults(enrollLimit)
+                        .getResultList();
+
+        // 페이지에 보이는 강습의 잔여 정원을 한 번에 집계 (convertToLessonDetails 에서 사용)
+        availabilityProjection.getAll(pageEnrollments.stream()
+                .map(enroll -> enroll.getLesson().getLessonId())
+                .distinct()
+                .collect(Collectors.toList()));
+
+        List<EnrollDto> pagedDtoList = new ArrayList<>((int) (to - from));
+        int nextEnroll = 0;
+        int nextPreview = previewsBefore;
+        for (long position = from; position < to; position++) {
+            if (nextPreview < previewCount && previewPositions[nextPreview] == position) {
+                pagedDtoList.add(renewalPreviews.get(nextPreview++));
+            } else if (nextEnroll < pageEnrollments.size()) {
+                pagedDtoList.add(convertToMypageEnrollDto(pageEnrollments.get(nextEnroll++)));
+            }
+        }
+
+        return new PageImpl<>(pagedDtoList, pageable, total);
+    }
+
+    /**
+     * 이번 달 결제완료 강습의 다음 달 같은 강습 중 아직 활성 신청이 없는 것 (시작일 내림차순)
+     */
+    private List<EnrollDto> findRenewalPreviews(User user, YearMonth currentMonth) {
+        List<Lesson> currentLessons = enrollRepository.findPaidLessonsOfUserStartingBetween(user.getUuid(),
+                currentMonth.atDay(1), currentMonth.atEndOfMonth());
+        if (currentLessons.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        LocalDate nextMonthStart = currentMonth.plusMonths(1).atDay(1);
+        LocalDate nextMonthEnd = currentMonth.plusMonths(1).atEndOfMonth();
+        // PAID 또는 만료 전 UNPAID 인 신청의 강습 (강습마다 사용자 신청 전체를 다시 읽지 않도록 한 번만 조회)
+        Set<Long> activeLessonIds = new HashSet<>(
+                enrollRepository.findActiveLessonIdsOfUser(user.getUuid(), LocalDateTime.now()));
+
+        List<Lesson> nextMonthLessons = new ArrayList<>();
+        for (Lesson currentLesson : currentLessons) {
+            logger.debug("Searching for next month's lesson with: Title='{}', Time='{}'",
+                    currentLesson.getTitle(), currentLesson.getLessonTime());
+            lessonRepository.findNextMonthLesson(currentLesson.getTitle(), currentLesson.getLessonTime(),
+                    nextMonthStart, nextMonthEnd).ifPresent(nextMonthLesson -> {
+                        if (activeLessonIds.contains(nextMonthLesson.getLessonId())) {
                             logger.debug(
                                     "User {} has already an active enrollment for lesson {}, skipping renewal preview.",
                                     user.getUsername(), nextMonthLesson.getLessonId());
+                        } else {
+                            nextMonthLessons.add(nextMonthLesson);
                         }
-                        return !alreadyHasActiveEnrollment;
-                    })
-                    .map(nextMonthLesson -> createRenewalPreviewDto(nextMonthLesson, true))
-                    .collect(Collectors.toList());
-
-            dtoList.addAll(renewalPreviews);
+                    });
         }
 
-        dtoList.sort(Comparator.comparing(dto -> dto.getLesson().getStartDate(), Comparator.reverseOrder()));
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), dtoList.size());
-        List<EnrollDto> pagedDtoList = dtoList.isEmpty() ? Collections.emptyList()
-                : dtoList.subList(start, end);
-
-        return new PageImpl<>(pagedDtoList, pageable, dtoList.size());
+        availabilityProjection.getAll(nextMonthLessons.stream()
+                .map(Lesson::getLessonId)
+                .collect(Collectors.toList()));
+        return nextMonthLessons.stream()
+                .sorted(Comparator.comparing(Lesson::getStartDate, Comparator.reverseOrder()))
+                .map(nextMonthLesson -> createRenewalPreviewDto(nextMonthLesson, true))
+                .collect(Collectors.toList());
     }
 
     private EnrollDto createRenewalPreviewDto(Lesson lesson, boolean isRenewalOpen) {
@@ -248,12 +289,8 @@ public class EnrollmentServiceImpl implements EnrollmentService {
 
         Integer remainingSpots = null;
         if (lesson.getCapacity() != null) {
-            long paidEnrollments = enrollRepository.countByLessonLessonIdAndPayStatus(lesson.getLessonId(), "PAID");
-            long unpaidActiveEnrollments = enrollRepository.countByLessonLessonIdAndStatusAndPayStatusAndExpireDtAfter(
-                    lesson.getLessonId(), "APPLIED", "UNPAID", LocalDateTime.now());
-            remainingSpots = lesson.getCapacity() - (int) paidEnrollments - (int) unpaidActiveEnrollments;
-            if (remainingSpots < 0)
-                remainingSpots = 0;
+            // 결제완료 + 만료 전 결제대기 (가용 현황 프로젝션, 강습마다 COUNT 하지 않음)
+            remainingSpots = availabilityProjection.get(lesson.getLessonId()).remaining(lesson.getCapacity());
         }
 
         String days = null;
@@ -329,13 +366,15 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     /**
      * *** 동시성 제어 및 재시도 로직이 적용된 신규 수강 신청 ***
      * 
+     * 정원 검사는 lesson row 잠금 대신 LessonSeatLedger(인메모리 원자 카운터)로 처리합니다.
+     * 
      * @Retryable: 교착상태 및 잠금 실패 시 자동 재시도
      *             - DeadlockLoserDataAccessException: 교착상태 감지 시 재시도
      *             - CannotAcquireLockException: 잠금 획득 실패 시 재시도
      *             - JpaOptimisticLockingFailureException: 낙관적 잠금 실패 시 재시도
      */
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Transactional
     @Retryable(value = {
             DeadlockLoserDataAccessException.class,
             CannotAcquireLockException.class,
@@ -383,16 +422,21 @@ public class EnrollmentServiceImpl implements EnrollmentService {
      * 'ACTIVE') 업데이트하고, expireDt를 null 또는 매우 먼 미래로 변경하여 더 이상 만료되지 않도록 처리해야 합니다.
      * 4. 결제 실패 시 사용자에게 알리고, 신청은 UNPAID 상태로 두거나, 특정 횟수 실패 시 취소 처리할 수 있습니다.
      */
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     protected EnrollResponseDto createInitialEnrollmentInternal(User user, EnrollRequestDto initialEnrollRequest,
             String ipAddress) {
         logger.info("Starting initial enrollment process for user: {} with request: {}", user.getUuid(),
                 initialEnrollRequest);
-        // *** 비관적 잠금으로 동시성 문제 해결 ***
-        Lesson lesson = lessonRepository.findByIdWithLock(initialEnrollRequest.getLessonId())
+        Lesson lesson = lessonRepository.findById(initialEnrollRequest.getLessonId())
                 .orElseThrow(
                         () -> new EntityNotFoundException("강습을 찾을 수 없습니다. ID: " + initialEnrollRequest.getLessonId()));
 
+        // *** 원장 기준 정원 마감 여부를 DB 조회 전에 먼저 확인 (빠른 거절) ***
+        if (seatLedger.availableSlots(lesson.getLessonId(), lesson.getCapacity()) <= 0) {
+            throw new BusinessRuleException(ErrorCode.PAYMENT_PAGE_SLOT_UNAVAILABLE,
+                    "정원이 마감되었습니다. 현재 신청된 (결제완료 및 결제대기 포함) 인원: "
+                            + seatLedger.occupiedSlots(lesson.getLessonId()));
+        }
+
         // *** START Check for previous admin-cancelled enrollment for this lesson ***
         List<String> adminCancelledPayStatuses = Arrays.asList(
                 "REFUNDED",
@@ -443,19 +487,6 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         }
         // *** END 신규 등록 기간 정책 검사 ***
 
-        // *** 잠금 상태에서 정원 체크 (동시성 안전) ***
-        long currentPaidEnrollments = enrollRepository.countByLessonLessonIdAndPayStatus(lesson.getLessonId(), "PAID");
-        long currentUnpaidActiveEnrollments = enrollRepository
-                .countByLessonLessonIdAndStatusAndPayStatusAndExpireDtAfter(
-                        lesson.getLessonId(), "APPLIED", "UNPAID", LocalDateTime.now());
-        long totalCurrentEnrollments = currentPaidEnrollments + currentUnpaidActiveEnrollments;
-        long availableSlots = lesson.getCapacity() - totalCurrentEnrollments;
-
-        if (availableSlots <= 0) {
-            throw new BusinessRuleException(ErrorCode.PAYMENT_PAGE_SLOT_UNAVAILABLE,
-                    "정원이 마감되었습니다. 현재 신청된 (결제완료 및 결제대기 포함) 인원: " + totalCurrentEnrollments);
-        }
-
         // *** 기존 신청 체크 (중복 방지) ***
         if (enrollRepository.existsActiveEnrollment(user.getUuid(), initialEnrollRequest.getLessonId())) {
             throw new BusinessRuleException(ErrorCode.DUPLICATE_ENROLLMENT_ATTEMPT,
@@ -505,34 +536,46 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                 .createdIp(ipAddress)
                 .build();
 
-        Enroll savedEnroll = enrollRepository.save(enroll);
+        // *** 좌석 확보: 원장으로 빠르게 거절하고, 통과한 신청만 DB 에서 최종 확인 (롤백 시 원장 예약 자동 반환) ***
+        if (!seatLedger.tryReserve(lesson.getLessonId(), lesson.getCapacity())) {
+            throw new BusinessRuleException(ErrorCode.PAYMENT_PAGE_SLOT_UNAVAILABLE,
+                    "정원이 마감되었습니다. 현재 신청된 (결제완료 및 결제대기 포함) 인원: "
+                            + seatLedger.occupiedSlots(lesson.getLessonId()));
+        }
+        if (!claimSeatInDatabase(lesson)) {
+            throw new BusinessRuleException(ErrorCode.PAYMENT_PAGE_SLOT_UNAVAILABLE,
+                    "정원이 마감되었습니다. 현재 신청된 (결제완료 및 결제대기 포함) 인원: "
+                            + enrollRepository.countActiveEnrollmentsForLesson(lesson.getLessonId(), LocalDateTime.now()));
+        }
+
+        Enroll savedEnroll;
+        try {
+            savedEnroll = enrollRepository.saveAndFlush(enroll);
+        } catch (DataIntegrityViolationException e) {
+            // 동일 사용자의 동시 신청은 uk_user_lesson_active 제약조건으로 걸러짐
+            throw new BusinessRuleException(ErrorCode.DUPLICATE_ENROLLMENT_ATTEMPT,
+                    "이미 해당 강습에 대한 활성 신청(결제 완료 또는 대기 포함) 내역이 존재합니다.");
+        }
         logger.info("Enrollment record created with ID: {} for user: {}, lesson: {}, membership: {}, finalAmount: {}",
                 savedEnroll.getEnrollId(), user.getUuid(), lesson.getLessonId(), membershipTypeEnum, finalAmount);
 
-        // WebSocket으로 용량 업데이트 전송 (이전 로직 복원 및 사용)
-        long finalPaidCount = enrollRepository.countByLessonLessonIdAndPayStatus(lesson.getLessonId(), "PAID");
-        long finalUnpaidActiveCount = enrollRepository.countByLessonLessonIdAndStatusAndPayStatusAndExpireDtAfter(
-                lesson.getLessonId(), "APPLIED", "UNPAID", LocalDateTime.now());
-
-        if (webSocketHandler != null) {
-            try {
-                webSocketHandler.broadcastLessonCapacityUpdate(
-                        lesson.getLessonId(),
-                        lesson.getCapacity(), // Total capacity
-                        (int) finalPaidCount,
-                        (int) finalUnpaidActiveCount);
-                logger.info(
-                        "Sent capacity update via WebSocket for lessonId: {}, total: {}, paid: {}, unpaidActive: {}",
-                        lesson.getLessonId(), lesson.getCapacity(), finalPaidCount, finalUnpaidActiveCount);
-            } catch (Exception e) {
-                logger.warn("[WebSocket] Failed to broadcast capacity update for lesson {}: {}",
-                        lesson.getLessonId(), e.getMessage(), e); // Include exception for better diagnostics
-            }
-        }
+        // 정원 변경 WebSocket 알림은 Enroll 엔티티 리스너가 커밋 후 브로드캐스터에 요청 (트랜잭션 스레드에서 전송하지 않음)
 
         return convertToSwimmingEnrollResponseDto(savedEnroll);
     }
 
+    /**
+     * 정원의 최종 판정. 원장은 노드 로컬이라 다른 노드의 신청을 재정렬 전까지 모르므로, 원장을 통과한 신청은
+     * lesson row 잠금 아래의 DB 집계로 한 번 더 확인합니다. 거절되면 커밋(롤백) 후 원장을 DB 값으로 재정렬합니다.
+     */
+    private boolean claimSeatInDatabase(Lesson lesson) {
+        if (lessonRepository.claimSeatIfAvailable(lesson.getLessonId(), LocalDateTime.now()) > 0) {
+            return true;
+        }
+        seatLedger.resync(lesson.getLessonId());
+        return false;
+    }
+
     private boolean isRenewal(User user, Lesson currentLesson) {
         YearMonth currentLessonMonth = YearMonth.from(currentLesson.getStartDate());
         YearMonth previousMonth = currentLessonMonth.minusMonths(1);
@@ -674,6 +717,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                 logger.info("미결제 건(enrollId: {}) 사용자 취소 - 사물함 재고는 변경하지 않음 (환불이 아님)", enrollId);
 
                 enrollRepository.delete(enroll); // Delete the enrollment record
+                seatLedger.resync(lesson.getLessonId());
                 // No need to save 'enroll' object after deletion.
                 return; // Exit after deletion
             }
@@ -709,6 +753,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                     "Cancellation is not allowed for the current payment status: " + enroll.getPayStatus());
         }
         enrollRepository.save(enroll); // Save changes if not deleted
+        seatLedger.resync(lesson.getLessonId());
     }
 
     /**
@@ -828,6 +873,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             enroll.setCancelApprovedAt(LocalDateTime.now());
             enroll.setRefundAmount(0);
             enrollRepository.save(enroll);
+            seatLedger.resync(enroll.getLesson().getLessonId());
             logger.info("취소 승인: 결제 내역 없는 수강신청(ID: {})이 취소 처리되었습니다.", enrollId);
             return;
         }
@@ -926,6 +972,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         enroll.setUpdatedAt(LocalDateTime.now());
 
         enrollRepository.save(enroll);
+        seatLedger.resync(enroll.getLesson().getLessonId());
 
         logger.info("환불 요청 거부 완료. enrollId: {}, 복원된 상태: status={}, payStatus={}, usesLocker={}, lockerAllocated={}",
                 enrollId, enroll.getStatus(), enroll.getPayStatus(), enroll.isUsesLocker(), enroll.isLockerAllocated());
@@ -1081,6 +1128,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         enroll.setUpdatedAt(LocalDateTime.now());
 
         enrollRepository.save(enroll);
+        seatLedger.resync(enroll.getLesson().getLessonId());
 
         logger.info("환불 요청 거부 완료. enrollId: {}, 복원된 상태: status={}, payStatus={}, usesLocker={}, lockerAllocated={}",
                 enrollId, enroll.getStatus(), enroll.getPayStatus(), enroll.isUsesLocker(), enroll.isLockerAllocated());
@@ -1162,13 +1210,13 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     }
 
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Transactional
     public EnrollInitiationResponseDto processRenewal(User user, RenewalRequestDto renewalRequestDto) {
         if (user == null || user.getUuid() == null) {
             throw new BusinessRuleException(ErrorCode.AUTHENTICATION_FAILED, HttpStatus.UNAUTHORIZED);
         }
 
-        Lesson lesson = lessonRepository.findByIdWithLock(renewalRequestDto.getLessonId())
+        Lesson lesson = lessonRepository.findById(renewalRequestDto.getLessonId())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "재수강 대상 강좌를 찾을 수 없습니다 (ID: " + renewalRequestDto.getLessonId() + ")",
                         ErrorCode.LESSON_NOT_FOUND));
@@ -1192,15 +1240,15 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                     "재수강 신청 기간이 아닙니다. (다음 달 강습: 현월 20일 10시 ~ 24일 23시 59분)");
         }
 
-        long paidEnrollments = enrollRepository.countByLessonLessonIdAndPayStatus(lesson.getLessonId(), "PAID");
-        long unpaidExpiringEnrollments = enrollRepository.countByLessonLessonIdAndStatusAndPayStatusAndExpireDtAfter(
-                lesson.getLessonId(), "APPLIED", "UNPAID", LocalDateTime.now());
-        long availableSlotsForRenewal = lesson.getCapacity() - paidEnrollments - unpaidExpiringEnrollments;
-
-        if (availableSlotsForRenewal <= 0) {
+        if (!seatLedger.tryReserve(lesson.getLessonId(), lesson.getCapacity())) {
             throw new BusinessRuleException(ErrorCode.PAYMENT_PAGE_SLOT_UNAVAILABLE,
-                    "재수강 정원이 마감되었습니다. 현재 정원: " + lesson.getCapacity() + ", 결제완료: " + paidEnrollments + ", 결제대기(만료전): "
-                            + unpaidExpiringEnrollments);
+                    "재수강 정원이 마감되었습니다. 현재 정원: " + lesson.getCapacity() + ", 신청(결제완료 및 결제대기 포함): "
+                            + seatLedger.occupiedSlots(lesson.getLessonId()));
+        }
+        if (!claimSeatInDatabase(lesson)) {
+            throw new BusinessRuleException(ErrorCode.PAYMENT_PAGE_SLOT_UNAVAILABLE,
+                    "재수강 정원이 마감되었습니다. 현재 정원: " + lesson.getCapacity() + ", 신청(결제완료 및 결제대기 포함): "
+                            + enrollRepository.countActiveEnrollmentsForLesson(lesson.getLessonId(), LocalDateTime.now()));
         }
 
         Enroll enroll = enrollRepository.findFirstByUserAndLesson(user, lesson)
@@ -1219,13 +1267,8 @@ public class EnrollmentServiceImpl implements EnrollmentService {
 
         try {
             Enroll savedEnroll = enrollRepository.save(enroll);
-
-            long finalPaidCountAfterRenewal = enrollRepository.countByLessonLessonIdAndPayStatus(lesson.getLessonId(),
-                    "PAID");
-            long finalUnpaidActiveCountAfterRenewal = enrollRepository
-                    .countByLessonLessonIdAndStatusAndPayStatusAndExpireDtAfter(
-                            lesson.getLessonId(), "APPLIED", "UNPAID", LocalDateTime.now());
-            long finalTotalEnrollmentsAfterRenewal = finalPaidCountAfterRenewal + finalUnpaidActiveCountAfterRenewal;
+            // 기존 신청 레코드를 재사용한 경우 원장이 이중 집계될 수 있으므로 커밋 후 DB 기준으로 재정렬
+            seatLedger.resync(lesson.getLessonId());
 
             return EnrollInitiationResponseDto.builder()
                     .enrollId(savedEnroll.getEnrollId())
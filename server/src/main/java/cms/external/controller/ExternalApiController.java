@@ -1,17 +1,21 @@
 package cms.external.controller;
 
 import cms.external.dto.PaymentDataResponse;
+import cms.external.dto.PaymentExportFormat;
 import cms.external.service.ExternalApiService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 
@@ -21,6 +25,8 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class ExternalApiController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ExternalApiService externalApiService;
 
     @GetMapping("/payment-data")
@@ -32,4 +38,31 @@ public class ExternalApiController {
         PaymentDataResponse response = externalApiService.getPaymentDataByPeriod(startDate, endDate);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/payment-data/export")
+    @Operation(summary = "결제 데이터 스트리밍 내보내기", description = "지정된 기간의 결제 데이터를 NDJSON 또는 CSV 로 스트리밍합니다. "
+            + "limit 을 지정하면 응답의 " + NEXT_CURSOR_HEADER + " 헤더 값을 cursor 로 전달해 이어서 받을 수 있습니다 (헤더가 없으면 마지막 페이지).")
+    public ResponseEntity<StreamingResponseBody> exportPaymentData(
+            @Parameter(description = "조회 시작일시 (YYYY-MM-DD'T'HH:mm:ss)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "조회 종료일시 (YYYY-MM-DD'T'HH:mm:ss)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "형식 (ndjson, csv)") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "이어받기 커서 (이전 응답의 " + NEXT_CURSOR_HEADER + " 값)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (미지정 시 기간 전체)") @RequestParam(required = false) Integer limit) {
+
+        PaymentExportFormat exportFormat = PaymentExportFormat.from(format);
+        String nextCursor = externalApiService.findNextExportCursor(startDate, endDate, cursor, limit);
+
+        StreamingResponseBody body = out -> externalApiService.exportPaymentData(startDate, endDate, cursor,
+                nextCursor, exportFormat, out);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"payment-data." + exportFormat.getExtension() + "\"");
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor)
+                    .header(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, NEXT_CURSOR_HEADER);
+        }
+        return builder.body(body);
+    }
+}
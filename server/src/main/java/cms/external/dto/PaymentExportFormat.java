@@ -0,0 +1,31 @@
+package cms.external.dto;
+
+import cms.common.exception.BusinessRuleException;
+import cms.common.exception.ErrorCode;
+import lombok.Getter;
+
+/**
+ * 결제 데이터 스트리밍 내보내기 형식
+ */
+@Getter
+public enum PaymentExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    PaymentExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static PaymentExportFormat from(String value) {
+        for (PaymentExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessRuleException(ErrorCode.INVALID_INPUT_VALUE, "지원하지 않는 형식입니다: " + value);
+    }
+}
@@ -1,8 +1,27 @@
 package cms.external.service;
 
 import cms.external.dto.PaymentDataResponse;
+import cms.external.dto.PaymentExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 
 public interface ExternalApiService {
     PaymentDataResponse getPaymentDataByPeriod(LocalDateTime startDate, LocalDateTime endDate);
-}
\ No newline at end of file
+
+    /**
+     * 스트리밍 내보내기의 다음 페이지 커서를 구합니다.
+     *
+     * @param cursor 현재 페이지 시작 커서 (첫 페이지는 null)
+     * @param limit  페이지 크기 (null 이면 기간 전체를 한 번에 내보내므로 다음 커서 없음)
+     * @return 다음 페이지 시작 커서, 마지막 페이지이면 null
+     */
+    String findNextExportCursor(LocalDateTime startDate, LocalDateTime endDate, String cursor, Integer limit);
+
+    /**
+     * [cursor, endCursor) 구간의 결제 데이터를 DB 커서로 읽으면서 바로 출력 스트림에 기록합니다.
+     */
+    void exportPaymentData(LocalDateTime startDate, LocalDateTime endDate, String cursor, String endCursor,
+            PaymentExportFormat format, OutputStream out) throws IOException;
+}
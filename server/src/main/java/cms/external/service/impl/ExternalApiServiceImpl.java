@@ -1,17 +1,43 @@
 package cms.external.service.impl;
 
+import cms.common.exception.BusinessRuleException;
+import cms.common.exception.ErrorCode;
+import cms.external.dto.EnrollmentDetailDto;
 import cms.external.dto.PaymentDataResponse;
 import cms.external.dto.PaymentDetailDto;
+import cms.external.dto.PaymentExportFormat;
+import cms.external.dto.UserDetailDto;
 import cms.external.service.ExternalApiService;
 import cms.payment.domain.Payment;
 import cms.payment.repository.PaymentRepository;
 import cms.payment.repository.specification.PaymentSpecification;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,7 +46,33 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ExternalApiServiceImpl implements ExternalApiService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ExternalApiServiceImpl.class);
+
+    private static final String EXPORT_SELECT = "SELECT p.id, p.moid, p.tid, p.status, p.paid_amt, p.paid_at, p.pay_method, "
+            + "e.id AS enroll_id, e.pay_status, e.CREATED_AT AS enroll_created_at, l.title, "
+            + "u.uuid, u.name, u.email, u.phone "
+            + "FROM payment p "
+            + "LEFT JOIN enroll e ON e.id = p.enroll_id "
+            + "LEFT JOIN lesson l ON l.lesson_id = e.lesson_id "
+            + "LEFT JOIN `user` u ON u.uuid = e.user_uuid "
+            + "WHERE p.paid_at BETWEEN ? AND ?";
+    private static final String KEY_FROM = " AND (p.paid_at > ? OR (p.paid_at = ? AND p.id >= ?))";
+    private static final String KEY_BEFORE = " AND (p.paid_at < ? OR (p.paid_at = ? AND p.id < ?))";
+    private static final String KEY_ORDER = " ORDER BY p.paid_at, p.id";
+
+    private static final String[] CSV_HEADER = { "paymentId", "moid", "tid", "status", "paidAmount", "paidAt",
+            "payMethod", "enrollId", "enrollStatus", "lessonTitle", "applicationDate", "userUuid", "userName",
+            "userEmail", "userPhone" };
+
     private final PaymentRepository paymentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${external-api.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    @Value("${external-api.export.max-page-size:50000}")
+    private int exportMaxPageSize;
 
     @Override
     public PaymentDataResponse getPaymentDataByPeriod(LocalDateTime startDate, LocalDateTime endDate) {
@@ -33,4 +85,244 @@ public class ExternalApiServiceImpl implements ExternalApiService {
 
         return new PaymentDataResponse(paymentDetailDtos);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String findNextExportCursor(LocalDateTime startDate, LocalDateTime endDate, String cursor, Integer limit) {
+        if (limit == null) {
+            return null;
+        }
+        if (limit < 1 || limit > exportMaxPageSize) {
+            throw new BusinessRuleException(ErrorCode.INVALID_INPUT_VALUE,
+                    "limit 은 1 이상 " + exportMaxPageSize + " 이하여야 합니다.");
+        }
+        ExportKey from = ExportKey.decode(cursor);
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT p.paid_at, p.id FROM payment p WHERE p.paid_at BETWEEN ? AND ?");
+        args.add(Timestamp.valueOf(startDate));
+        args.add(Timestamp.valueOf(endDate));
+        if (from != null) {
+            sql.append(KEY_FROM);
+            from.bind(args);
+        }
+        // 다음 페이지의 첫 행 = 현재 페이지 limit 건을 건너뛴 위치 (paid_at, id 인덱스만 읽음)
+        sql.append(KEY_ORDER).append(" LIMIT 1 OFFSET ?");
+        args.add(limit);
+
+        List<ExportKey> next = jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new ExportKey(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)), args.toArray());
+        return next.isEmpty() ? null : next.get(0).encode();
+    }
+
+    @Override
+    public void exportPaymentData(LocalDateTime startDate, LocalDateTime endDate, String cursor, String endCursor,
+            PaymentExportFormat format, OutputStream out) throws IOException {
+        ExportKey from = ExportKey.decode(cursor);
+        ExportKey before = ExportKey.decode(endCursor);
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(EXPORT_SELECT);
+        args.add(Timestamp.valueOf(startDate));
+        args.add(Timestamp.valueOf(endDate));
+        if (from != null) {
+            sql.append(KEY_FROM);
+            from.bind(args);
+        }
+        if (before != null) {
+            sql.append(KEY_BEFORE);
+            before.bind(args);
+        }
+        sql.append(KEY_ORDER);
+
+        ExportWriter writer = format == PaymentExportFormat.CSV ? new CsvExportWriter(out) : new NdjsonExportWriter(out);
+        long started = System.currentTimeMillis();
+        long[] rows = { 0 };
+        try {
+            // 전진 전용 커서 + fetch size 로 결과를 나눠 받아 행 단위로 바로 기록 (전체 결과를 힙에 올리지 않음)
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(exportFetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(mapRow(rs));
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            // 클라이언트 연결 종료 등 - 쿼리는 JdbcTemplate 이 정리
+            logger.warn("[External API] Payment export aborted after {} rows: {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        logger.info("[External API] Exported {} payments ({}) for {} ~ {} in {}ms",
+                rows[0], format, startDate, endDate, System.currentTimeMillis() - started);
+    }
+
+    private PaymentDetailDto mapRow(ResultSet rs) throws SQLException {
+        EnrollmentDetailDto enrollment = null;
+        UserDetailDto user = null;
+        long enrollId = rs.getLong("enroll_id");
+        if (!rs.wasNull()) {
+            enrollment = EnrollmentDetailDto.builder()
+                    .enrollId(enrollId)
+                    .status(rs.getString("pay_status"))
+                    .lessonTitle(rs.getString("title"))
+                    .applicationDate(toLocalDateTime(rs.getTimestamp("enroll_created_at")))
+                    .build();
+            String uuid = rs.getString("uuid");
+            if (uuid != null) {
+                user = UserDetailDto.builder()
+                        .uuid(uuid)
+                        .name(rs.getString("name"))
+                        .email(rs.getString("email"))
+                        .phone(rs.getString("phone"))
+                        .build();
+            }
+        }
+        int paidAmount = rs.getInt("paid_amt");
+        return PaymentDetailDto.builder()
+                .paymentId(rs.getLong("id"))
+                .moid(rs.getString("moid"))
+                .tid(rs.getString("tid"))
+                .status(rs.getString("status"))
+                .paidAmount(rs.wasNull() ? null : paidAmount)
+                .paidAt(toLocalDateTime(rs.getTimestamp("paid_at")))
+                .payMethod(rs.getString("pay_method"))
+                .enrollmentInfo(enrollment)
+                .userInfo(user)
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private interface ExportWriter {
+        void write(PaymentDetailDto dto) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * 한 줄에 결제 1건 (PaymentDetailDto 와 같은 구조의 JSON)
+     */
+    private class NdjsonExportWriter implements ExportWriter {
+        private final JsonGenerator generator;
+
+        NdjsonExportWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(PaymentDetailDto dto) throws IOException {
+            objectMapper.writeValue(generator, dto);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * 신청/사용자 정보를 펼친 CSV (RFC 4180 이스케이프)
+     */
+    private static class CsvExportWriter implements ExportWriter {
+        private final Writer writer;
+
+        CsvExportWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeLine((Object[]) CSV_HEADER);
+        }
+
+        @Override
+        public void write(PaymentDetailDto dto) throws IOException {
+            EnrollmentDetailDto enrollment = dto.getEnrollmentInfo();
+            UserDetailDto user = dto.getUserInfo();
+            writeLine(dto.getPaymentId(), dto.getMoid(), dto.getTid(), dto.getStatus(), dto.getPaidAmount(),
+                    dto.getPaidAt(), dto.getPayMethod(),
+                    enrollment != null ? enrollment.getEnrollId() : null,
+                    enrollment != null ? enrollment.getStatus() : null,
+                    enrollment != null ? enrollment.getLessonTitle() : null,
+                    enrollment != null ? enrollment.getApplicationDate() : null,
+                    user != null ? user.getUuid() : null,
+                    user != null ? user.getName() : null,
+                    user != null ? user.getEmail() : null,
+                    user != null ? user.getPhone() : null);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                    || text.indexOf('\r') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+    }
+
+    /**
+     * 키셋 페이징 위치 (paid_at, id). 커서 토큰은 "paidAt,id" 의 base64url 인코딩입니다.
+     */
+    private static final class ExportKey {
+        private final LocalDateTime paidAt;
+        private final long id;
+
+        ExportKey(LocalDateTime paidAt, long id) {
+            this.paidAt = paidAt;
+            this.id = id;
+        }
+
+        String encode() {
+            String raw = paidAt + "," + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void bind(List<Object> args) {
+            Timestamp timestamp = Timestamp.valueOf(paidAt);
+            args.add(timestamp);
+            args.add(timestamp);
+            args.add(id);
+        }
+
+        static ExportKey decode(String token) {
+            if (token == null || token.isEmpty()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int comma = raw.lastIndexOf(',');
+                return new ExportKey(LocalDateTime.parse(raw.substring(0, comma)),
+                        Long.parseLong(raw.substring(comma + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+                throw new BusinessRuleException(ErrorCode.INVALID_INPUT_VALUE, "유효하지 않은 cursor 입니다.");
+            }
+        }
+    }
+}
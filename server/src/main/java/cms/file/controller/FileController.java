@@ -1,26 +1,27 @@
 package cms.file.controller;
 
 import cms.common.dto.ApiResponseSchema;
+import cms.file.delivery.FileDeliveryService;
 import cms.file.dto.FileDto;
 import cms.file.entity.CmsFile;
+import cms.file.entity.CmsFileVariant;
+import cms.file.image.ImageDerivativeService;
 import cms.file.service.FileService;
+import cms.file.storage.FileContent;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import javax.persistence.EntityNotFoundException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.io.IOException;
 
 @RestController
 @RequestMapping("/cms/file")
@@ -30,6 +31,8 @@ import java.io.IOException;
 public class FileController {
 
     private final FileService fileService;
+    private final FileDeliveryService fileDeliveryService;
+    private final ImageDerivativeService imageDerivativeService;
 
     private FileDto convertToDto(CmsFile file) {
         FileDto dto = new FileDto();
@@ -333,7 +336,9 @@ public class FileController {
     }
 
     // Helper method to build ResponseEntity for file serving
-    private ResponseEntity<?> buildFileResponse(Long fileId, boolean inlineDisposition) {
+    // 성공 시 본문은 FileDeliveryService 가 응답에 직접 기록하므로 null 을 반환
+    private ResponseEntity<?> buildFileResponse(Long fileId, boolean inlineDisposition, Integer width,
+            String format, HttpServletRequest request, HttpServletResponse response) {
         try {
             CmsFile fileInfo = fileService.getFile(fileId);
             if (fileInfo == null || !"Y".equals(fileInfo.getPublicYn())) {
@@ -342,46 +347,29 @@ public class FileController {
                         .body(ApiResponseSchema.error("File not found or not public.", "FILE_NOT_FOUND"));
             }
 
-            Resource resource = fileService.loadFileAsResource(fileInfo.getSavedName());
-
-            String contentType = fileInfo.getMimeType();
-        try {
-                if (contentType == null || contentType.equals(MediaType.APPLICATION_OCTET_STREAM_VALUE)) {
-                    contentType = java.nio.file.Files.probeContentType(resource.getFile().toPath());
-                }
-            } catch (IOException | UnsupportedOperationException ex) { // Added UnsupportedOperationException for certain Resource types
-                log.info("Could not determine file type for {} via probeContentType. Relying on stored MIME type or defaulting. Error: {}", fileInfo.getSavedName(), ex.getMessage());
-                // Keep stored contentType if probe fails or is not supported
+            if ("auto".equalsIgnoreCase(format)) {
+                String accept = request.getHeader(HttpHeaders.ACCEPT);
+                format = accept != null && accept.contains("image/webp") ? "webp" : null;
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
             }
-            if (contentType == null) { // Still null after probe or if probe failed
-                contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+            CmsFileVariant variant = imageDerivativeService.selectVariant(fileId, width, format);
+            // 파생본을 요청했는데 아직 없으면 원본으로 대신 응답하고, 생성된 뒤 바로 바뀌도록 캐시하지 않게 함
+            boolean provisional = variant == null && (width != null || format != null);
+            if (variant != null) {
+                // 파생본은 원본의 파일명/ID 를 유지하고 저장 위치와 형식만 바꿔서 전송
+                fileInfo = CmsFile.builder()
+                        .fileId(fileInfo.getFileId())
+                        .originName(fileInfo.getOriginName())
+                        .savedName(variant.getSavedName())
+                        .contentHash(variant.getContentHash())
+                        .mimeType(variant.getMimeType())
+                        .publicYn(fileInfo.getPublicYn())
+                        .build();
             }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType(contentType));
-
-            String encodedFileName = URLEncoder.encode(fileInfo.getOriginName(), StandardCharsets.UTF_8.toString()).replaceAll("\\+", "%20");
-
-            if (inlineDisposition) {
-                headers.setContentDispositionFormData("inline", encodedFileName);
-            } else {
-                headers.setContentDispositionFormData("attachment", encodedFileName);
-            }
-            
-            // Add Cache-Control header to prevent caching of sensitive files if needed, or allow caching for public images
-            // For example, for public images that change infrequently:
-            // headers.setCacheControl(CacheControl.maxAge(3600, TimeUnit.SECONDS).mustRevalidate().cachePublic());
-            // For downloads or sensitive files:
-            // headers.setCacheControl(CacheControl.noCache().noStore().mustRevalidate());
-            // For now, let's use a general no-cache for simplicity, adjust as needed.
-            headers.setCacheControl("no-cache, no-store, must-revalidate");
-            headers.setPragma("no-cache");
-            headers.setExpires(0L);
-
-
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(resource);
+            FileContent content = fileService.openContent(fileInfo);
+            fileDeliveryService.deliver(fileInfo, content, inlineDisposition, provisional, request, response);
+            return null;
 
         } catch (EntityNotFoundException e) {
             log.warn("File not found, fileId: {}", fileId, e);
@@ -395,14 +383,19 @@ public class FileController {
     }
 
     @GetMapping("/public/view/{fileId}")
-    public ResponseEntity<?> viewPublicFile(@PathVariable Long fileId) {
-        log.debug("Request to view file with ID: {}", fileId);
-        return buildFileResponse(fileId, true); // true for inline disposition
+    public ResponseEntity<?> viewPublicFile(@PathVariable Long fileId,
+            @RequestParam(required = false) Integer width,
+            @RequestParam(required = false) String format,
+            HttpServletRequest request, HttpServletResponse response) {
+        log.debug("Request to view file with ID: {} (width: {}, format: {})", fileId, width, format);
+        // width: 필요한 최소 너비(px), format: webp | jpg | png | auto (Accept 헤더로 webp 지원 여부 판단)
+        return buildFileResponse(fileId, true, width, format, request, response); // true for inline disposition
     }
 
     @GetMapping("/public/download/{fileId}")
-    public ResponseEntity<?> downloadPublicFile(@PathVariable Long fileId) {
+    public ResponseEntity<?> downloadPublicFile(@PathVariable Long fileId, HttpServletRequest request,
+            HttpServletResponse response) {
         log.debug("Request to download file with ID: {}", fileId);
-        return buildFileResponse(fileId, false); // false for attachment disposition
+        return buildFileResponse(fileId, false, null, null, request, response); // false for attachment disposition
     }
 } 
\ No newline at end of file
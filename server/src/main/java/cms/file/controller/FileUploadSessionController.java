@@ -0,0 +1,101 @@
+package cms.file.controller;
+
+import cms.common.dto.ApiResponseSchema;
+import cms.file.dto.FileDto;
+import cms.file.dto.UploadSessionCreateRequest;
+import cms.file.dto.UploadSessionDto;
+import cms.file.entity.CmsFile;
+import cms.file.upload.ChunkedUploadService;
+import cms.user.domain.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 대용량 파일 분할 업로드 API (인증 필요)
+ */
+@RestController
+@RequestMapping("/cms/file/private/upload-sessions")
+@RequiredArgsConstructor
+@Tag(name = "cms_00_File", description = "파일 업로드, 다운로드, 미리보기 API")
+@Slf4j
+public class FileUploadSessionController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    @Operation(summary = "분할 업로드 세션 생성", description = "업로드할 파일 목록을 등록하고 uploadId 와 조각 크기를 받습니다.")
+    @PostMapping
+    public ResponseEntity<ApiResponseSchema<?>> createSession(@RequestBody UploadSessionCreateRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        UploadSessionDto session = chunkedUploadService.createSession(request,
+                currentUser != null ? currentUser.getUuid() : null);
+        log.info("Chunked upload session {} created for menu: {}, menuId: {} ({} files)", session.getUploadId(),
+                request.getMenu(), request.getMenuId(), session.getFiles().size());
+        return ResponseEntity.ok(ApiResponseSchema.success(session, "Upload session created"));
+    }
+
+    @Operation(summary = "분할 업로드 세션 조회", description = "이어 올리기를 위해 파일별로 받은 조각 번호를 반환합니다.")
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<ApiResponseSchema<?>> getSession(@PathVariable String uploadId) {
+        return ResponseEntity.ok(ApiResponseSchema.success(chunkedUploadService.getSession(uploadId),
+                "Upload session retrieved"));
+    }
+
+    @Operation(summary = "조각 전송", description = "요청 본문(application/octet-stream)이 조각 내용입니다. 같은 조각은 다시 보낼 수 있습니다.")
+    @PutMapping(value = "/{uploadId}/files/{index}/chunks/{chunk}", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<ApiResponseSchema<?>> putChunk(@PathVariable String uploadId,
+            @PathVariable int index,
+            @PathVariable int chunk,
+            HttpServletRequest request) throws IOException {
+        try (InputStream in = request.getInputStream()) {
+            chunkedUploadService.putChunk(uploadId, index, chunk, in);
+        }
+        return ResponseEntity.ok(ApiResponseSchema.success(null, "Chunk stored"));
+    }
+
+    @Operation(summary = "분할 업로드 완료", description = "조각을 조립해 저장하고 파일 목록을 반환합니다.")
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ApiResponseSchema<?>> complete(@PathVariable String uploadId) {
+        List<CmsFile> files = chunkedUploadService.complete(uploadId);
+        log.info("Chunked upload session {} completed with {} files", uploadId, files.size());
+        return ResponseEntity.ok(ApiResponseSchema.success(
+                files.stream().map(this::convertToDto).collect(Collectors.toList()),
+                "Files uploaded successfully"));
+    }
+
+    @Operation(summary = "분할 업로드 취소", description = "세션과 받은 조각을 삭제합니다.")
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<ApiResponseSchema<?>> abort(@PathVariable String uploadId) {
+        chunkedUploadService.abort(uploadId);
+        return ResponseEntity.ok(ApiResponseSchema.success(null, "Upload session aborted"));
+    }
+
+    private FileDto convertToDto(CmsFile file) {
+        FileDto dto = new FileDto();
+        dto.setFileId(file.getFileId());
+        dto.setMenu(file.getMenu());
+        dto.setMenuId(file.getMenuId());
+        dto.setOriginName(file.getOriginName());
+        dto.setSavedName(file.getSavedName());
+        dto.setMimeType(file.getMimeType());
+        dto.setSize(file.getSize());
+        dto.setExt(file.getExt());
+        dto.setVersion(file.getVersion());
+        dto.setPublicYn(file.getPublicYn());
+        dto.setFileOrder(file.getFileOrder());
+        dto.setCreatedDate(file.getCreatedDate());
+        dto.setUpdatedDate(file.getUpdatedDate());
+        return dto;
+    }
+}
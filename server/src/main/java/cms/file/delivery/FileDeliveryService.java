@@ -0,0 +1,276 @@
+package cms.file.delivery;
+
+import cms.file.entity.CmsFile;
+import cms.file.storage.FileContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 파일 응답 전송
+ *
+ * - ETag / Last-Modified 를 내려주고 If-None-Match / If-Modified-Since 조건부 요청에 304 로 응답
+ * - 단일 Range 요청(bytes=a-b, a-, -n)에 206 부분 응답 (MainMedia 동영상 탐색 등). If-Range 지원
+ * - Tomcat sendfile 을 사용할 수 있으면 커널 전송에 맡기고, 아니면 FileChannel.transferTo 로 복사
+ *   (원격 저장소 블롭은 요청 구간만 스트리밍)
+ * - UUID 로 저장된 공개 파일은 내용이 바뀌지 않지만 나중에 비공개로 바뀔 수 있으므로, 짧은 기간만 캐시하고
+ *   이후에는 ETag 로 재검증 (immutable 은 붙이지 않음)
+ */
+@Component
+public class FileDeliveryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileDeliveryService.class);
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /** FileServiceImpl 이 생성하는 저장 파일명 (하이픈 없는 UUID + 확장자, 파생본은 uuid.w640.webp 형태) */
+    private static final Pattern UUID_NAME = Pattern.compile(
+            "(^|/)([0-9a-fA-F]{32}|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})(\\.[A-Za-z0-9]+)*$");
+    private static final Pattern RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    /** 확장자별 Content-Type (요청마다 probeContentType 으로 파일을 읽지 않도록) */
+    private final ConcurrentHashMap<String, String> contentTypes = new ConcurrentHashMap<>();
+
+    private final long publicMaxAge;
+    private final long revalidateMaxAge;
+    private final boolean sendfileEnabled;
+    private final long sendfileMinSize;
+
+    public FileDeliveryService(@Value("${app.file.delivery.public-max-age:300}") long publicMaxAge,
+            @Value("${app.file.delivery.revalidate-max-age:0}") long revalidateMaxAge,
+            @Value("${app.file.delivery.sendfile-enabled:true}") boolean sendfileEnabled,
+            @Value("${app.file.delivery.sendfile-min-size:49152}") long sendfileMinSize) {
+        this.publicMaxAge = publicMaxAge;
+        this.revalidateMaxAge = revalidateMaxAge;
+        this.sendfileEnabled = sendfileEnabled;
+        this.sendfileMinSize = sendfileMinSize;
+    }
+
+    /**
+     * @param provisional 요청한 파생본 대신 임시로 보내는 응답(파생본 생성 전 원본 등). 같은 URL 이 곧 다른 내용을
+     *                    돌려주게 되므로 캐시에 저장하더라도 매번 재검증하도록 no-cache 를 붙임
+     */
+    public void deliver(CmsFile fileInfo, FileContent content, boolean inline, boolean provisional,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = content.getLength();
+        long lastModified = content.getLastModified() / 1000 * 1000;
+        Path path = content.getLocalPath();
+        String etag = buildEtag(fileInfo, length, lastModified);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, provisional ? "no-cache" : cacheControl(fileInfo));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(resolveContentType(fileInfo));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(fileInfo, inline));
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && length > 0 && ifRangeMatches(request, etag, lastModified)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (path == null) {
+            // 원격 블롭은 필요한 구간만 받아서 그대로 전달
+            try (InputStream in = content.open(start, end)) {
+                StreamUtils.copy(in, response.getOutputStream());
+            } catch (IOException e) {
+                logger.debug("File delivery interrupted for {}: {}", fileInfo.getSavedName(), e.getMessage());
+            }
+            return;
+        }
+
+        if (sendfileEnabled && count >= sendfileMinSize
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 본문은 컨테이너가 커널 sendfile 로 직접 전송
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, target);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+            out.flush();
+        } catch (IOException e) {
+            // 동영상 탐색 등으로 클라이언트가 연결을 끊는 경우가 흔하므로 오류로 보지 않음
+            logger.debug("File delivery interrupted for {}: {}", fileInfo.getSavedName(), e.getMessage());
+        }
+    }
+
+    private String buildEtag(CmsFile fileInfo, long length, long lastModified) {
+        if (fileInfo.getContentHash() != null) {
+            // 내용 digest 가 있으면 그대로 강한 검증자로 사용
+            return "\"" + fileInfo.getContentHash() + "\"";
+        }
+        // 같은 파일의 파생본끼리 구분되도록 저장 파일명 해시 포함
+        String savedName = fileInfo.getSavedName() != null ? fileInfo.getSavedName() : "";
+        return "\"" + Long.toHexString(fileInfo.getFileId() == null ? 0 : fileInfo.getFileId()) + "-"
+                + Integer.toHexString(savedName.hashCode()) + "-"
+                + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    private String cacheControl(CmsFile fileInfo) {
+        String savedName = fileInfo.getSavedName();
+        if (savedName != null && UUID_NAME.matcher(savedName).find()) {
+            return "public, max-age=" + publicMaxAge;
+        }
+        return "public, max-age=" + revalidateMaxAge + ", must-revalidate";
+    }
+
+    private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return etagMatches(ifNoneMatch, etag);
+        }
+        long ifModifiedSince = parseDateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        long date = parseDateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && lastModified <= date;
+    }
+
+    private static boolean etagMatches(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag)
+                    || (value.startsWith("W/") && value.substring(2).equals(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long parseDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return {start, end} 부분 응답 구간, 빈 배열이면 전체 응답(다중 구간 등 지원하지 않는 형식), null 이면 416
+     */
+    private static long[] parseRange(String header, long length) {
+        Matcher matcher = RANGE.matcher(header.trim());
+        if (!matcher.matches()) {
+            return new long[0];
+        }
+        String first = matcher.group(1);
+        String last = matcher.group(2);
+        try {
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return new long[0];
+                }
+                long suffix = Long.parseLong(last);
+                if (suffix == 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            }
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private String resolveContentType(CmsFile fileInfo) {
+        String stored = fileInfo.getMimeType();
+        if (stored != null && !stored.isEmpty() && !MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(stored)) {
+            return stored;
+        }
+        String name = fileInfo.getSavedName() != null ? fileInfo.getSavedName() : fileInfo.getOriginName();
+        String ext = name == null || name.lastIndexOf('.') < 0 ? ""
+                : name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return contentTypes.computeIfAbsent(ext, key -> MediaTypeFactory.getMediaType("file." + key)
+                .map(MediaType::toString)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+    }
+
+    private static String contentDisposition(CmsFile fileInfo, boolean inline) throws IOException {
+        String originName = fileInfo.getOriginName() != null ? fileInfo.getOriginName() : "file";
+        String encodedFileName = URLEncoder.encode(originName, StandardCharsets.UTF_8.toString()).replaceAll("\\+", "%20");
+        return (inline ? "inline" : "attachment") + "; filename=\"" + encodedFileName + "\"; filename*=UTF-8''"
+                + encodedFileName;
+    }
+}
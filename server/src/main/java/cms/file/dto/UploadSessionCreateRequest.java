@@ -0,0 +1,26 @@
+package cms.file.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 분할 업로드 세션 생성 요청
+ */
+@Getter
+@Setter
+public class UploadSessionCreateRequest {
+    private String menu;
+    private Long menuId;
+    /** 세션에 포함할 파일 목록 (이 순서대로 file_order 가 부여됨) */
+    private List<UploadFileInfo> files;
+
+    @Getter
+    @Setter
+    public static class UploadFileInfo {
+        private String fileName;
+        private Long size;
+        private String mimeType;
+    }
+}
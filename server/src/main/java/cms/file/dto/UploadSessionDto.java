@@ -0,0 +1,32 @@
+package cms.file.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 분할 업로드 세션 상태. 이어 올리기 시 receivedChunks 에 없는 조각만 다시 전송하면 됩니다.
+ */
+@Getter
+@Setter
+public class UploadSessionDto {
+    private String uploadId;
+    private String menu;
+    private Long menuId;
+    private Integer chunkSize;
+    private String status;
+    private LocalDateTime expiresAt;
+    private List<UploadFileStatus> files;
+
+    @Getter
+    @Setter
+    public static class UploadFileStatus {
+        private Integer index;
+        private String fileName;
+        private Long size;
+        private Integer chunkCount;
+        private List<Integer> receivedChunks;
+    }
+}
@@ -32,6 +32,9 @@ public class CmsFile {
     @Column(name = "saved_name", nullable = false, length = 255, unique = true)
     private String savedName;
 
+    @Column(name = "content_hash", length = 64, columnDefinition = "CHAR(64)")
+    private String contentHash;
+
     @Column(name = "mime_type", nullable = false, length = 100)
     private String mimeType;
 
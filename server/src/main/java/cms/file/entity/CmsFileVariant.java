@@ -0,0 +1,49 @@
+package cms.file.entity;
+
+import javax.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "file_variant")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CmsFileVariant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "variant_id")
+    private Long variantId;
+
+    @Column(name = "file_id", nullable = false)
+    private Long fileId;
+
+    @Column(name = "width", nullable = false)
+    private Integer width;
+
+    @Column(name = "height", nullable = false)
+    private Integer height;
+
+    @Column(name = "format", nullable = false, length = 10)
+    private String format;
+
+    @Column(name = "saved_name", nullable = false, length = 255, unique = true)
+    private String savedName;
+
+    @Column(name = "content_hash", length = 64, columnDefinition = "CHAR(64)")
+    private String contentHash;
+
+    @Column(name = "mime_type", nullable = false, length = 100)
+    private String mimeType;
+
+    @Column(name = "size", nullable = false)
+    private Long size;
+
+    @CreationTimestamp
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+}
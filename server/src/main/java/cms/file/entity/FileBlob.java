@@ -0,0 +1,30 @@
+package cms.file.entity;
+
+import javax.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "file_blob")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileBlob {
+    @Id
+    @Column(name = "digest", length = 64, columnDefinition = "CHAR(64)")
+    private String digest;
+
+    @Column(name = "size", nullable = false)
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+
+    @Column(name = "updated_date", nullable = false)
+    private LocalDateTime updatedDate;
+}
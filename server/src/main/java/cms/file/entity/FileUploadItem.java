@@ -0,0 +1,36 @@
+package cms.file.entity;
+
+import javax.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "file_upload_item")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileUploadItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "upload_id", nullable = false, length = 36, columnDefinition = "CHAR(36)")
+    private String uploadId;
+
+    @Column(name = "item_index", nullable = false)
+    private Integer itemIndex;
+
+    @Column(name = "origin_name", nullable = false, length = 255)
+    private String originName;
+
+    @Column(name = "mime_type", length = 100)
+    private String mimeType;
+
+    @Column(name = "size", nullable = false)
+    private Long size;
+
+    @Column(name = "chunk_count", nullable = false)
+    private Integer chunkCount;
+}
@@ -0,0 +1,48 @@
+package cms.file.entity;
+
+import javax.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "file_upload_session")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileUploadSession {
+
+    public static final String STATUS_OPEN = "OPEN";
+    public static final String STATUS_COMPLETING = "COMPLETING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    @Id
+    @Column(name = "upload_id", length = 36, columnDefinition = "CHAR(36)")
+    private String uploadId;
+
+    @Column(name = "menu", nullable = false, length = 30)
+    private String menu;
+
+    @Column(name = "menu_id", nullable = false)
+    private Long menuId;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "created_by", length = 36)
+    private String createdBy;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
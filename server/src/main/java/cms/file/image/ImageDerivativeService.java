@@ -0,0 +1,419 @@
+package cms.file.image;
+
+import cms.file.entity.CmsFile;
+import cms.file.entity.CmsFileVariant;
+import cms.file.repository.FileVariantRepository;
+import cms.file.storage.FileBlobService;
+import cms.file.storage.FileContent;
+import cms.file.storage.StoredBlob;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.commons.imaging.ImageReadException;
+import org.apache.commons.imaging.Imaging;
+import org.imgscalr.Scalr;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 업로드 이미지 파생본 생성
+ *
+ * 이미지가 업로드되면 커밋 이후 별도 스레드에서 설정된 너비(app.file.image.widths)별 축소본을 만들고
+ * file_variant 에 기록합니다. 원본이 JPEG 계열이면 jpg, 투명도가 있으면 png 로 저장하며,
+ * webp 파생본은 webp-imageio(libwebp 네이티브 포함) 플러그인으로 함께 만들며, 시작 시 시험 인코딩에 실패하는
+ * 플랫폼에서는 webp 없이 동작합니다.
+ * /public/view/{fileId}?width=&format= 요청 시 selectVariant 로 가장 알맞은 파생본을 고릅니다.
+ */
+@Component
+public class ImageDerivativeService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    private static final Set<String> SOURCE_EXTENSIONS = new TreeSet<>(Arrays.asList("jpg", "jpeg", "png", "bmp"));
+    private static final String WEBP = "webp";
+
+    private final FileVariantRepository fileVariantRepository;
+    private final FileBlobService fileBlobService;
+    private final boolean enabled;
+    private final List<Integer> widths;
+    private final float jpegQuality;
+    private final long maxSourcePixels;
+    private final boolean webpSupported;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ImageDerivativeService(FileVariantRepository fileVariantRepository,
+            FileBlobService fileBlobService,
+            @Value("${app.file.image.enabled:true}") boolean enabled,
+            @Value("${app.file.image.widths:320,640,1280}") String widths,
+            @Value("${app.file.image.jpeg-quality:0.82}") float jpegQuality,
+            @Value("${app.file.image.max-source-pixels:40000000}") long maxSourcePixels,
+            @Value("${app.file.image.threads:2}") int threads,
+            @Value("${app.file.image.queue-capacity:500}") int queueCapacity) {
+        this.fileVariantRepository = fileVariantRepository;
+        this.fileBlobService = fileBlobService;
+        this.enabled = enabled;
+        this.widths = Arrays.stream(widths.split(","))
+                .map(String::trim)
+                .filter(w -> !w.isEmpty())
+                .map(Integer::valueOf)
+                .sorted()
+                .distinct()
+                .collect(Collectors.toList());
+        this.jpegQuality = jpegQuality;
+        this.maxSourcePixels = maxSourcePixels;
+        this.webpSupported = probeWebpWriter();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+        logger.info("Image derivatives {} (widths={}, webp={})", enabled ? "enabled" : "disabled", this.widths,
+                webpSupported);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 트랜잭션 커밋 후 이미지 파일의 파생본 생성을 예약합니다.
+     */
+    public void generateAfterCommit(List<CmsFile> files) {
+        if (!enabled || widths.isEmpty()) {
+            return;
+        }
+        List<CmsFile> images = files.stream().filter(this::isSupportedImage).collect(Collectors.toList());
+        if (images.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        images.forEach(ImageDerivativeService.this::submit);
+                    }
+                }
+            });
+        } else {
+            images.forEach(this::submit);
+        }
+    }
+
+    /**
+     * 요청 너비 이상인 파생본 중 가장 작은 것을 고릅니다. 알맞은 파생본이 없으면 null (원본 사용).
+     *
+     * @param format webp, jpg, png 중 하나. null 이면 원본과 같은 계열
+     */
+    public CmsFileVariant selectVariant(Long fileId, Integer width, String format) {
+        if (width == null && format == null) {
+            return null;
+        }
+        List<CmsFileVariant> variants = fileVariantRepository.findByFileIdOrderByWidthAsc(fileId);
+        if (variants.isEmpty()) {
+            return null;
+        }
+        String wanted = normalizeFormat(format);
+        CmsFileVariant best = pick(variants, width, wanted);
+        if (best == null && WEBP.equals(wanted)) {
+            // webp 파생본이 없으면 기본 포맷 파생본으로 대체
+            best = pick(variants, width, null);
+        }
+        return best;
+    }
+
+    /**
+     * 파생본 블롭 참조를 해제합니다. file_variant 행은 FK(ON DELETE CASCADE) 로 함께 삭제됩니다.
+     */
+    public void deleteVariantFiles(Long fileId) {
+        for (CmsFileVariant variant : fileVariantRepository.findByFileIdOrderByWidthAsc(fileId)) {
+            fileBlobService.release(variant.getContentHash(), variant.getSavedName());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("file.image.derivative.queued", executor, e -> e.getQueue().size())
+                .register(registry);
+        Gauge.builder("file.image.derivative.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        FunctionCounter.builder("file.image.derivative.generated", generated, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("file.image.derivative.skipped", skipped, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("file.image.derivative.failed", failed, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("file.image.derivative.rejected", rejected, AtomicLong::get)
+                .description("Jobs dropped because the queue was full")
+                .register(registry);
+    }
+
+    private CmsFileVariant pick(List<CmsFileVariant> variants, Integer width, String format) {
+        CmsFileVariant largest = null;
+        for (CmsFileVariant variant : variants) {
+            boolean formatMatches = format == null ? !WEBP.equals(variant.getFormat())
+                    : format.equals(variant.getFormat());
+            if (!formatMatches) {
+                continue;
+            }
+            if (width == null) {
+                largest = variant;
+                continue;
+            }
+            if (variant.getWidth() >= width) {
+                return variant;
+            }
+        }
+        // 요청 너비가 모든 파생본보다 크면 원본 사용. 포맷만 요청한 경우 원본 크기 webp 만 해당
+        return width == null && WEBP.equals(format) ? largest : null;
+    }
+
+    private static String normalizeFormat(String format) {
+        if (format == null || format.isEmpty()) {
+            return null;
+        }
+        String value = format.toLowerCase(Locale.ROOT);
+        return "jpeg".equals(value) ? "jpg" : value;
+    }
+
+    private boolean isSupportedImage(CmsFile file) {
+        String ext = file.getExt() != null ? file.getExt().toLowerCase(Locale.ROOT) : "";
+        return SOURCE_EXTENSIONS.contains(ext);
+    }
+
+    private void submit(CmsFile file) {
+        Long fileId = file.getFileId();
+        String savedName = file.getSavedName();
+        String contentHash = file.getContentHash();
+        try {
+            executor.execute(() -> generate(fileId, savedName, contentHash));
+        } catch (RejectedExecutionException e) {
+            // 대기열이 가득 차면 원본만 제공 (요청 시 원본으로 대체되므로 기능상 문제 없음)
+            rejected.incrementAndGet();
+            logger.warn("Image derivative queue full, skipping fileId={}", fileId);
+        }
+    }
+
+    private void generate(Long fileId, String savedName, String contentHash) {
+        List<CmsFileVariant> written = new ArrayList<>();
+        try {
+            FileContent content = fileBlobService.open(savedName, contentHash);
+            long lastByte = Math.max(0, content.getLength() - 1);
+            Dimension size;
+            try (InputStream in = content.open(0, lastByte)) {
+                size = Imaging.getImageSize(in, savedName);
+            }
+            if ((long) size.width * size.height > maxSourcePixels) {
+                skipped.incrementAndGet();
+                logger.info("Skipping image derivatives for fileId={} ({}x{} exceeds max-source-pixels)", fileId,
+                        size.width, size.height);
+                return;
+            }
+
+            BufferedImage original;
+            try (InputStream in = content.open(0, lastByte)) {
+                original = ImageIO.read(in);
+            }
+            if (original == null) {
+                skipped.incrementAndGet();
+                return;
+            }
+            boolean alpha = original.getColorModel().hasAlpha();
+            String baseFormat = alpha ? "png" : "jpg";
+
+            List<String> formats = webpSupported ? Arrays.asList(baseFormat, WEBP) : Collections.singletonList(baseFormat);
+            for (Integer width : widths) {
+                if (width >= original.getWidth()) {
+                    break;
+                }
+                BufferedImage resized = Scalr.resize(original, Scalr.Method.QUALITY, Scalr.Mode.FIT_TO_WIDTH, width);
+                if (!alpha && resized.getType() != BufferedImage.TYPE_INT_RGB) {
+                    BufferedImage rgb = new BufferedImage(resized.getWidth(), resized.getHeight(),
+                            BufferedImage.TYPE_INT_RGB);
+                    rgb.createGraphics().drawImage(resized, 0, 0, null);
+                    resized.flush();
+                    resized = rgb;
+                }
+                for (String format : formats) {
+                    written.add(writeVariant(fileId, savedName, resized, width, format));
+                }
+                resized.flush();
+            }
+            if (webpSupported) {
+                // 원본 크기 webp (최적화 포맷)
+                written.add(writeVariant(fileId, savedName, original, original.getWidth(), WEBP));
+            }
+            original.flush();
+            generated.addAndGet(written.size());
+        } catch (DataIntegrityViolationException e) {
+            // 처리 중 원본 파일이 삭제된 경우
+            discard(written);
+            skipped.incrementAndGet();
+            logger.debug("Image derivatives discarded for deleted fileId={}", fileId);
+        } catch (ImageReadException | IOException | RuntimeException e) {
+            discard(written);
+            failed.incrementAndGet();
+            logger.warn("Failed to generate image derivatives for fileId={}: {}", fileId, e.getMessage());
+        }
+    }
+
+    private CmsFileVariant writeVariant(Long fileId, String savedName, BufferedImage image, int width, String format)
+            throws IOException {
+        String variantName = stripExtension(savedName) + ".w" + width + "." + format;
+        Path temp = fileBlobService.createTempFile();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+            ImageWriter writer = writerFor(format);
+            try {
+                writer.setOutput(out);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if ("jpg".equals(format)) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(jpegQuality);
+                    param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                } else if (WEBP.equals(format)) {
+                    applyWebpQuality(param);
+                }
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        StoredBlob blob = fileBlobService.storeFile(temp, variantName);
+
+        try {
+            return fileVariantRepository.save(CmsFileVariant.builder()
+                    .fileId(fileId)
+                    .width(image.getWidth())
+                    .height(image.getHeight())
+                    .format(format)
+                    .savedName(variantName)
+                    .contentHash(blob.getDigest())
+                    .mimeType(WEBP.equals(format) ? "image/webp" : "jpg".equals(format) ? "image/jpeg" : "image/png")
+                    .size(blob.getSize())
+                    .build());
+        } catch (RuntimeException e) {
+            fileBlobService.release(blob.getDigest(), variantName);
+            throw e;
+        }
+    }
+
+    /**
+     * 실패 시 이번에 만든 파생본 정리. 원본 삭제로 이미 정리된 행(CASCADE, deleteVariantFiles)은 건너뜀
+     */
+    private void discard(List<CmsFileVariant> written) {
+        for (CmsFileVariant variant : written) {
+            try {
+                if (fileVariantRepository.existsById(variant.getVariantId())) {
+                    fileVariantRepository.deleteById(variant.getVariantId());
+                    fileBlobService.release(variant.getContentHash(), variant.getSavedName());
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to discard image variant {}: {}", variant.getSavedName(), e.getMessage());
+            }
+        }
+    }
+
+    // 축소본 용도이므로 손실 압축, 품질은 jpg 와 같은 값
+    private void applyWebpQuality(ImageWriteParam param) {
+        if (!param.canWriteCompressed()) {
+            return;
+        }
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        String[] types = param.getCompressionTypes();
+        if (types != null) {
+            for (String type : types) {
+                if ("lossy".equalsIgnoreCase(type)) {
+                    param.setCompressionType(type);
+                    break;
+                }
+            }
+        }
+        param.setCompressionQuality(jpegQuality);
+    }
+
+    /**
+     * webp writer 가 등록되어 있고 실제로 인코딩되는지 확인합니다. 네이티브 라이브러리를 제공하지 않는 플랫폼에서는
+     * writer 는 등록되지만 인코딩 시 LinkageError 가 나므로 미리 1x1 이미지로 시험합니다.
+     */
+    private static boolean probeWebpWriter() {
+        if (!ImageIO.getImageWritersByFormatName(WEBP).hasNext()) {
+            logger.warn("No WebP ImageIO writer on the classpath; webp derivatives are disabled.");
+            return false;
+        }
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(new ByteArrayOutputStream())) {
+            ImageWriter writer = writerFor(WEBP);
+            try {
+                writer.setOutput(out);
+                writer.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB));
+            } finally {
+                writer.dispose();
+            }
+            return true;
+        } catch (IOException | RuntimeException | LinkageError e) {
+            logger.warn("WebP writer is not usable on this platform; webp derivatives are disabled: {}", e.toString());
+            return false;
+        }
+    }
+
+    private static ImageWriter writerFor(String format) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg".equals(format) ? "jpeg" : format);
+        if (!writers.hasNext()) {
+            throw new IOException("No ImageIO writer for " + format);
+        }
+        return writers.next();
+    }
+
+    private static String stripExtension(String savedName) {
+        int slash = savedName.lastIndexOf('/');
+        int dot = savedName.lastIndexOf('.');
+        return dot > slash ? savedName.substring(0, dot) : savedName;
+    }
+}
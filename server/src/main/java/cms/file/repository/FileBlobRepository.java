@@ -0,0 +1,40 @@
+package cms.file.repository;
+
+import cms.file.entity.FileBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FileBlobRepository extends JpaRepository<FileBlob, String> {
+
+        /**
+         * 참조 수 증가 (없으면 참조 1 로 생성)
+         */
+        @Modifying
+        @Query(value = "INSERT INTO file_blob (digest, size, ref_count, created_date, updated_date) "
+                        + "VALUES (:digest, :size, 1, NOW(), NOW()) "
+                        + "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_date = NOW()", nativeQuery = true)
+        int retain(@Param("digest") String digest, @Param("size") long size);
+
+        @Modifying
+        @Query(value = "UPDATE file_blob SET ref_count = ref_count - 1, updated_date = NOW() "
+                        + "WHERE digest = :digest AND ref_count > 0", nativeQuery = true)
+        int release(@Param("digest") String digest);
+
+        @Query(value = "SELECT digest FROM file_blob WHERE ref_count = 0 AND updated_date < :before "
+                        + "ORDER BY updated_date LIMIT :limit", nativeQuery = true)
+        List<String> findReleasedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT b FROM FileBlob b WHERE b.digest = :digest")
+        Optional<FileBlob> findForUpdate(@Param("digest") String digest);
+}
@@ -0,0 +1,13 @@
+package cms.file.repository;
+
+import cms.file.entity.FileUploadItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FileUploadItemRepository extends JpaRepository<FileUploadItem, Long> {
+
+        List<FileUploadItem> findByUploadIdOrderByItemIndexAsc(String uploadId);
+}
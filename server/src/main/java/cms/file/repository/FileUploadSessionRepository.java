@@ -0,0 +1,36 @@
+package cms.file.repository;
+
+import cms.file.entity.FileUploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FileUploadSessionRepository extends JpaRepository<FileUploadSession, String> {
+
+        /**
+         * 상태 전이 (완료 처리 중복 방지용 조건부 갱신)
+         */
+        @Modifying
+        @Query("UPDATE FileUploadSession s SET s.status = :to WHERE s.uploadId = :uploadId AND s.status = :from")
+        int transition(@Param("uploadId") String uploadId, @Param("from") String from, @Param("to") String to);
+
+        @Query("SELECT s.uploadId FROM FileUploadSession s WHERE s.expiresAt < :now")
+        List<String> findExpiredIds(@Param("now") LocalDateTime now);
+
+        /**
+         * 사용자의 진행 중인 세션 (사용자별 한도 확인용). 같은 사용자의 동시 세션 생성이 한도를 함께 넘지 않도록 잠금
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT s FROM FileUploadSession s WHERE s.createdBy = :createdBy AND s.expiresAt >= :now")
+        List<FileUploadSession> findActiveByCreatedByForUpdate(@Param("createdBy") String createdBy,
+                        @Param("now") LocalDateTime now);
+}
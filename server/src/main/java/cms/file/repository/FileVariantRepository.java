@@ -0,0 +1,13 @@
+package cms.file.repository;
+
+import cms.file.entity.CmsFileVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FileVariantRepository extends JpaRepository<CmsFileVariant, Long> {
+
+        List<CmsFileVariant> findByFileIdOrderByWidthAsc(Long fileId);
+}
@@ -1,13 +1,26 @@
 package cms.file.service;
 
 import cms.file.entity.CmsFile;
+import cms.file.storage.FileContent;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
+import java.io.IOException;
 import java.util.List;
 
 public interface FileService {
     List<CmsFile> uploadFiles(String menu, Long menuId, List<MultipartFile> files);
 
+    /**
+     * 새 저장 경로를 만듭니다. (yyyyMMdd/uuid.ext)
+     */
+    String generateSavedName(String originalFilename);
+
+    /**
+     * 저장이 끝난 파일들을 메뉴에 등록합니다. 기존 파일 뒤로 순서를 부여하고 한 트랜잭션으로 저장합니다.
+     * (file 의 키가 IDENTITY 라 INSERT 는 JDBC 배치로 묶이지 않고 파일마다 실행됩니다)
+     */
+    List<CmsFile> registerUploadedFiles(String menu, Long menuId, List<CmsFile> files);
+
     List<CmsFile> getList(String menu, Long menuId, String publicYn);
 
     List<CmsFile> getPublicList(String menu, Long menuId);
@@ -22,6 +35,11 @@ public interface FileService {
 
     Resource loadFileAsResource(String savedName);
 
+    /**
+     * 전송용 파일 내용 (로컬 경로 또는 원격 블롭)
+     */
+    FileContent openContent(CmsFile file) throws IOException;
+
     List<CmsFile> getAllFiles(String menu, String publicYn, int page, int size);
 
     /**
@@ -1,10 +1,15 @@
 package cms.file.service.impl;
 
 import cms.file.entity.CmsFile;
+import cms.file.image.ImageDerivativeService;
+import cms.file.storage.FileBlobService;
+import cms.file.storage.FileContent;
+import cms.file.storage.StoredBlob;
 import cms.file.repository.FileRepository;
 import cms.file.service.FileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.PageRequest;
@@ -12,7 +17,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.apache.commons.io.FilenameUtils;
 import cms.board.repository.BbsArticleRepository;
@@ -20,10 +27,8 @@ import java.util.ArrayList;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -41,34 +46,35 @@ public class FileServiceImpl implements FileService {
     private final BbsArticleRepository bbsArticleRepository;
     private final PopupRepository popupRepository;
     private final EnterpriseRepository enterpriseRepository;
+    private final ImageDerivativeService imageDerivativeService;
+    private final FileBlobService fileBlobService;
+    private final PlatformTransactionManager transactionManager;
 
     @Value("${spring.file.storage.local.base-path}")
     private String basePath;
 
+    /**
+     * 파일 내용 저장은 트랜잭션 밖에서 하고, 저장이 끝난 파일만 짧은 트랜잭션으로 등록합니다.
+     * 등록하지 못한 블롭은 참조를 되돌립니다. (호출자 트랜잭션이 있으면 모두 그 트랜잭션에 참여)
+     */
     @Override
-    @Transactional
     public List<CmsFile> uploadFiles(String menu, Long menuId, List<MultipartFile> files) {
         List<CmsFile> uploadedFiles = new ArrayList<>();
 
-        for (MultipartFile file : files) {
-            if (file != null && !file.isEmpty()) {
+        try {
+            for (MultipartFile file : files) {
+                if (file == null || file.isEmpty()) {
+                    continue;
+                }
                 String originalFilename = file.getOriginalFilename();
-                String ext = FilenameUtils.getExtension(originalFilename);
-                String uuidFileName = generateUUIDFileName(ext);
-
-                String dateSubDir = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-
-                // DB에 저장될 상대 경로: "<uploadPath>/<date>/<uuid.ext>"
-                String relativeSavePath = Paths.get(dateSubDir, uuidFileName).toString().replace("\\", "/");
+                // DB에 저장될 상대 경로: "<date>/<uuid.ext>"
+                String relativeSavePath = generateSavedName(originalFilename);
 
                 try {
-                    // 물리적 파일 저장 경로: "<basePath>/<uploadPath>/<date>/<uuid.ext>"
-                    Path targetDirectory = Paths.get(basePath, dateSubDir);
-                    Files.createDirectories(targetDirectory);
-                    Path targetLocation = targetDirectory.resolve(uuidFileName);
-
+                    // 내용은 digest 기준으로 한 번만 저장되고, "<basePath>/<date>/<uuid.ext>" 경로로도 노출됨
+                    StoredBlob blob;
                     try (java.io.InputStream inputStream = file.getInputStream()) {
-                        Files.copy(inputStream, targetLocation, StandardCopyOption.REPLACE_EXISTING);
+                        blob = fileBlobService.store(inputStream, relativeSavePath);
                     }
 
                     CmsFile fileEntity = new CmsFile();
@@ -76,22 +82,32 @@ public class FileServiceImpl implements FileService {
                     fileEntity.setMenuId(menuId);
                     fileEntity.setOriginName(originalFilename);
                     fileEntity.setSavedName(relativeSavePath); // 타입, 날짜 포함 상대 경로 저장
+                    fileEntity.setContentHash(blob.getDigest());
                     fileEntity.setMimeType(file.getContentType());
-                    fileEntity.setSize(file.getSize());
-                    fileEntity.setExt(ext);
+                    fileEntity.setSize(blob.getSize());
+                    fileEntity.setExt(FilenameUtils.getExtension(originalFilename));
                     fileEntity.setPublicYn("Y");
-
-                    Integer maxOrder = fileRepository.findMaxFileOrder(menu, menuId);
-                    fileEntity.setFileOrder(maxOrder != null ? maxOrder + 1 : 0);
-
-                    uploadedFiles.add(fileRepository.save(fileEntity));
+                    uploadedFiles.add(fileEntity);
                 } catch (IOException ex) {
                     throw new RuntimeException(
                             "Could not store file " + originalFilename + ". Error: " + ex.getMessage(), ex);
                 }
             }
+            return new TransactionTemplate(transactionManager)
+                    .execute(status -> registerUploadedFiles(menu, menuId, uploadedFiles));
+        } catch (RuntimeException e) {
+            for (CmsFile stored : uploadedFiles) {
+                fileBlobService.release(stored.getContentHash(), stored.getSavedName());
+            }
+            throw e;
         }
-        return uploadedFiles;
+    }
+
+    @Override
+    public String generateSavedName(String originalFilename) {
+        String ext = FilenameUtils.getExtension(originalFilename);
+        String dateSubDir = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        return Paths.get(dateSubDir, generateUUIDFileName(ext)).toString().replace("\\", "/");
     }
 
     private String generateUUIDFileName(String extension) {
@@ -102,6 +118,25 @@ public class FileServiceImpl implements FileService {
         return uuid;
     }
 
+    @Override
+    @Transactional
+    public List<CmsFile> registerUploadedFiles(String menu, Long menuId, List<CmsFile> files) {
+        if (files.isEmpty()) {
+            return files;
+        }
+        // 순서는 한 번만 조회해서 이어 붙임 (파일마다 MAX 조회하지 않도록)
+        Integer maxOrder = fileRepository.findMaxFileOrder(menu, menuId);
+        int nextOrder = maxOrder != null ? maxOrder + 1 : 0;
+        for (CmsFile file : files) {
+            file.setMenu(menu);
+            file.setMenuId(menuId);
+            file.setFileOrder(nextOrder++);
+        }
+        List<CmsFile> saved = fileRepository.saveAll(files);
+        imageDerivativeService.generateAfterCommit(saved);
+        return saved;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<CmsFile> getList(String menu, Long menuId, String publicYn) {
@@ -139,12 +174,8 @@ public class FileServiceImpl implements FileService {
         CmsFile file = fileRepository.findById(fileId)
                 .orElseThrow(() -> new RuntimeException("파일을 찾을 수 없습니다. ID: " + fileId));
 
-        try {
-            Path filePath = Paths.get(basePath, file.getSavedName());
-            Files.deleteIfExists(filePath);
-        } catch (IOException e) {
-            System.err.println("Error deleting physical file: " + e.getMessage());
-        }
+        fileBlobService.release(file.getContentHash(), file.getSavedName());
+        imageDerivativeService.deleteVariantFiles(fileId);
 
         fileRepository.delete(file);
     }
@@ -173,14 +204,26 @@ public class FileServiceImpl implements FileService {
             Resource resource = new UrlResource(filePath.toUri());
             if (resource.exists() && resource.isReadable()) {
                 return resource;
-            } else {
-                throw new RuntimeException("File not found or not readable: " + savedName);
             }
+            // 원격 저장소(S3)에만 있는 블롭
+            CmsFile file = fileRepository.findBySavedName(savedName);
+            if (file != null && file.getContentHash() != null) {
+                FileContent content = openContent(file);
+                return new InputStreamResource(content.open(0, Math.max(0, content.getLength() - 1)));
+            }
+            throw new RuntimeException("File not found or not readable: " + savedName);
         } catch (MalformedURLException ex) {
             throw new RuntimeException("File path is invalid: " + savedName, ex);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read file: " + savedName, ex);
         }
     }
 
+    @Override
+    public FileContent openContent(CmsFile file) throws IOException {
+        return fileBlobService.open(file.getSavedName(), file.getContentHash());
+    }
+
     @Override
     public List<CmsFile> getAllFiles(String menu, String publicYn, int page, int size) {
         Specification<CmsFile> spec = Specification.where(null);
@@ -234,16 +277,14 @@ public class FileServiceImpl implements FileService {
 
         for (CmsFile file : filesToDelete) {
             try {
-                Path filePath = Paths.get(basePath, file.getSavedName());
-                Files.deleteIfExists(filePath);
+                // 블롭 참조 해제 (다른 파일이 같은 내용을 참조하면 블롭은 유지됨)
+                fileBlobService.release(file.getContentHash(), file.getSavedName());
+                imageDerivativeService.deleteVariantFiles(file.getFileId());
                 fileRepository.delete(file);
                 deletedCount++;
                 log.info(
                         "Orphaned file deleted (Entity ID: {} not found for menu type: {}): File ID={}, Stored Name={}",
                         file.getMenuId(), file.getMenu(), file.getFileId(), file.getSavedName());
-            } catch (IOException e) {
-                log.error("Error deleting physical orphaned file: {}. File ID: {}, Stored Name: {}", e.getMessage(),
-                        file.getFileId(), file.getSavedName(), e);
             } catch (Exception e) {
                 log.error("Error deleting orphaned file record from DB: {}. File ID: {}, Stored Name: {}",
                         e.getMessage(), file.getFileId(), file.getSavedName(), e);
@@ -0,0 +1,41 @@
+package cms.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 내용 주소(SHA-256 digest) 기반 블롭 저장소. 같은 digest 는 한 번만 저장됩니다.
+ * 참조 수 관리는 FileBlobService 가 담당합니다.
+ */
+public interface BlobStore {
+
+    /**
+     * 임시 파일을 digest 위치로 옮깁니다. 이미 있으면 임시 파일만 삭제합니다.
+     */
+    void put(Path tempFile, String digest) throws IOException;
+
+    /**
+     * [start, end] 구간(양 끝 포함)을 읽는 스트림
+     */
+    InputStream open(String digest, long start, long end) throws IOException;
+
+    /**
+     * 로컬 파일로 접근할 수 있으면 그 경로, 아니면 null
+     */
+    Path localPath(String digest);
+
+    void delete(String digest) throws IOException;
+
+    /**
+     * 블롭을 기존 저장 경로(savedName)로도 노출합니다. /files/** 정적 경로와 기존 URL 호환용.
+     */
+    void publish(String digest, String savedName) throws IOException;
+
+    void unpublish(String savedName) throws IOException;
+
+    /**
+     * savedName 경로에 기존 방식으로 저장된 파일이 있으면 그 경로
+     */
+    Path publishedPath(String savedName);
+}
@@ -0,0 +1,309 @@
+package cms.file.storage;
+
+import cms.file.entity.FileBlob;
+import cms.file.repository.FileBlobRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 중복 제거 파일 저장
+ *
+ * 업로드 내용을 스트리밍하면서 SHA-256 을 계산하고, 같은 digest 의 블롭은 한 번만 저장합니다.
+ * file / file_variant 행마다 file_blob.ref_count 를 1 씩 올리고(retain) 삭제 시 내리며(release),
+ * 참조가 0 이 된 블롭은 유예 시간이 지난 뒤 sweep 에서 삭제합니다.
+ *
+ * 동시성: retain 은 행 잠금(INSERT ... ON DUPLICATE KEY UPDATE) 이후에 블롭을 기록하고,
+ * sweep 은 같은 행을 FOR UPDATE 로 잠근 상태에서 블롭을 지우므로 삭제 중인 블롭을 새 업로드가 참조하지 않습니다.
+ * 내용 복사와 digest 계산은 트랜잭션 밖에서 임시 파일로 끝내고, retain / put / publish 만 짧은 트랜잭션으로 묶어
+ * 대용량 파일을 받는 동안 커넥션과 행 잠금을 잡지 않습니다. (호출자 트랜잭션이 있으면 그 트랜잭션에 참여)
+ * 그 트랜잭션이 롤백되면 retain 도 사라지므로, 완료 후 노출 경로와 참조가 남지 않은 블롭을 직접 정리합니다.
+ * (sweep 은 file_blob 행만 보므로 행 없이 남은 블롭은 회수하지 못함)
+ */
+@Service
+public class FileBlobService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileBlobService.class);
+
+    private final BlobStore blobStore;
+    private final FileBlobRepository fileBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNewTemplate;
+    private final Path tempDirectory;
+    private final long sweepGraceMillis;
+    private final int sweepBatchSize;
+
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong deduplicatedBytes = new AtomicLong();
+    private final AtomicLong swept = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+
+    public FileBlobService(BlobStore blobStore, FileBlobRepository fileBlobRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${spring.file.storage.local.base-path}") String basePath,
+            @Value("${app.file.blob.sweep-grace:3600000}") long sweepGraceMillis,
+            @Value("${app.file.blob.sweep-batch-size:200}") int sweepBatchSize) {
+        this.blobStore = blobStore;
+        this.fileBlobRepository = fileBlobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tempDirectory = Paths.get(basePath, ".blob-tmp");
+        this.sweepGraceMillis = sweepGraceMillis;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * 내용을 저장하고 참조를 1 올립니다. savedName 경로로도 노출됩니다 (로컬 저장소).
+     * 호출자 트랜잭션이 없으면 참조는 이 메소드 안에서 커밋되므로, 이후 등록에 실패하면 {@link #release} 로 되돌려야 합니다.
+     */
+    public StoredBlob store(InputStream in, String savedName) throws IOException {
+        Path temp = createTempFile();
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream digestIn = new DigestInputStream(in, digest);
+                    OutputStream out = Files.newOutputStream(temp)) {
+                size = copy(digestIn, out);
+            }
+            return storeTemp(temp, toHex(digest.digest()), size, savedName);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 이미 기록된 임시 파일(createTempFile)을 저장합니다. 임시 파일은 이동되거나 삭제됩니다.
+     */
+    public StoredBlob storeFile(Path temp, String savedName) throws IOException {
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream digestIn = new DigestInputStream(Files.newInputStream(temp), digest)) {
+                size = copy(digestIn, null);
+            }
+            return storeTemp(temp, toHex(digest.digest()), size, savedName);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Path createTempFile() throws IOException {
+        Files.createDirectories(tempDirectory);
+        return Files.createTempFile(tempDirectory, "upload-", ".tmp");
+    }
+
+    /**
+     * 참조를 1 내리고 savedName 노출 경로를 삭제합니다. digest 가 없으면(기존 방식 파일) 경로만 삭제합니다.
+     */
+    @Transactional
+    public void release(String digest, String savedName) {
+        try {
+            blobStore.unpublish(savedName);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Failed to remove published file {}: {}", savedName, e.getMessage());
+        }
+        if (digest != null) {
+            if (fileBlobRepository.release(digest) == 0) {
+                logger.warn("Blob {} was already fully released ({})", digest, savedName);
+            }
+        }
+    }
+
+    /**
+     * 전송용 파일 내용. savedName 경로에 파일이 있으면 그대로 사용하고, 없으면 블롭에서 읽습니다.
+     */
+    public FileContent open(String savedName, String digest) throws IOException {
+        Path published = blobStore.publishedPath(savedName);
+        if (published != null) {
+            return FileContent.local(published);
+        }
+        if (digest != null) {
+            Path local = blobStore.localPath(digest);
+            if (local != null && Files.isRegularFile(local)) {
+                return FileContent.local(local);
+            }
+            FileBlob blob = fileBlobRepository.findById(digest).orElse(null);
+            if (blob != null) {
+                long lastModified = blob.getCreatedDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                return FileContent.remote(blob.getSize(), lastModified,
+                        (start, end) -> blobStore.open(digest, start, end));
+            }
+        }
+        throw new RuntimeException("File not found or not readable: " + savedName);
+    }
+
+    /**
+     * 참조가 0 이 된 지 유예 시간이 지난 블롭을 삭제합니다.
+     *
+     * @return 삭제한 블롭 수
+     */
+    public int sweep() {
+        LocalDateTime before = new Timestamp(System.currentTimeMillis() - sweepGraceMillis).toLocalDateTime();
+        List<String> candidates = fileBlobRepository.findReleasedBefore(before, sweepBatchSize);
+        int deleted = 0;
+        for (String digest : candidates) {
+            Boolean removed = transactionTemplate.execute(status -> {
+                FileBlob blob = fileBlobRepository.findForUpdate(digest).orElse(null);
+                if (blob == null || blob.getRefCount() > 0) {
+                    return false;
+                }
+                try {
+                    blobStore.delete(digest);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete blob {}: {}", digest, e.getMessage());
+                    return false;
+                }
+                fileBlobRepository.delete(blob);
+                return true;
+            });
+            if (Boolean.TRUE.equals(removed)) {
+                deleted++;
+            }
+        }
+        swept.addAndGet(deleted);
+        return deleted;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("file.blob.stored", stored, AtomicLong::get)
+                .description("Uploads that created a new blob")
+                .register(registry);
+        FunctionCounter.builder("file.blob.deduplicated", deduplicated, AtomicLong::get)
+                .description("Uploads that reused an existing blob")
+                .register(registry);
+        FunctionCounter.builder("file.blob.deduplicated.bytes", deduplicatedBytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("file.blob.swept", swept, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("file.blob.discarded", discarded, AtomicLong::get)
+                .description("Uploads cleaned up after their transaction rolled back")
+                .register(registry);
+    }
+
+    private StoredBlob storeTemp(Path temp, String digest, long size, String savedName) throws IOException {
+        Boolean existed;
+        try {
+            existed = transactionTemplate.execute(status -> {
+                boolean exists = fileBlobRepository.existsById(digest);
+                // 행 잠금을 먼저 잡은 뒤 블롭을 기록 (sweep 과의 경쟁 방지)
+                fileBlobRepository.retain(digest, size);
+                discardOnRollback(digest, savedName);
+                try {
+                    blobStore.put(temp, digest);
+                    blobStore.publish(digest, savedName);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return exists;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (Boolean.TRUE.equals(existed)) {
+            deduplicated.incrementAndGet();
+            deduplicatedBytes.addAndGet(size);
+            logger.debug("Deduplicated upload {} -> blob {}", savedName, digest);
+        } else {
+            stored.incrementAndGet();
+        }
+        return new StoredBlob(digest, size, Boolean.TRUE.equals(existed));
+    }
+
+    /**
+     * retain 이 속한 트랜잭션(호출자 또는 자체)이 롤백되면 완료 후 노출 경로를 지우고, 참조 행이 없으면 블롭도 삭제합니다.
+     */
+    private void discardOnRollback(String digest, String savedName) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    discard(digest, savedName);
+                }
+            }
+        });
+    }
+
+    private void discard(String digest, String savedName) {
+        try {
+            blobStore.unpublish(savedName);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Failed to remove published file {} after rollback: {}", savedName, e.getMessage());
+        }
+        try {
+            // 완료된 트랜잭션에 참여하지 않도록 새 트랜잭션에서 실행. 같은 digest 를 retain 중인 트랜잭션이 있으면
+            // 행 잠금으로 그 커밋을 기다린 뒤, 행이 남아 있으면 블롭을 유지
+            requiresNewTemplate.execute(status -> {
+                if (!fileBlobRepository.findForUpdate(digest).isPresent()) {
+                    try {
+                        blobStore.delete(digest);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return null;
+            });
+            discarded.incrementAndGet();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to discard blob {} after rollback: {}", digest, e.getMessage());
+        }
+    }
+
+    private static long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (out != null) {
+                out.write(buffer, 0, read);
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package cms.file.storage;
+
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 전송할 파일 내용. 로컬 파일이면 localPath 로 sendfile/transferTo 를 쓸 수 있고,
+ * 원격(S3) 블롭이면 구간 단위로 스트림을 엽니다.
+ */
+public final class FileContent {
+
+    @FunctionalInterface
+    public interface RangeReader {
+        InputStream open(long start, long end) throws IOException;
+    }
+
+    private final long length;
+    private final long lastModified;
+    private final Path localPath;
+    private final RangeReader reader;
+
+    private FileContent(long length, long lastModified, Path localPath, RangeReader reader) {
+        this.length = length;
+        this.lastModified = lastModified;
+        this.localPath = localPath;
+        this.reader = reader;
+    }
+
+    public static FileContent local(Path path) throws IOException {
+        long length = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        return new FileContent(length, lastModified, path, (start, end) -> {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            channel.position(start);
+            return new BoundedInputStream(Channels.newInputStream(channel), end - start + 1);
+        });
+    }
+
+    public static FileContent remote(long length, long lastModified, RangeReader reader) {
+        return new FileContent(length, lastModified, null, reader);
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public Path getLocalPath() {
+        return localPath;
+    }
+
+    public InputStream open(long start, long end) throws IOException {
+        return reader.open(start, end);
+    }
+}
@@ -0,0 +1,114 @@
+package cms.file.storage;
+
+import org.apache.commons.io.input.BoundedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 로컬 파일시스템 블롭 저장소
+ *
+ * 블롭은 <base-path>/blobs/ab/cd/<digest> 에 저장하고, 기존 저장 경로(<base-path>/<yyyyMMdd>/<uuid.ext>)에는
+ * 하드 링크를 만들어 /files/** 정적 경로와 기존 URL 이 그대로 동작하게 합니다 (하드 링크를 지원하지 않으면 복사).
+ */
+@Component
+@ConditionalOnProperty(name = "spring.file.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalBlobStore.class);
+
+    private final Path basePath;
+    private final Path blobRoot;
+
+    public LocalBlobStore(@Value("${spring.file.storage.local.base-path}") String basePath) {
+        this.basePath = Paths.get(basePath).toAbsolutePath().normalize();
+        this.blobRoot = this.basePath.resolve("blobs");
+    }
+
+    @Override
+    public void put(Path tempFile, String digest) throws IOException {
+        Path target = blobPath(digest);
+        if (Files.exists(target)) {
+            Files.deleteIfExists(tempFile);
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 동시에 같은 내용이 저장된 경우
+            Files.deleteIfExists(tempFile);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, target);
+        }
+    }
+
+    @Override
+    public InputStream open(String digest, long start, long end) throws IOException {
+        FileChannel channel = FileChannel.open(blobPath(digest), StandardOpenOption.READ);
+        channel.position(start);
+        return new BoundedInputStream(Channels.newInputStream(channel), end - start + 1);
+    }
+
+    @Override
+    public Path localPath(String digest) {
+        return blobPath(digest);
+    }
+
+    @Override
+    public void delete(String digest) throws IOException {
+        Files.deleteIfExists(blobPath(digest));
+    }
+
+    @Override
+    public void publish(String digest, String savedName) throws IOException {
+        Path link = resolvePublished(savedName);
+        Files.createDirectories(link.getParent());
+        try {
+            Files.createLink(link, blobPath(digest));
+        } catch (FileAlreadyExistsException e) {
+            logger.warn("Published path already exists, replacing: {}", savedName);
+            Files.copy(blobPath(digest), link, StandardCopyOption.REPLACE_EXISTING);
+        } catch (UnsupportedOperationException | IOException e) {
+            logger.debug("Hard link not available for {} ({}), copying instead", savedName, e.getMessage());
+            Files.copy(blobPath(digest), link, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public void unpublish(String savedName) throws IOException {
+        Files.deleteIfExists(resolvePublished(savedName));
+    }
+
+    @Override
+    public Path publishedPath(String savedName) {
+        Path path = resolvePublished(savedName);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    private Path resolvePublished(String savedName) {
+        Path path = basePath.resolve(savedName).normalize();
+        if (!path.startsWith(basePath)) {
+            throw new IllegalArgumentException("Invalid saved name: " + savedName);
+        }
+        return path;
+    }
+
+    private Path blobPath(String digest) {
+        return blobRoot.resolve(digest.substring(0, 2)).resolve(digest.substring(2, 4)).resolve(digest);
+    }
+}
@@ -0,0 +1,95 @@
+package cms.file.storage;
+
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * S3 호환 블롭 저장소 (spring.file.storage.type=s3)
+ *
+ * 블롭은 blobs/ab/<digest> 키로 저장합니다. 자격 증명은 AWS 기본 체인(환경변수, 인스턴스 프로파일 등)을 사용하고,
+ * endpoint 를 지정하면 MinIO 등 S3 호환 저장소를 쓸 수 있습니다.
+ * 로컬 경로가 없으므로 파일 응답은 구간(Range) GET 으로 스트리밍됩니다.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.file.storage.type", havingValue = "s3")
+public class S3BlobStore implements BlobStore {
+
+    private final AmazonS3 s3;
+    private final String bucket;
+
+    public S3BlobStore(@Value("${spring.file.storage.s3.bucket}") String bucket,
+            @Value("${spring.file.storage.s3.region}") String region,
+            @Value("${spring.file.storage.s3.endpoint:}") String endpoint) {
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard();
+        if (endpoint != null && !endpoint.isEmpty()) {
+            builder.withEndpointConfiguration(
+                    new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                    .withPathStyleAccessEnabled(true);
+        } else {
+            builder.withRegion(region);
+        }
+        this.s3 = builder.build();
+        this.bucket = bucket;
+    }
+
+    @Override
+    public void put(Path tempFile, String digest) throws IOException {
+        try {
+            String key = key(digest);
+            if (!s3.doesObjectExist(bucket, key)) {
+                ObjectMetadata metadata = new ObjectMetadata();
+                metadata.setContentLength(Files.size(tempFile));
+                try (InputStream in = Files.newInputStream(tempFile)) {
+                    s3.putObject(new PutObjectRequest(bucket, key, in, metadata));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public InputStream open(String digest, long start, long end) {
+        return s3.getObject(new GetObjectRequest(bucket, key(digest)).withRange(start, end)).getObjectContent();
+    }
+
+    @Override
+    public Path localPath(String digest) {
+        return null;
+    }
+
+    @Override
+    public void delete(String digest) {
+        s3.deleteObject(bucket, key(digest));
+    }
+
+    @Override
+    public void publish(String digest, String savedName) {
+        // 저장 경로 노출은 로컬 저장소 전용
+    }
+
+    @Override
+    public void unpublish(String savedName) {
+    }
+
+    @Override
+    public Path publishedPath(String savedName) {
+        return null;
+    }
+
+    private static String key(String digest) {
+        return "blobs/" + digest.substring(0, 2) + "/" + digest;
+    }
+}
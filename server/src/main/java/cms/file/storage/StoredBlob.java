@@ -0,0 +1,13 @@
+package cms.file.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StoredBlob {
+    private final String digest;
+    private final long size;
+    /** 같은 내용이 이미 저장되어 있어 새로 쓰지 않은 경우 */
+    private final boolean deduplicated;
+}
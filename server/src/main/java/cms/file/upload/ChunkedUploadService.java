@@ -0,0 +1,503 @@
+package cms.file.upload;
+
+import cms.common.exception.BusinessRuleException;
+import cms.common.exception.ErrorCode;
+import cms.file.dto.UploadSessionCreateRequest;
+import cms.file.dto.UploadSessionDto;
+import cms.file.entity.CmsFile;
+import cms.file.entity.FileUploadItem;
+import cms.file.entity.FileUploadSession;
+import cms.file.repository.FileUploadItemRepository;
+import cms.file.repository.FileUploadSessionRepository;
+import cms.file.service.FileService;
+import cms.file.storage.FileBlobService;
+import cms.file.storage.StoredBlob;
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * 분할(재개 가능) 업로드
+ *
+ * 1. 세션 생성: 파일 목록을 등록하고 uploadId / chunkSize 를 받음
+ * 2. 조각 전송: PUT .../files/{index}/chunks/{chunk} (순서 무관, 같은 조각 재전송 허용)
+ * 3. 완료: 조각을 순서대로 이어 블롭 저장소에 스트리밍하고, 모든 파일을 한 트랜잭션으로 등록
+ *
+ * 조각은 "<basePath>/.uploads/<uploadId>/<index>/<chunk>.part" 에 임시 파일로 쓴 뒤 원자적으로 이동하므로
+ * 끊긴 전송이 반쯤 쓰인 조각을 남기지 않습니다. 재개 시에는 세션 조회로 받은 조각 목록을 확인하면 됩니다.
+ * 조각 전송은 DB 트랜잭션 없이 처리되어 큰 파일 전송 동안 커넥션을 잡지 않습니다.
+ * 임시 저장 공간을 한 사용자가 차지하지 않도록 사용자별 진행 중인 세션 수와 파일 크기 합계를 제한합니다.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final FileUploadSessionRepository sessionRepository;
+    private final FileUploadItemRepository itemRepository;
+    private final FileService fileService;
+    private final FileBlobService fileBlobService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path stagingRoot;
+    private final int chunkSize;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final long sessionTtlMillis;
+    private final int maxOpenSessionsPerUser;
+    private final long maxOpenBytesPerUser;
+
+    public ChunkedUploadService(FileUploadSessionRepository sessionRepository,
+            FileUploadItemRepository itemRepository,
+            FileService fileService,
+            FileBlobService fileBlobService,
+            PlatformTransactionManager transactionManager,
+            @Value("${spring.file.storage.local.base-path}") String basePath,
+            @Value("${app.file.upload.chunk-size:8388608}") int chunkSize,
+            @Value("${app.file.upload.max-file-size:5368709120}") long maxFileSize,
+            @Value("${app.file.upload.max-files:50}") int maxFiles,
+            @Value("${app.file.upload.session-ttl:86400000}") long sessionTtlMillis,
+            @Value("${app.file.upload.max-open-sessions-per-user:5}") int maxOpenSessionsPerUser,
+            @Value("${app.file.upload.max-open-bytes-per-user:10737418240}") long maxOpenBytesPerUser) {
+        this.sessionRepository = sessionRepository;
+        this.itemRepository = itemRepository;
+        this.fileService = fileService;
+        this.fileBlobService = fileBlobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stagingRoot = Paths.get(basePath, ".uploads");
+        this.chunkSize = chunkSize;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.sessionTtlMillis = sessionTtlMillis;
+        this.maxOpenSessionsPerUser = maxOpenSessionsPerUser;
+        this.maxOpenBytesPerUser = maxOpenBytesPerUser;
+    }
+
+    public UploadSessionDto createSession(UploadSessionCreateRequest request, String userUuid) {
+        if (request.getMenu() == null || request.getMenu().isEmpty() || request.getMenuId() == null) {
+            throw new BusinessRuleException(ErrorCode.INVALID_INPUT_VALUE, "menu 와 menuId 는 필수입니다.");
+        }
+        List<UploadSessionCreateRequest.UploadFileInfo> files = request.getFiles();
+        if (files == null || files.isEmpty() || files.size() > maxFiles) {
+            throw new BusinessRuleException(ErrorCode.INVALID_INPUT_VALUE,
+                    "파일은 1개 이상 " + maxFiles + "개 이하로 등록해야 합니다.");
+        }
+        long totalSize = 0;
+        for (UploadSessionCreateRequest.UploadFileInfo file : files) {
+            if (file.getFileName() == null || file.getFileName().isEmpty()
+                    || file.getSize() == null || file.getSize() <= 0) {
+                throw new BusinessRuleException(ErrorCode.INVALID_INPUT_VALUE, "파일 이름과 크기는 필수입니다.");
+            }
+            if (file.getSize() > maxFileSize) {
+                throw new BusinessRuleException(ErrorCode.FILE_SIZE_EXCEEDED.getDefaultMessage(),
+                        ErrorCode.FILE_SIZE_EXCEEDED, ErrorCode.FILE_SIZE_EXCEEDED.getHttpStatus());
+            }
+            totalSize += file.getSize();
+        }
+        if (totalSize > maxOpenBytesPerUser) {
+            throw quotaExceeded();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        FileUploadSession session = FileUploadSession.builder()
+                .uploadId(UUID.randomUUID().toString())
+                .menu(request.getMenu())
+                .menuId(request.getMenuId())
+                .chunkSize(chunkSize)
+                .status(FileUploadSession.STATUS_OPEN)
+                .createdBy(userUuid)
+                .totalSize(totalSize)
+                .createdDate(now)
+                .expiresAt(now.plus(sessionTtlMillis, ChronoUnit.MILLIS))
+                .build();
+        List<FileUploadItem> items = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            UploadSessionCreateRequest.UploadFileInfo file = files.get(i);
+            items.add(FileUploadItem.builder()
+                    .uploadId(session.getUploadId())
+                    .itemIndex(i)
+                    .originName(FilenameUtils.getName(file.getFileName()))
+                    .mimeType(file.getMimeType())
+                    .size(file.getSize())
+                    .chunkCount((int) ((file.getSize() + chunkSize - 1) / chunkSize))
+                    .build());
+        }
+        transactionTemplate.execute(status -> {
+            if (userUuid != null) {
+                checkQuota(userUuid, session.getTotalSize(), now);
+            }
+            sessionRepository.save(session);
+            itemRepository.saveAll(items);
+            return null;
+        });
+        return toDto(session, items);
+    }
+
+    public UploadSessionDto getSession(String uploadId) {
+        FileUploadSession session = findSession(uploadId);
+        return toDto(session, itemRepository.findByUploadIdOrderByItemIndexAsc(uploadId));
+    }
+
+    /**
+     * 조각 하나를 저장합니다. 같은 조각을 다시 보내면 덮어씁니다.
+     */
+    public void putChunk(String uploadId, int index, int chunk, InputStream in) {
+        FileUploadSession session = findOpenSession(uploadId);
+        FileUploadItem item = findItem(uploadId, index);
+        if (chunk < 0 || chunk >= item.getChunkCount()) {
+            throw new BusinessRuleException(ErrorCode.INVALID_UPLOAD_CHUNK,
+                    "chunk 는 0 이상 " + item.getChunkCount() + " 미만이어야 합니다.");
+        }
+        long expected = expectedChunkSize(session, item, chunk);
+
+        Path directory = itemDirectory(uploadId, index);
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, chunk + "-", ".tmp");
+            long written = copyAtMost(in, temp, expected);
+            if (written != expected) {
+                throw new BusinessRuleException(ErrorCode.INVALID_UPLOAD_CHUNK,
+                        "조각 크기가 올바르지 않습니다. (expected " + expected + ", received "
+                                + (written > expected ? "more" : String.valueOf(written)) + ")");
+            }
+            Path part = directory.resolve(chunk + PART_SUFFIX);
+            try {
+                Files.move(temp, part, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, part, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+        } catch (IOException e) {
+            throw new BusinessRuleException("조각 저장에 실패했습니다: " + e.getMessage(), ErrorCode.FILE_UPLOAD_FAILED,
+                    ErrorCode.FILE_UPLOAD_FAILED.getHttpStatus(), e);
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    /**
+     * 모든 조각이 도착했으면 파일을 조립해 저장하고 메뉴에 등록합니다.
+     */
+    public List<CmsFile> complete(String uploadId) {
+        FileUploadSession session = findOpenSession(uploadId);
+        Integer updated = transactionTemplate.execute(status -> sessionRepository.transition(uploadId,
+                FileUploadSession.STATUS_OPEN, FileUploadSession.STATUS_COMPLETING));
+        if (updated == null || updated == 0) {
+            throw closed(uploadId);
+        }
+
+        List<FileUploadItem> items = itemRepository.findByUploadIdOrderByItemIndexAsc(uploadId);
+        List<StoredBlob> storedBlobs = new ArrayList<>();
+        List<String> savedNames = new ArrayList<>();
+        try {
+            for (FileUploadItem item : items) {
+                List<Integer> missing = missingChunks(session, item);
+                if (!missing.isEmpty()) {
+                    throw new BusinessRuleException(ErrorCode.UPLOAD_SESSION_INCOMPLETE.getDefaultMessage()
+                            + " (file " + item.getItemIndex() + ", chunks " + missing + ")",
+                            ErrorCode.UPLOAD_SESSION_INCOMPLETE, ErrorCode.UPLOAD_SESSION_INCOMPLETE.getHttpStatus());
+                }
+            }
+
+            List<CmsFile> files = new ArrayList<>();
+            for (FileUploadItem item : items) {
+                String savedName = fileService.generateSavedName(item.getOriginName());
+                StoredBlob blob;
+                try (InputStream in = new SequenceInputStream(new PartEnumeration(
+                        itemDirectory(uploadId, item.getItemIndex()), item.getChunkCount()))) {
+                    blob = fileBlobService.store(in, savedName);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                storedBlobs.add(blob);
+                savedNames.add(savedName);
+
+                CmsFile file = new CmsFile();
+                file.setOriginName(item.getOriginName());
+                file.setSavedName(savedName);
+                file.setContentHash(blob.getDigest());
+                file.setMimeType(item.getMimeType());
+                file.setSize(blob.getSize());
+                file.setExt(FilenameUtils.getExtension(item.getOriginName()));
+                file.setPublicYn("Y");
+                files.add(file);
+            }
+
+            List<CmsFile> registered = fileService.registerUploadedFiles(session.getMenu(), session.getMenuId(), files);
+            transactionTemplate.execute(status -> {
+                sessionRepository.deleteById(uploadId);
+                return null;
+            });
+            deleteStaging(uploadId);
+            return registered;
+        } catch (Exception e) {
+            // 등록되지 않은 블롭은 참조를 되돌리고 세션을 다시 열어 재시도할 수 있게 함
+            for (int i = 0; i < storedBlobs.size(); i++) {
+                fileBlobService.release(storedBlobs.get(i).getDigest(), savedNames.get(i));
+            }
+            transactionTemplate.execute(status -> sessionRepository.transition(uploadId,
+                    FileUploadSession.STATUS_COMPLETING, FileUploadSession.STATUS_OPEN));
+            if (e instanceof BusinessRuleException) {
+                throw (BusinessRuleException) e;
+            }
+            logger.error("Chunked upload {} could not be completed: {}", uploadId, e.getMessage(), e);
+            throw new BusinessRuleException(ErrorCode.FILE_UPLOAD_FAILED.getDefaultMessage(),
+                    ErrorCode.FILE_UPLOAD_FAILED, ErrorCode.FILE_UPLOAD_FAILED.getHttpStatus(), e);
+        }
+    }
+
+    public void abort(String uploadId) {
+        findSession(uploadId);
+        Integer deleted = transactionTemplate.execute(status -> {
+            FileUploadSession session = sessionRepository.findById(uploadId).orElse(null);
+            if (session == null || !FileUploadSession.STATUS_OPEN.equals(session.getStatus())) {
+                return 0;
+            }
+            sessionRepository.delete(session);
+            return 1;
+        });
+        if (deleted == null || deleted == 0) {
+            throw closed(uploadId);
+        }
+        deleteStaging(uploadId);
+    }
+
+    /**
+     * 만료된 세션과 임시 조각을 삭제합니다.
+     *
+     * @return 삭제한 세션 수
+     */
+    public int expireSessions() {
+        List<String> expired = sessionRepository.findExpiredIds(LocalDateTime.now());
+        int removed = 0;
+        for (String uploadId : expired) {
+            Integer deleted = transactionTemplate.execute(status -> sessionRepository.transition(uploadId,
+                    FileUploadSession.STATUS_OPEN, FileUploadSession.STATUS_COMPLETING) > 0 ? 1 : 0);
+            if (deleted == null || deleted == 0) {
+                // 완료 처리 중인 세션은 건드리지 않음
+                continue;
+            }
+            transactionTemplate.execute(status -> {
+                sessionRepository.deleteById(uploadId);
+                return null;
+            });
+            deleteStaging(uploadId);
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * 만료되지 않은 세션(열림 / 완료 처리 중)의 수와 크기 합계가 한도를 넘으면 예외
+     */
+    private void checkQuota(String userUuid, long requestedBytes, LocalDateTime now) {
+        List<FileUploadSession> active = sessionRepository.findActiveByCreatedByForUpdate(userUuid, now);
+        long openBytes = requestedBytes;
+        for (FileUploadSession existing : active) {
+            openBytes += existing.getTotalSize();
+        }
+        if (active.size() >= maxOpenSessionsPerUser || openBytes > maxOpenBytesPerUser) {
+            logger.info("Upload session quota exceeded for user {} ({} sessions, {} bytes requested in total)",
+                    userUuid, active.size() + 1, openBytes);
+            throw quotaExceeded();
+        }
+    }
+
+    private static BusinessRuleException quotaExceeded() {
+        return new BusinessRuleException(ErrorCode.UPLOAD_QUOTA_EXCEEDED.getDefaultMessage(),
+                ErrorCode.UPLOAD_QUOTA_EXCEEDED, ErrorCode.UPLOAD_QUOTA_EXCEEDED.getHttpStatus());
+    }
+
+    private FileUploadSession findSession(String uploadId) {
+        return sessionRepository.findById(uploadId)
+                .orElseThrow(() -> new BusinessRuleException(ErrorCode.UPLOAD_SESSION_NOT_FOUND.getDefaultMessage(),
+                        ErrorCode.UPLOAD_SESSION_NOT_FOUND, ErrorCode.UPLOAD_SESSION_NOT_FOUND.getHttpStatus()));
+    }
+
+    private FileUploadSession findOpenSession(String uploadId) {
+        FileUploadSession session = findSession(uploadId);
+        if (!FileUploadSession.STATUS_OPEN.equals(session.getStatus()) || isExpired(session)) {
+            throw closed(uploadId);
+        }
+        return session;
+    }
+
+    private FileUploadItem findItem(String uploadId, int index) {
+        for (FileUploadItem item : itemRepository.findByUploadIdOrderByItemIndexAsc(uploadId)) {
+            if (item.getItemIndex() == index) {
+                return item;
+            }
+        }
+        throw new BusinessRuleException(ErrorCode.INVALID_UPLOAD_CHUNK, "존재하지 않는 파일 index 입니다: " + index);
+    }
+
+    private static boolean isExpired(FileUploadSession session) {
+        return session.getExpiresAt().isBefore(LocalDateTime.now());
+    }
+
+    private static BusinessRuleException closed(String uploadId) {
+        return new BusinessRuleException(ErrorCode.UPLOAD_SESSION_CLOSED.getDefaultMessage() + " (" + uploadId + ")",
+                ErrorCode.UPLOAD_SESSION_CLOSED, ErrorCode.UPLOAD_SESSION_CLOSED.getHttpStatus());
+    }
+
+    private static long expectedChunkSize(FileUploadSession session, FileUploadItem item, int chunk) {
+        long offset = (long) chunk * session.getChunkSize();
+        return Math.min(session.getChunkSize(), item.getSize() - offset);
+    }
+
+    private Path itemDirectory(String uploadId, int index) {
+        // uploadId 는 UUID 형식만 허용 (경로 조작 방지)
+        UUID.fromString(uploadId);
+        return stagingRoot.resolve(uploadId).resolve(String.valueOf(index));
+    }
+
+    private List<Integer> receivedChunks(String uploadId, FileUploadItem item) {
+        List<Integer> received = new ArrayList<>();
+        Path directory = itemDirectory(uploadId, item.getItemIndex());
+        if (!Files.isDirectory(directory)) {
+            return received;
+        }
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(directory, "*" + PART_SUFFIX)) {
+            for (Path part : parts) {
+                String name = part.getFileName().toString();
+                try {
+                    received.add(Integer.parseInt(name.substring(0, name.length() - PART_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // 알 수 없는 파일은 무시
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not list chunks of upload {} file {}: {}", uploadId, item.getItemIndex(), e.getMessage());
+        }
+        received.sort(null);
+        return received;
+    }
+
+    private List<Integer> missingChunks(FileUploadSession session, FileUploadItem item) throws IOException {
+        List<Integer> missing = new ArrayList<>();
+        Path directory = itemDirectory(session.getUploadId(), item.getItemIndex());
+        for (int chunk = 0; chunk < item.getChunkCount(); chunk++) {
+            Path part = directory.resolve(chunk + PART_SUFFIX);
+            if (!Files.isRegularFile(part) || Files.size(part) != expectedChunkSize(session, item, chunk)) {
+                missing.add(chunk);
+            }
+        }
+        return missing;
+    }
+
+    private UploadSessionDto toDto(FileUploadSession session, List<FileUploadItem> items) {
+        UploadSessionDto dto = new UploadSessionDto();
+        dto.setUploadId(session.getUploadId());
+        dto.setMenu(session.getMenu());
+        dto.setMenuId(session.getMenuId());
+        dto.setChunkSize(session.getChunkSize());
+        dto.setStatus(session.getStatus());
+        dto.setExpiresAt(session.getExpiresAt());
+        List<UploadSessionDto.UploadFileStatus> files = new ArrayList<>();
+        for (FileUploadItem item : items) {
+            UploadSessionDto.UploadFileStatus file = new UploadSessionDto.UploadFileStatus();
+            file.setIndex(item.getItemIndex());
+            file.setFileName(item.getOriginName());
+            file.setSize(item.getSize());
+            file.setChunkCount(item.getChunkCount());
+            file.setReceivedChunks(receivedChunks(session.getUploadId(), item));
+            files.add(file);
+        }
+        dto.setFiles(files);
+        return dto;
+    }
+
+    private void deleteStaging(String uploadId) {
+        try {
+            FileSystemUtils.deleteRecursively(stagingRoot.resolve(UUID.fromString(uploadId).toString()));
+        } catch (IOException e) {
+            logger.warn("Could not delete staging directory of upload {}: {}", uploadId, e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.debug("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 최대 limit + 1 바이트까지만 기록합니다. 반환값이 limit 보다 크면 조각이 예상보다 큰 것입니다.
+     */
+    private static long copyAtMost(InputStream in, Path target, long limit) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > limit) {
+                    return total;
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 조각 파일을 필요할 때 하나씩 여는 열거자 (동시에 열린 파일은 하나)
+     */
+    private static class PartEnumeration implements Enumeration<InputStream> {
+        private final Path directory;
+        private final int chunkCount;
+        private int next;
+
+        PartEnumeration(Path directory, int chunkCount) {
+            this.directory = directory;
+            this.chunkCount = chunkCount;
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return next < chunkCount;
+        }
+
+        @Override
+        public InputStream nextElement() {
+            if (next >= chunkCount) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return Files.newInputStream(directory.resolve((next++) + PART_SUFFIX));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
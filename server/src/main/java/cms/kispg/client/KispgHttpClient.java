@@ -0,0 +1,156 @@
+package cms.kispg.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KISPG API 호출 전용 HTTP 클라이언트
+ *
+ * 커넥션 풀(keep-alive 재사용)과 연결/응답 타임아웃이 설정된 RestTemplate 하나를 공유합니다.
+ * 모든 호출은 회로 차단기를 거치며, 작업(approve, cancel, query 등)별 지연시간을 kispg.client.requests 타이머로 남깁니다.
+ * 대상 주소는 호출 시 전달받으므로 kispg.url 을 로컬 스텁 서버로 지정하면 그대로 테스트할 수 있습니다.
+ */
+@Component
+public class KispgHttpClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(KispgHttpClient.class);
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
+    private final PgCircuitBreaker circuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Timer> latencies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> failures = new ConcurrentHashMap<>();
+
+    public KispgHttpClient(@Value("${kispg.client.max-connections:50}") int maxConnections,
+            @Value("${kispg.client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${kispg.client.connect-timeout:3000}") int connectTimeout,
+            @Value("${kispg.client.read-timeout:30000}") int readTimeout,
+            @Value("${kispg.client.pool-timeout:2000}") int poolTimeout,
+            @Value("${kispg.client.keep-alive:30000}") long keepAliveMillis,
+            @Value("${kispg.client.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${kispg.client.circuit-breaker.open-duration:30000}") long openDurationMillis,
+            MeterRegistry meterRegistry) {
+        this.connectionManager = new PoolingHttpClientConnectionManager(keepAliveMillis, TimeUnit.MILLISECONDS);
+        this.connectionManager.setMaxTotal(maxConnections);
+        this.connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        // 오래 쉬었던 커넥션은 재사용 전에 상태 확인
+        this.connectionManager.setValidateAfterInactivity(2000);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(readTimeout)
+                .setConnectionRequestTimeout(poolTimeout)
+                .build();
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> keepAliveMillis)
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAliveMillis, TimeUnit.MILLISECONDS)
+                .disableAutomaticRetries()
+                .build();
+        this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        this.circuitBreaker = new PgCircuitBreaker(failureThreshold, openDurationMillis);
+        this.meterRegistry = meterRegistry;
+        bindPoolAndCircuitMetrics();
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            logger.warn("[KISPG] Failed to close HTTP client: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * PG API POST 호출
+     *
+     * @param operation 통계 구분용 작업 이름 (approve, cancel, query 등)
+     * @throws PgCircuitOpenException 회로 차단기가 열려 있는 경우
+     * @throws RestClientException    통신 오류 또는 오류 응답 (RestTemplate 과 동일)
+     */
+    public <T> ResponseEntity<T> post(String operation, String url, HttpEntity<?> request, Class<T> responseType) {
+        if (!circuitBreaker.tryAcquire()) {
+            logger.warn("[KISPG] Circuit open, rejecting {} call", operation);
+            throw new PgCircuitOpenException();
+        }
+        long started = System.currentTimeMillis();
+        try {
+            ResponseEntity<T> response = restTemplate.postForEntity(url, request, responseType);
+            circuitBreaker.onSuccess();
+            return response;
+        } catch (HttpClientErrorException e) {
+            // 4xx 는 PG 가 응답한 것이므로 장애로 보지 않음
+            circuitBreaker.onSuccess();
+            countFailure(operation);
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            countFailure(operation);
+            throw e;
+        } finally {
+            latencies.computeIfAbsent(operation, k -> Timer.builder("kispg.client.requests")
+                    .tag("operation", k)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry))
+                    .record(System.currentTimeMillis() - started, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void bindPoolAndCircuitMetrics() {
+        Gauge.builder("kispg.client.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .register(meterRegistry);
+        Gauge.builder("kispg.client.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .register(meterRegistry);
+        Gauge.builder("kispg.client.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .description("Requests waiting for a pooled connection")
+                .register(meterRegistry);
+        Gauge.builder("kispg.client.pool.max", connectionManager, cm -> cm.getTotalStats().getMax())
+                .register(meterRegistry);
+        Gauge.builder("kispg.client.circuit.open", circuitBreaker,
+                        cb -> PgCircuitBreaker.CLOSED.equals(cb.getState()) ? 0 : 1)
+                .description("1 while the PG circuit breaker is open or half-open")
+                .register(meterRegistry);
+        Gauge.builder("kispg.client.circuit.consecutive.failures", circuitBreaker, PgCircuitBreaker::getConsecutiveFailures)
+                .register(meterRegistry);
+        FunctionCounter.builder("kispg.client.circuit.opened", circuitBreaker, PgCircuitBreaker::getTimesOpened)
+                .register(meterRegistry);
+        FunctionCounter.builder("kispg.client.circuit.rejected", circuitBreaker, PgCircuitBreaker::getRejectedCalls)
+                .register(meterRegistry);
+    }
+
+    private void countFailure(String operation) {
+        failures.computeIfAbsent(operation, k -> Counter.builder("kispg.client.failures")
+                .tag("operation", k)
+                .register(meterRegistry))
+                .increment();
+    }
+}
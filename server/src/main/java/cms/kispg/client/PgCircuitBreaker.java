@@ -0,0 +1,86 @@
+package cms.kispg.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PG 통신 회로 차단기
+ *
+ * 연속 실패가 failure-threshold 에 도달하면 OPEN 상태가 되어 open-duration 동안 호출을 즉시 거절합니다.
+ * 이후 첫 호출 하나만 시험 삼아 보내고(HALF_OPEN), 성공하면 CLOSED 로 돌아가고 실패하면 다시 OPEN 됩니다.
+ * 실패는 연결/타임아웃 오류와 5xx 응답만 해당하며, PG사의 업무 거절(4xx, 결과코드 오류)은 포함하지 않습니다.
+ */
+public class PgCircuitBreaker {
+
+    public static final String CLOSED = "CLOSED";
+    public static final String OPEN = "OPEN";
+    public static final String HALF_OPEN = "HALF_OPEN";
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    // 0 이면 CLOSED, 그 외에는 OPEN 된 시각
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicInteger trialInFlight = new AtomicInteger();
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong opened = new AtomicLong();
+
+    public PgCircuitBreaker(int failureThreshold, long openDurationMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMillis = Math.max(0, openDurationMillis);
+    }
+
+    /**
+     * 호출 가능 여부. false 이면 PG 호출 없이 거절해야 합니다.
+     */
+    public boolean tryAcquire() {
+        long since = openedAt.get();
+        if (since == 0) {
+            return true;
+        }
+        if (System.currentTimeMillis() - since >= openDurationMillis && trialInFlight.compareAndSet(0, 1)) {
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        openedAt.set(0);
+        trialInFlight.set(0);
+    }
+
+    public void onFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (trialInFlight.compareAndSet(1, 0)) {
+            // 시험 호출 실패: 다시 OPEN
+            openedAt.set(System.currentTimeMillis());
+            opened.incrementAndGet();
+        } else if (failures >= failureThreshold && openedAt.compareAndSet(0, System.currentTimeMillis())) {
+            opened.incrementAndGet();
+        }
+    }
+
+    public String getState() {
+        long since = openedAt.get();
+        if (since == 0) {
+            return CLOSED;
+        }
+        return System.currentTimeMillis() - since >= openDurationMillis ? HALF_OPEN : OPEN;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public long getTimesOpened() {
+        return opened.get();
+    }
+
+    public long getRejectedCalls() {
+        return rejected.get();
+    }
+}
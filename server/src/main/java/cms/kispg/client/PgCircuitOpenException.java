@@ -0,0 +1,15 @@
+package cms.kispg.client;
+
+import cms.common.exception.BusinessRuleException;
+import cms.common.exception.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+/**
+ * 회로 차단기가 열려 있어 PG 호출을 보내지 않았을 때 발생
+ */
+public class PgCircuitOpenException extends BusinessRuleException {
+
+    public PgCircuitOpenException() {
+        super(ErrorCode.PG_CIRCUIT_OPEN.getDefaultMessage(), ErrorCode.PG_CIRCUIT_OPEN, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
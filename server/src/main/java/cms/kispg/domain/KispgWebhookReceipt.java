@@ -0,0 +1,47 @@
+package cms.kispg.domain;
+
+import javax.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "kispg_webhook_receipt")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class KispgWebhookReceipt {
+
+    public static final String STATUS_RECEIVED = "RECEIVED";
+    public static final String STATUS_PROCESSED = "PROCESSED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @Column(name = "receipt_key", length = 64, columnDefinition = "CHAR(64)")
+    private String receiptKey;
+
+    @Column(name = "tid", nullable = false, length = 100)
+    private String tid;
+
+    @Column(name = "moid", nullable = false, length = 255)
+    private String moid;
+
+    @Column(name = "result_code", length = 20)
+    private String resultCode;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "response", length = 20)
+    private String response;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+
+    @Column(name = "updated_date", nullable = false)
+    private LocalDateTime updatedDate;
+}
@@ -0,0 +1,28 @@
+package cms.kispg.domain;
+
+import javax.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payment_moid_mapping")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentMoidMapping {
+
+    @Id
+    @Column(name = "moid", length = 255)
+    private String moid;
+
+    @Column(name = "lesson_id", nullable = false)
+    private Long lessonId;
+
+    @Column(name = "user_uuid", nullable = false, length = 36)
+    private String userUuid;
+
+    @Column(name = "created_date", nullable = false, updatable = false)
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,48 @@
+package cms.kispg.repository;
+
+import cms.kispg.domain.KispgWebhookReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface KispgWebhookReceiptRepository extends JpaRepository<KispgWebhookReceipt, String> {
+
+        @Query(value = "SELECT status FROM kispg_webhook_receipt WHERE receipt_key = :key", nativeQuery = true)
+        String findStatus(@Param("key") String receiptKey);
+
+        /**
+         * 수신 기록 (없으면 RECEIVED 로 생성, 있으면 수신 횟수 증가). 커밋까지 행 잠금을 유지합니다.
+         */
+        @Modifying
+        @Query(value = "INSERT INTO kispg_webhook_receipt (receipt_key, tid, moid, result_code, status, attempts, created_date, updated_date) "
+                        + "VALUES (:key, :tid, :moid, :resultCode, 'RECEIVED', 1, NOW(), NOW()) "
+                        + "ON DUPLICATE KEY UPDATE attempts = attempts + 1, result_code = VALUES(result_code), updated_date = NOW()", nativeQuery = true)
+        int claim(@Param("key") String receiptKey, @Param("tid") String tid, @Param("moid") String moid,
+                        @Param("resultCode") String resultCode);
+
+        @Modifying
+        @Query(value = "UPDATE kispg_webhook_receipt SET status = :status, response = :response, updated_date = NOW() "
+                        + "WHERE receipt_key = :key", nativeQuery = true)
+        int updateStatus(@Param("key") String receiptKey, @Param("status") String status,
+                        @Param("response") String response);
+
+        /**
+         * 처리 실패 기록. 처리 트랜잭션이 롤백된 뒤 따로 기록하므로 없으면 생성합니다.
+         */
+        @Modifying
+        @Query(value = "INSERT INTO kispg_webhook_receipt (receipt_key, tid, moid, result_code, status, response, attempts, created_date, updated_date) "
+                        + "VALUES (:key, :tid, :moid, :resultCode, 'FAILED', :response, 1, NOW(), NOW()) "
+                        + "ON DUPLICATE KEY UPDATE attempts = attempts + 1, status = IF(status = 'PROCESSED', status, 'FAILED'), "
+                        + "response = IF(status = 'PROCESSED', response, VALUES(response)), updated_date = NOW()", nativeQuery = true)
+        int recordFailure(@Param("key") String receiptKey, @Param("tid") String tid, @Param("moid") String moid,
+                        @Param("resultCode") String resultCode, @Param("response") String response);
+
+        @Modifying
+        @Query(value = "DELETE FROM kispg_webhook_receipt WHERE created_date < :before", nativeQuery = true)
+        int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,23 @@
+package cms.kispg.repository;
+
+import cms.kispg.domain.PaymentMoidMapping;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface PaymentMoidMappingRepository extends JpaRepository<PaymentMoidMapping, String> {
+
+        @Modifying
+        @Query(value = "INSERT IGNORE INTO payment_moid_mapping (moid, lesson_id, user_uuid, created_date) "
+                        + "VALUES (:moid, :lessonId, :userUuid, NOW())", nativeQuery = true)
+        int record(@Param("moid") String moid, @Param("lessonId") Long lessonId, @Param("userUuid") String userUuid);
+
+        @Modifying
+        @Query(value = "DELETE FROM payment_moid_mapping WHERE created_date < :before", nativeQuery = true)
+        int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
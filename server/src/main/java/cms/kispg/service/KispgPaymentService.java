@@ -42,4 +42,13 @@ public interface KispgPaymentService {
             boolean isPartial);
 
     Map<String, Object> queryTransactionAtPg(KispgQueryRequestDto requestDto);
+
+    /**
+     * KISPG 거래조회 API 를 호출하고 응답 본문을 그대로 반환합니다. (resultCd 가 0000 이 아니어도 예외 없이 반환)
+     * amt 가 null 이면 금액 조건 없이 tid / moid 로만 조회합니다.
+     *
+     * @throws cms.kispg.client.PgCircuitOpenException 회로 차단기가 열려 있는 경우
+     * @throws cms.common.exception.BusinessRuleException 통신 오류 또는 빈 응답
+     */
+    Map<String, Object> fetchTransactionAtPg(String tid, String moid, String amt);
 }
\ No newline at end of file
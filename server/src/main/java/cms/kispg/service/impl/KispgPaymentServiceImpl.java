@@ -5,10 +5,14 @@ import cms.common.exception.ErrorCode;
 import cms.common.exception.ResourceNotFoundException;
 import cms.enroll.domain.Enroll;
 import cms.enroll.domain.MembershipType;
+import cms.enroll.ledger.LessonSeatLedger;
 import cms.enroll.repository.EnrollRepository;
+import cms.kispg.client.KispgHttpClient;
+import cms.kispg.client.PgCircuitOpenException;
 import cms.kispg.dto.KispgInitParamsDto;
 import cms.kispg.dto.PaymentApprovalRequestDto;
 import cms.kispg.dto.KispgPaymentResultDto;
+import cms.kispg.repository.PaymentMoidMappingRepository;
 import cms.kispg.service.KispgPaymentService;
 import cms.locker.service.LockerService;
 import cms.mypage.dto.EnrollDto;
@@ -31,8 +35,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 import cms.kispg.dto.KispgCancelRequestDto;
 import cms.kispg.dto.KispgCancelResponseDto;
@@ -65,6 +69,9 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
     private final LockerService lockerService;
     private final PaymentRepository paymentRepository;
     private final ObjectMapper objectMapper;
+    private final LessonSeatLedger seatLedger;
+    private final KispgHttpClient kispgHttpClient;
+    private final PaymentMoidMappingRepository moidMappingRepository;
 
     @Value("${kispg.url}")
     private String kispgUrl;
@@ -204,7 +211,7 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public KispgInitParamsDto preparePaymentWithoutEnroll(EnrollRequestDto enrollRequest, User currentUser,
             String userIp) {
         log.info(
@@ -224,12 +231,7 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
             throw new BusinessRuleException(ErrorCode.REGISTRATION_PERIOD_INVALID, "등록 마감 시간이 지났습니다.");
         }
 
-        long paidCount = enrollRepository.countByLessonLessonIdAndPayStatus(lesson.getLessonId(), "PAID");
-        long unpaidActiveCount = enrollRepository.countByLessonLessonIdAndStatusAndPayStatusAndExpireDtAfter(
-                lesson.getLessonId(), "APPLIED", "UNPAID", LocalDateTime.now());
-
-        long availableSlots = lesson.getCapacity() - paidCount - unpaidActiveCount;
-        if (availableSlots <= 0) {
+        if (seatLedger.availableSlots(lesson.getLessonId(), lesson.getCapacity()) <= 0) {
             throw new BusinessRuleException(ErrorCode.LESSON_CAPACITY_EXCEEDED, "정원이 초과되었습니다.");
         }
 
@@ -270,6 +272,8 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
         }
 
         String tempMoid = generateTempMoid(lesson.getLessonId(), currentUser.getUuid());
+        // 결제 통지에서 UUID prefix 검색 없이 사용자를 찾도록 moid -> 강습 / 사용자 매핑 기록
+        moidMappingRepository.record(tempMoid, lesson.getLessonId(), currentUser.getUuid());
         int vatAmount = totalAmount / 11;
         int supplyAmount = totalAmount - vatAmount;
 
@@ -506,7 +510,10 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
                 .createdBy(user.getUuid())
                 .createdIp("N/A") // IP 주소 필요시 전달받아야 함
                 .build();
-        return enrollRepository.save(newEnroll);
+        Enroll savedEnroll = enrollRepository.save(newEnroll);
+        // PG 승인이 끝난 결제완료 건이므로 정원과 무관하게 좌석 점유
+        seatLedger.occupy(lesson.getLessonId());
+        return savedEnroll;
     }
 
     private boolean isRenewal(User user, Lesson currentLesson) {
@@ -574,7 +581,6 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
         log.info("  - HashData (Raw): {}{}{}{}", kispgMid, ediDate, amt, merchantKey);
         log.info("  - encData (Hashed): {} (길이: {})", encData, encData.length());
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
 
@@ -597,7 +603,7 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
 
         long startTime = System.currentTimeMillis();
         try {
-            ResponseEntity<String> response = restTemplate.postForEntity(url, requestEntity, String.class);
+            ResponseEntity<String> response = kispgHttpClient.post("approve", url, requestEntity, String.class);
             long endTime = System.currentTimeMillis();
 
             log.info("📥 KISPG 승인 API 응답 ({}ms):", endTime - startTime);
@@ -632,6 +638,8 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
                 log.error("KISPG 승인 API 호출 실패. 응답 코드: {}", response.getStatusCode());
                 return false;
             }
+        } catch (PgCircuitOpenException e) {
+            throw e;
         } catch (HttpClientErrorException e) {
             log.error("KISPG 승인 API 호출 중 클라이언트 에러 발생: {} - {}", e.getStatusCode(), e.getResponseBodyAsString(), e);
             throw new BusinessRuleException(ErrorCode.PAYMENT_GATEWAY_ERROR,
@@ -745,9 +753,8 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
             String jsonBody = objectMapper.writeValueAsString(requestDto);
 
             HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
-            RestTemplate restTemplate = new RestTemplate();
 
-            ResponseEntity<KispgCancelResponseDto> response = restTemplate.postForEntity(url, entity,
+            ResponseEntity<KispgCancelResponseDto> response = kispgHttpClient.post("cancel", url, entity,
                     KispgCancelResponseDto.class);
 
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
@@ -767,6 +774,8 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
                 log.error("KISPG 취소 API 호출 실패. 응답 코드: {}, 응답 본문: {}", response.getStatusCode(), response.getBody());
                 throw new BusinessRuleException(ErrorCode.PAYMENT_GATEWAY_ERROR, "PG사로부터 응답을 받지 못했습니다.");
             }
+        } catch (PgCircuitOpenException e) {
+            throw e;
         } catch (Exception e) {
             log.error("KISPG 취소 API 호출 중 예외 발생", e);
             throw new BusinessRuleException(ErrorCode.PAYMENT_CANCEL_FAILED, "PG사 취소 처리 중 오류 발생: " + e.getMessage());
@@ -793,15 +802,34 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
             throw new BusinessRuleException(ErrorCode.INVALID_INPUT_VALUE, "TID 또는 MOID 중 하나는 필수입니다.");
         }
 
-        String ediDate = generateEdiDate();
-        String amt = requestDto.getAmt();
-        String tid = requestDto.getTid();
-        String moid = requestDto.getMoid();
+        Map<String, Object> responseBody = fetchTransactionAtPg(requestDto.getTid(), requestDto.getMoid(),
+                requestDto.getAmt());
+        String resultCd = (String) responseBody.get("resultCd");
+
+        if ("0000".equals(resultCd)) {
+            log.info("KISPG 조회 성공. 응답: {}", responseBody);
+            String resultMoid = (String) responseBody.get("moid");
+            String resultAmt = (String) responseBody.get("amt");
+            String receivedEdiDate = (String) responseBody.get("ediDate");
+
+            String verificationHashData = kispgMid + resultMoid + resultAmt + receivedEdiDate + merchantKey;
+            String verificationHash = generateHash(verificationHashData);
+            log.debug("[KISPG 거래조회 응답] 생성된 검증 해시: {}", verificationHash);
+
+            return responseBody;
+        } else {
+            String resultMsg = (String) responseBody.get("resultMsg");
+            log.error("KISPG 조회 실패. Result Code: {}, Message: {}", resultCd, resultMsg);
+            throw new BusinessRuleException(ErrorCode.PG_TRANSACTION_NOT_FOUND, "PG사 조회 실패: " + resultMsg);
+        }
+    }
 
-        String requestHashData = kispgMid + ediDate + amt + merchantKey;
-        log.info("[KISPG 거래조회 요청] 요청 해시 데이터: mid + ediDate + amt + merchantKey = {}", requestHashData);
-        String encData = generateHash(requestHashData);
-        log.info("[KISPG 거래조회 요청] 생성된 해시: {}", encData);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> fetchTransactionAtPg(String tid, String moid, String amt) {
+        String ediDate = generateEdiDate();
+        // 요청 해시에는 가맹점 키가 들어가므로 원문은 남기지 않음
+        String encData = generateHash(kispgMid + ediDate + (amt != null ? amt : "") + merchantKey);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -809,27 +837,25 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
         Map<String, String> body = new HashMap<>();
         body.put("mid", kispgMid);
         body.put("ver", "2");
-        if (requestDto.getTid() != null && !requestDto.getTid().trim().isEmpty()) {
-            body.put("tid", requestDto.getTid());
+        if (tid != null && !tid.trim().isEmpty()) {
+            body.put("tid", tid);
         }
-        if (requestDto.getMoid() != null && !requestDto.getMoid().trim().isEmpty()) {
-            body.put("moid", requestDto.getMoid());
+        if (moid != null && !moid.trim().isEmpty()) {
+            body.put("moid", moid);
+        }
+        if (amt != null) {
+            body.put("amt", amt);
         }
-        body.put("amt", amt);
         body.put("ediDate", ediDate);
         body.put("encData", encData);
         body.put("signData", "");
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonBody = objectMapper.writeValueAsString(body);
-            HttpEntity<String> request = new HttpEntity<>(jsonBody, headers);
-            log.info("[KISPG 거래조회 요청] PG 요청 전문: {}", request.toString());
-
-            RestTemplate restTemplate = new RestTemplate();
-            String orderUrl = getKispgApiUrl("order");
-            ResponseEntity<Map> response = restTemplate.postForEntity(orderUrl, request, Map.class);
-            log.info("[KISPG 거래조회 요청] PG 응답 전문: {}", response.toString());
+            HttpEntity<String> request = new HttpEntity<>(objectMapper.writeValueAsString(body), headers);
+            log.debug("[KISPG 거래조회 요청] PG 요청 전문: {}", request);
+
+            ResponseEntity<Map> response = kispgHttpClient.post("query", getKispgApiUrl("order"), request, Map.class);
+            log.debug("[KISPG 거래조회 요청] PG 응답 전문: {}", response);
             Map<String, Object> responseBody = response.getBody();
 
             if (responseBody == null) {
@@ -837,31 +863,14 @@ public class KispgPaymentServiceImpl implements KispgPaymentService {
                 throw new BusinessRuleException(ErrorCode.PAYMENT_GATEWAY_ERROR,
                         "PG사 조회 실패: 응답 본문이 비어있습니다.");
             }
-
-            String resultCd = (String) responseBody.get("resultCd");
-
-            if ("0000".equals(resultCd)) {
-                log.info("KISPG 조회 성공. 응답: {}", responseBody);
-                String resultMoid = (String) responseBody.get("moid");
-                String resultAmt = (String) responseBody.get("amt");
-                String resultTid = (String) responseBody.get("tid");
-                String receivedEdiDate = (String) responseBody.get("ediDate");
-
-                String verificationHashData = kispgMid + resultMoid + resultAmt + receivedEdiDate + merchantKey;
-                log.info("[KISPG 거래조회 응답] 해시 검증 데이터: {}", verificationHashData);
-                String verificationHash = generateHash(verificationHashData);
-                log.info("[KISPG 거래조회 응답] 생성된 검증 해시: {}", verificationHash);
-
-                return responseBody;
-            } else {
-                String resultMsg = (String) responseBody.get("resultMsg");
-                log.error("KISPG 조회 실패. Result Code: {}, Message: {}", resultCd, resultMsg);
-                throw new BusinessRuleException(ErrorCode.PG_TRANSACTION_NOT_FOUND, "PG사 조회 실패: " + resultMsg);
-            }
+            return responseBody;
+        } catch (BusinessRuleException e) {
+            // PgCircuitOpenException 포함
+            throw e;
         } catch (Exception e) {
-            log.error("KISPG 조회 API 호출 중 예외 발생", e);
+            log.error("KISPG 조회 API 호출 중 예외 발생 (TID: {}, MOID: {})", tid, moid, e);
             throw new BusinessRuleException(ErrorCode.PAYMENT_GATEWAY_ERROR,
                     "PG사 조회 처리 중 오류 발생: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
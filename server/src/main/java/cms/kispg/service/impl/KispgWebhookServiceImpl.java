@@ -4,10 +4,14 @@ import cms.common.exception.BusinessRuleException;
 import cms.common.exception.ErrorCode;
 import cms.common.exception.ResourceNotFoundException;
 import cms.enroll.domain.Enroll;
+import cms.enroll.ledger.LessonSeatLedger;
 import cms.enroll.repository.EnrollRepository;
+import cms.kispg.domain.PaymentMoidMapping;
 import cms.kispg.dto.KispgNotificationRequest;
+import cms.kispg.repository.PaymentMoidMappingRepository;
 import cms.kispg.service.KispgWebhookService;
 import cms.kispg.util.KispgSecurityUtil;
+import cms.kispg.webhook.KispgWebhookIngestor;
 import cms.locker.service.LockerService;
 import cms.payment.domain.Payment;
 import cms.payment.repository.PaymentRepository;
@@ -21,7 +25,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import cms.payment.service.PaymentService;
 
 import java.time.LocalDateTime;
@@ -45,6 +48,9 @@ public class KispgWebhookServiceImpl implements KispgWebhookService {
     private final UserRepository userRepository;
     private final LessonRepository lessonRepository;
     private final PaymentService paymentService;
+    private final LessonSeatLedger seatLedger;
+    private final KispgWebhookIngestor webhookIngestor;
+    private final PaymentMoidMappingRepository moidMappingRepository;
 
     @Value("${kispg.merchantKey}") // Example: load merchantKey from properties
     private String merchantKey;
@@ -74,7 +80,6 @@ public class KispgWebhookServiceImpl implements KispgWebhookService {
     }
 
     @Override
-    @Transactional
     public String processPaymentNotification(KispgNotificationRequest notification, String clientIp) {
         logger.info(
                 "[KISPG Webhook START] Processing notification for moid: {}, tid: {}, resultCode: {}, resultMsg: '{}', clientIp: {}",
@@ -101,6 +106,11 @@ public class KispgWebhookServiceImpl implements KispgWebhookService {
         }
         logger.info("[KISPG Webhook] Signature validation successful for moid: {}", notification.getMoid());
 
+        // 이미 처리한 재전송 통지는 바로 응답하고, 나머지는 moid 별 순서대로 트랜잭션 안에서 처리
+        return webhookIngestor.ingest(notification, this::handleNotification);
+    }
+
+    private String handleNotification(KispgNotificationRequest notification) {
         // 2. Parameter & Enrollment/Payment Record Check
         // Attempt to parse moid to get enrollment information
         // New format: temp_{lessonId}_{userUuid_prefix}_{timestamp} OR existing:
@@ -274,19 +284,17 @@ public class KispgWebhookServiceImpl implements KispgWebhookService {
     }
 
     /**
-     * temp moid로부터 수강신청을 생성합니다.
+     * temp moid 를 발급받은 사용자를 조회합니다. 매핑이 없는 moid(매핑 기록 이전에 발급된 건)만 UUID prefix 로 찾습니다.
      */
-    private Enroll createEnrollmentFromTempMoid(KispgNotificationRequest notification, Long lessonId,
-            String userUuidPrefix) {
-        logger.info("[KISPG Webhook] Creating enrollment from temp moid for lessonId: {}, userUuidPrefix: {}", lessonId,
-                userUuidPrefix);
-
-        // 1. Lesson 조회
-        Lesson lesson = lessonRepository.findById(lessonId)
-                .orElseThrow(
-                        () -> new ResourceNotFoundException("강습을 찾을 수 없습니다: " + lessonId, ErrorCode.LESSON_NOT_FOUND));
+    private User findTempMoidUser(String moid, String userUuidPrefix) {
+        Optional<PaymentMoidMapping> mapping = moidMappingRepository.findById(moid);
+        if (mapping.isPresent()) {
+            return userRepository.findByUuid(mapping.get().getUserUuid())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "사용자를 찾을 수 없습니다. UUID: " + mapping.get().getUserUuid(), ErrorCode.USER_NOT_FOUND));
+        }
 
-        // 2. User 조회 (userUuidPrefix 사용)
+        logger.warn("[KISPG Webhook] No moid mapping for {}. Falling back to UUID prefix lookup.", moid);
         List<User> users = userRepository.findByUuidStartingWith(userUuidPrefix);
 
         if (users.isEmpty()) {
@@ -297,8 +305,24 @@ public class KispgWebhookServiceImpl implements KispgWebhookService {
         if (users.size() > 1) {
             logger.warn("[KISPG Webhook] Multiple users found with UUID prefix: {}. Using first one.", userUuidPrefix);
         }
+        return users.get(0);
+    }
+
+    /**
+     * temp moid로부터 수강신청을 생성합니다.
+     */
+    private Enroll createEnrollmentFromTempMoid(KispgNotificationRequest notification, Long lessonId,
+            String userUuidPrefix) {
+        logger.info("[KISPG Webhook] Creating enrollment from temp moid for lessonId: {}, userUuidPrefix: {}", lessonId,
+                userUuidPrefix);
+
+        // 1. Lesson 조회
+        Lesson lesson = lessonRepository.findById(lessonId)
+                .orElseThrow(
+                        () -> new ResourceNotFoundException("강습을 찾을 수 없습니다: " + lessonId, ErrorCode.LESSON_NOT_FOUND));
 
-        User user = users.get(0);
+        // 2. User 조회 (결제 준비 시 기록한 moid 매핑 사용)
+        User user = findTempMoidUser(notification.getMoid(), userUuidPrefix);
         logger.info("[KISPG Webhook] Found user: {} with UUID: {}", user.getUsername(), user.getUuid());
 
         // 3. 결제 금액으로부터 사물함 사용 여부 판단
@@ -387,6 +411,8 @@ public class KispgWebhookServiceImpl implements KispgWebhookService {
                 .build();
 
         Enroll savedEnroll = enrollRepository.save(enroll);
+        // PG 결제가 이미 완료된 건이므로 정원과 무관하게 좌석 점유
+        seatLedger.occupy(lesson.getLessonId());
         logger.info(
                 "[KISPG Webhook] Successfully created enrollment: enrollId={}, user={}, lesson={}, usesLocker={}, lockerAllocated={}",
                 savedEnroll.getEnrollId(), user.getUsername(), lesson.getLessonId(), usesLocker, lockerAllocated);
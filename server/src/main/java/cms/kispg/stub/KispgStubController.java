@@ -0,0 +1,192 @@
+package cms.kispg.stub;
+
+import cms.payment.domain.Payment;
+import cms.payment.domain.PaymentStatus;
+import cms.payment.repository.PaymentRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.apache.commons.codec.binary.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로컬 검증용 KISPG 거래조회 스텁 (pg-stub 프로필에서만 등록)
+ *
+ * kispg.url 을 http://localhost:{port}/api/v1/pg-stub/kispg 로 두면 결제 대사 등이 실제 PG 대신 이 스텁을 조회합니다.
+ * 기본으로는 DB 결제 내역을 그대로 돌려주고, /transactions/{tid 또는 moid} 로 금액 / 취소 여부 / 결과 코드를
+ * 덮어써 AMOUNT, STATUS, MISSING_AT_PG 불일치를 재현할 수 있습니다.
+ *
+ * 요청의 mid 와 encData 는 서버와 같은 kispg.mid / kispg.merchantKey 로 검증합니다. encData 는
+ * SHA-256(mid + ediDate + amt + merchantKey) 의 hex 이며, 금액 조건 없이 조회하면 amt 자리는 빈 문자열입니다.
+ * (KispgPaymentServiceImpl.fetchTransactionAtPg 와 같은 규칙) 검증에 실패하면 400 으로 응답하므로
+ * 해시 규칙이 어긋나면 대사에서 QUERY_ERROR 로 드러납니다.
+ */
+@Profile("pg-stub")
+@RestController
+@RequestMapping("/pg-stub/kispg")
+@Tag(name = "kispg_stub", description = "로컬 KISPG 스텁 (pg-stub 프로필)")
+public class KispgStubController {
+
+    private static final Logger logger = LoggerFactory.getLogger(KispgStubController.class);
+    private static final String SUCCESS_CODE = "0000";
+    private static final String NOT_FOUND_CODE = "3011";
+    // 스텁 전용 코드 (가맹점 검증 실패)
+    private static final String INVALID_HASH_CODE = "STUB_ENC";
+    private static final DateTimeFormatter EDI_DATE = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final PaymentRepository paymentRepository;
+    private final String mid;
+    private final String merchantKey;
+
+    // tid 또는 moid -> 덮어쓸 응답 필드 (amt, cancelYN, resultCd, resultMsg)
+    private final ConcurrentHashMap<String, Map<String, String>> overrides = new ConcurrentHashMap<>();
+
+    public KispgStubController(PaymentRepository paymentRepository,
+            @Value("${kispg.mid}") String mid,
+            @Value("${kispg.merchantKey}") String merchantKey) {
+        this.paymentRepository = paymentRepository;
+        this.mid = mid;
+        this.merchantKey = merchantKey;
+    }
+
+    @Operation(summary = "거래조회 (KISPG /v2/order 대응)")
+    @PostMapping("/v2/order")
+    public ResponseEntity<Map<String, Object>> order(@RequestBody Map<String, Object> request) {
+        String tid = stringValue(request.get("tid"));
+        String moid = stringValue(request.get("moid"));
+        String amt = stringValue(request.get("amt"));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("ediDate", LocalDateTime.now().format(EDI_DATE));
+
+        String hashProblem = verifyEncData(request, amt);
+        if (hashProblem != null) {
+            logger.warn("[KISPG Stub] Rejected order tid={}, moid={}: {}", tid, moid, hashProblem);
+            response.put("resultCd", INVALID_HASH_CODE);
+            response.put("resultMsg", hashProblem);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+
+        Payment payment = find(tid, moid);
+        Map<String, String> override = overrideFor(tid, moid, payment);
+        if (payment == null && override == null) {
+            response.put("resultCd", NOT_FOUND_CODE);
+            response.put("resultMsg", "거래 내역이 없습니다.");
+            return ResponseEntity.ok(response);
+        }
+
+        response.put("resultCd", SUCCESS_CODE);
+        response.put("resultMsg", "정상 처리");
+        response.put("tid", payment != null ? payment.getTid() : tid);
+        response.put("moid", payment != null ? payment.getMoid() : moid);
+        response.put("amt", payment != null && payment.getPaidAmt() != null ? String.valueOf(payment.getPaidAmt()) : "0");
+        response.put("cancelYN", payment != null && (payment.getStatus() == PaymentStatus.CANCELED
+                || payment.getStatus() == PaymentStatus.FAILED) ? "Y" : "N");
+        if (override != null) {
+            response.putAll(override);
+        }
+
+        // 실제 PG 와 같이 금액 조건이 있으면 금액이 다른 거래는 찾지 못함
+        if (amt != null && SUCCESS_CODE.equals(response.get("resultCd")) && !amt.equals(response.get("amt"))) {
+            response.put("resultCd", NOT_FOUND_CODE);
+            response.put("resultMsg", "거래 내역이 없습니다.");
+        }
+        logger.debug("[KISPG Stub] order tid={}, moid={}, amt={} -> {}", tid, moid, amt, response);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "거래조회 응답 덮어쓰기", description = "amt, cancelYN, resultCd, resultMsg 중 지정한 필드만 덮어씁니다.")
+    @PutMapping("/transactions/{key}")
+    public ResponseEntity<Map<String, String>> override(@PathVariable String key,
+            @RequestBody Map<String, String> fields) {
+        overrides.put(key, new HashMap<>(fields));
+        return ResponseEntity.ok(fields);
+    }
+
+    @Operation(summary = "덮어쓴 거래조회 응답 초기화")
+    @DeleteMapping("/transactions")
+    public ResponseEntity<Void> clearOverrides() {
+        overrides.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * @return 검증 실패 사유, 통과하면 null
+     */
+    private String verifyEncData(Map<String, Object> request, String amt) {
+        String requestMid = stringValue(request.get("mid"));
+        String ediDate = stringValue(request.get("ediDate"));
+        String encData = stringValue(request.get("encData"));
+        if (!mid.equals(requestMid)) {
+            return "mid 가 일치하지 않습니다.";
+        }
+        if (ediDate == null || encData == null) {
+            return "ediDate / encData 가 없습니다.";
+        }
+        String expected = sha256Hex(mid + ediDate + (amt != null ? amt : "") + merchantKey);
+        if (!MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII),
+                encData.toLowerCase().getBytes(StandardCharsets.US_ASCII))) {
+            return "encData 검증에 실패했습니다.";
+        }
+        return null;
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            return Hex.encodeHexString(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Payment find(String tid, String moid) {
+        if (tid != null) {
+            Payment payment = paymentRepository.findByTid(tid).orElse(null);
+            if (payment != null) {
+                return payment;
+            }
+        }
+        return moid != null ? paymentRepository.findByMoid(moid).orElse(null) : null;
+    }
+
+    private Map<String, String> overrideFor(String tid, String moid, Payment payment) {
+        String[] keys = {
+                tid, moid,
+                payment != null ? payment.getTid() : null,
+                payment != null ? payment.getMoid() : null };
+        for (String key : keys) {
+            if (key != null && overrides.containsKey(key)) {
+                return overrides.get(key);
+            }
+        }
+        return null;
+    }
+
+    private static String stringValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = String.valueOf(value).trim();
+        return text.isEmpty() ? null : text;
+    }
+}
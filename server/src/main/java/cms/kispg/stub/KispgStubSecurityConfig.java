@@ -0,0 +1,19 @@
+package cms.kispg.stub;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+
+/**
+ * KISPG 스텁은 서버 자신이 PG 클라이언트로 호출하므로 인증 없이 열어 둡니다. (pg-stub 프로필에서만 등록)
+ */
+@Profile("pg-stub")
+@Configuration
+public class KispgStubSecurityConfig {
+
+    @Bean
+    public WebSecurityCustomizer kispgStubWebSecurityCustomizer() {
+        return web -> web.ignoring().antMatchers("/api/v1/pg-stub/**");
+    }
+}
@@ -0,0 +1,298 @@
+package cms.kispg.webhook;
+
+import cms.kispg.domain.KispgWebhookReceipt;
+import cms.kispg.dto.KispgNotificationRequest;
+import cms.kispg.repository.KispgWebhookReceiptRepository;
+import cms.kispg.repository.PaymentMoidMappingRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * KISPG 결제 통지 수신 처리
+ *
+ * KISPG 는 응답을 받지 못하면 같은 통지를 반복해서 보내므로, 통지를 tid + moid 키로 기록해 두고
+ * 이미 처리한 통지는 최근 키(메모리) 또는 kispg_webhook_receipt PK 조회 한 번으로 바로 "OK" 응답합니다.
+ *
+ * - 처리 대상 통지는 moid 별 작업 큐에 넣어 같은 주문의 통지를 도착 순서대로 하나씩 처리 (다른 주문은 병렬)
+ * - 처리 트랜잭션은 수신 기록 행을 먼저 잠그므로 다른 노드에 같은 통지가 도착해도 한 번만 처리
+ * - "OK" 가 아니면 처리 내용을 롤백하고 FAILED 로 기록 (KISPG 재전송 시 다시 처리)
+ * - wait-timeout 안에 끝나지 않으면 "FAIL" 로 응답하고 처리는 계속 진행 (재전송은 기록을 보고 응답)
+ */
+@Component
+public class KispgWebhookIngestor implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(KispgWebhookIngestor.class);
+
+    private static final String RESPONSE_OK = "OK";
+    private static final String RESPONSE_FAIL = "FAIL";
+    private static final CompletableFuture<String> IDLE = CompletableFuture.completedFuture(null);
+
+    private final KispgWebhookReceiptRepository receiptRepository;
+    private final PaymentMoidMappingRepository moidMappingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int workerThreads;
+    private final long waitTimeoutMillis;
+    private final long retentionMillis;
+
+    // moid -> 해당 주문의 마지막 작업. 새 통지는 이 작업이 끝난 뒤 실행
+    private final ConcurrentHashMap<String, CompletableFuture<String>> tails = new ConcurrentHashMap<>();
+    // 이 노드에서 처리(또는 확인)한 통지 키
+    private final Map<String, Boolean> recentKeys;
+
+    private ExecutorService workers;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong acknowledgedFromMemory = new AtomicLong();
+    private final AtomicLong acknowledgedFromStore = new AtomicLong();
+    private final AtomicLong duplicatesInQueue = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong totalProcessMillis = new AtomicLong();
+
+    public KispgWebhookIngestor(KispgWebhookReceiptRepository receiptRepository,
+            PaymentMoidMappingRepository moidMappingRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${kispg.webhook.worker-threads:4}") int workerThreads,
+            @Value("${kispg.webhook.wait-timeout:10000}") long waitTimeoutMillis,
+            @Value("${kispg.webhook.recent-keys:10000}") int recentKeyCapacity,
+            @Value("${kispg.webhook.retention:2592000000}") long retentionMillis) {
+        this.receiptRepository = receiptRepository;
+        this.moidMappingRepository = moidMappingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workerThreads = Math.max(1, workerThreads);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.retentionMillis = retentionMillis;
+        final int capacity = Math.max(100, recentKeyCapacity);
+        this.recentKeys = Collections.synchronizedMap(new LinkedHashMap<String, Boolean>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerThreads, r -> {
+            Thread thread = new Thread(r, "kispg-webhook-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(waitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 검증을 마친 통지를 처리하고 KISPG 에 돌려줄 응답을 반환합니다.
+     *
+     * @param handler 통지 처리 (트랜잭션 안에서 실행, "OK" 외의 응답은 롤백)
+     */
+    public String ingest(KispgNotificationRequest notification, Function<KispgNotificationRequest, String> handler) {
+        received.incrementAndGet();
+        String key = receiptKey(notification.getTid(), notification.getMoid());
+        if (key != null) {
+            if (recentKeys.containsKey(key)) {
+                acknowledgedFromMemory.incrementAndGet();
+                logger.info("[KISPG Webhook] Duplicate notification acknowledged (recent) for tid: {}, moid: {}",
+                        notification.getTid(), notification.getMoid());
+                return RESPONSE_OK;
+            }
+            if (KispgWebhookReceipt.STATUS_PROCESSED.equals(receiptRepository.findStatus(key))) {
+                recentKeys.put(key, Boolean.TRUE);
+                acknowledgedFromStore.incrementAndGet();
+                logger.info("[KISPG Webhook] Duplicate notification acknowledged (receipt) for tid: {}, moid: {}",
+                        notification.getTid(), notification.getMoid());
+                return RESPONSE_OK;
+            }
+        }
+
+        CompletableFuture<String> result = enqueue(notification.getMoid() != null ? notification.getMoid() : "",
+                () -> process(key, notification, handler));
+        try {
+            return result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.incrementAndGet();
+            logger.warn("[KISPG Webhook] Processing of moid {} did not finish within {} ms. Answering FAIL for retry.",
+                    notification.getMoid(), waitTimeoutMillis);
+            return RESPONSE_FAIL;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return RESPONSE_FAIL;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("KISPG webhook processing failed for moid " + notification.getMoid(),
+                    cause);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 수신 기록과 주문번호 매핑을 삭제합니다.
+     *
+     * @return 삭제한 행 수
+     */
+    public int purge() {
+        LocalDateTime before = new Timestamp(System.currentTimeMillis() - retentionMillis).toLocalDateTime();
+        Integer deleted = transactionTemplate.execute(status -> receiptRepository.deleteCreatedBefore(before)
+                + moidMappingRepository.deleteCreatedBefore(before));
+        return deleted != null ? deleted : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("kispg.webhook.received", received, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("kispg.webhook.duplicates", acknowledgedFromMemory, AtomicLong::get)
+                .tag("source", "memory")
+                .register(registry);
+        FunctionCounter.builder("kispg.webhook.duplicates", acknowledgedFromStore, AtomicLong::get)
+                .tag("source", "store")
+                .register(registry);
+        FunctionCounter.builder("kispg.webhook.duplicates", duplicatesInQueue, AtomicLong::get)
+                .tag("source", "queue")
+                .register(registry);
+        FunctionCounter.builder("kispg.webhook.failed", failed, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("kispg.webhook.timeouts", timeouts, AtomicLong::get)
+                .description("Notifications answered FAIL because processing exceeded the wait timeout")
+                .register(registry);
+        FunctionTimer.builder("kispg.webhook.processing", this, i -> i.processed.get() + i.failed.get(),
+                        i -> i.totalProcessMillis.get(), TimeUnit.MILLISECONDS)
+                .register(registry);
+        Gauge.builder("kispg.webhook.queued.orders", tails, Map::size)
+                .register(registry);
+    }
+
+    private CompletableFuture<String> enqueue(String moid, Supplier<String> task) {
+        CompletableFuture<String> next = tails.compute(moid,
+                (k, tail) -> (tail != null ? tail : IDLE).handleAsync((r, e) -> task.get(), workers));
+        next.whenComplete((r, e) -> tails.remove(moid, next));
+        return next;
+    }
+
+    private String process(String key, KispgNotificationRequest notification,
+            Function<KispgNotificationRequest, String> handler) {
+        long started = System.currentTimeMillis();
+        boolean[] duplicate = new boolean[1];
+        String response;
+        try {
+            response = transactionTemplate.execute(status -> {
+                if (key != null) {
+                    receiptRepository.claim(key, notification.getTid(), notification.getMoid(),
+                            notification.getResultCode());
+                    // 앞선 통지(이 노드의 큐 또는 다른 노드)가 이미 처리함
+                    if (KispgWebhookReceipt.STATUS_PROCESSED.equals(receiptRepository.findStatus(key))) {
+                        duplicate[0] = true;
+                        return RESPONSE_OK;
+                    }
+                }
+                String result = handler.apply(notification);
+                if (!RESPONSE_OK.equals(result)) {
+                    status.setRollbackOnly();
+                    return result;
+                }
+                if (key != null) {
+                    receiptRepository.updateStatus(key, KispgWebhookReceipt.STATUS_PROCESSED, result);
+                }
+                return result;
+            });
+        } catch (RuntimeException e) {
+            recordFailure(key, notification, "ERROR");
+            throw e;
+        } finally {
+            totalProcessMillis.addAndGet(System.currentTimeMillis() - started);
+        }
+
+        if (duplicate[0]) {
+            duplicatesInQueue.incrementAndGet();
+            recentKeys.put(key, Boolean.TRUE);
+            logger.info("[KISPG Webhook] Duplicate notification acknowledged (queued) for tid: {}, moid: {}",
+                    notification.getTid(), notification.getMoid());
+        } else if (RESPONSE_OK.equals(response)) {
+            processed.incrementAndGet();
+            if (key != null) {
+                recentKeys.put(key, Boolean.TRUE);
+            }
+        } else {
+            recordFailure(key, notification, response);
+        }
+        return response;
+    }
+
+    private void recordFailure(String key, KispgNotificationRequest notification, String response) {
+        failed.incrementAndGet();
+        if (key == null) {
+            return;
+        }
+        try {
+            transactionTemplate.execute(status -> receiptRepository.recordFailure(key, notification.getTid(),
+                    notification.getMoid(), notification.getResultCode(), response));
+        } catch (Exception e) {
+            logger.warn("[KISPG Webhook] Could not record failed notification for moid {}: {}",
+                    notification.getMoid(), e.getMessage());
+        }
+    }
+
+    private static String receiptKey(String tid, String moid) {
+        if (tid == null || tid.trim().isEmpty() || moid == null || moid.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((tid + "\n" + moid).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,9 +3,13 @@ package cms.locker.repository;
 import cms.locker.domain.LockerInventory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +17,21 @@ public interface LockerInventoryRepository extends JpaRepository<LockerInventory
     // 성별(PK)로 LockerInventory 조회 시 비관적 쓰기 잠금 적용
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<LockerInventory> findByGender(String gender);
-} 
\ No newline at end of file
+
+    // 잔여가 있을 때만 사용 수량 +1 (조건부 원자 UPDATE, 0 이면 잔여 없음 또는 재고 행 없음)
+    @Modifying
+    @Query("UPDATE LockerInventory i SET i.usedQuantity = i.usedQuantity + 1, i.updatedAt = :now " +
+            "WHERE i.gender = :gender AND i.usedQuantity < i.totalQuantity")
+    int incrementIfAvailable(@Param("gender") String gender, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE LockerInventory i SET i.usedQuantity = i.usedQuantity - 1, i.updatedAt = :now " +
+            "WHERE i.gender = :gender AND i.usedQuantity > 0")
+    int decrementIfPositive(@Param("gender") String gender, @Param("now") LocalDateTime now);
+
+    // 재집계 값과 다를 때만 갱신
+    @Modifying
+    @Query("UPDATE LockerInventory i SET i.usedQuantity = :used, i.updatedAt = :now " +
+            "WHERE i.gender = :gender AND i.usedQuantity <> :used")
+    int updateUsedQuantity(@Param("gender") String gender, @Param("used") int used, @Param("now") LocalDateTime now);
+}
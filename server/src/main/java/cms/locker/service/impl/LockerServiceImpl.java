@@ -7,26 +7,49 @@ import cms.locker.service.LockerService;
 import cms.common.exception.BusinessRuleException;
 import cms.common.exception.ErrorCode;
 import cms.common.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사물함 재고
+ *
+ * 사용 수량 증감은 조건부 원자 UPDATE (used < total / used > 0) 로 처리하여 행을 읽고 잠그는 구간 없이
+ * 동시 결제에서도 갱신이 유실되거나 정원을 넘지 않습니다.
+ * 동기화는 집계 결과와 다를 때만 갱신하고, 그 차이(drift)를 통계로 남깁니다.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
-public class LockerServiceImpl implements LockerService {
+public class LockerServiceImpl implements LockerService, MeterBinder {
 
     private static final Logger logger = LoggerFactory.getLogger(LockerServiceImpl.class);
     private final LockerInventoryRepository lockerInventoryRepository;
 
+    private final AtomicLong increments = new AtomicLong();
+    private final AtomicLong decrements = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private final AtomicLong syncRuns = new AtomicLong();
+    private final AtomicLong driftCorrections = new AtomicLong();
+    private final Map<String, Integer> lastDrift = new ConcurrentHashMap<>();
+
     @Override
     public LockerAvailabilityDto getLockerAvailabilityByGender(String gender) {
-        LockerInventory inventory = lockerInventoryRepository.findByGender(gender.toUpperCase())
+        // 조회는 잠금 없이 (증감은 조건부 UPDATE 로 보호됨)
+        LockerInventory inventory = lockerInventoryRepository.findById(gender.toUpperCase())
                 .orElseThrow(() -> new ResourceNotFoundException("해당 성별의 사물함 재고 정보를 찾을 수 없습니다: " + gender,
                         ErrorCode.LOCKER_INVENTORY_NOT_FOUND));
 
@@ -41,59 +64,80 @@ public class LockerServiceImpl implements LockerService {
     @Override
     @Transactional // 쓰기 트랜잭션
     public void incrementUsedQuantity(String gender) {
-        LockerInventory inventory = lockerInventoryRepository.findByGender(gender.toUpperCase())
-                .orElseThrow(() -> new ResourceNotFoundException("해당 성별의 사물함 재고 정보를 찾을 수 없습니다: " + gender,
-                        ErrorCode.LOCKER_INVENTORY_NOT_FOUND));
-
-        if (inventory.getUsedQuantity() >= inventory.getTotalQuantity()) {
+        String key = gender.toUpperCase();
+        if (lockerInventoryRepository.incrementIfAvailable(key, LocalDateTime.now()) == 0) {
+            if (!lockerInventoryRepository.existsById(key)) {
+                throw new ResourceNotFoundException("해당 성별의 사물함 재고 정보를 찾을 수 없습니다: " + gender,
+                        ErrorCode.LOCKER_INVENTORY_NOT_FOUND);
+            }
+            rejections.incrementAndGet();
             throw new BusinessRuleException(ErrorCode.LOCKER_NOT_AVAILABLE, "해당 성별의 사용 가능한 사물함이 없습니다.");
         }
-
-        logger.info("Incrementing locker usage for gender: {}. Used: {}/{}",
-                gender, inventory.getUsedQuantity() + 1, inventory.getTotalQuantity());
-
-        inventory.setUsedQuantity(inventory.getUsedQuantity() + 1);
-        lockerInventoryRepository.save(inventory);
+        increments.incrementAndGet();
+        logger.info("Incremented locker usage for gender: {}", key);
     }
 
     @Override
     @Transactional // 쓰기 트랜잭션
     public void decrementUsedQuantity(String gender) {
-        LockerInventory inventory = lockerInventoryRepository.findByGender(gender.toUpperCase())
-                .orElseThrow(() -> new ResourceNotFoundException("해당 성별의 사물함 재고 정보를 찾을 수 없습니다: " + gender,
-                        ErrorCode.LOCKER_INVENTORY_NOT_FOUND));
-
-        if (inventory.getUsedQuantity() > 0) {
-            logger.info("Decrementing locker usage for gender: {}. Used: {}/{}",
-                    gender, inventory.getUsedQuantity() - 1, inventory.getTotalQuantity());
-
-            inventory.setUsedQuantity(inventory.getUsedQuantity() - 1);
-            lockerInventoryRepository.save(inventory);
-        } else {
+        String key = gender.toUpperCase();
+        if (lockerInventoryRepository.decrementIfPositive(key, LocalDateTime.now()) == 0) {
+            if (!lockerInventoryRepository.existsById(key)) {
+                throw new ResourceNotFoundException("해당 성별의 사물함 재고 정보를 찾을 수 없습니다: " + gender,
+                        ErrorCode.LOCKER_INVENTORY_NOT_FOUND);
+            }
             logger.warn("Attempted to decrement locker usage for gender: {} but usedQuantity is already 0", gender);
+            return;
         }
+        decrements.incrementAndGet();
+        logger.info("Decremented locker usage for gender: {}", key);
     }
 
     @Override
     @Transactional
     public void syncUsedQuantity(Map<String, Long> usageByGender) {
         List<LockerInventory> inventories = lockerInventoryRepository.findAll();
-        logger.info("Starting locker usage synchronization. Found {} inventory types.", inventories.size());
+        LocalDateTime now = LocalDateTime.now();
+        int corrected = 0;
 
         for (LockerInventory inventory : inventories) {
             String gender = inventory.getGender();
             int newUsage = usageByGender.getOrDefault(gender, 0L).intValue();
-
-            if (inventory.getUsedQuantity() != newUsage) {
-                logger.info("Syncing locker usage for gender: {}. Old: {}, New: {}. Total: {}",
+            int drift = inventory.getUsedQuantity() - newUsage;
+            lastDrift.put(gender, drift);
+
+            // 읽은 값이 아니라 현재 행과 비교하여 갱신 (읽은 뒤 들어온 증감과 경합해도 집계 값으로 수렴)
+            if (lockerInventoryRepository.updateUsedQuantity(gender, newUsage, now) > 0) {
+                corrected++;
+                driftCorrections.incrementAndGet();
+                logger.warn("Locker usage drift corrected for gender: {}. Inventory: {}, Enrollments: {}, Total: {}",
                         gender, inventory.getUsedQuantity(), newUsage, inventory.getTotalQuantity());
-                inventory.setUsedQuantity(newUsage);
-                lockerInventoryRepository.save(inventory);
-            } else {
-                logger.info("Locker usage for gender: {} is already up-to-date. Used: {}, Total: {}",
-                        gender, inventory.getUsedQuantity(), inventory.getTotalQuantity());
             }
         }
-        logger.info("Finished locker usage synchronization.");
+        syncRuns.incrementAndGet();
+        logger.info("Finished locker usage synchronization. {} of {} inventory types corrected.", corrected,
+                inventories.size());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("locker.inventory.increments", increments, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("locker.inventory.decrements", decrements, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("locker.inventory.rejections", rejections, AtomicLong::get)
+                .description("Increments refused because no locker was left")
+                .register(registry);
+        FunctionCounter.builder("locker.inventory.sync.runs", syncRuns, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("locker.inventory.drift.corrections", driftCorrections, AtomicLong::get)
+                .register(registry);
+        for (String gender : new String[] { "MALE", "FEMALE" }) {
+            Gauge.builder("locker.inventory.drift", lastDrift, drift -> drift.getOrDefault(gender, 0))
+                    .tag("gender", gender)
+                    .description("Difference found by the last aggregate sync")
+                    .register(registry);
+        }
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package cms.mainmedia.service.impl;
 
 import cms.common.exception.ErrorCode;
 import cms.common.exception.ResourceNotFoundException;
+import cms.content.bundle.PageBundleCache;
 import cms.file.entity.CmsFile;
 import cms.file.service.FileService;
 import cms.mainmedia.domain.MainMedia;
@@ -24,6 +25,7 @@ public class MainMediaServiceImpl implements MainMediaService {
 
     private final MainMediaRepository mainMediaRepository;
     private final FileService fileService;
+    private final PageBundleCache pageBundleCache;
 
     @Value("${app.file.base-url:http://localhost:8080/media}")
     private String fileBaseUrl;
@@ -41,6 +43,7 @@ public class MainMediaServiceImpl implements MainMediaService {
                 .build();
 
         MainMedia savedMedia = mainMediaRepository.save(mainMedia);
+        pageBundleCache.invalidateAfterCommit();
         return MainMediaResponseDto.from(savedMedia, fileBaseUrl);
     }
 
@@ -79,6 +82,7 @@ public class MainMediaServiceImpl implements MainMediaService {
                 requestDto.getDisplayOrder());
 
         MainMedia updatedMedia = mainMediaRepository.save(mainMedia);
+        pageBundleCache.invalidateAfterCommit();
         return MainMediaResponseDto.from(updatedMedia, fileBaseUrl);
     }
 
@@ -90,5 +94,6 @@ public class MainMediaServiceImpl implements MainMediaService {
 
         fileService.deleteFile(mainMedia.getCmsFile().getFileId());
         mainMediaRepository.delete(mainMedia);
+        pageBundleCache.invalidateAfterCommit();
     }
 }
\ No newline at end of file
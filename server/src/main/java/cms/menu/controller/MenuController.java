@@ -99,6 +99,14 @@ public class MenuController {
         return ResponseEntity.ok(ApiResponseSchema.success(activeMenus, "활성화된 메뉴 목록이 성공적으로 조회되었습니다."));
     }
 
+    @Operation(summary = "URL 로 공개 메뉴 조회", description = "페이지 URL 에 연결된 메뉴를 조회합니다.")
+    @GetMapping("/public/by-url")
+    public ResponseEntity<ApiResponseSchema<MenuDto>> getMenuByUrl(
+            @Parameter(description = "메뉴 URL") @RequestParam String url) {
+        MenuDto menu = menuService.getMenuByUrl(url);
+        return ResponseEntity.ok(ApiResponseSchema.success(menu, "메뉴 정보를 성공적으로 조회했습니다."));
+    }
+
     @Operation(summary = "메뉴 순서 일괄 업데이트", description = "여러 메뉴의 순서를 한 번에 업데이트합니다.")
     @PutMapping("/order")
     public ResponseEntity<ApiResponseSchema<List<MenuDto>>> updateMenuOrders(
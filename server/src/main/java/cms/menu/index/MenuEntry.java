@@ -0,0 +1,71 @@
+package cms.menu.index;
+
+import cms.menu.domain.Menu;
+import cms.menu.domain.MenuType;
+
+/**
+ * 메뉴 색인에 보관하는 불변 메뉴 정보 (엔티티는 영속성 컨텍스트 밖에서 공유하지 않음)
+ */
+public final class MenuEntry {
+    private final Long id;
+    private final String name;
+    private final MenuType type;
+    private final String url;
+    private final Long targetId;
+    private final String displayPosition;
+    private final Boolean visible;
+    private final Integer sortOrder;
+    private final Long parentId;
+
+    MenuEntry(Menu menu) {
+        this.id = menu.getId();
+        this.name = menu.getName();
+        this.type = menu.getType();
+        this.url = menu.getUrl();
+        this.targetId = menu.getTargetId();
+        this.displayPosition = menu.getDisplayPosition();
+        this.visible = menu.getVisible();
+        this.sortOrder = menu.getSortOrder();
+        this.parentId = menu.getParentId();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public MenuType getType() {
+        return type;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public String getDisplayPosition() {
+        return displayPosition;
+    }
+
+    public Boolean getVisible() {
+        return visible;
+    }
+
+    public Integer getSortOrder() {
+        return sortOrder;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public boolean isVisible() {
+        return visible == null || visible;
+    }
+}
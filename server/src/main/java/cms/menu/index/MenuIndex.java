@@ -0,0 +1,130 @@
+package cms.menu.index;
+
+import cms.menu.domain.Menu;
+import cms.menu.repository.MenuRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 메뉴 메모리 색인
+ *
+ * 공개 메뉴/트리 조회는 현재 {@link MenuSnapshot} 만 읽으므로 DB 를 조회하지 않습니다.
+ * 관리자 변경은 트랜잭션 커밋 후 새 스냅샷을 만들어 원자적으로 교체하고(버전 증가),
+ * 다른 노드에서의 변경은 {@link #refreshIfChanged()} (MenuIndexRefreshJob) 가 메뉴 수 / 최종 수정 시각을 비교해 반영합니다.
+ */
+@Component
+public class MenuIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuIndex.class);
+
+    private final MenuRepository menuRepository;
+
+    private final AtomicReference<MenuSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final Object rebuildLock = new Object();
+    // 마지막 스냅샷을 만든 시점의 DB 상태 (메뉴 수, 최종 수정 시각)
+    private volatile long loadedCount = -1;
+    private volatile LocalDateTime loadedUpdatedAt;
+
+    public MenuIndex(MenuRepository menuRepository) {
+        this.menuRepository = menuRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    /**
+     * 현재 스냅샷. 아직 만들어지지 않았으면 이 호출에서 한 번 만듭니다.
+     */
+    public MenuSnapshot snapshot() {
+        MenuSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (rebuildLock) {
+            snapshot = current.get();
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 색인을 다시 만듭니다.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        refresh();
+                    }
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    public void refresh() {
+        try {
+            synchronized (rebuildLock) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            // 기존 스냅샷을 유지. 색인 시점 정보가 갱신되지 않았으므로 다음 점검(refreshIfChanged)에서 다시 시도
+            logger.warn("Menu index rebuild failed, keeping version {}: {}",
+                    current.get() != null ? current.get().getVersion() : 0, e.getMessage());
+        }
+    }
+
+    /**
+     * DB 의 메뉴 수 또는 최종 수정 시각이 마지막 색인 시점과 다르면 다시 만듭니다.
+     *
+     * @return 다시 만들었는지 여부
+     */
+    public boolean refreshIfChanged() {
+        if (current.get() == null) {
+            return false;
+        }
+        List<Object[]> rows = menuRepository.summarize();
+        Object[] row = rows.isEmpty() ? new Object[] { 0L, null } : rows.get(0);
+        long count = ((Number) row[0]).longValue();
+        LocalDateTime updatedAt = (LocalDateTime) row[1];
+        if (count == loadedCount && (updatedAt == null ? loadedUpdatedAt == null : updatedAt.equals(loadedUpdatedAt))) {
+            return false;
+        }
+        refresh();
+        return true;
+    }
+
+    private MenuSnapshot rebuild() {
+        long started = System.currentTimeMillis();
+        List<Menu> menus = menuRepository.findAll(Sort.by("id"));
+        MenuSnapshot snapshot = new MenuSnapshot(versions.incrementAndGet(), menus);
+        LocalDateTime updatedAt = null;
+        for (Menu menu : menus) {
+            if (menu.getUpdatedAt() != null && (updatedAt == null || menu.getUpdatedAt().isAfter(updatedAt))) {
+                updatedAt = menu.getUpdatedAt();
+            }
+        }
+        loadedCount = menus.size();
+        loadedUpdatedAt = updatedAt;
+        current.set(snapshot);
+        logger.debug("Menu index v{} built with {} menus in {} ms", snapshot.getVersion(), snapshot.size(),
+                System.currentTimeMillis() - started);
+        return snapshot;
+    }
+}
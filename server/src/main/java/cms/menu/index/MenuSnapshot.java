@@ -0,0 +1,104 @@
+package cms.menu.index;
+
+import cms.menu.domain.Menu;
+import cms.menu.domain.MenuType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 특정 시점의 메뉴 전체에 대한 불변 색인
+ *
+ * 한 번의 순회(O(n))로 ID / 부모 -> 자식 / 타입 / URL 조회용 맵을 만듭니다.
+ * 목록 순서는 메뉴 ID 순서(기존 findAll 결과와 동일)를 유지합니다.
+ * 존재하지 않는 부모를 가리키는 메뉴는 기존 트리와 마찬가지로 트리에 나타나지 않습니다.
+ */
+public final class MenuSnapshot {
+
+    private final long version;
+    private final LocalDateTime builtAt;
+    private final List<MenuEntry> all;
+    private final Map<Long, MenuEntry> byId;
+    private final List<MenuEntry> roots;
+    private final Map<Long, List<MenuEntry>> childrenByParent;
+    private final Map<MenuType, List<MenuEntry>> byType;
+    private final Map<String, MenuEntry> byUrl;
+
+    MenuSnapshot(long version, List<Menu> menus) {
+        this.version = version;
+        this.builtAt = LocalDateTime.now();
+        List<MenuEntry> entries = new ArrayList<>(menus.size());
+        Map<Long, MenuEntry> ids = new HashMap<>(menus.size() * 2);
+        List<MenuEntry> rootEntries = new ArrayList<>();
+        Map<Long, List<MenuEntry>> children = new HashMap<>();
+        Map<MenuType, List<MenuEntry>> types = new EnumMap<>(MenuType.class);
+        Map<String, MenuEntry> urls = new HashMap<>();
+        for (Menu menu : menus) {
+            MenuEntry entry = new MenuEntry(menu);
+            entries.add(entry);
+            ids.put(entry.getId(), entry);
+            if (entry.getParentId() == null) {
+                rootEntries.add(entry);
+            } else {
+                children.computeIfAbsent(entry.getParentId(), key -> new ArrayList<>()).add(entry);
+            }
+            if (entry.getType() != null) {
+                types.computeIfAbsent(entry.getType(), key -> new ArrayList<>()).add(entry);
+            }
+            if (entry.getUrl() != null && !entry.getUrl().isEmpty()) {
+                urls.putIfAbsent(entry.getUrl(), entry);
+            }
+        }
+        children.replaceAll((key, value) -> Collections.unmodifiableList(value));
+        types.replaceAll((key, value) -> Collections.unmodifiableList(value));
+        this.all = Collections.unmodifiableList(entries);
+        this.byId = Collections.unmodifiableMap(ids);
+        this.roots = Collections.unmodifiableList(rootEntries);
+        this.childrenByParent = Collections.unmodifiableMap(children);
+        this.byType = Collections.unmodifiableMap(types);
+        this.byUrl = Collections.unmodifiableMap(urls);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    public List<MenuEntry> getAll() {
+        return all;
+    }
+
+    public MenuEntry get(Long id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    public List<MenuEntry> getRoots() {
+        return roots;
+    }
+
+    public List<MenuEntry> getChildren(Long parentId) {
+        List<MenuEntry> children = childrenByParent.get(parentId);
+        return children != null ? children : Collections.emptyList();
+    }
+
+    public List<MenuEntry> getByType(MenuType type) {
+        List<MenuEntry> entries = byType.get(type);
+        return entries != null ? entries : Collections.emptyList();
+    }
+
+    public MenuEntry getByUrl(String url) {
+        return url == null ? null : byUrl.get(url);
+    }
+}
@@ -5,6 +5,7 @@ import cms.menu.domain.MenuType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,4 +26,10 @@ public interface MenuRepository extends JpaRepository<Menu, Long> {
 
     // Find the first menu linked to a specific target type (enum) and ID
     Optional<Menu> findFirstByTypeAndTargetId(MenuType type, Long targetId);
+
+    /**
+     * 메뉴 수와 최종 수정 시각 (메뉴 색인 변경 감지용)
+     */
+    @Query("SELECT COUNT(m), MAX(m.updatedAt) FROM Menu m")
+    List<Object[]> summarize();
 } 
\ No newline at end of file
@@ -39,6 +39,13 @@ public interface MenuService {
      */
     MenuDto getMenu(Long id);
     
+    /**
+     * URL 로 메뉴를 조회한다.
+     * @param url 메뉴 URL
+     * @return 메뉴 정보
+     */
+    MenuDto getMenuByUrl(String url);
+    
     /**
      * 메뉴 트리를 조회한다.
      * @return 메뉴 트리 목록
@@ -5,6 +5,9 @@ import cms.menu.domain.MenuType;
 import cms.menu.dto.MenuDto;
 import cms.menu.dto.MenuOrderDto;
 import cms.menu.dto.PageDetailsDto;
+import cms.menu.index.MenuEntry;
+import cms.menu.index.MenuIndex;
+import cms.menu.index.MenuSnapshot;
 import cms.menu.repository.MenuRepository;
 import cms.menu.service.MenuService;
 import cms.board.domain.BbsMasterDomain;
@@ -18,7 +21,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -33,6 +42,7 @@ public class MenuServiceImpl implements MenuService {
     private final MenuRepository menuRepository;
     private final BbsMasterRepository bbsMasterRepository;
     private final ModelMapper modelMapper;
+    private final MenuIndex menuIndex;
     private static final Logger log = LoggerFactory.getLogger(MenuServiceImpl.class);
 
     @Override
@@ -56,6 +66,7 @@ public class MenuServiceImpl implements MenuService {
                 .build();
         
         Menu savedMenu = menuRepository.save(menu);
+        menuIndex.refreshAfterCommit();
         return convertToDto(savedMenu);
     }
 
@@ -81,21 +92,25 @@ public class MenuServiceImpl implements MenuService {
         }
         menu.setParentId(parentId);
         
-        return convertToDto(menuRepository.save(menu));
+        Menu savedMenu = menuRepository.save(menu);
+        menuIndex.refreshAfterCommit();
+        return convertToDto(savedMenu);
     }
 
     @Override
     @Transactional
     public void deleteMenu(Long id) {
         menuRepository.deleteById(id);
+        menuIndex.refreshAfterCommit();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public MenuDto getMenu(Long id) {
-        return menuRepository.findById(id)
-                .map(this::convertToDto)
-                .orElseThrow(() -> new RuntimeException("Menu not found"));
+        MenuEntry menu = menuIndex.snapshot().get(id);
+        if (menu == null) {
+            throw new RuntimeException("Menu not found");
+        }
+        return convertToDto(menu);
     }
 
     @Override
@@ -108,22 +123,28 @@ public class MenuServiceImpl implements MenuService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<MenuDto> getMenuTree() {
-        List<Menu> menus = menuRepository.findAll();
-        return buildMenuTree(menus);
+        return buildMenuTree(menuIndex.snapshot());
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<MenuDto> getActiveMenus() {
-        return menuRepository.findAll()
+        return menuIndex.snapshot().getAll()
                 .stream()
-                .filter(menu -> menu.getVisible() == null || menu.getVisible())
+                .filter(MenuEntry::isVisible)
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public MenuDto getMenuByUrl(String url) {
+        MenuEntry menu = menuIndex.snapshot().getByUrl(url);
+        if (menu == null || !menu.isVisible()) {
+            throw new EntityNotFoundException("Menu not found with url: " + url);
+        }
+        return convertToDto(menu);
+    }
+
     @Override
     @Transactional
     public void updateMenuActive(Long id, boolean visible) {
@@ -132,6 +153,7 @@ public class MenuServiceImpl implements MenuService {
         
         menu.setVisible(visible);
         menuRepository.save(menu);
+        menuIndex.refreshAfterCommit();
     }
 
     @Override
@@ -142,93 +164,128 @@ public class MenuServiceImpl implements MenuService {
         
         menu.setSortOrder(sortOrder);
         menuRepository.save(menu);
+        menuIndex.refreshAfterCommit();
     }
 
     @Override
     @Transactional
     public List<MenuDto> updateMenuOrders(List<MenuOrderDto> orders) {
+        // 전체 메뉴를 한 번만 읽어 메모리에서 이동/재정렬한 뒤 바뀐 행만 일괄 저장
+        List<Menu> allMenus = menuRepository.findAll();
+        Map<Long, Menu> menusById = new HashMap<>();
+        Map<Long, List<Menu>> siblingsByParent = new HashMap<>();
+        for (Menu menu : allMenus) {
+            menusById.put(menu.getId(), menu);
+        }
+        for (Menu menu : allMenus) {
+            siblingsByParent.computeIfAbsent(menu.getParentId(), key -> new ArrayList<>()).add(menu);
+        }
+        Comparator<Menu> bySortOrder = Comparator.comparing(Menu::getSortOrder, Comparator.nullsFirst(Integer::compare))
+                .thenComparing(Menu::getId);
+        siblingsByParent.values().forEach(siblings -> siblings.sort(bySortOrder));
+
+        Map<Long, Integer> originalOrders = new HashMap<>();
+        Map<Long, Long> originalParents = new HashMap<>();
+        for (Menu menu : allMenus) {
+            originalOrders.put(menu.getId(), menu.getSortOrder());
+            originalParents.put(menu.getId(), menu.getParentId());
+        }
+
         List<Menu> updatedMenus = new ArrayList<>();
-        
+        Set<Long> touchedParents = new LinkedHashSet<>();
         for (MenuOrderDto order : orders) {
-            Menu menu = menuRepository.findById(order.getId())
-                    .orElseThrow(() -> new RuntimeException("Menu not found: " + order.getId()));
-            
+            Menu menu = menusById.get(order.getId());
+            if (menu == null) {
+                throw new RuntimeException("Menu not found: " + order.getId());
+            }
+            siblingsByParent.get(menu.getParentId()).remove(menu);
+            touchedParents.add(menu.getParentId());
+
+            Long newParentId;
+            int position;
             if (order.getTargetId() != null) {
-                Menu targetMenu = menuRepository.findById(order.getTargetId())
-                        .orElseThrow(() -> new RuntimeException("Target menu not found: " + order.getTargetId()));
-                
-                switch (order.getPosition()) {
+                Menu targetMenu = menusById.get(order.getTargetId());
+                if (targetMenu == null) {
+                    throw new RuntimeException("Target menu not found: " + order.getTargetId());
+                }
+                String where = order.getPosition() != null ? order.getPosition() : "";
+                switch (where) {
                     case "before":
-                        menu.setSortOrder(targetMenu.getSortOrder() - 1);
-                        break;
                     case "after":
-                        menu.setSortOrder(targetMenu.getSortOrder() + 1);
+                        newParentId = targetMenu.getParentId();
+                        List<Menu> targetSiblings = siblingsByParent.computeIfAbsent(newParentId, key -> new ArrayList<>());
+                        position = targetSiblings.indexOf(targetMenu) + ("after".equals(where) ? 1 : 0);
                         break;
                     case "inside":
-                        menu.setParentId(targetMenu.getId());
-                        menu.setSortOrder(0);
+                        newParentId = targetMenu.getId();
+                        position = 0;
                         break;
                     default:
                         throw new RuntimeException("Invalid position: " + order.getPosition());
                 }
             } else {
                 // 최상위 메뉴로 이동
-                menu.setParentId(null);
-                menu.setSortOrder(0);
+                newParentId = null;
+                position = 0;
             }
-            
-            updatedMenus.add(menuRepository.save(menu));
+            if (newParentId != null && isDescendantOrSelf(newParentId, menu.getId(), menusById)) {
+                throw new IllegalArgumentException("메뉴를 자기 자신 또는 하위 메뉴 아래로 이동할 수 없습니다: " + menu.getId());
+            }
+
+            menu.setParentId(newParentId);
+            siblingsByParent.computeIfAbsent(newParentId, key -> new ArrayList<>()).add(position, menu);
+            touchedParents.add(newParentId);
+            updatedMenus.add(menu);
         }
-        
-        // 순서 재정렬
-        List<Menu> allMenus = menuRepository.findAll();
-        for (Menu menu : allMenus) {
-            if (menu.getParentId() == null) {
-                updateSortOrder(menu, allMenus);
+
+        // 영향받은 형제 목록만 0부터 다시 번호 부여
+        for (Long parentId : touchedParents) {
+            List<Menu> siblings = siblingsByParent.getOrDefault(parentId, new ArrayList<>());
+            for (int i = 0; i < siblings.size(); i++) {
+                siblings.get(i).setSortOrder(i);
             }
         }
-        
+
+        List<Menu> changed = allMenus.stream()
+                .filter(menu -> !Objects.equals(originalOrders.get(menu.getId()), menu.getSortOrder())
+                        || !Objects.equals(originalParents.get(menu.getId()), menu.getParentId()))
+                .collect(Collectors.toList());
+        menuRepository.saveAll(changed);
+        menuIndex.refreshAfterCommit();
+        log.debug("Menu order update changed {} of {} menus", changed.size(), allMenus.size());
+
         return updatedMenus.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
-    
-    private void updateSortOrder(Menu menu, List<Menu> allMenus) {
-        List<Menu> siblings = allMenus.stream()
-                .filter(m -> m.getParentId() == menu.getParentId())
-                .sorted(Comparator.comparing(Menu::getSortOrder))
-                .collect(Collectors.toList());
-        
-        for (int i = 0; i < siblings.size(); i++) {
-            Menu sibling = siblings.get(i);
-            sibling.setSortOrder(i);
-            menuRepository.save(sibling);
+
+    private boolean isDescendantOrSelf(Long candidateId, Long ancestorId, Map<Long, Menu> menusById) {
+        Set<Long> visited = new LinkedHashSet<>();
+        Long current = candidateId;
+        while (current != null && visited.add(current)) {
+            if (current.equals(ancestorId)) {
+                return true;
+            }
+            Menu menu = menusById.get(current);
+            current = menu != null ? menu.getParentId() : null;
         }
+        return false;
     }
 
-    private List<MenuDto> buildMenuTree(List<Menu> menus) {
-        List<MenuDto> rootMenus = menus.stream()
-                .filter(menu -> menu.getParentId() == null)
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-
-        for (MenuDto rootMenu : rootMenus) {
-            buildChildren(rootMenu, menus);
+    private List<MenuDto> buildMenuTree(MenuSnapshot snapshot) {
+        List<MenuDto> rootMenus = new ArrayList<>();
+        for (MenuEntry root : snapshot.getRoots()) {
+            rootMenus.add(buildNode(root, snapshot));
         }
-
         return rootMenus;
     }
 
-    private void buildChildren(MenuDto parent, List<Menu> allMenus) {
-        List<MenuDto> children = allMenus.stream()
-                .filter(menu -> parent.getId().equals(menu.getParentId()))
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-
-        parent.setChildren(children);
-        for (MenuDto child : children) {
-            buildChildren(child, allMenus);
+    private MenuDto buildNode(MenuEntry menu, MenuSnapshot snapshot) {
+        MenuDto dto = convertToDto(menu);
+        for (MenuEntry child : snapshot.getChildren(menu.getId())) {
+            dto.getChildren().add(buildNode(child, snapshot));
         }
+        return dto;
     }
 
     private MenuDto convertToDto(Menu menu) {
@@ -250,11 +307,32 @@ public class MenuServiceImpl implements MenuService {
         return dto;
     }
 
+    private MenuDto convertToDto(MenuEntry menu) {
+        MenuDto dto = new MenuDto();
+        dto.setId(menu.getId());
+        dto.setName(menu.getName());
+        dto.setType(menu.getType());
+        dto.setUrl(menu.getUrl());
+        dto.setTargetId(menu.getTargetId());
+        dto.setDisplayPosition(menu.getDisplayPosition());
+        dto.setVisible(menu.isVisible());
+        dto.setSortOrder(menu.getSortOrder());
+        dto.setParentId(menu.getParentId());
+        dto.setChildren(new ArrayList<>());
+        return dto;
+    }
+
     @Override
-    @Transactional(readOnly = true)
     public List<MenuDto> getActiveMenusByType(String type) {
-        return menuRepository.findByTypeAndVisibleTrue(type)
+        MenuType menuType;
+        try {
+            menuType = MenuType.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return new ArrayList<>();
+        }
+        return menuIndex.snapshot().getByType(menuType)
                 .stream()
+                .filter(menu -> menu.getVisible() != null && menu.getVisible())
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
@@ -267,10 +345,11 @@ public class MenuServiceImpl implements MenuService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public PageDetailsDto getPageDetailsByMenuId(Long menuId) {
-        Menu menu = menuRepository.findById(menuId)
-                .orElseThrow(() -> new EntityNotFoundException("Menu not found with id: " + menuId));
+        MenuEntry menu = menuIndex.snapshot().get(menuId);
+        if (menu == null) {
+            throw new EntityNotFoundException("Menu not found with id: " + menuId);
+        }
 
         PageDetailsDto.PageDetailsDtoBuilder dtoBuilder = PageDetailsDto.builder()
                 .menuId(menu.getId())
@@ -15,13 +15,13 @@ import cms.payment.domain.PaymentStatus;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus; // For potential use in BusinessRuleException
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZoneOffset;
-import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
@@ -43,14 +43,12 @@ public class MypagePaymentServiceImpl implements MypagePaymentService {
     @Override
     @Transactional(readOnly = true)
     public Page<PaymentDto> getPaymentHistory(User user, Pageable pageable) {
-        List<Payment> payments = paymentRepository.findByEnroll_User_UuidOrderByCreatedAtDesc(user.getUuid());
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), payments.size());
-        List<PaymentDto> dtoList = payments.subList(start, end).stream()
+        // 정렬은 최신 결제순 고정 (쿼리의 ORDER BY), 요청의 sort 는 사용하지 않음
+        Page<Payment> payments = paymentRepository.findPageWithLessonByUserUuid(user.getUuid(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        return new PageImpl<>(payments.getContent().stream()
                 .map(this::convertToPaymentDto)
-                .collect(Collectors.toList());
-        return new PageImpl<>(dtoList, pageable, payments.size());
+                .collect(Collectors.toList()), pageable, payments.getTotalElements());
     }
 
     @Override
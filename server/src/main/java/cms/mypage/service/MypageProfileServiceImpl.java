@@ -1,5 +1,6 @@
 package cms.mypage.service;
 
+import cms.auth.security.VerifiedTokenCache;
 import cms.mypage.dto.ProfileDto;
 import cms.mypage.dto.PasswordChangeDto;
 import cms.user.domain.User;
@@ -25,6 +26,7 @@ public class MypageProfileServiceImpl implements MypageProfileService {
     private static final Logger logger = LoggerFactory.getLogger(MypageProfileServiceImpl.class);
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -81,6 +83,7 @@ public class MypageProfileServiceImpl implements MypageProfileService {
             user.setTempPwFlag(false);
         }
         userRepository.save(user);
+        verifiedTokenCache.invalidateUser(user.getUuid());
     }
 
     @Override
@@ -93,6 +96,7 @@ public class MypageProfileServiceImpl implements MypageProfileService {
             user.setPassword(passwordEncoder.encode(temporaryPassword));
             user.setTempPwFlag(true);
             userRepository.save(user);
+            verifiedTokenCache.invalidateUser(user.getUuid());
 
             logger.info("Temporary password issued for user: {}. Email: {}. Temporary Password: {}", 
                         user.getUsername(), user.getEmail(), temporaryPassword);
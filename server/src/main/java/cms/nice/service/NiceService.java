@@ -1,6 +1,7 @@
 package cms.nice.service;
 
 import NiceID.Check.CPClient;
+import cms.auth.security.VerifiedTokenCache;
 import cms.common.service.EmailService;
 import cms.common.exception.EmailSendingException;
 import cms.nice.dto.NiceCallbackResultDto;
@@ -52,6 +53,7 @@ public class NiceService {
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     private static class CacheEntry {
         Object data;
@@ -200,6 +202,7 @@ public class NiceService {
                             userToReset.setIsTemporary(true);
                             userToReset.setResetTokenExpiry(LocalDateTime.now().plusHours(1));
                             userRepository.save(userToReset);
+                            verifiedTokenCache.invalidateUser(userToReset.getUuid());
                             
                             emailService.sendTemporaryPasswordEmail(userToReset.getEmail(), tempPassword, userToReset.getName());
                             log.info("[NICE] RESET_PASSWORD - Temporary password email sent to: {} for user: {}", userToReset.getEmail(), userToReset.getUsername());
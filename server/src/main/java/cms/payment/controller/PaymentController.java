@@ -27,6 +27,7 @@ import cms.common.exception.ErrorCode;
 import org.springframework.http.HttpStatus;
 import cms.kispg.dto.KispgPaymentResultDto;
 import cms.common.util.IpUtil;
+import cms.enroll.admission.EnrollmentAdmissionQueue;
 
 @RestController
 @RequestMapping("/payment")
@@ -35,6 +36,7 @@ import cms.common.util.IpUtil;
 public class PaymentController {
 
     private final KispgPaymentService kispgPaymentService;
+    private final EnrollmentAdmissionQueue admissionQueue;
     private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
 
     @GetMapping("/kispg-init-params/{enrollId}")
@@ -68,6 +70,10 @@ public class PaymentController {
             @AuthenticationPrincipal User currentUser,
             HttpServletRequest request) {
 
+        // 대기열 입장 순서가 된 요청만 결제 준비(정원 확인) 단계로 진입
+        admissionQueue.checkAdmission(enrollRequest.getAdmissionTicket(),
+                currentUser != null ? currentUser.getUuid() : null, enrollRequest.getLessonId());
+
         String userIp = IpUtil.getClientIp();
         KispgInitParamsDto initParams = kispgPaymentService.preparePaymentWithoutEnroll(enrollRequest, currentUser,
                 userIp);
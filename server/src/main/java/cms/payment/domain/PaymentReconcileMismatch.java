@@ -0,0 +1,61 @@
+package cms.payment.domain;
+
+import javax.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payment_reconcile_mismatch")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReconcileMismatch {
+
+    public static final String TYPE_MISSING_AT_PG = "MISSING_AT_PG";
+    public static final String TYPE_AMOUNT = "AMOUNT";
+    public static final String TYPE_STATUS = "STATUS";
+    public static final String TYPE_QUERY_ERROR = "QUERY_ERROR";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+
+    @Column(name = "tid", length = 100)
+    private String tid;
+
+    @Column(name = "moid", length = 255)
+    private String moid;
+
+    @Column(name = "mismatch_type", nullable = false, length = 20)
+    private String mismatchType;
+
+    @Column(name = "db_status", length = 50)
+    private String dbStatus;
+
+    @Column(name = "db_amount")
+    private Integer dbAmount;
+
+    @Column(name = "pg_result_code", length = 20)
+    private String pgResultCode;
+
+    @Column(name = "pg_cancelled")
+    private Boolean pgCancelled;
+
+    @Column(name = "pg_amount")
+    private Integer pgAmount;
+
+    @Column(name = "detail", length = 500)
+    private String detail;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,70 @@
+package cms.payment.domain;
+
+import javax.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payment_reconcile_run")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReconcileRun {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_PAUSED = "PAUSED";
+    public static final String STATUS_STOPPED = "STOPPED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "run_id")
+    private Long runId;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+
+    @Column(name = "checkpoint_payment_id", nullable = false)
+    private long checkpointPaymentId;
+
+    @Column(name = "scanned_count", nullable = false)
+    private long scannedCount;
+
+    @Column(name = "matched_count", nullable = false)
+    private long matchedCount;
+
+    @Column(name = "mismatched_count", nullable = false)
+    private long mismatchedCount;
+
+    @Column(name = "skipped_count", nullable = false)
+    private long skippedCount;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_by", length = 36)
+    private String createdBy;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,499 @@
+package cms.payment.reconcile;
+
+import cms.common.exception.BusinessRuleException;
+import cms.common.exception.ErrorCode;
+import cms.common.exception.ResourceNotFoundException;
+import cms.kispg.client.PgCircuitOpenException;
+import cms.kispg.service.KispgPaymentService;
+import cms.payment.domain.Payment;
+import cms.payment.domain.PaymentReconcileMismatch;
+import cms.payment.domain.PaymentReconcileRun;
+import cms.payment.domain.PaymentStatus;
+import cms.payment.repository.PaymentReconcileMismatchRepository;
+import cms.payment.repository.PaymentReconcileRunRepository;
+import cms.payment.repository.PaymentRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 결제 대사 (DB 결제 내역 <-> KISPG 거래조회)
+ *
+ * 기간 안의 결제를 ID 순 키셋으로 batch-size 건씩 읽어 concurrency 개의 스레드로 PG 거래조회를 호출하고
+ * (KispgHttpClient 연결 풀 / 회로 차단기 사용), 금액과 상태가 다르면 payment_reconcile_mismatch 에 기록합니다.
+ *
+ * - 배치마다 불일치 기록과 재개 지점(마지막 결제 ID)을 한 트랜잭션으로 저장하므로 중단 후 재개해도 중복 기록 없음
+ * - 회로 차단기가 열리면 PAUSED 로 멈추고, 통신 오류는 retries 만큼 재시도한 뒤 QUERY_ERROR 로 기록
+ * - 실행은 노드당 하나. 다른 노드에서 진행 중인 실행은 stale-after 동안 진행 기록이 없을 때만 재개 가능
+ * - PG 주소는 kispg.url 설정을 따르므로 pg-stub 프로필의 {@link cms.kispg.stub.KispgStubController} 로 그대로 검증할 수 있음
+ */
+@Component
+public class PaymentReconciliationEngine implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReconciliationEngine.class);
+    private static final String PG_SUCCESS_CODE = "0000";
+    private static final int MAX_DETAIL_LENGTH = 500;
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentReconcileRunRepository runRepository;
+    private final PaymentReconcileMismatchRepository mismatchRepository;
+    private final KispgPaymentService kispgPaymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int concurrency;
+    private final int retries;
+    private final long retryDelayMillis;
+    private final long staleAfterMillis;
+
+    private ExecutorService coordinator;
+    private ExecutorService queryPool;
+
+    private final AtomicReference<Long> activeRunId = new AtomicReference<>();
+    private volatile boolean stopRequested;
+    private volatile long lastBatchMillis;
+
+    private final AtomicLong sessionScanned = new AtomicLong();
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong queryRetries = new AtomicLong();
+    private final AtomicLong queryErrors = new AtomicLong();
+    private final AtomicLong totalQueryMillis = new AtomicLong();
+    private final AtomicLong mismatchesRecorded = new AtomicLong();
+    private final AtomicLong circuitPauses = new AtomicLong();
+
+    public PaymentReconciliationEngine(PaymentRepository paymentRepository,
+            PaymentReconcileRunRepository runRepository,
+            PaymentReconcileMismatchRepository mismatchRepository,
+            KispgPaymentService kispgPaymentService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.payment.reconcile.batch-size:200}") int batchSize,
+            @Value("${app.payment.reconcile.concurrency:4}") int concurrency,
+            @Value("${app.payment.reconcile.retries:2}") int retries,
+            @Value("${app.payment.reconcile.retry-delay:500}") long retryDelayMillis,
+            @Value("${app.payment.reconcile.stale-after:300000}") long staleAfterMillis) {
+        this.paymentRepository = paymentRepository;
+        this.runRepository = runRepository;
+        this.mismatchRepository = mismatchRepository;
+        this.kispgPaymentService = kispgPaymentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.concurrency = Math.max(1, concurrency);
+        this.retries = Math.max(0, retries);
+        this.retryDelayMillis = retryDelayMillis;
+        this.staleAfterMillis = staleAfterMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        coordinator = Executors.newSingleThreadExecutor(r -> daemon(r, "payment-reconcile"));
+        AtomicInteger sequence = new AtomicInteger();
+        queryPool = Executors.newFixedThreadPool(concurrency,
+                r -> daemon(r, "payment-reconcile-query-" + sequence.incrementAndGet()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        // 진행 중인 배치는 버려지고 재개 시 다시 처리됨
+        stopRequested = true;
+        coordinator.shutdownNow();
+        queryPool.shutdownNow();
+    }
+
+    /**
+     * 기간(결제 생성일 기준, 종료일 포함)의 대사를 시작합니다.
+     */
+    public PaymentReconcileRun startRun(LocalDate periodStart, LocalDate periodEnd, String requestedBy) {
+        if (periodStart == null || periodEnd == null || periodEnd.isBefore(periodStart)) {
+            throw new BusinessRuleException(ErrorCode.INVALID_INPUT_VALUE, "대사 기간이 올바르지 않습니다.");
+        }
+        ensureNoActiveRun();
+        LocalDateTime now = LocalDateTime.now();
+        PaymentReconcileRun run = runRepository.save(PaymentReconcileRun.builder()
+                .periodStart(periodStart)
+                .periodEnd(periodEnd)
+                .status(PaymentReconcileRun.STATUS_RUNNING)
+                .totalCount(paymentRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+                        periodStart.atStartOfDay(), periodEnd.plusDays(1).atStartOfDay()))
+                .createdBy(requestedBy)
+                .startedAt(now)
+                .updatedAt(now)
+                .build());
+        launch(run.getRunId());
+        logger.info("[Reconcile] Run {} started for {} ~ {} ({} payments)", run.getRunId(), periodStart, periodEnd,
+                run.getTotalCount());
+        return run;
+    }
+
+    /**
+     * 멈춘 대사를 마지막 재개 지점부터 이어서 실행합니다.
+     */
+    public PaymentReconcileRun resumeRun(Long runId) {
+        PaymentReconcileRun run = getRun(runId);
+        if (PaymentReconcileRun.STATUS_COMPLETED.equals(run.getStatus())) {
+            throw new BusinessRuleException(ErrorCode.INVALID_INPUT_VALUE, "이미 완료된 대사입니다.");
+        }
+        ensureNoActiveRun();
+        run.setStatus(PaymentReconcileRun.STATUS_RUNNING);
+        run.setLastError(null);
+        run.setFinishedAt(null);
+        run.setUpdatedAt(LocalDateTime.now());
+        run = runRepository.save(run);
+        launch(runId);
+        logger.info("[Reconcile] Run {} resumed after payment {}", runId, run.getCheckpointPaymentId());
+        return run;
+    }
+
+    /**
+     * 진행 중인 대사를 현재 배치가 끝난 뒤 멈춥니다.
+     */
+    public PaymentReconcileRun stopRun(Long runId) {
+        PaymentReconcileRun run = getRun(runId);
+        if (runId.equals(activeRunId.get())) {
+            stopRequested = true;
+        } else if (PaymentReconcileRun.STATUS_RUNNING.equals(run.getStatus()) && isStale(run)) {
+            // 중단된 노드에 남은 실행
+            finish(runId, PaymentReconcileRun.STATUS_STOPPED, null);
+            run = getRun(runId);
+        }
+        return run;
+    }
+
+    public PaymentReconcileRun getRun(Long runId) {
+        return runRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("대사 실행을 찾을 수 없습니다: " + runId,
+                        ErrorCode.RECONCILE_RUN_NOT_FOUND));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("payment.reconcile.active", activeRunId, run -> run.get() != null ? 1 : 0)
+                .register(registry);
+        Gauge.builder("payment.reconcile.session.scanned", sessionScanned, AtomicLong::get)
+                .description("Payments checked since the active run was started or resumed")
+                .register(registry);
+        Gauge.builder("payment.reconcile.batch.duration", this, engine -> engine.lastBatchMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionTimer.builder("payment.reconcile.pg.queries", this, engine -> engine.queries.get(),
+                        engine -> engine.totalQueryMillis.get(), TimeUnit.MILLISECONDS)
+                .register(registry);
+        FunctionCounter.builder("payment.reconcile.pg.retries", queryRetries, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("payment.reconcile.pg.errors", queryErrors, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("payment.reconcile.mismatches", mismatchesRecorded, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("payment.reconcile.circuit.pauses", circuitPauses, AtomicLong::get)
+                .register(registry);
+    }
+
+    private void ensureNoActiveRun() {
+        if (activeRunId.get() != null) {
+            throw new BusinessRuleException(ErrorCode.RECONCILE_RUN_IN_PROGRESS, HttpStatus.CONFLICT);
+        }
+        for (PaymentReconcileRun running : runRepository.findByStatus(PaymentReconcileRun.STATUS_RUNNING)) {
+            if (!isStale(running)) {
+                throw new BusinessRuleException(ErrorCode.RECONCILE_RUN_IN_PROGRESS, HttpStatus.CONFLICT);
+            }
+        }
+    }
+
+    private boolean isStale(PaymentReconcileRun run) {
+        return run.getUpdatedAt() == null
+                || run.getUpdatedAt().isBefore(LocalDateTime.now().minusNanos(staleAfterMillis * 1_000_000));
+    }
+
+    private void launch(Long runId) {
+        if (!activeRunId.compareAndSet(null, runId)) {
+            throw new BusinessRuleException(ErrorCode.RECONCILE_RUN_IN_PROGRESS, HttpStatus.CONFLICT);
+        }
+        stopRequested = false;
+        sessionScanned.set(0);
+        coordinator.execute(() -> {
+            try {
+                execute(runId);
+            } catch (Exception e) {
+                logger.error("[Reconcile] Run {} failed: {}", runId, e.getMessage(), e);
+                finish(runId, PaymentReconcileRun.STATUS_FAILED, e.getMessage());
+            } finally {
+                activeRunId.set(null);
+            }
+        });
+    }
+
+    private void execute(Long runId) {
+        PaymentReconcileRun run = getRun(runId);
+        LocalDateTime from = run.getPeriodStart().atStartOfDay();
+        LocalDateTime to = run.getPeriodEnd().plusDays(1).atStartOfDay();
+        long checkpoint = run.getCheckpointPaymentId();
+
+        while (!stopRequested) {
+            long batchStarted = System.currentTimeMillis();
+            List<Payment> batch = paymentRepository.findReconcileBatch(from, to, checkpoint,
+                    PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                finish(runId, PaymentReconcileRun.STATUS_COMPLETED, null);
+                logger.info("[Reconcile] Run {} completed", runId);
+                return;
+            }
+
+            List<CompletableFuture<Outcome>> futures = new ArrayList<>(batch.size());
+            for (Payment payment : batch) {
+                futures.add(CompletableFuture.supplyAsync(() -> check(runId, payment), queryPool));
+            }
+            List<Outcome> outcomes = new ArrayList<>(batch.size());
+            try {
+                for (CompletableFuture<Outcome> future : futures) {
+                    outcomes.add(future.join());
+                }
+            } catch (CompletionException e) {
+                futures.forEach(f -> f.cancel(false));
+                if (e.getCause() instanceof PgCircuitOpenException) {
+                    // 배치는 저장하지 않았으므로 재개 시 같은 지점부터 다시 조회
+                    circuitPauses.incrementAndGet();
+                    finish(runId, PaymentReconcileRun.STATUS_PAUSED, "PG 회로 차단기가 열려 대사를 멈췄습니다.");
+                    logger.warn("[Reconcile] Run {} paused at payment {}: PG circuit open", runId, checkpoint);
+                    return;
+                }
+                throw e;
+            }
+
+            long lastId = batch.get(batch.size() - 1).getId();
+            saveBatch(runId, lastId, outcomes);
+            checkpoint = lastId;
+
+            sessionScanned.addAndGet(batch.size());
+            lastBatchMillis = System.currentTimeMillis() - batchStarted;
+        }
+        finish(runId, PaymentReconcileRun.STATUS_STOPPED, null);
+        logger.info("[Reconcile] Run {} stopped at payment {}", runId, checkpoint);
+    }
+
+    private void saveBatch(Long runId, long lastId, List<Outcome> outcomes) {
+        List<PaymentReconcileMismatch> mismatches = new ArrayList<>();
+        long matched = 0;
+        long skipped = 0;
+        for (Outcome outcome : outcomes) {
+            if (outcome.mismatch != null) {
+                mismatches.add(outcome.mismatch);
+            } else if (outcome.skipped) {
+                skipped++;
+            } else {
+                matched++;
+            }
+        }
+        final long matchedCount = matched;
+        final long skippedCount = skipped;
+        transactionTemplate.execute(status -> {
+            if (!mismatches.isEmpty()) {
+                mismatchRepository.saveAll(mismatches);
+            }
+            PaymentReconcileRun run = getRun(runId);
+            run.setCheckpointPaymentId(lastId);
+            run.setScannedCount(run.getScannedCount() + outcomes.size());
+            run.setMatchedCount(run.getMatchedCount() + matchedCount);
+            run.setMismatchedCount(run.getMismatchedCount() + mismatches.size());
+            run.setSkippedCount(run.getSkippedCount() + skippedCount);
+            run.setUpdatedAt(LocalDateTime.now());
+            return runRepository.save(run);
+        });
+        mismatchesRecorded.addAndGet(mismatches.size());
+    }
+
+    private void finish(Long runId, String status, String error) {
+        transactionTemplate.execute(tx -> {
+            PaymentReconcileRun run = getRun(runId);
+            LocalDateTime now = LocalDateTime.now();
+            run.setStatus(status);
+            run.setLastError(truncate(error));
+            run.setUpdatedAt(now);
+            run.setFinishedAt(now);
+            return runRepository.save(run);
+        });
+    }
+
+    private Outcome check(Long runId, Payment payment) {
+        String tid = blankToNull(payment.getTid());
+        String moid = blankToNull(payment.getMoid());
+        if (tid == null && moid == null) {
+            return Outcome.SKIPPED;
+        }
+        Integer dbAmount = payment.getPaidAmt();
+        PaymentStatus dbStatus = payment.getStatus();
+
+        Map<String, Object> pg;
+        try {
+            // DB 금액을 조회 조건으로 보내면 금액이 다른 거래를 PG 가 찾지 못하므로 tid / moid 로만 조회
+            pg = query(tid, moid);
+        } catch (PgCircuitOpenException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            queryErrors.incrementAndGet();
+            return Outcome.of(mismatch(runId, payment, PaymentReconcileMismatch.TYPE_QUERY_ERROR, null, null, null,
+                    e.getMessage()));
+        }
+
+        String resultCode = stringValue(pg.get("resultCd"));
+        if (!PG_SUCCESS_CODE.equals(resultCode)) {
+            if (dbStatus == PaymentStatus.FAILED) {
+                return Outcome.MATCHED;
+            }
+            return Outcome.of(mismatch(runId, payment, PaymentReconcileMismatch.TYPE_MISSING_AT_PG, resultCode,
+                    null, null, stringValue(pg.get("resultMsg"))));
+        }
+
+        Integer pgAmount = intValue(pg.get("amt"));
+        boolean pgCancelled = "Y".equalsIgnoreCase(stringValue(pg.get("cancelYN")));
+
+        String statusProblem = statusProblem(dbStatus, pgCancelled);
+        if (statusProblem != null) {
+            return Outcome.of(mismatch(runId, payment, PaymentReconcileMismatch.TYPE_STATUS, resultCode, pgCancelled,
+                    pgAmount, statusProblem));
+        }
+        if (dbStatus != PaymentStatus.FAILED && dbAmount != null && pgAmount != null
+                && !dbAmount.equals(pgAmount)) {
+            return Outcome.of(mismatch(runId, payment, PaymentReconcileMismatch.TYPE_AMOUNT, resultCode, pgCancelled,
+                    pgAmount, "DB " + dbAmount + " / PG " + pgAmount));
+        }
+        return Outcome.MATCHED;
+    }
+
+    /**
+     * DB 결제 상태와 PG 취소 여부가 맞지 않으면 설명을 반환합니다. (부분 환불은 PG 원거래가 유지되므로 비교하지 않음)
+     */
+    private static String statusProblem(PaymentStatus dbStatus, boolean pgCancelled) {
+        if (dbStatus == null) {
+            return null;
+        }
+        switch (dbStatus) {
+            case PAID:
+            case REFUND_REQUESTED:
+                return pgCancelled ? "PG 에서는 취소된 거래입니다." : null;
+            case CANCELED:
+                return pgCancelled ? null : "DB 에서는 취소되었지만 PG 에서는 승인 상태입니다.";
+            case FAILED:
+                return pgCancelled ? null : "DB 에서는 실패한 결제지만 PG 에서는 승인 상태입니다.";
+            default:
+                return null;
+        }
+    }
+
+    private Map<String, Object> query(String tid, String moid) {
+        int attempt = 0;
+        while (true) {
+            long started = System.currentTimeMillis();
+            try {
+                queries.incrementAndGet();
+                return kispgPaymentService.fetchTransactionAtPg(tid, moid, null);
+            } catch (PgCircuitOpenException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (attempt++ >= retries || stopRequested) {
+                    throw e;
+                }
+                queryRetries.incrementAndGet();
+                try {
+                    Thread.sleep(retryDelayMillis * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            } finally {
+                totalQueryMillis.addAndGet(System.currentTimeMillis() - started);
+            }
+        }
+    }
+
+    private static PaymentReconcileMismatch mismatch(Long runId, Payment payment, String type, String pgResultCode,
+            Boolean pgCancelled, Integer pgAmount, String detail) {
+        return PaymentReconcileMismatch.builder()
+                .runId(runId)
+                .paymentId(payment.getId())
+                .tid(payment.getTid())
+                .moid(payment.getMoid())
+                .mismatchType(type)
+                .dbStatus(payment.getStatus() != null ? payment.getStatus().name() : null)
+                .dbAmount(payment.getPaidAmt())
+                .pgResultCode(pgResultCode)
+                .pgCancelled(pgCancelled)
+                .pgAmount(pgAmount)
+                .detail(truncate(detail))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static String stringValue(Object value) {
+        return value == null ? null : String.valueOf(value).trim();
+    }
+
+    private static Integer intValue(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        String text = stringValue(value);
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value;
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= MAX_DETAIL_LENGTH ? value : value.substring(0, MAX_DETAIL_LENGTH);
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class Outcome {
+        static final Outcome MATCHED = new Outcome(null, false);
+        static final Outcome SKIPPED = new Outcome(null, true);
+
+        final PaymentReconcileMismatch mismatch;
+        final boolean skipped;
+
+        private Outcome(PaymentReconcileMismatch mismatch, boolean skipped) {
+            this.mismatch = mismatch;
+            this.skipped = skipped;
+        }
+
+        static Outcome of(PaymentReconcileMismatch mismatch) {
+            return new Outcome(mismatch, false);
+        }
+    }
+}
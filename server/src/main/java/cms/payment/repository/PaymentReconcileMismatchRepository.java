@@ -0,0 +1,16 @@
+package cms.payment.repository;
+
+import cms.payment.domain.PaymentReconcileMismatch;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PaymentReconcileMismatchRepository extends JpaRepository<PaymentReconcileMismatch, Long> {
+
+    Page<PaymentReconcileMismatch> findByRunIdOrderByPaymentIdAsc(Long runId, Pageable pageable);
+
+    Page<PaymentReconcileMismatch> findByRunIdAndMismatchTypeOrderByPaymentIdAsc(Long runId, String mismatchType,
+            Pageable pageable);
+}
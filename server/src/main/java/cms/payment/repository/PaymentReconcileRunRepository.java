@@ -0,0 +1,17 @@
+package cms.payment.repository;
+
+import cms.payment.domain.PaymentReconcileRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PaymentReconcileRunRepository extends JpaRepository<PaymentReconcileRun, Long> {
+
+    List<PaymentReconcileRun> findByStatus(String status);
+
+    Page<PaymentReconcileRun> findAllByOrderByRunIdDesc(Pageable pageable);
+}
@@ -2,9 +2,15 @@ package cms.payment.repository;
 
 import cms.payment.domain.Payment;
 import cms.payment.domain.PaymentStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import cms.enroll.domain.Enroll;
 import java.util.Optional;
@@ -15,13 +21,35 @@ public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpec
 
     List<Payment> findByEnroll_User_UuidOrderByCreatedAtDesc(String userUuid); // Find by user UUID through enroll
 
+    // 마이페이지 결제 내역: 신청 / 강습을 함께 조회하고 페이징은 DB 에서
+    @Query(value = "SELECT p FROM Payment p JOIN FETCH p.enroll e JOIN FETCH e.lesson "
+            + "WHERE e.user.uuid = :userUuid ORDER BY p.createdAt DESC, p.id DESC",
+            countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.enroll.user.uuid = :userUuid")
+    Page<Payment> findPageWithLessonByUserUuid(@Param("userUuid") String userUuid, Pageable pageable);
+
     // KISPG specific methods
     Optional<Payment> findByTid(String tid);
 
     List<Payment> findByEnroll_EnrollIdOrderByCreatedAtDesc(Long enrollId);
 
+    // 여러 신청의 결제 내역을 한 번에 (관리자 목록의 최근 결제 표시)
+    List<Payment> findByEnroll_EnrollIdInOrderByCreatedAtDesc(Collection<Long> enrollIds);
+
+    // 관리자 목록용: 신청 / 사용자 / 강습을 함께 조회
+    @Query("SELECT p FROM Payment p LEFT JOIN FETCH p.enroll e LEFT JOIN FETCH e.user LEFT JOIN FETCH e.lesson "
+            + "WHERE p.id IN :ids")
+    List<Payment> findAllWithEnrollByIdIn(@Param("ids") Collection<Long> ids);
+
     Optional<Payment> findByMoid(String moid);
 
+    // 결제 대사: 생성일 기간 안의 결제를 ID 순으로 afterId 다음부터 (재개 지점 = 마지막으로 처리한 ID)
+    @Query("SELECT p FROM Payment p WHERE p.createdAt >= :from AND p.createdAt < :to AND p.id > :afterId "
+            + "ORDER BY p.id ASC")
+    List<Payment> findReconcileBatch(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("afterId") Long afterId, Pageable pageable);
+
+    long countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(LocalDateTime from, LocalDateTime to);
+
     long countByEnrollEnrollId(Long enrollId);
 
     // Status-based queries
@@ -2,7 +2,9 @@ package cms.payment.service.impl;
 
 import cms.common.exception.ErrorCode;
 import cms.common.exception.ResourceNotFoundException;
+import cms.enroll.availability.LessonAvailabilityProjection;
 import cms.enroll.domain.Enroll;
+import cms.enroll.ledger.LessonSeatLedger;
 import cms.enroll.repository.EnrollRepository;
 import cms.locker.dto.LockerAvailabilityDto;
 import cms.locker.service.LockerService;
@@ -27,6 +29,7 @@ import cms.payment.domain.PaymentStatus;
 import cms.kispg.dto.KispgNotificationRequest;
 import cms.swimming.repository.LessonRepository;
 import cms.user.repository.UserRepository;
+import cms.websocket.broadcast.LessonCapacityBroadcaster;
 
 @Service
 @RequiredArgsConstructor
@@ -38,6 +41,9 @@ public class PaymentServiceImpl implements PaymentService {
     private final KispgPaymentService kispgPaymentService;
     private final LessonRepository lessonRepository;
     private final UserRepository userRepository;
+    private final LessonAvailabilityProjection lessonAvailabilityProjection;
+    private final LessonCapacityBroadcaster lessonCapacityBroadcaster;
+    private final LessonSeatLedger seatLedger;
     private static final Logger logger = LoggerFactory.getLogger(PaymentServiceImpl.class);
 
     @Value("${app.locker.fee:5000}") // Default to 5000 if not set
@@ -269,6 +275,13 @@ public class PaymentServiceImpl implements PaymentService {
             // Enroll의 상태도 변경 (예: FAILED)
             enrollRepository.updatePayStatus(enroll.getEnrollId(), "FAILED");
         }
+        // 벌크 UPDATE 는 Enroll 엔티티 리스너를 거치지 않으므로 좌석 원장 / 가용 현황 갱신과 정원 알림을 직접 요청
+        if (enroll.getLesson() != null) {
+            Long lessonId = enroll.getLesson().getLessonId();
+            seatLedger.resync(lessonId);
+            lessonAvailabilityProjection.markChanged(lessonId);
+            lessonCapacityBroadcaster.capacityChanged(lessonId);
+        }
 
         return paymentRepository.save(payment);
     }
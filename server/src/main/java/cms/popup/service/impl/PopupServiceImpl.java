@@ -1,6 +1,7 @@
 package cms.popup.service.impl;
 
 import cms.file.entity.CmsFile;
+import cms.content.bundle.PageBundleCache;
 import cms.file.service.FileService;
 import cms.popup.domain.Popup;
 import cms.popup.dto.AdminPopupRes;
@@ -33,6 +34,7 @@ public class PopupServiceImpl implements PopupService {
     private final PopupRepository popupRepository;
     private final FileService fileService;
     private final ObjectMapper objectMapper;
+    private final PageBundleCache pageBundleCache;
 
     @Value("${app.api.base-url}")
     private String appApiBaseUrl;
@@ -84,6 +86,7 @@ public class PopupServiceImpl implements PopupService {
 
         savedPopup.setContent(finalContentJson);
         Popup finalPopup = popupRepository.save(savedPopup);
+        pageBundleCache.invalidateAfterCommit();
 
         return PopupDto.from(finalPopup);
     }
@@ -220,6 +223,7 @@ public class PopupServiceImpl implements PopupService {
 
         // 6. 변경 사항 저장 (JPA Dirty-checking)
         popupRepository.save(popup);
+        pageBundleCache.invalidateAfterCommit();
 
         return PopupDto.from(popup);
     }
@@ -236,6 +240,7 @@ public class PopupServiceImpl implements PopupService {
 
         // 2. 팝업 삭제
         popupRepository.delete(popup);
+        pageBundleCache.invalidateAfterCommit();
     }
 
     @Override
@@ -245,6 +250,7 @@ public class PopupServiceImpl implements PopupService {
                 .orElseThrow(() -> new EntityNotFoundException("Popup not found with id: " + popupId));
         popup.updateVisibility(req.getIsVisible());
         popupRepository.save(popup);
+        pageBundleCache.invalidateAfterCommit();
     }
 
     @Override
@@ -268,6 +274,7 @@ public class PopupServiceImpl implements PopupService {
         }
 
         popupRepository.saveAll(popups);
+        pageBundleCache.invalidateAfterCommit();
     }
 
     private Set<Long> extractFileIdsFromJson(String jsonContent) {
@@ -0,0 +1,53 @@
+package cms.scheduler;
+
+import cms.enroll.admission.EnrollmentAdmissionQueue;
+import cms.websocket.handler.LessonCapacityWebSocketHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AdmissionQueueJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionQueueJob.class);
+
+    private final EnrollmentAdmissionQueue admissionQueue;
+    private final LessonCapacityWebSocketHandler webSocketHandler;
+
+    public AdmissionQueueJob(EnrollmentAdmissionQueue admissionQueue,
+            LessonCapacityWebSocketHandler webSocketHandler) {
+        this.admissionQueue = admissionQueue;
+        this.webSocketHandler = webSocketHandler;
+    }
+
+    /**
+     * Pushes the current queue position to every waiting WebSocket session.
+     * Runs every second by default.
+     */
+    @Scheduled(fixedRateString = "${app.enrollment.admission.push-interval:1000}")
+    public void pushQueuePositions() {
+        if (!admissionQueue.isEnabled()) {
+            return;
+        }
+        try {
+            webSocketHandler.pushQueuePositions();
+        } catch (Exception e) {
+            logger.error("AdmissionQueueJob failed to push queue positions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Drops expired admission tickets and idle lesson slots. Runs every minute.
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void evictExpiredTickets() {
+        if (!admissionQueue.isEnabled()) {
+            return;
+        }
+        int evicted = admissionQueue.evictExpired();
+        if (evicted > 0) {
+            logger.debug("AdmissionQueueJob evicted {} expired admission ticket(s).", evicted);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package cms.scheduler;
+
+import cms.board.hits.ArticleHitCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ArticleHitFlushJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleHitFlushJob.class);
+
+    private final ArticleHitCounter articleHitCounter;
+
+    public ArticleHitFlushJob(ArticleHitCounter articleHitCounter) {
+        this.articleHitCounter = articleHitCounter;
+    }
+
+    /**
+     * Periodically writes accumulated article view counts to the database in
+     * grouped hits = hits + delta updates. Runs every 10 seconds by default.
+     */
+    @Scheduled(fixedDelayString = "${app.board.hits.flush-interval:10000}",
+            initialDelayString = "${app.board.hits.flush-interval:10000}")
+    public void flushHits() {
+        try {
+            long flushed = articleHitCounter.flush();
+            if (flushed > 0) {
+                logger.debug("ArticleHitFlushJob flushed {} article hit(s).", flushed);
+            }
+        } catch (Exception e) {
+            logger.error("ArticleHitFlushJob failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package cms.scheduler;
+
+import cms.board.search.BbsArticleSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BoardSearchIndexJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoardSearchIndexJob.class);
+
+    private final BbsArticleSearchIndex articleSearchIndex;
+
+    public BoardSearchIndexJob(BbsArticleSearchIndex articleSearchIndex) {
+        this.articleSearchIndex = articleSearchIndex;
+    }
+
+    /**
+     * Periodically rebuilds the board search index from the database. Local
+     * changes are indexed as they commit; this picks up changes made on other
+     * nodes or directly in the database. Runs hourly by default.
+     */
+    @Scheduled(fixedDelayString = "${app.board.search.rebuild-interval:3600000}",
+            initialDelayString = "${app.board.search.rebuild-interval:3600000}")
+    public void rebuildIndex() {
+        try {
+            int indexed = articleSearchIndex.rebuild();
+            if (indexed >= 0) {
+                logger.debug("BoardSearchIndexJob re-indexed {} articles.", indexed);
+            }
+        } catch (Exception e) {
+            logger.error("BoardSearchIndexJob failed: {}", e.getMessage(), e);
+        }
+    }
+}
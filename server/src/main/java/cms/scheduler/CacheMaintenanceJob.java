@@ -0,0 +1,39 @@
+package cms.scheduler;
+
+import cms.auth.security.VerifiedTokenCache;
+import cms.common.cache.TieredCacheManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CacheMaintenanceJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheMaintenanceJob.class);
+
+    private final TieredCacheManager cacheManager;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public CacheMaintenanceJob(TieredCacheManager cacheManager, VerifiedTokenCache verifiedTokenCache) {
+        this.cacheManager = cacheManager;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    /**
+     * Removes expired entries from every cache (including verified JWTs and the
+     * logout revocation list) so that expired values do not hold heap until they
+     * are next read. Runs every minute by default.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.cleanup-interval:60000}", initialDelay = 60000)
+    public void cleanUpExpiredEntries() {
+        try {
+            int removed = cacheManager.cleanUp() + verifiedTokenCache.cleanUp();
+            if (removed > 0) {
+                logger.debug("CacheMaintenanceJob removed {} expired cache entries.", removed);
+            }
+        } catch (Exception e) {
+            logger.error("CacheMaintenanceJob failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package cms.scheduler;
+
+import cms.file.storage.FileBlobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class FileBlobSweepJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileBlobSweepJob.class);
+
+    private final FileBlobService fileBlobService;
+
+    public FileBlobSweepJob(FileBlobService fileBlobService) {
+        this.fileBlobService = fileBlobService;
+    }
+
+    /**
+     * Deletes stored blobs that no file or image variant references any more.
+     * A blob is only removed once its reference count has been zero for the
+     * configured grace period, so a re-upload of the same content shortly after
+     * a delete reuses it. Runs every 30 minutes by default.
+     */
+    @Scheduled(fixedDelayString = "${app.file.blob.sweep-interval:1800000}", initialDelay = 300000)
+    public void sweepReleasedBlobs() {
+        try {
+            int deleted = fileBlobService.sweep();
+            if (deleted > 0) {
+                logger.info("FileBlobSweepJob deleted {} unreferenced blobs.", deleted);
+            }
+        } catch (Exception e) {
+            logger.error("FileBlobSweepJob failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package cms.scheduler;
+
+import cms.file.upload.ChunkedUploadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class FileUploadSessionCleanupJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileUploadSessionCleanupJob.class);
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    public FileUploadSessionCleanupJob(ChunkedUploadService chunkedUploadService) {
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    /**
+     * Removes chunked upload sessions that were never completed before their
+     * expiry, together with the chunks staged on disk. Runs hourly by default.
+     */
+    @Scheduled(fixedDelayString = "${app.file.upload.cleanup-interval:3600000}", initialDelay = 600000)
+    public void removeExpiredSessions() {
+        try {
+            int removed = chunkedUploadService.expireSessions();
+            if (removed > 0) {
+                logger.info("FileUploadSessionCleanupJob removed {} expired upload sessions.", removed);
+            }
+        } catch (Exception e) {
+            logger.error("FileUploadSessionCleanupJob failed: {}", e.getMessage(), e);
+        }
+    }
+}
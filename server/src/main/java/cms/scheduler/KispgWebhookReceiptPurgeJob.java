@@ -0,0 +1,36 @@
+package cms.scheduler;
+
+import cms.kispg.webhook.KispgWebhookIngestor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class KispgWebhookReceiptPurgeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(KispgWebhookReceiptPurgeJob.class);
+
+    private final KispgWebhookIngestor webhookIngestor;
+
+    public KispgWebhookReceiptPurgeJob(KispgWebhookIngestor webhookIngestor) {
+        this.webhookIngestor = webhookIngestor;
+    }
+
+    /**
+     * Deletes KISPG notification receipts and prepared moid mappings older than
+     * the retention period. KISPG stops retrying long before that, so the rows
+     * are no longer needed for duplicate detection. Runs daily by default.
+     */
+    @Scheduled(fixedDelayString = "${kispg.webhook.purge-interval:86400000}", initialDelay = 900000)
+    public void purgeReceipts() {
+        try {
+            int deleted = webhookIngestor.purge();
+            if (deleted > 0) {
+                logger.info("KispgWebhookReceiptPurgeJob deleted {} expired rows.", deleted);
+            }
+        } catch (Exception e) {
+            logger.error("KispgWebhookReceiptPurgeJob failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,9 +1,7 @@
 package cms.scheduler;
 
-import cms.enroll.domain.Enroll;
 import cms.enroll.repository.EnrollRepository;
 import cms.locker.service.LockerService;
-import cms.user.domain.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,9 +10,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class LockerUsageSyncJob {
@@ -32,56 +30,39 @@ public class LockerUsageSyncJob {
     /**
      * Hourly job to sync locker usage for the current month.
      * It counts all paid enrollments with an allocated locker for lessons active in
-     * the current month
-     * and updates the locker inventory usage stats.
-     * Runs at the top of every hour.
+     * the current month with a single aggregate query grouped by gender
+     * and corrects the locker inventory usage stats where they drifted.
+     * Runs every hour at minute 52.
      */
-    @Scheduled(cron = "0 52 * * * ?") // Cron expression for every hour at minute 0
+    @Scheduled(cron = "0 52 * * * ?")
     @Transactional
     public void syncLockerUsage() {
-        logger.info("========== Starting LockerUsageSyncJob ==========");
-
         YearMonth currentMonth = YearMonth.now();
         LocalDate startDate = currentMonth.atDay(1);
         LocalDate endDate = currentMonth.atEndOfMonth();
-        logger.info("Target period: {} to {}", startDate, endDate);
-
-        List<Enroll> activeEnrollments = enrollRepository.findActivePaidLockerUsersInDateRange(startDate, endDate);
-        logger.info("[STEP 1] Found {} active enrollments from repository.", activeEnrollments.size());
 
-        if (!activeEnrollments.isEmpty()) {
-            activeEnrollments.stream().limit(5).forEach(e -> {
-                User u = e.getUser();
-                String gender = (u != null && u.getGender() != null) ? u.getGender() : "NULL";
-                logger.info("  -> Enroll ID: {}, User UUID: {}, User Gender: '{}'", e.getEnrollId(),
-                        u != null ? u.getUuid() : "NULL", gender);
-            });
+        List<Object[]> rows = enrollRepository.countActivePaidLockerUsersByGender(startDate, endDate);
+        Map<String, Long> usageByGender = new HashMap<>();
+        for (Object[] row : rows) {
+            String gender = toInventoryGender((String) row[0]);
+            if (gender != null) {
+                usageByGender.merge(gender, ((Number) row[1]).longValue(), Long::sum);
+            }
         }
 
-        Map<String, Long> usageByGender = activeEnrollments.stream()
-                .map(Enroll::getUser)
-                .filter(user -> user != null && user.getGender() != null)
-                .collect(Collectors.groupingBy(
-                        user -> {
-                            if ("1".equals(user.getGender())) {
-                                return "MALE";
-                            } else if ("0".equals(user.getGender())) {
-                                return "FEMALE";
-                            } else {
-                                return "UNKNOWN"; // Should not happen
-                            }
-                        },
-                        Collectors.counting()));
-
-        // Remove UNKNOWN group if it exists
-        usageByGender.remove("UNKNOWN");
-
-        logger.info("[STEP 2] Calculated locker usage by gender: MALE={}, FEMALE={}",
+        logger.info("LockerUsageSyncJob {} to {}: MALE={}, FEMALE={}", startDate, endDate,
                 usageByGender.getOrDefault("MALE", 0L),
                 usageByGender.getOrDefault("FEMALE", 0L));
 
         lockerService.syncUsedQuantity(usageByGender);
+    }
 
-        logger.info("========== Finished LockerUsageSyncJob ==========");
+    private static String toInventoryGender(String genderCode) {
+        if ("1".equals(genderCode)) {
+            return "MALE";
+        } else if ("0".equals(genderCode)) {
+            return "FEMALE";
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
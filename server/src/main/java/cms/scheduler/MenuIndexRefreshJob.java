@@ -0,0 +1,36 @@
+package cms.scheduler;
+
+import cms.menu.index.MenuIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class MenuIndexRefreshJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuIndexRefreshJob.class);
+
+    private final MenuIndex menuIndex;
+
+    public MenuIndexRefreshJob(MenuIndex menuIndex) {
+        this.menuIndex = menuIndex;
+    }
+
+    /**
+     * Picks up menu changes made on other nodes. Local admin changes already
+     * swap the index after commit; this only compares the menu count and the
+     * latest update time with the loaded snapshot and rebuilds when they differ.
+     * Runs every 30 seconds by default.
+     */
+    @Scheduled(fixedDelayString = "${app.menu.index.refresh-interval:30000}", initialDelay = 60000)
+    public void refreshMenuIndex() {
+        try {
+            if (menuIndex.refreshIfChanged()) {
+                logger.info("MenuIndexRefreshJob reloaded the menu index after an external change.");
+            }
+        } catch (Exception e) {
+            logger.error("MenuIndexRefreshJob failed: {}", e.getMessage(), e);
+        }
+    }
+}
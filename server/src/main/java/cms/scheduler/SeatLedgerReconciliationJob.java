@@ -0,0 +1,39 @@
+package cms.scheduler;
+
+import cms.enroll.ledger.LessonSeatLedger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SeatLedgerReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatLedgerReconciliationJob.class);
+
+    private final LessonSeatLedger seatLedger;
+
+    public SeatLedgerReconciliationJob(LessonSeatLedger seatLedger) {
+        this.seatLedger = seatLedger;
+    }
+
+    /**
+     * Periodically compares the in-memory seat ledger with the enroll table and
+     * corrects any drift (expired holds, admin changes, other nodes).
+     * Runs every minute by default.
+     */
+    @Scheduled(fixedDelayString = "${app.enrollment.seat-ledger.reconcile-interval:60000}", initialDelay = 60000)
+    public void reconcileSeatLedger() {
+        try {
+            int mismatches = seatLedger.reconcileAll();
+            if (mismatches > 0) {
+                logger.warn("SeatLedgerReconciliationJob corrected {} lesson(s) that disagreed with the enroll table.",
+                        mismatches);
+            } else {
+                logger.debug("SeatLedgerReconciliationJob: ledger and enroll table agree.");
+            }
+        } catch (Exception e) {
+            logger.error("SeatLedgerReconciliationJob failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package cms.swimming.clone;
+
+import cms.common.exception.ErrorCode;
+import cms.common.exception.InvalidInputException;
+import cms.swimming.domain.Lesson;
+import cms.swimming.repository.LessonRepository;
+import cms.swimming.repository.specification.LessonSpecification;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 월별 강습 일괄 복제
+ *
+ * 원본 월의 강습을 대상 월(들)로 한 번의 배치 INSERT 로 복제합니다. 강습은 (대상 연월, 강습명, 수업 시간) 자연키로 식별하며,
+ * 같은 자연키의 강습이 이미 있으면 건너뛰므로 작업을 다시 실행하거나 여러 노드에서 동시에 실행해도 중복 강습이 생기지 않습니다.
+ * - clone_key 유니크 인덱스: 복제로 만든 강습끼리의 동시 삽입 충돌 방지
+ * - NOT EXISTS: 관리자가 직접 만든 강습(clone_key 없음)과의 중복 방지
+ *
+ * 강습 기간은 대상 월 1일 ~ 말일, 신청 기간은 대상 월 전달 20일 00:00 ~ 전달 말일 23:59:59 입니다.
+ *
+ * 단건 복제({@link #cloneLesson(Lesson)})도 같은 방식으로 (시작일, 강습명, 수업 시간) 자연키로 삽입하므로
+ * 요청을 재시도해도 같은 강습을 돌려줍니다.
+ */
+@Component
+public class LessonCloneEngine implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LessonCloneEngine.class);
+
+    static final int MAX_TARGET_MONTHS = 12;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO lesson (title, display_name, start_date, end_date, capacity, price, instructor_name, "
+                    + "lesson_time, location_name, clone_key, registration_start_datetime, registration_end_datetime, "
+                    + "created_at, updated_at, created_by, created_ip) "
+                    + "SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW(), ?, ? FROM DUAL "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM lesson l WHERE l.start_date BETWEEN ? AND ? "
+                    + "AND l.title = ? AND l.lesson_time <=> ?) "
+                    + "ON DUPLICATE KEY UPDATE clone_key = clone_key";
+
+    private static final String SINGLE_INSERT_SQL =
+            "INSERT INTO lesson (title, display_name, start_date, end_date, capacity, price, instructor_name, "
+                    + "lesson_time, location_name, clone_key, registration_start_datetime, registration_end_datetime, "
+                    + "created_at, updated_at, created_by, created_ip) "
+                    + "SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW(), ?, ? FROM DUAL "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM lesson l WHERE l.start_date = ? "
+                    + "AND l.title = ? AND l.lesson_time <=> ?) "
+                    + "ON DUPLICATE KEY UPDATE clone_key = clone_key";
+
+    // 다른 트랜잭션이 방금 커밋한 강습도 보이도록 잠금 읽기
+    private static final String FIND_SINGLE_SQL =
+            "SELECT lesson_id FROM lesson WHERE start_date = ? AND title = ? AND lesson_time <=> ? "
+                    + "ORDER BY lesson_id LIMIT 1 LOCK IN SHARE MODE";
+
+    private static final String EXISTING_SQL =
+            "SELECT title, lesson_time, start_date FROM lesson WHERE start_date BETWEEN ? AND ?";
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM lesson WHERE start_date BETWEEN ? AND ?";
+
+    private final LessonRepository lessonRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    public LessonCloneEngine(LessonRepository lessonRepository, JdbcTemplate jdbcTemplate) {
+        this.lessonRepository = lessonRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(readOnly = true)
+    public LessonClonePlan preview(YearMonth sourceMonth, YearMonth targetStart, YearMonth targetEnd) {
+        List<Candidate> candidates = plan(sourceMonth, targetStart, targetEnd);
+        return toPlan(sourceMonth, targetStart, targetEnd, candidates, null);
+    }
+
+    @Transactional
+    public LessonClonePlan cloneMonths(YearMonth sourceMonth, YearMonth targetStart, YearMonth targetEnd,
+            String createdBy, String createdIp) {
+        List<Candidate> candidates = plan(sourceMonth, targetStart, targetEnd);
+
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (!candidate.item.isExists()) {
+                batchArgs.add(insertArgs(candidate, createdBy, createdIp));
+            }
+        }
+
+        int createdCount = 0;
+        if (!batchArgs.isEmpty()) {
+            // 드라이버에 따라 배치 결과 값이 SUCCESS_NO_INFO 일 수 있어 같은 트랜잭션 안에서 전후 건수로 계산
+            long before = countTargets(targetStart, targetEnd);
+            jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+            createdCount = (int) (countTargets(targetStart, targetEnd) - before);
+        }
+
+        runs.incrementAndGet();
+        created.addAndGet(createdCount);
+        skipped.addAndGet(candidates.size() - createdCount);
+        logger.info("[LessonClone] {} -> {}~{}: {} planned, {} created, {} skipped", sourceMonth, targetStart,
+                targetEnd, candidates.size(), createdCount, candidates.size() - createdCount);
+        return toPlan(sourceMonth, targetStart, targetEnd, candidates, createdCount);
+    }
+
+    /**
+     * 강습 하나를 (시작일, 강습명, 수업 시간) 자연키로 삽입합니다. 같은 자연키의 강습이 이미 있으면 새로 만들지 않고 그 강습을 반환합니다.
+     *
+     * @param clone 저장하지 않은 복제 강습 (시작일과 강습명 필수)
+     * @return 새로 만든 강습 또는 이미 있던 강습
+     */
+    @Transactional
+    public Lesson cloneLesson(Lesson clone) {
+        String naturalKey = clone.getStartDate() + "|" + clone.getTitle() + "|" + nullToEmpty(clone.getLessonTime());
+        int inserted = jdbcTemplate.update(SINGLE_INSERT_SQL,
+                clone.getTitle(), clone.getDisplayName(),
+                Date.valueOf(clone.getStartDate()), clone.getEndDate() == null ? null : Date.valueOf(clone.getEndDate()),
+                clone.getCapacity(), clone.getPrice(), clone.getInstructorName(),
+                clone.getLessonTime(), clone.getLocationName(), sha256Hex(naturalKey),
+                timestamp(clone.getRegistrationStartDateTime()), timestamp(clone.getRegistrationEndDateTime()),
+                clone.getCreatedBy(), clone.getCreatedIp(),
+                Date.valueOf(clone.getStartDate()), clone.getTitle(), clone.getLessonTime());
+
+        List<Long> ids = jdbcTemplate.queryForList(FIND_SINGLE_SQL, Long.class,
+                Date.valueOf(clone.getStartDate()), clone.getTitle(), clone.getLessonTime());
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Cloned lesson not found after insert: " + naturalKey);
+        }
+        // ON DUPLICATE KEY UPDATE 가 값을 바꾸지 않으면 영향 행 수는 0
+        if (inserted > 0) {
+            created.incrementAndGet();
+        } else {
+            skipped.incrementAndGet();
+            logger.info("[LessonClone] Lesson {} already exists as {}, returning it", naturalKey, ids.get(0));
+        }
+        return lessonRepository.findById(ids.get(0))
+                .orElseThrow(() -> new IllegalStateException("Cloned lesson not found: " + ids.get(0)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("lesson.clone.runs", runs, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("lesson.clone.created", created, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("lesson.clone.skipped", skipped, AtomicLong::get)
+                .description("Planned clones that already existed")
+                .register(registry);
+    }
+
+    private List<Candidate> plan(YearMonth sourceMonth, YearMonth targetStart, YearMonth targetEnd) {
+        if (sourceMonth == null || targetStart == null || targetEnd == null) {
+            throw new InvalidInputException("Source and target months are required.", ErrorCode.INVALID_INPUT_VALUE);
+        }
+        if (targetEnd.isBefore(targetStart)) {
+            throw new InvalidInputException("Target end month must not be before target start month.",
+                    ErrorCode.INVALID_INPUT_VALUE);
+        }
+        if (targetStart.plusMonths(MAX_TARGET_MONTHS).isBefore(targetEnd.plusMonths(1))) {
+            throw new InvalidInputException("At most " + MAX_TARGET_MONTHS + " target months can be cloned at once.",
+                    ErrorCode.INVALID_INPUT_VALUE);
+        }
+
+        // 원본 월 안에서도 같은 강습명 / 수업 시간이 여러 개면 가장 먼저 만든 강습 하나만 복제
+        List<Lesson> lessons = new ArrayList<>(lessonRepository.findAll(
+                LessonSpecification.filterBy(sourceMonth.getYear(), sourceMonth.getMonthValue())));
+        lessons.sort(Comparator.comparing(Lesson::getLessonId));
+        Map<String, Lesson> sources = new LinkedHashMap<>();
+        for (Lesson lesson : lessons) {
+            sources.putIfAbsent(lesson.getTitle() + "|" + nullToEmpty(lesson.getLessonTime()), lesson);
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        if (sources.isEmpty()) {
+            return candidates;
+        }
+        Set<String> existing = loadExistingKeys(targetStart, targetEnd);
+        for (YearMonth month = targetStart; !month.isAfter(targetEnd); month = month.plusMonths(1)) {
+            YearMonth registrationMonth = month.minusMonths(1);
+            for (Lesson source : sources.values()) {
+                String naturalKey = naturalKey(month, source.getTitle(), source.getLessonTime());
+                LessonClonePlan.Item item = LessonClonePlan.Item.builder()
+                        .targetMonth(month.toString())
+                        .sourceLessonId(source.getLessonId())
+                        .title(source.getTitle())
+                        .lessonTime(source.getLessonTime())
+                        .startDate(month.atDay(1))
+                        .endDate(month.atEndOfMonth())
+                        .registrationStartDateTime(registrationMonth.atDay(20).atStartOfDay())
+                        .registrationEndDateTime(registrationMonth.atEndOfMonth().atTime(23, 59, 59))
+                        .exists(existing.contains(naturalKey))
+                        .build();
+                candidates.add(new Candidate(source, item, naturalKey));
+            }
+        }
+        return candidates;
+    }
+
+    private Set<String> loadExistingKeys(YearMonth targetStart, YearMonth targetEnd) {
+        Set<String> keys = new HashSet<>();
+        jdbcTemplate.query(EXISTING_SQL, rs -> {
+            LocalDate startDate = rs.getDate("start_date").toLocalDate();
+            keys.add(naturalKey(YearMonth.from(startDate), rs.getString("title"), rs.getString("lesson_time")));
+        }, Date.valueOf(targetStart.atDay(1)), Date.valueOf(targetEnd.atEndOfMonth()));
+        return keys;
+    }
+
+    private long countTargets(YearMonth targetStart, YearMonth targetEnd) {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, Date.valueOf(targetStart.atDay(1)),
+                Date.valueOf(targetEnd.atEndOfMonth()));
+        return count == null ? 0 : count;
+    }
+
+    private static Object[] insertArgs(Candidate candidate, String createdBy, String createdIp) {
+        Lesson source = candidate.source;
+        LessonClonePlan.Item item = candidate.item;
+        return new Object[] {
+                source.getTitle(), source.getDisplayName(),
+                Date.valueOf(item.getStartDate()), Date.valueOf(item.getEndDate()),
+                source.getCapacity(), source.getPrice(), source.getInstructorName(),
+                source.getLessonTime(), source.getLocationName(), sha256Hex(candidate.naturalKey),
+                timestamp(item.getRegistrationStartDateTime()), timestamp(item.getRegistrationEndDateTime()),
+                createdBy, createdIp,
+                Date.valueOf(item.getStartDate()), Date.valueOf(item.getEndDate()),
+                source.getTitle(), source.getLessonTime()
+        };
+    }
+
+    private static LessonClonePlan toPlan(YearMonth sourceMonth, YearMonth targetStart, YearMonth targetEnd,
+            List<Candidate> candidates, Integer createdCount) {
+        List<LessonClonePlan.Item> items = new ArrayList<>(candidates.size());
+        Set<Long> sourceIds = new HashSet<>();
+        int existingCount = 0;
+        for (Candidate candidate : candidates) {
+            items.add(candidate.item);
+            sourceIds.add(candidate.source.getLessonId());
+            if (candidate.item.isExists()) {
+                existingCount++;
+            }
+        }
+        return LessonClonePlan.builder()
+                .sourceMonth(sourceMonth.toString())
+                .targetStartMonth(targetStart.toString())
+                .targetEndMonth(targetEnd.toString())
+                .sourceLessonCount(sourceIds.size())
+                .plannedCount(candidates.size() - existingCount)
+                .existingCount(existingCount)
+                .createdCount(createdCount)
+                .items(items)
+                .build();
+    }
+
+    private static String naturalKey(YearMonth month, String title, String lessonTime) {
+        return month + "|" + title + "|" + nullToEmpty(lessonTime);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return dateTime == null ? null : Timestamp.valueOf(dateTime);
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Candidate {
+        private final Lesson source;
+        private final LessonClonePlan.Item item;
+        private final String naturalKey;
+
+        private Candidate(Lesson source, LessonClonePlan.Item item, String naturalKey) {
+            this.source = source;
+            this.item = item;
+            this.naturalKey = naturalKey;
+        }
+    }
+}
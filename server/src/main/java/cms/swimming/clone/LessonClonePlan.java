@@ -0,0 +1,41 @@
+package cms.swimming.clone;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 월별 강습 복제 계획 / 결과
+ *
+ * 미리보기에서는 createdCount 가 null 이며, 복제 실행 후에는 실제로 새로 만들어진 강습 수가 들어갑니다.
+ */
+@Getter
+@Builder
+public class LessonClonePlan {
+
+    private final String sourceMonth;
+    private final String targetStartMonth;
+    private final String targetEndMonth;
+    private final int sourceLessonCount;
+    private final int plannedCount;
+    private final int existingCount;
+    private final Integer createdCount;
+    private final List<Item> items;
+
+    @Getter
+    @Builder
+    public static class Item {
+        private final String targetMonth;
+        private final Long sourceLessonId;
+        private final String title;
+        private final String lessonTime;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final LocalDateTime registrationStartDateTime;
+        private final LocalDateTime registrationEndDateTime;
+        private final boolean exists;
+    }
+}
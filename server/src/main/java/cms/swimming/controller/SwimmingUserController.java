@@ -1,6 +1,11 @@
 package cms.swimming.controller;
 
 import cms.common.dto.ApiResponseSchema;
+import cms.common.exception.BusinessRuleException;
+import cms.common.exception.ErrorCode;
+import cms.enroll.admission.AdmissionTicket;
+import cms.enroll.admission.EnrollmentAdmissionQueue;
+import cms.swimming.dto.AdmissionTicketDto;
 import cms.swimming.dto.CancelRequestDto;
 import cms.swimming.dto.CheckEnrollmentEligibilityDto;
 import cms.swimming.dto.EnrollRequestDto;
@@ -41,6 +46,7 @@ public class SwimmingUserController {
     // private final LockerService lockerService; // lockerService 주입 삭제 (만약 다른 곳에서
     // 사용하지 않는다면)
     private final EnrollmentService enrollmentService;
+    private final EnrollmentAdmissionQueue admissionQueue;
 
     // 1. 수업 조회 API
     @Operation(summary = "수업 목록 조회", description = "다양한 조건(상태, 연도, 월, 기간)으로 필터링된 수업 목록을 페이징하여 제공합니다. 월은 여러 개를 콤마로 구분하여 전달할 수 있습니다 (예: month=5,6).")
@@ -63,6 +69,30 @@ public class SwimmingUserController {
         return ResponseEntity.ok(ApiResponseSchema.success(lesson, "수업 상세 조회 성공"));
     }
 
+    // 2. 신청 대기열 API
+    @Operation(summary = "신청 대기열 입장", description = "강습 신청 대기열에 입장하여 서명된 입장권을 발급받습니다. 이미 입장권이 있으면 같은 입장권을 반환합니다. 대기 순번은 WebSocket(queue:{ticket})으로 전달됩니다.")
+    @PostMapping("/admission/{lessonId}")
+    public ResponseEntity<ApiResponseSchema<AdmissionTicketDto>> enterAdmissionQueue(
+            @Parameter(description = "신청할 수업 ID", required = true) @PathVariable Long lessonId,
+            Authentication authentication) {
+        User currentUser = getAuthenticatedUser(authentication);
+        AdmissionTicket ticket = admissionQueue.issue(lessonId, currentUser.getUuid());
+        return ResponseEntity.ok(ApiResponseSchema.success(toAdmissionTicketDto(ticket), "대기열 입장권이 발급되었습니다."));
+    }
+
+    @Operation(summary = "신청 대기열 상태 조회", description = "입장권의 현재 대기 순번과 입장 가능 여부를 조회합니다.")
+    @GetMapping("/admission/status")
+    public ResponseEntity<ApiResponseSchema<AdmissionTicketDto>> getAdmissionStatus(
+            @Parameter(description = "발급받은 입장권", required = true) @RequestParam String ticket,
+            Authentication authentication) {
+        User currentUser = getAuthenticatedUser(authentication);
+        AdmissionTicket admissionTicket = admissionQueue.parse(ticket);
+        if (admissionTicket == null || !admissionTicket.getUserUuid().equals(currentUser.getUuid())) {
+            throw new BusinessRuleException(ErrorCode.ADMISSION_TICKET_INVALID);
+        }
+        return ResponseEntity.ok(ApiResponseSchema.success(toAdmissionTicketDto(admissionTicket), "대기열 상태 조회 성공"));
+    }
+
     // 3. 신청 및 취소 API
     @Operation(summary = "수업 신청", description = "수업을 신청하고 결제합합니다.")
     @PostMapping("/enroll")
@@ -71,6 +101,9 @@ public class SwimmingUserController {
             Authentication authentication,
             HttpServletRequest request) {
         User currentUser = getAuthenticatedUser(authentication);
+        // 대기열 입장 순서가 된 요청만 DB 트랜잭션으로 진입
+        admissionQueue.checkAdmission(enrollRequest.getAdmissionTicket(), currentUser.getUuid(),
+                enrollRequest.getLessonId());
         String clientIp = IpUtil.getClientIp();
 
         EnrollResponseDto enrollResponse = enrollmentService.createInitialEnrollment(currentUser, enrollRequest,
@@ -126,6 +159,19 @@ public class SwimmingUserController {
     }
 
     // 5. 보조 메소드
+    private AdmissionTicketDto toAdmissionTicketDto(AdmissionTicket ticket) {
+        long now = System.currentTimeMillis();
+        return AdmissionTicketDto.builder()
+                .ticket(ticket.getToken())
+                .lessonId(ticket.getLessonId())
+                .status(admissionQueue.statusOf(ticket, now))
+                .position(admissionQueue.positionOf(ticket, now))
+                .estimatedWaitSeconds(Math.max(0, (ticket.getAdmitAt() - now + 999) / 1000))
+                .admitAt(ticket.getAdmitAt())
+                .expiresAt(ticket.getExpiresAt())
+                .build();
+    }
+
     private User getAuthenticatedUser(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated() || authentication.getPrincipal() == null) {
             throw new IllegalStateException("로그인이 필요한 서비스입니다. 인증 정보가 유효하지 않습니다.");
@@ -0,0 +1,35 @@
+package cms.swimming.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionTicketDto {
+
+    @Schema(description = "서명된 입장권. 수강 신청/결제 준비 요청의 admissionTicket 으로 전달합니다.")
+    private String ticket;
+
+    @Schema(description = "강습 ID", example = "1")
+    private Long lessonId;
+
+    @Schema(description = "대기 상태 (WAITING, ADMITTED, EXPIRED)", example = "WAITING")
+    private String status;
+
+    @Schema(description = "현재 대기 순번 (입장 시 0)", example = "42")
+    private long position;
+
+    @Schema(description = "예상 대기 시간(초)", example = "9")
+    private long estimatedWaitSeconds;
+
+    @Schema(description = "입장 허용 시각 (epoch millis)")
+    private long admitAt;
+
+    @Schema(description = "입장권 만료 시각 (epoch millis)")
+    private long expiresAt;
+}
@@ -23,4 +23,7 @@ public class EnrollRequestDto {
     private Boolean usesLocker;
 
     private Integer discountId;
+
+    // 대기열 사용 시 발급받은 입장권 (app.enrollment.admission.enabled=true 일 때 필수)
+    private String admissionTicket;
 }
\ No newline at end of file
@@ -4,12 +4,14 @@ import cms.swimming.domain.Lesson;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.LockModeType;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +34,17 @@ public interface LessonRepository extends JpaRepository<Lesson, Long>, JpaSpecif
     @Query("SELECT l FROM Lesson l WHERE l.lessonId = :id")
     Optional<Lesson> findByIdWithLock(@Param("id") Long id);
 
+    /**
+     * 정원 최종 확인용 조건부 UPDATE. lesson row 에 쓰기 잠금을 걸고, 잠금 아래에서 센 활성 신청
+     * (결제완료 + 만료 전 결제대기) 수가 정원 미만일 때만 1 을 반환합니다. 잠금은 트랜잭션 종료까지 유지되므로
+     * 같은 강습의 신청은 노드와 관계없이 직렬화됩니다. 값은 바꾸지 않으므로 드라이버 기본값(found rows) 기준으로 판정합니다.
+     */
+    @Modifying
+    @Query("UPDATE Lesson l SET l.capacity = l.capacity WHERE l.lessonId = :id AND l.capacity > " +
+            "(SELECT COUNT(e) FROM Enroll e WHERE e.lesson.lessonId = :id AND (e.payStatus = 'PAID' " +
+            "OR (e.payStatus = 'UNPAID' AND e.status = 'APPLIED' AND e.expireDt > :now)))")
+    int claimSeatIfAvailable(@Param("id") Long id, @Param("now") LocalDateTime now);
+
     @Query("SELECT l FROM Lesson l WHERE l.title = :title " +
             "AND l.lessonTime = :lessonTime " +
             "AND l.startDate >= :nextMonthStart AND l.startDate <= :nextMonthEnd")
@@ -1,10 +1,11 @@
 package cms.swimming.service.impl;
 
+import cms.enroll.availability.LessonAvailability;
+import cms.enroll.availability.LessonAvailabilityProjection;
 import cms.swimming.domain.Lesson;
 import cms.swimming.dto.LessonDto;
 import cms.swimming.repository.LessonRepository;
 import cms.swimming.service.LessonService;
-import cms.enroll.repository.EnrollRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,8 +17,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDate;
-import java.time.LocalDateTime; // For remaining spots calculation
 import java.util.List;
+import java.util.Map;
 import javax.persistence.criteria.Predicate;
 import java.util.ArrayList;
 import java.util.regex.Matcher;
@@ -31,21 +32,19 @@ import org.springframework.data.jpa.domain.Specification;
 public class LessonServiceImpl implements LessonService {
 
     private static final Logger logger = LoggerFactory.getLogger(LessonServiceImpl.class);
+    private static final Pattern LESSON_TIME_PATTERN = Pattern
+            .compile("^(?:(\\(.*?\\))\\s*)?(?:(오전|오후)\\s*)?(\\d{1,2}:\\d{2}\\s*[~-]\\s*\\d{1,2}:\\d{2})$");
     private final LessonRepository lessonRepository;
-    private final EnrollRepository enrollRepository;
+    private final LessonAvailabilityProjection availabilityProjection;
 
-    private LessonDto convertToLessonDto(Lesson lesson) {
+    private LessonDto convertToLessonDto(Lesson lesson, LessonAvailability availability) {
         if (lesson == null)
             return null;
 
+        // 잔여 정원은 가용 현황 프로젝션(메모리)에서 계산
         Integer remainingSpots = null;
         if (lesson.getCapacity() != null) {
-            long paidEnrollments = enrollRepository.countByLessonLessonIdAndPayStatus(lesson.getLessonId(), "PAID");
-            long unpaidActiveEnrollments = enrollRepository.countByLessonLessonIdAndStatusAndPayStatusAndExpireDtAfter(
-                    lesson.getLessonId(), "APPLIED", "UNPAID", LocalDateTime.now());
-            remainingSpots = lesson.getCapacity() - (int) paidEnrollments - (int) unpaidActiveEnrollments;
-            if (remainingSpots < 0)
-                remainingSpots = 0;
+            remainingSpots = availability.remaining(lesson.getCapacity());
         }
 
         String days = null;
@@ -53,9 +52,7 @@ public class LessonServiceImpl implements LessonService {
         String timeSlot = null;
         if (lesson.getLessonTime() != null && !lesson.getLessonTime().isEmpty()) {
             String lessonTimeString = lesson.getLessonTime();
-            Pattern pattern = Pattern
-                    .compile("^(?:(\\(.*?\\))\\s*)?(?:(오전|오후)\\s*)?(\\d{1,2}:\\d{2}\\s*[~-]\\s*\\d{1,2}:\\d{2})$");
-            Matcher matcher = pattern.matcher(lessonTimeString.trim());
+            Matcher matcher = LESSON_TIME_PATTERN.matcher(lessonTimeString.trim());
             if (matcher.find()) {
                 days = matcher.group(1);
                 timePrefix = matcher.group(2);
@@ -129,8 +126,11 @@ public class LessonServiceImpl implements LessonService {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
         Page<Lesson> lessonPage = lessonRepository.findAll(spec, pageable);
+        Map<Long, LessonAvailability> availabilities = availabilityProjection.getAll(lessonPage.getContent().stream()
+                .map(Lesson::getLessonId)
+                .collect(Collectors.toList()));
         List<LessonDto> dtoList = lessonPage.getContent().stream()
-                .map(this::convertToLessonDto)
+                .map(lesson -> convertToLessonDto(lesson, availabilities.get(lesson.getLessonId())))
                 .collect(Collectors.toList());
         return new PageImpl<>(dtoList, pageable, lessonPage.getTotalElements());
     }
@@ -139,7 +139,7 @@ public class LessonServiceImpl implements LessonService {
     public LessonDto getLessonById(Long lessonId) {
         Lesson lesson = lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new EntityNotFoundException("강습을 찾을 수 없습니다. ID: " + lessonId));
-        return convertToLessonDto(lesson);
+        return convertToLessonDto(lesson, availabilityProjection.get(lessonId));
     }
 
     @Override
@@ -148,7 +148,7 @@ public class LessonServiceImpl implements LessonService {
         // It does not consider lesson status or date ranges directly.
         // If "current" means active lessons, additional checks on Lesson status/dates
         // might be needed here or in calling code.
-        return enrollRepository.countByLessonLessonIdAndPayStatus(lessonId, "PAID");
+        return availabilityProjection.get(lessonId).getPaid();
     }
 
     @Override
@@ -160,6 +160,6 @@ public class LessonServiceImpl implements LessonService {
         if (!lessonRepository.existsById(lessonId)) {
             throw new EntityNotFoundException("강습을 찾을 수 없습니다. ID: " + lessonId);
         }
-        return enrollRepository.countUsedLockersByLessonAndUserGender(lessonId, gender.toUpperCase());
+        return availabilityProjection.get(lessonId).lockers(gender);
     }
 }
\ No newline at end of file
@@ -0,0 +1,290 @@
+package cms.user.activity;
+
+import cms.user.domain.User;
+import cms.user.domain.UserActivityLog;
+import cms.user.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자 활동 로그 비동기 기록 파이프라인
+ *
+ * 요청 스레드는 고정 크기 버퍼에 로그를 넣고 바로 반환하며, 전용 writer 스레드가 flush-size 건 또는
+ * flush-interval 마다 JDBC batch INSERT 로 기록합니다. 조직 ID 가 없는 로그는 배치 단위로 사용자 정보를
+ * 한 번에 조회하여 채웁니다.
+ *
+ * - 버퍼가 가득 차면 drop-policy 에 따라 새 로그(newest) 또는 가장 오래된 로그(oldest)를 버리고 집계
+ * - 배치 INSERT 가 실패하면 건별로 재시도하여 문제 있는 로그만 제외
+ * - 종료 시 shutdown-timeout 동안 남은 로그를 모두 기록
+ */
+@Component
+public class UserActivityLogPipeline implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserActivityLogPipeline.class);
+    private static final String DEFAULT_ORGANIZATION_ID = "00000000-0000-0000-0000-000000000000";
+    private static final String DROP_OLDEST = "oldest";
+    private static final String INSERT_SQL = "INSERT INTO user_activity_log "
+            + "(uuid, user_uuid, group_id, organization_id, activity_type, description, user_agent, created_by, created_ip, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final ArrayBlockingQueue<UserActivityLog> buffer;
+    private final int flushSize;
+    private final long flushIntervalMillis;
+    private final long shutdownTimeoutMillis;
+    private final boolean dropOldest;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private volatile long lastFlushMillis;
+
+    public UserActivityLogPipeline(JdbcTemplate jdbcTemplate, UserRepository userRepository,
+            @Value("${app.activity-log.buffer-size:10000}") int bufferSize,
+            @Value("${app.activity-log.flush-size:200}") int flushSize,
+            @Value("${app.activity-log.flush-interval:1000}") long flushIntervalMillis,
+            @Value("${app.activity-log.shutdown-timeout:5000}") long shutdownTimeoutMillis,
+            @Value("${app.activity-log.drop-policy:newest}") String dropPolicy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        this.flushSize = Math.max(1, flushSize);
+        this.flushIntervalMillis = Math.max(10, flushIntervalMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.dropOldest = DROP_OLDEST.equalsIgnoreCase(dropPolicy);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "activity-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        // 인터럽트하지 않음: 진행 중인 JDBC 배치가 중단되지 않도록 writer 가 poll 타임아웃 후 스스로 종료하고 남은 로그를 기록
+        try {
+            writer.join(flushIntervalMillis + shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!buffer.isEmpty()) {
+            logger.warn("[ActivityLog] {} activity log(s) were not written before shutdown", buffer.size());
+        }
+    }
+
+    /**
+     * 로그를 버퍼에 넣습니다. DB 작업 없이 즉시 반환합니다.
+     *
+     * @return 버퍼에 들어갔으면 true, drop-policy 에 의해 버려졌으면 false
+     */
+    public boolean submit(UserActivityLog activityLog) {
+        if (buffer.offer(activityLog)) {
+            enqueued.incrementAndGet();
+            return true;
+        }
+        if (dropOldest) {
+            // 가장 오래된 로그를 버리고 새 로그를 넣음
+            while (!buffer.offer(activityLog)) {
+                if (buffer.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+            enqueued.incrementAndGet();
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("user.activity.log.buffered", buffer, ArrayBlockingQueue::size)
+                .register(registry);
+        Gauge.builder("user.activity.log.capacity", buffer, b -> b.size() + b.remainingCapacity())
+                .register(registry);
+        FunctionCounter.builder("user.activity.log.enqueued", enqueued, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("user.activity.log.dropped", dropped, AtomicLong::get)
+                .description("Log entries dropped because the buffer was full")
+                .register(registry);
+        FunctionCounter.builder("user.activity.log.written", written, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("user.activity.log.skipped", skipped, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("user.activity.log.failed", failedRows, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("user.activity.log.batches", batches, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("user.activity.log.flush.duration", this, pipeline -> pipeline.lastFlushMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private void runWriter() {
+        List<UserActivityLog> batch = new ArrayList<>(flushSize);
+        long deadline = System.currentTimeMillis() + flushIntervalMillis;
+        while (running) {
+            try {
+                long wait = deadline - System.currentTimeMillis();
+                UserActivityLog next = wait > 0 ? buffer.poll(wait, TimeUnit.MILLISECONDS) : null;
+                if (next != null) {
+                    batch.add(next);
+                    buffer.drainTo(batch, flushSize - batch.size());
+                }
+                if (batch.size() >= flushSize || System.currentTimeMillis() >= deadline) {
+                    flush(batch);
+                    deadline = System.currentTimeMillis() + flushIntervalMillis;
+                }
+            } catch (InterruptedException e) {
+                // 외부 인터럽트, 아래에서 남은 로그 기록
+                break;
+            } catch (Exception e) {
+                logger.error("[ActivityLog] Writer loop error: {}", e.getMessage(), e);
+                batch.clear();
+            }
+        }
+
+        // 종료 전 남은 로그 기록. 인터럽트 상태가 남아 있으면 JDBC 호출이 실패할 수 있으므로 먼저 해제
+        Thread.interrupted();
+        long drainDeadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+        buffer.drainTo(batch);
+        while (!batch.isEmpty() && System.currentTimeMillis() < drainDeadline) {
+            List<UserActivityLog> chunk = new ArrayList<>(batch.subList(0, Math.min(flushSize, batch.size())));
+            batch.subList(0, chunk.size()).clear();
+            flush(chunk);
+        }
+    }
+
+    private void flush(List<UserActivityLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        List<UserActivityLog> rows = resolveOrganizations(batch);
+        if (!rows.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, toArgs(rows));
+                written.addAndGet(rows.size());
+            } catch (Exception e) {
+                logger.warn("[ActivityLog] Batch insert of {} log(s) failed, retrying row by row: {}", rows.size(),
+                        e.getMessage());
+                insertIndividually(rows);
+            }
+            batches.incrementAndGet();
+        }
+        batch.clear();
+        lastFlushMillis = System.currentTimeMillis() - started;
+    }
+
+    /**
+     * 조직 ID 가 없는(또는 기본값인) 로그는 사용자 정보에서 채움. 사용자 조직을 알 수 없는 로그는 기존과 같이 기록하지 않음
+     */
+    private List<UserActivityLog> resolveOrganizations(List<UserActivityLog> batch) {
+        Set<String> userUuids = new HashSet<>();
+        for (UserActivityLog activityLog : batch) {
+            if (!hasOrganization(activityLog) && StringUtils.hasText(activityLog.getUserUuid())) {
+                userUuids.add(activityLog.getUserUuid());
+            }
+        }
+        Map<String, String> organizations = new HashMap<>();
+        if (!userUuids.isEmpty()) {
+            for (User user : userRepository.findAllById(userUuids)) {
+                if (StringUtils.hasText(user.getOrganizationId())) {
+                    organizations.put(user.getUuid(), user.getOrganizationId());
+                }
+            }
+        }
+
+        List<UserActivityLog> rows = new ArrayList<>(batch.size());
+        for (UserActivityLog activityLog : batch) {
+            if (!hasOrganization(activityLog)) {
+                String organizationId = organizations.get(activityLog.getUserUuid());
+                if (organizationId == null) {
+                    skipped.incrementAndGet();
+                    logger.debug("[ActivityLog] organizationId를 확인할 수 없어 기록하지 않습니다. userUuid: {}",
+                            activityLog.getUserUuid());
+                    continue;
+                }
+                activityLog.setOrganizationId(organizationId);
+            }
+            rows.add(activityLog);
+        }
+        return rows;
+    }
+
+    private void insertIndividually(List<UserActivityLog> rows) {
+        for (Object[] args : toArgs(rows)) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, args);
+                written.incrementAndGet();
+            } catch (Exception e) {
+                failedRows.incrementAndGet();
+                logger.debug("[ActivityLog] Failed to insert activity log {}: {}", args[0], e.getMessage());
+            }
+        }
+    }
+
+    private List<Object[]> toArgs(List<UserActivityLog> rows) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (UserActivityLog row : rows) {
+            Timestamp createdAt = Timestamp.valueOf(row.getCreatedAt() != null ? row.getCreatedAt()
+                    : LocalDateTime.now());
+            args.add(new Object[] {
+                    row.getUuid(), row.getUserUuid(), row.getGroupId(), row.getOrganizationId(),
+                    row.getActivityType(), row.getDescription(), row.getUserAgent(), row.getCreatedBy(),
+                    row.getCreatedIp(), createdAt, createdAt
+            });
+        }
+        return args;
+    }
+
+    private static boolean hasOrganization(UserActivityLog activityLog) {
+        String organizationId = activityLog.getOrganizationId();
+        if (!StringUtils.hasText(organizationId) || DEFAULT_ORGANIZATION_ID.equals(organizationId)) {
+            return false;
+        }
+        try {
+            UUID.fromString(organizationId);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package cms.user.service.impl;
 
+import cms.auth.security.VerifiedTokenCache;
 import cms.enroll.domain.Enroll;
 import cms.enroll.repository.EnrollRepository;
 import cms.payment.domain.Payment;
@@ -33,6 +34,7 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final EnrollRepository enrollRepository;
     private final PaymentRepository paymentRepository;
 
@@ -173,6 +175,7 @@ public class UserServiceImpl implements UserService {
         user.setUpdatedIp(updatedIp);
 
         userRepository.save(user);
+        verifiedTokenCache.invalidateUser(uuid);
     }
 
     @Override
@@ -253,6 +256,7 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setResetToken(null);
         user.setResetTokenExpiry(null);
+        verifiedTokenCache.invalidateUser(user.getUuid());
 
         return convertToDto(userRepository.save(user));
     }
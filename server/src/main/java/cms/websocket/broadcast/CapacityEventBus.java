@@ -0,0 +1,26 @@
+package cms.websocket.broadcast;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 정원 변경 이벤트 버스
+ *
+ * 각 노드는 자신이 보유한 WebSocket 세션에만 전송하므로, 다른 노드에서 발생한 변경을 받으려면 이벤트 버스가 필요합니다.
+ * app.enrollment.event-bus.type 으로 구현을 선택합니다. (loopback: 단일 노드/테스트용, jdbc: 공유 DB 테이블 폴링)
+ */
+public interface CapacityEventBus {
+
+    /**
+     * 이벤트를 발행합니다. 발행 노드 자신을 포함한 모든 노드의 구독자에게 전달됩니다.
+     */
+    void publish(LessonCapacityEvent event);
+
+    void subscribe(Consumer<LessonCapacityEvent> listener);
+
+    /**
+     * 다른 노드로도 전달되는 구현인지 여부. false 이면 로컬 구독자가 없는 강습은 발행을 생략할 수 있습니다.
+     */
+    boolean isDistributed();
+
+    String getNodeId();
+}
@@ -0,0 +1,150 @@
+package cms.websocket.broadcast;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 공유 DB 테이블(lesson_capacity_event)을 이용한 노드 간 이벤트 버스
+ *
+ * 별도 메시지 브로커 없이 모든 노드가 같은 DB 를 본다는 점을 이용합니다. 발행은 INSERT 한 건,
+ * 수신은 poll-interval 마다 마지막으로 읽은 ID 이후의 행을 PK 범위로 조회합니다.
+ * 자기 노드가 발행한 이벤트는 폴링을 기다리지 않고 즉시 전달하고, 폴링 결과에서는 건너뜁니다.
+ * 동시 INSERT 의 커밋 순서가 ID 순서와 달라 드물게 이벤트를 건너뛰더라도, 이벤트가 누적값을 담고 있으므로
+ * 해당 강습의 다음 변경 이벤트가 최신 값을 다시 전달합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.enrollment.event-bus.type", havingValue = "jdbc")
+public class JdbcCapacityEventBus implements CapacityEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcCapacityEventBus.class);
+    private static final int POLL_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long pollIntervalMillis;
+    private final long retentionMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<LessonCapacityEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong lastSeenId = new AtomicLong();
+    private ScheduledExecutorService poller;
+
+    public JdbcCapacityEventBus(JdbcTemplate jdbcTemplate,
+            @Value("${app.enrollment.event-bus.poll-interval:200}") long pollIntervalMillis,
+            @Value("${app.enrollment.event-bus.retention:600000}") long retentionMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retentionMillis = retentionMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM lesson_capacity_event", Long.class);
+        lastSeenId.set(maxId == null ? 0 : maxId);
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "capacity-event-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purge, 60, 60, TimeUnit.SECONDS);
+        logger.info("[EventBus] JDBC capacity event bus started. node={}, lastSeenId={}", nodeId, lastSeenId.get());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    @Override
+    public void publish(LessonCapacityEvent event) {
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO lesson_capacity_event (lesson_id, capacity, paid_count, unpaid_count, origin_node, changed_at, created_at) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    event.getLessonId(), event.getCapacity(), event.getPaidEnrollments(),
+                    event.getUnpaidEnrollments(), event.getOriginNodeId(), event.getChangedAt(),
+                    new Timestamp(System.currentTimeMillis()));
+        } catch (Exception e) {
+            // 다른 노드 전달에 실패해도 로컬 구독자에게는 전송
+            logger.error("[EventBus] Failed to publish capacity event for lesson {}: {}", event.getLessonId(),
+                    e.getMessage());
+        }
+        deliver(event);
+    }
+
+    @Override
+    public void subscribe(Consumer<LessonCapacityEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return true;
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void poll() {
+        try {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT id, lesson_id, capacity, paid_count, unpaid_count, origin_node, changed_at "
+                            + "FROM lesson_capacity_event WHERE id > ? ORDER BY id LIMIT " + POLL_BATCH_SIZE,
+                    (rs, rowNum) -> new Object[] {
+                            rs.getLong("id"),
+                            new LessonCapacityEvent(rs.getLong("lesson_id"), rs.getInt("capacity"),
+                                    rs.getInt("paid_count"), rs.getInt("unpaid_count"), rs.getString("origin_node"),
+                                    rs.getLong("changed_at"))
+                    },
+                    lastSeenId.get());
+            for (Object[] row : rows) {
+                lastSeenId.set((Long) row[0]);
+                LessonCapacityEvent event = (LessonCapacityEvent) row[1];
+                if (!nodeId.equals(event.getOriginNodeId())) {
+                    deliver(event);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("[EventBus] Failed to poll capacity events: {}", e.getMessage());
+        }
+    }
+
+    private void purge() {
+        try {
+            jdbcTemplate.update("DELETE FROM lesson_capacity_event WHERE created_at < ?",
+                    new Timestamp(System.currentTimeMillis() - retentionMillis));
+        } catch (Exception e) {
+            logger.warn("[EventBus] Failed to purge old capacity events: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(LessonCapacityEvent event) {
+        for (Consumer<LessonCapacityEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                logger.error("[EventBus] Listener failed for lesson {}: {}", event.getLessonId(), e.getMessage(), e);
+            }
+        }
+    }
+}
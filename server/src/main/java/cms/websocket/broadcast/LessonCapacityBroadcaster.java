@@ -0,0 +1,337 @@
+package cms.websocket.broadcast;
+
+import cms.enroll.availability.LessonAvailability;
+import cms.enroll.availability.LessonAvailabilityProjection;
+import cms.enroll.ledger.LessonSeatLedger;
+import cms.swimming.domain.Lesson;
+import cms.swimming.repository.LessonRepository;
+import cms.websocket.dto.LessonCapacityUpdateDto;
+import cms.websocket.handler.LessonCapacityWebSocketHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 강습 정원 변경 알림 브로드캐스터
+ *
+ * 신청 트랜잭션 스레드에서는 변경된 강습 ID 만 기록하고 즉시 반환합니다. 전용 스레드가 coalesce-window 마다
+ * 변경된 강습을 모아 가용 현황을 한 번에 조회하고, 강습별로 한 번만 직렬화한 메시지를 구독 세션에 나누어 보냅니다.
+ *
+ * - 같은 강습의 변경은 window 안에서 하나로 합쳐짐 (최신 값만 전송)
+ * - 전송은 크기가 제한된 fan-out 스레드 풀에서 강습 단위로 수행. 강습마다 대기/실행 중인 작업은 하나뿐이고
+ *   그 사이에 온 변경은 최신 메시지로 덮어씀. 큐가 가득 차면 메시지를 남겨 두고 다음 flush 에서 다시 예약
+ * - 느린 세션은 세션 버퍼에서 오래된 메시지가 버려지고, send-time-limit 를 넘기면 종료됨
+ * - 프로젝션 재집계가 보류된 강습은 오래된 값을 보내지 않고 다음 window 로 미룸
+ * - 집계 결과는 {@link CapacityEventBus} 로 발행되고, 각 노드는 수신한 이벤트를 자기 세션에만 전송
+ */
+@Component
+public class LessonCapacityBroadcaster implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LessonCapacityBroadcaster.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LessonCapacityWebSocketHandler webSocketHandler;
+    private final LessonAvailabilityProjection availabilityProjection;
+    private final LessonRepository lessonRepository;
+    private final CapacityEventBus eventBus;
+    private final LessonSeatLedger seatLedger;
+    private final long coalesceWindowMillis;
+    private final int fanoutThreads;
+    private final int fanoutQueueSize;
+
+    // lessonId -> 최초 변경 시각 (epoch millis)
+    private final ConcurrentHashMap<Long, Long> pendingLessons = new ConcurrentHashMap<>();
+    // lessonId -> 아직 보내지 않은 최신 메시지
+    private final ConcurrentHashMap<Long, TextMessage> pendingMessages = new ConcurrentHashMap<>();
+    // fan-out 작업이 대기 또는 실행 중인 강습
+    private final Set<Long> scheduledFanouts = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService flusher;
+    private ThreadPoolExecutor fanoutExecutor;
+
+    private final AtomicLong changeRequests = new AtomicLong();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+    private final AtomicLong deferredUpdates = new AtomicLong();
+    private final AtomicLong remoteEvents = new AtomicLong();
+    private final AtomicLong broadcasts = new AtomicLong();
+    private final AtomicLong messagesDispatched = new AtomicLong();
+    private final AtomicLong coalescedFanouts = new AtomicLong();
+    private final AtomicLong rejectedFanouts = new AtomicLong();
+    private final AtomicInteger fanoutInFlight = new AtomicInteger();
+    private final AtomicLong totalFanoutLatency = new AtomicLong();
+    private final AtomicLong maxFanoutLatency = new AtomicLong();
+
+    public LessonCapacityBroadcaster(LessonCapacityWebSocketHandler webSocketHandler,
+            LessonAvailabilityProjection availabilityProjection,
+            LessonRepository lessonRepository,
+            CapacityEventBus eventBus,
+            LessonSeatLedger seatLedger,
+            @Value("${app.enrollment.websocket.coalesce-window:100}") long coalesceWindowMillis,
+            @Value("${app.enrollment.websocket.fanout-threads:4}") int fanoutThreads,
+            @Value("${app.enrollment.websocket.fanout-queue-size:1000}") int fanoutQueueSize) {
+        this.webSocketHandler = webSocketHandler;
+        this.availabilityProjection = availabilityProjection;
+        this.lessonRepository = lessonRepository;
+        this.eventBus = eventBus;
+        this.seatLedger = seatLedger;
+        this.coalesceWindowMillis = Math.max(10, coalesceWindowMillis);
+        this.fanoutThreads = Math.max(1, fanoutThreads);
+        this.fanoutQueueSize = Math.max(1, fanoutQueueSize);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "capacity-broadcast-flusher"));
+        AtomicInteger sequence = new AtomicInteger();
+        fanoutExecutor = new ThreadPoolExecutor(fanoutThreads, fanoutThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fanoutQueueSize),
+                r -> daemon(r, "capacity-broadcast-fanout-" + sequence.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        eventBus.subscribe(this::onCapacityEvent);
+        flusher.scheduleWithFixedDelay(this::flush, coalesceWindowMillis, coalesceWindowMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdownNow();
+        fanoutExecutor.shutdownNow();
+    }
+
+    /**
+     * 강습의 정원 현황이 바뀌었음을 알립니다. 트랜잭션 안에서는 커밋 후 전송 대상이 됩니다.
+     */
+    public void capacityChanged(Long lessonId) {
+        if (lessonId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(lessonId);
+                    }
+                }
+            });
+        } else {
+            enqueue(lessonId);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("websocket.capacity.sessions", webSocketHandler, LessonCapacityWebSocketHandler::getSessionCount)
+                .register(registry);
+        Gauge.builder("websocket.capacity.subscribed.lessons", webSocketHandler,
+                        LessonCapacityWebSocketHandler::getSubscribedLessonCount)
+                .register(registry);
+        Gauge.builder("websocket.capacity.buffered", webSocketHandler, LessonCapacityWebSocketHandler::getBufferedBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("websocket.capacity.send.failures", webSocketHandler,
+                        LessonCapacityWebSocketHandler::getSendFailures)
+                .register(registry);
+        FunctionCounter.builder("websocket.capacity.slow.sessions.closed", webSocketHandler,
+                        LessonCapacityWebSocketHandler::getSlowSessionsClosed)
+                .register(registry);
+        Gauge.builder("websocket.capacity.pending.lessons", pendingLessons, Map::size)
+                .description("Lessons waiting for the coalescing window to close")
+                .register(registry);
+        Gauge.builder("websocket.capacity.fanout.in.flight", fanoutInFlight, AtomicInteger::get)
+                .description("Lesson fan-out tasks queued or running")
+                .register(registry);
+        Gauge.builder("websocket.capacity.fanout.queue", fanoutExecutor, e -> e.getQueue().size())
+                .register(registry);
+        FunctionCounter.builder("websocket.capacity.fanout.coalesced", coalescedFanouts, AtomicLong::get)
+                .description("Messages replaced by a newer one before they were sent")
+                .register(registry);
+        FunctionCounter.builder("websocket.capacity.fanout.rejected", rejectedFanouts, AtomicLong::get)
+                .description("Fan-out tasks deferred because the queue was full")
+                .register(registry);
+        FunctionCounter.builder("websocket.capacity.change.requests", changeRequests, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("websocket.capacity.coalesced", coalescedRequests, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("websocket.capacity.deferred", deferredUpdates, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("websocket.capacity.remote.events", remoteEvents, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("websocket.capacity.messages", messagesDispatched, AtomicLong::get)
+                .register(registry);
+        FunctionTimer.builder("websocket.capacity.fanout", this, b -> b.broadcasts.get(),
+                        b -> b.totalFanoutLatency.get(), TimeUnit.MILLISECONDS)
+                .description("Time from a capacity change to the last session send")
+                .register(registry);
+        Gauge.builder("websocket.capacity.fanout.latency.max", maxFanoutLatency, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private void enqueue(Long lessonId) {
+        changeRequests.incrementAndGet();
+        if (pendingLessons.putIfAbsent(lessonId, System.currentTimeMillis()) != null) {
+            coalescedRequests.incrementAndGet();
+        }
+    }
+
+    void flush() {
+        try {
+            // 큐가 가득 차 예약하지 못한 메시지 재시도
+            for (Long lessonId : pendingMessages.keySet()) {
+                scheduleFanout(lessonId);
+            }
+            if (pendingLessons.isEmpty()) {
+                return;
+            }
+            Map<Long, Long> batch = new HashMap<>();
+            for (Long lessonId : pendingLessons.keySet()) {
+                Long enqueuedAt = pendingLessons.remove(lessonId);
+                // 단일 노드에서는 구독자가 없는 강습의 집계를 생략 (다른 노드에는 구독자가 있을 수 있음)
+                if (enqueuedAt != null
+                        && (eventBus.isDistributed() || !webSocketHandler.subscribersOf(lessonId).isEmpty())) {
+                    batch.put(lessonId, enqueuedAt);
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<Long> lessonIds = new ArrayList<>(batch.keySet());
+            Map<Long, LessonAvailability> availabilities = availabilityProjection.getAll(lessonIds);
+            Map<Long, Integer> capacities = new HashMap<>();
+            for (Lesson lesson : lessonRepository.findAllById(lessonIds)) {
+                capacities.put(lesson.getLessonId(), lesson.getCapacity());
+            }
+
+            for (Long lessonId : lessonIds) {
+                if (availabilityProjection.isChangePending(lessonId)) {
+                    pendingLessons.putIfAbsent(lessonId, batch.get(lessonId));
+                    deferredUpdates.incrementAndGet();
+                    continue;
+                }
+                LessonAvailability availability = availabilities.get(lessonId);
+                Integer capacity = capacities.get(lessonId);
+                if (availability == null || capacity == null) {
+                    continue;
+                }
+                eventBus.publish(new LessonCapacityEvent(lessonId, capacity, (int) availability.getPaid(),
+                        (int) availability.getUnpaidHeld(), eventBus.getNodeId(), batch.get(lessonId)));
+            }
+        } catch (Exception e) {
+            logger.error("[WebSocket] Capacity broadcast flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 이벤트 버스 수신 처리. 다른 노드에서 온 변경이면 이 노드의 프로젝션과 좌석 원장도 DB 값에 맞춰 갱신합니다.
+     */
+    private void onCapacityEvent(LessonCapacityEvent event) {
+        if (!eventBus.getNodeId().equals(event.getOriginNodeId())) {
+            remoteEvents.incrementAndGet();
+            availabilityProjection.markChanged(event.getLessonId());
+            seatLedger.resync(event.getLessonId());
+        }
+        if (webSocketHandler.subscribersOf(event.getLessonId()).isEmpty()) {
+            return;
+        }
+        try {
+            fanOut(event);
+        } catch (JsonProcessingException e) {
+            logger.error("[WebSocket] Failed to serialize capacity update for lesson {}: {}", event.getLessonId(),
+                    e.getMessage());
+        }
+    }
+
+    private void fanOut(LessonCapacityEvent event) throws JsonProcessingException {
+        Long lessonId = event.getLessonId();
+        LessonCapacityUpdateDto updateDto = new LessonCapacityUpdateDto(lessonId, "capacity_update",
+                event.getCapacity(), event.getPaidEnrollments(), event.getUnpaidEnrollments());
+        // 강습별로 한 번만 직렬화
+        TextMessage message = new TextMessage(objectMapper.writeValueAsString(updateDto));
+
+        if (pendingMessages.put(lessonId, message) != null) {
+            coalescedFanouts.incrementAndGet();
+        }
+        scheduleFanout(lessonId);
+
+        long latency = Math.max(0, System.currentTimeMillis() - event.getChangedAt());
+        totalFanoutLatency.addAndGet(latency);
+        maxFanoutLatency.accumulateAndGet(latency, Math::max);
+        broadcasts.incrementAndGet();
+        logger.debug("[WebSocket] Queued capacity update for lesson {} ({} ms after change)", lessonId, latency);
+    }
+
+    /**
+     * 강습의 fan-out 작업을 예약합니다. 이미 대기/실행 중이면 그 작업이 최신 메시지를 가져가므로 아무것도 하지 않습니다.
+     */
+    private void scheduleFanout(Long lessonId) {
+        if (!scheduledFanouts.add(lessonId)) {
+            return;
+        }
+        fanoutInFlight.incrementAndGet();
+        try {
+            fanoutExecutor.execute(() -> runFanout(lessonId));
+        } catch (RejectedExecutionException e) {
+            // 메시지는 pendingMessages 에 남겨 두고 다음 flush 에서 다시 예약
+            fanoutInFlight.decrementAndGet();
+            scheduledFanouts.remove(lessonId);
+            rejectedFanouts.incrementAndGet();
+        }
+    }
+
+    private void runFanout(Long lessonId) {
+        try {
+            TextMessage message;
+            while ((message = pendingMessages.remove(lessonId)) != null) {
+                Set<WebSocketSession> subscribers = webSocketHandler.subscribersOf(lessonId);
+                for (WebSocketSession session : subscribers) {
+                    webSocketHandler.send(session, message);
+                }
+                messagesDispatched.addAndGet(subscribers.size());
+            }
+        } finally {
+            fanoutInFlight.decrementAndGet();
+            scheduledFanouts.remove(lessonId);
+        }
+        // 루프 종료와 예약 해제 사이에 들어온 메시지
+        if (pendingMessages.containsKey(lessonId)) {
+            scheduleFanout(lessonId);
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,19 @@
+package cms.websocket.broadcast;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 노드 간에 전달되는 강습 정원 변경 이벤트. 발행 노드가 집계한 값을 그대로 담아 수신 노드는 DB 조회 없이 전송합니다.
+ */
+@Getter
+@AllArgsConstructor
+public class LessonCapacityEvent {
+    private final Long lessonId;
+    private final int capacity;
+    private final int paidEnrollments;
+    private final int unpaidEnrollments;
+    private final String originNodeId;
+    /** 최초 변경 시각 (epoch millis), 전송 지연 측정용 */
+    private final long changedAt;
+}
@@ -0,0 +1,50 @@
+package cms.websocket.broadcast;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 프로세스 내 이벤트 버스. 발행한 노드의 구독자에게만 즉시 전달합니다. (단일 노드 배포, 테스트용)
+ */
+@Component
+@ConditionalOnProperty(name = "app.enrollment.event-bus.type", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackCapacityEventBus implements CapacityEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoopbackCapacityEventBus.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<LessonCapacityEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(LessonCapacityEvent event) {
+        for (Consumer<LessonCapacityEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                logger.error("[EventBus] Listener failed for lesson {}: {}", event.getLessonId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<LessonCapacityEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return false;
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+}
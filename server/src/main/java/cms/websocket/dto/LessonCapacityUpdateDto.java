@@ -11,13 +11,18 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class LessonCapacityUpdateDto {
     private Long lessonId;
-    private String type; // "connected", "subscribed", "capacity_update", "lesson_closed" 등
+    private String type; // "connected", "subscribed", "capacity_update", "lesson_closed", "queue_position" 등
     private int capacity;
     private int paidEnrollments;
     private int unpaidEnrollments;
     private int availableSlots;
     private long timestamp;
 
+    // 대기열 메시지(queue_position) 전용
+    private String queueStatus;
+    private Long queuePosition;
+    private Long estimatedWaitSeconds;
+
     // 간편 생성자
     public LessonCapacityUpdateDto(Long lessonId, String type, int capacity, int paidEnrollments, int unpaidEnrollments) {
         this.lessonId = lessonId;
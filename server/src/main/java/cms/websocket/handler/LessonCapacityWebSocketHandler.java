@@ -1,34 +1,61 @@
 package cms.websocket.handler;
 
+import cms.enroll.admission.AdmissionTicket;
+import cms.enroll.admission.EnrollmentAdmissionQueue;
 import cms.websocket.dto.LessonCapacityUpdateDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class LessonCapacityWebSocketHandler implements WebSocketHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(LessonCapacityWebSocketHandler.class);
     private final ObjectMapper objectMapper = new ObjectMapper();
-    
+
+    // 전체 활성 세션 관리 (원본 세션 ID -> 전송 버퍼가 있는 세션)
+    private final ConcurrentHashMap<String, ConcurrentWebSocketSessionDecorator> sessions = new ConcurrentHashMap<>();
     // 레슨별 구독자 관리
-    private final ConcurrentHashMap<Long, CopyOnWriteArraySet<WebSocketSession>> lessonSubscribers = new ConcurrentHashMap<>();
-    // 전체 활성 세션 관리
-    private final CopyOnWriteArraySet<WebSocketSession> allSessions = new CopyOnWriteArraySet<>();
+    private final ConcurrentHashMap<Long, Set<WebSocketSession>> lessonSubscribers = new ConcurrentHashMap<>();
+    // 대기열 순번 알림 대상 (세션 -> 입장권)
+    private final ConcurrentHashMap<WebSocketSession, AdmissionTicket> queueWatchers = new ConcurrentHashMap<>();
+
+    private final EnrollmentAdmissionQueue admissionQueue;
+    private final int sendTimeLimit;
+    private final int sendBufferSizeLimit;
+
+    private final AtomicLong sendFailures = new AtomicLong();
+    private final AtomicLong slowSessionsClosed = new AtomicLong();
+
+    public LessonCapacityWebSocketHandler(EnrollmentAdmissionQueue admissionQueue,
+            @Value("${app.enrollment.websocket.send-time-limit:10000}") int sendTimeLimit,
+            @Value("${app.enrollment.websocket.send-buffer-size-limit:65536}") int sendBufferSizeLimit) {
+        this.admissionQueue = admissionQueue;
+        this.sendTimeLimit = sendTimeLimit;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        allSessions.add(session);
-        logger.info("[WebSocket] New connection established: {}", session.getId());
-        
+        // 느린 클라이언트는 세션별 버퍼에 쌓이고, 한도를 넘으면 오래된 메시지부터 버림 (정원 정보는 최신 값만 의미 있음)
+        ConcurrentWebSocketSessionDecorator decorated = new ConcurrentWebSocketSessionDecorator(session,
+                sendTimeLimit, sendBufferSizeLimit, ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP);
+        sessions.put(session.getId(), decorated);
+        logger.debug("[WebSocket] New connection established: {}", session.getId());
+
         // 연결 확인 메시지 전송
-        sendMessage(session, new LessonCapacityUpdateDto(null, "connected", 0, 0, 0));
+        sendMessage(decorated, new LessonCapacityUpdateDto(null, "connected", 0, 0, 0));
     }
 
     @Override
@@ -36,14 +63,20 @@ public class LessonCapacityWebSocketHandler implements WebSocketHandler {
         try {
             String payload = message.getPayload().toString();
             logger.debug("[WebSocket] Message received from {}: {}", session.getId(), payload);
-            
+            WebSocketSession target = sessions.get(session.getId());
+            if (target == null) {
+                return;
+            }
+
             // 클라이언트에서 특정 레슨 구독 요청 처리
             if (payload.startsWith("subscribe:")) {
                 Long lessonId = Long.parseLong(payload.substring(10));
-                subscribeLessonUpdates(session, lessonId);
+                subscribeLessonUpdates(target, lessonId);
             } else if (payload.startsWith("unsubscribe:")) {
                 Long lessonId = Long.parseLong(payload.substring(12));
-                unsubscribeLessonUpdates(session, lessonId);
+                unsubscribeLessonUpdates(target, lessonId);
+            } else if (payload.startsWith("queue:")) {
+                watchQueuePosition(target, payload.substring(6));
             }
         } catch (Exception e) {
             logger.error("[WebSocket] Error handling message from {}: {}", session.getId(), e.getMessage());
@@ -57,12 +90,15 @@ public class LessonCapacityWebSocketHandler implements WebSocketHandler {
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
-        allSessions.remove(session);
-        
+        WebSocketSession decorated = sessions.remove(session.getId());
+
         // 모든 레슨 구독에서 제거
-        lessonSubscribers.values().forEach(subscribers -> subscribers.remove(session));
-        
-        logger.info("[WebSocket] Connection closed: {}, reason: {}", session.getId(), closeStatus.getReason());
+        if (decorated != null) {
+            lessonSubscribers.values().forEach(subscribers -> subscribers.remove(decorated));
+            queueWatchers.remove(decorated);
+        }
+
+        logger.debug("[WebSocket] Connection closed: {}, reason: {}", session.getId(), closeStatus.getReason());
     }
 
     @Override
@@ -71,42 +107,122 @@ public class LessonCapacityWebSocketHandler implements WebSocketHandler {
     }
 
     /**
-     * 특정 레슨의 정원 정보 업데이트를 구독자들에게 브로드캐스트
+     * 특정 레슨의 구독 세션 목록 (브로드캐스트용, 읽기 전용)
      */
-    public void broadcastLessonCapacityUpdate(Long lessonId, int capacity, int paidEnrollments, int unpaidEnrollments) {
-        CopyOnWriteArraySet<WebSocketSession> subscribers = lessonSubscribers.get(lessonId);
-        if (subscribers == null || subscribers.isEmpty()) {
-            return;
+    public Set<WebSocketSession> subscribersOf(Long lessonId) {
+        Set<WebSocketSession> subscribers = lessonSubscribers.get(lessonId);
+        return subscribers == null ? Collections.emptySet() : Collections.unmodifiableSet(subscribers);
+    }
+
+    /**
+     * 이미 직렬화된 메시지를 세션 버퍼로 전송합니다. 다른 스레드가 같은 세션에 쓰는 중이면 버퍼에만 쌓고 즉시 반환합니다.
+     *
+     * @return 전송(또는 버퍼링) 성공 여부
+     */
+    public boolean send(WebSocketSession session, TextMessage message) {
+        if (!session.isOpen()) {
+            removeSession(session);
+            return false;
+        }
+        try {
+            session.sendMessage(message);
+            return true;
+        } catch (SessionLimitExceededException e) {
+            // send-time-limit 동안 버퍼를 비우지 못한 세션은 종료
+            slowSessionsClosed.incrementAndGet();
+            removeSession(session);
+            closeQuietly(session);
+            logger.warn("[WebSocket] Closed slow session {}: {}", session.getId(), e.getMessage());
+        } catch (IOException | IllegalStateException e) {
+            sendFailures.incrementAndGet();
+            logger.debug("[WebSocket] Failed to send message to session {}: {}", session.getId(), e.getMessage());
         }
+        return false;
+    }
 
-        LessonCapacityUpdateDto updateDto = LessonCapacityUpdateDto.builder()
-                .lessonId(lessonId)
-                .type("capacity_update")
-                .capacity(capacity)
-                .paidEnrollments(paidEnrollments)
-                .unpaidEnrollments(unpaidEnrollments)
-                .availableSlots(capacity - paidEnrollments - unpaidEnrollments)
-                .build();
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public int getSubscribedLessonCount() {
+        return lessonSubscribers.size();
+    }
 
-        subscribers.forEach(session -> {
-            if (session.isOpen()) {
-                sendMessage(session, updateDto);
-            } else {
-                subscribers.remove(session);
+    /**
+     * 모든 세션 전송 버퍼에 쌓여 있는 바이트 수
+     */
+    public long getBufferedBytes() {
+        long total = 0;
+        for (ConcurrentWebSocketSessionDecorator session : sessions.values()) {
+            total += session.getBufferSize();
+        }
+        return total;
+    }
+
+    public long getSendFailures() {
+        return sendFailures.get();
+    }
+
+    public long getSlowSessionsClosed() {
+        return slowSessionsClosed.get();
+    }
+
+    /**
+     * 대기 중인 세션들에게 현재 순번을 전송. 입장 또는 만료된 세션은 마지막 메시지 전송 후 대상에서 제외
+     */
+    public void pushQueuePositions() {
+        if (queueWatchers.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        queueWatchers.forEach((session, ticket) -> {
+            if (!session.isOpen()) {
+                queueWatchers.remove(session);
+                return;
+            }
+            String status = admissionQueue.statusOf(ticket, now);
+            sendMessage(session, toQueueMessage(ticket, status, now));
+            if (!EnrollmentAdmissionQueue.STATUS_WAITING.equals(status)) {
+                queueWatchers.remove(session);
             }
         });
+    }
+
+    /**
+     * 입장권 순번 알림 등록
+     */
+    private void watchQueuePosition(WebSocketSession session, String token) {
+        AdmissionTicket ticket = admissionQueue.parse(token);
+        if (ticket == null) {
+            sendMessage(session, LessonCapacityUpdateDto.builder()
+                    .type("queue_invalid")
+                    .timestamp(System.currentTimeMillis())
+                    .build());
+            return;
+        }
+        queueWatchers.put(session, ticket);
+        long now = System.currentTimeMillis();
+        sendMessage(session, toQueueMessage(ticket, admissionQueue.statusOf(ticket, now), now));
+    }
 
-        logger.info("[WebSocket] Broadcasted capacity update for lesson {} to {} subscribers", 
-                   lessonId, subscribers.size());
+    private LessonCapacityUpdateDto toQueueMessage(AdmissionTicket ticket, String status, long now) {
+        return LessonCapacityUpdateDto.builder()
+                .lessonId(ticket.getLessonId())
+                .type("queue_position")
+                .queueStatus(status)
+                .queuePosition(admissionQueue.positionOf(ticket, now))
+                .estimatedWaitSeconds(Math.max(0, (ticket.getAdmitAt() - now + 999) / 1000))
+                .timestamp(now)
+                .build();
     }
 
     /**
      * 특정 레슨 업데이트 구독
      */
     private void subscribeLessonUpdates(WebSocketSession session, Long lessonId) {
-        lessonSubscribers.computeIfAbsent(lessonId, k -> new CopyOnWriteArraySet<>()).add(session);
-        logger.info("[WebSocket] Session {} subscribed to lesson {}", session.getId(), lessonId);
-        
+        lessonSubscribers.computeIfAbsent(lessonId, k -> ConcurrentHashMap.newKeySet()).add(session);
+        logger.debug("[WebSocket] Session {} subscribed to lesson {}", session.getId(), lessonId);
+
         // 구독 확인 메시지 전송
         sendMessage(session, new LessonCapacityUpdateDto(lessonId, "subscribed", 0, 0, 0));
     }
@@ -115,14 +231,27 @@ public class LessonCapacityWebSocketHandler implements WebSocketHandler {
      * 특정 레슨 업데이트 구독 해제
      */
     private void unsubscribeLessonUpdates(WebSocketSession session, Long lessonId) {
-        CopyOnWriteArraySet<WebSocketSession> subscribers = lessonSubscribers.get(lessonId);
+        Set<WebSocketSession> subscribers = lessonSubscribers.get(lessonId);
         if (subscribers != null) {
             subscribers.remove(session);
             if (subscribers.isEmpty()) {
-                lessonSubscribers.remove(lessonId);
+                lessonSubscribers.remove(lessonId, subscribers);
             }
         }
-        logger.info("[WebSocket] Session {} unsubscribed from lesson {}", session.getId(), lessonId);
+        logger.debug("[WebSocket] Session {} unsubscribed from lesson {}", session.getId(), lessonId);
+    }
+
+    private void removeSession(WebSocketSession session) {
+        lessonSubscribers.values().forEach(subscribers -> subscribers.remove(session));
+        queueWatchers.remove(session);
+    }
+
+    private void closeQuietly(WebSocketSession session) {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            logger.debug("[WebSocket] Failed to close session {}: {}", session.getId(), e.getMessage());
+        }
     }
 
     /**
@@ -130,12 +259,9 @@ public class LessonCapacityWebSocketHandler implements WebSocketHandler {
      */
     private void sendMessage(WebSocketSession session, LessonCapacityUpdateDto message) {
         try {
-            if (session.isOpen()) {
-                String json = objectMapper.writeValueAsString(message);
-                session.sendMessage(new TextMessage(json));
-            }
+            send(session, new TextMessage(objectMapper.writeValueAsString(message)));
         } catch (IOException e) {
-            logger.error("[WebSocket] Failed to send message to session {}: {}", session.getId(), e.getMessage());
+            logger.error("[WebSocket] Failed to serialize message for session {}: {}", session.getId(), e.getMessage());
         }
     }
-} 
\ No newline at end of file
+}
@@ -39,10 +39,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         String requestURI = request.getRequestURI();
         boolean shouldNotFilter = permitAllRequestMatcher.matches(request);
-        if (shouldNotFilter) {
-            log.info("[JwtRequestFilter] Skipping filter for permitAll path: {} (matches() returned true)", requestURI);
-        } else {
-            log.info("[JwtRequestFilter] NOT skipping filter for path: {} (matches() returned false)", requestURI);
+        if (log.isTraceEnabled()) {
+            log.trace("[JwtRequestFilter] {} filter for path: {}", shouldNotFilter ? "Skipping" : "Applying", requestURI);
         }
         return shouldNotFilter;
     }
@@ -52,8 +50,6 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         
         String requestURI = request.getRequestURI();
-        log.info("[JwtRequestFilter] ACTUALLY FILTERING URI: {} (shouldNotFilter must have returned false)", requestURI);
-        
         final String requestTokenHeader = request.getHeader("Authorization");
         
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
@@ -61,23 +57,14 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             log.debug("Extracted token from header for URI: {}", requestURI);
             
             try {
-                log.debug("Validating token for URI: {}...", requestURI);
-                if (jwtTokenProvider.validateToken(token)) {
-                    log.debug("Token validation successful for URI: {}, creating authentication...", requestURI);
-                    Authentication authentication = jwtTokenProvider.getAuthentication(token);
-                    if (authentication != null) {
-                        log.debug("Authentication created successfully for user: {} on URI: {}", authentication.getName(), requestURI);
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        log.debug("Security context updated with authentication for URI: {}", requestURI);
-                    } else {
-                        log.warn("Failed to create authentication object for token on URI: {}", requestURI);
-                        SecurityContextHolder.clearContext(); 
-                    }
+                // 서명 검증은 토큰당 한 번만 수행 (VerifiedTokenCache)
+                Authentication authentication = jwtTokenProvider.authenticate(token);
+                if (authentication != null) {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Authenticated user: {} on URI: {}", authentication.getName(), requestURI);
                 } else {
-                    log.warn("Token validation failed (validateToken returned false) for URI: {}", requestURI);
-                    SecurityContextHolder.clearContext();
-                    sendErrorResponse(response, "유효하지 않은 토큰입니다.");
-                    return;
+                    log.warn("Failed to create authentication object for token on URI: {}", requestURI);
+                    SecurityContextHolder.clearContext(); 
                 }
             } catch (ExpiredJwtException e) {
                 log.warn("Token expired for URI: {} - Expiration: {}", requestURI, e.getClaims().getExpiration());
@@ -83,6 +83,8 @@ public class SecurityConfig {
 				"/api/v1/auth/**",
 				"/api/v1/public/**",
 				"/api/v1/cms/menu/public",
+				"/api/v1/cms/menu/public/by-url",
+				"/api/v1/cms/page-bundles/public/**",
 				"/api/v1/cms/menu/public/**/page-details",
 				"/api/v1/cms/template/public",
 				"/api/v1/cms/template",
@@ -162,6 +164,8 @@ public class SecurityConfig {
 								"/api/v1/cms/popups**")
 						.authenticated()
 						.antMatchers("/api/v1/mypage/**").hasRole("USER")
+						.antMatchers("/actuator/health", "/actuator/health/**").authenticated()
+						.antMatchers("/actuator/**").hasAnyRole("ADMIN", "SYSTEM_ADMIN")
 						.anyRequest().authenticated())
 				.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
 				.exceptionHandling()
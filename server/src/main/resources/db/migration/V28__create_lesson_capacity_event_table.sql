@@ -0,0 +1,12 @@
+-- 노드 간 강습 정원 변경 이벤트 (app.enrollment.event-bus.type=jdbc 일 때 사용)
+CREATE TABLE lesson_capacity_event (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT 'PK: 이벤트 ID (폴링 커서)',
+    lesson_id BIGINT NOT NULL COMMENT '강습 ID',
+    capacity INT NOT NULL COMMENT '정원',
+    paid_count INT NOT NULL COMMENT '결제완료 수',
+    unpaid_count INT NOT NULL COMMENT '결제대기 수',
+    origin_node VARCHAR(36) NOT NULL COMMENT '발행 노드 ID',
+    changed_at BIGINT NOT NULL COMMENT '최초 변경 시각 (epoch millis)',
+    created_at DATETIME(3) NOT NULL COMMENT '발행 일시',
+    INDEX idx_lesson_capacity_event_created (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='강습 정원 변경 이벤트';
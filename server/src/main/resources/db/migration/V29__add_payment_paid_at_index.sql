@@ -0,0 +1,2 @@
+-- 기간별 결제 데이터 내보내기 키셋 페이징 (paid_at, id)
+CREATE INDEX idx_payment_paid_at_id ON payment (paid_at, id);
@@ -0,0 +1,15 @@
+-- 이미지 파생본 (리사이즈/포맷 변환) 테이블
+CREATE TABLE file_variant (
+    variant_id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT 'PK: 파생본 ID',
+    file_id BIGINT NOT NULL COMMENT '원본 파일 ID',
+    width INT NOT NULL COMMENT '파생본 너비(px)',
+    height INT NOT NULL COMMENT '파생본 높이(px)',
+    format VARCHAR(10) NOT NULL COMMENT '포맷 (jpg, png, webp)',
+    saved_name VARCHAR(255) NOT NULL COMMENT '저장된 파일명',
+    mime_type VARCHAR(100) NOT NULL COMMENT 'MIME 타입',
+    size BIGINT NOT NULL COMMENT '파일 크기(바이트)',
+    created_date DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '생성 일시',
+    CONSTRAINT uk_file_variant UNIQUE (file_id, width, format),
+    CONSTRAINT uk_file_variant_saved_name UNIQUE (saved_name),
+    CONSTRAINT fk_file_variant_file FOREIGN KEY (file_id) REFERENCES file (file_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='CMS 이미지 파생본';
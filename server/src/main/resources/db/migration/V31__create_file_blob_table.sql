@@ -0,0 +1,14 @@
+-- 내용 주소(SHA-256) 기반 파일 저장소. 같은 내용은 한 번만 저장하고 참조 수를 관리
+CREATE TABLE file_blob (
+    digest CHAR(64) PRIMARY KEY COMMENT 'PK: 내용 SHA-256 (hex)',
+    size BIGINT NOT NULL COMMENT '크기(바이트)',
+    ref_count INT NOT NULL DEFAULT 0 COMMENT '참조 수 (file, file_variant 행)',
+    created_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '최초 저장 일시',
+    updated_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '참조 수 변경 일시',
+    INDEX idx_file_blob_released (ref_count, updated_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='CMS 파일 저장 블롭';
+
+ALTER TABLE file ADD COLUMN content_hash CHAR(64) NULL COMMENT '저장 블롭 digest (NULL 이면 기존 방식 저장)' AFTER saved_name;
+ALTER TABLE file ADD INDEX idx_file_content_hash (content_hash);
+
+ALTER TABLE file_variant ADD COLUMN content_hash CHAR(64) NULL COMMENT '저장 블롭 digest' AFTER saved_name;
@@ -0,0 +1,26 @@
+-- 분할(청크) 업로드 세션
+CREATE TABLE file_upload_session (
+    upload_id CHAR(36) PRIMARY KEY COMMENT 'PK: 업로드 세션 ID (UUID)',
+    menu VARCHAR(30) NOT NULL COMMENT '모듈 코드',
+    menu_id BIGINT NOT NULL COMMENT '모듈별 리소스 ID',
+    chunk_size INT NOT NULL COMMENT '조각 크기(바이트)',
+    status VARCHAR(20) NOT NULL COMMENT '상태 (OPEN, COMPLETING, COMPLETED)',
+    created_by VARCHAR(36) NULL COMMENT '세션을 만든 사용자 UUID',
+    total_size BIGINT NOT NULL DEFAULT 0 COMMENT '세션 파일 크기 합계(바이트)',
+    created_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성 일시',
+    expires_at DATETIME NOT NULL COMMENT '만료 일시',
+    INDEX idx_file_upload_session_expires (expires_at),
+    INDEX idx_file_upload_session_owner (created_by, expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='CMS 분할 업로드 세션';
+
+CREATE TABLE file_upload_item (
+    item_id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT 'PK: 업로드 항목 ID',
+    upload_id CHAR(36) NOT NULL COMMENT '업로드 세션 ID',
+    item_index INT NOT NULL COMMENT '세션 내 파일 순서',
+    origin_name VARCHAR(255) NOT NULL COMMENT '원본 파일명',
+    mime_type VARCHAR(100) NULL COMMENT 'MIME 타입',
+    size BIGINT NOT NULL COMMENT '파일 크기(바이트)',
+    chunk_count INT NOT NULL COMMENT '조각 수',
+    CONSTRAINT uk_file_upload_item UNIQUE (upload_id, item_index),
+    CONSTRAINT fk_file_upload_item_session FOREIGN KEY (upload_id) REFERENCES file_upload_session (upload_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='CMS 분할 업로드 파일';
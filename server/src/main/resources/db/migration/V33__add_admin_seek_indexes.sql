@@ -0,0 +1,3 @@
+-- 관리자 신청 / 결제 목록 키셋 페이징 (created_at, id)
+CREATE INDEX idx_enroll_created_at_id ON enroll (CREATED_AT, id);
+CREATE INDEX idx_payment_created_at_id ON payment (created_at, id);
@@ -0,0 +1,23 @@
+-- KISPG 결제 통지 수신 기록 (tid + moid 단위 멱등 처리)
+CREATE TABLE kispg_webhook_receipt (
+    receipt_key CHAR(64) PRIMARY KEY COMMENT 'PK: SHA-256(tid + moid) (hex)',
+    tid VARCHAR(100) NOT NULL COMMENT 'KISPG 거래 ID',
+    moid VARCHAR(255) NOT NULL COMMENT '가맹점 주문번호',
+    result_code VARCHAR(20) NULL COMMENT '통지 결과 코드',
+    status VARCHAR(20) NOT NULL COMMENT '처리 상태 (RECEIVED, PROCESSED, FAILED)',
+    response VARCHAR(20) NULL COMMENT 'KISPG 에 돌려준 응답',
+    attempts INT NOT NULL DEFAULT 1 COMMENT '수신 횟수',
+    created_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '최초 수신 일시',
+    updated_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '최종 처리 일시',
+    INDEX idx_kispg_webhook_receipt_moid (moid),
+    INDEX idx_kispg_webhook_receipt_created (created_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='KISPG 결제 통지 수신 기록';
+
+-- 결제 준비(temp moid 발급) 시점의 주문번호 -> 강습 / 사용자 매핑
+CREATE TABLE payment_moid_mapping (
+    moid VARCHAR(255) PRIMARY KEY COMMENT 'PK: 가맹점 주문번호',
+    lesson_id BIGINT NOT NULL COMMENT '강습 ID',
+    user_uuid VARCHAR(36) NOT NULL COMMENT '사용자 UUID',
+    created_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '발급 일시',
+    INDEX idx_payment_moid_mapping_created (created_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='결제 주문번호 매핑';
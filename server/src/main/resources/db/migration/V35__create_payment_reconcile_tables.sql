@@ -0,0 +1,37 @@
+-- 결제 대사 실행 (DB 결제 내역 <-> KISPG 거래조회)
+CREATE TABLE payment_reconcile_run (
+    run_id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT 'PK: 대사 실행 ID',
+    period_start DATE NOT NULL COMMENT '대상 기간 시작일 (결제 생성일 기준)',
+    period_end DATE NOT NULL COMMENT '대상 기간 종료일 (포함)',
+    status VARCHAR(20) NOT NULL COMMENT '상태 (RUNNING, PAUSED, STOPPED, FAILED, COMPLETED)',
+    total_count BIGINT NOT NULL DEFAULT 0 COMMENT '대상 결제 수 (시작 시점)',
+    checkpoint_payment_id BIGINT NOT NULL DEFAULT 0 COMMENT '처리를 마친 마지막 결제 ID (재개 지점)',
+    scanned_count BIGINT NOT NULL DEFAULT 0 COMMENT '처리한 결제 수',
+    matched_count BIGINT NOT NULL DEFAULT 0 COMMENT '일치 건수',
+    mismatched_count BIGINT NOT NULL DEFAULT 0 COMMENT '불일치 건수',
+    skipped_count BIGINT NOT NULL DEFAULT 0 COMMENT 'tid / moid 가 없어 조회하지 않은 건수',
+    last_error VARCHAR(500) NULL COMMENT '마지막 오류 메시지',
+    created_by VARCHAR(36) NULL COMMENT '요청자',
+    started_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '시작 일시',
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '진행 기록 일시',
+    finished_at DATETIME NULL COMMENT '종료 일시',
+    INDEX idx_payment_reconcile_run_status (status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='결제 대사 실행';
+
+CREATE TABLE payment_reconcile_mismatch (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT 'PK',
+    run_id BIGINT NOT NULL COMMENT '대사 실행 ID',
+    payment_id BIGINT NOT NULL COMMENT '결제 ID',
+    tid VARCHAR(100) NULL COMMENT 'KISPG 거래 ID',
+    moid VARCHAR(255) NULL COMMENT '가맹점 주문번호',
+    mismatch_type VARCHAR(20) NOT NULL COMMENT '불일치 유형 (MISSING_AT_PG, AMOUNT, STATUS, QUERY_ERROR)',
+    db_status VARCHAR(50) NULL COMMENT 'DB 결제 상태',
+    db_amount INT NULL COMMENT 'DB 결제 금액',
+    pg_result_code VARCHAR(20) NULL COMMENT 'PG 조회 결과 코드',
+    pg_cancelled TINYINT(1) NULL COMMENT 'PG 취소 여부',
+    pg_amount INT NULL COMMENT 'PG 거래 금액',
+    detail VARCHAR(500) NULL COMMENT '상세 내용',
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '기록 일시',
+    CONSTRAINT uk_payment_reconcile_mismatch UNIQUE (run_id, payment_id),
+    CONSTRAINT fk_payment_reconcile_mismatch_run FOREIGN KEY (run_id) REFERENCES payment_reconcile_run (run_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='결제 대사 불일치 내역';
@@ -0,0 +1,4 @@
+-- 월별 강습 복제 자연키 (대상 연월 + 강습명 + 수업 시간). 복제 작업을 다시 실행해도 같은 강습을 두 번 만들지 않도록 유니크
+-- 기존 강습과 관리자가 직접 만든 강습은 NULL (복제 시에는 같은 연월 / 강습명 / 수업 시간 강습이 있는지도 함께 확인)
+ALTER TABLE lesson ADD COLUMN clone_key CHAR(64) NULL COMMENT '복제 자연키 SHA-256(연월|강습명|수업 시간)' AFTER location_name;
+ALTER TABLE lesson ADD UNIQUE INDEX uk_lesson_clone_key (clone_key);
@@ -0,0 +1,9 @@
+-- 노드 간 2단계 캐시 무효화 이벤트 (app.cache.mode=two-level, app.cache.invalidation.type=jdbc 일 때 사용)
+CREATE TABLE cache_invalidation_event (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT 'PK: 이벤트 ID (폴링 커서)',
+    cache_name VARCHAR(100) NOT NULL COMMENT '캐시 이름',
+    cache_key VARCHAR(500) NULL COMMENT '캐시 키 문자열, NULL 이면 캐시 전체',
+    origin_node VARCHAR(36) NOT NULL COMMENT '발행 노드 ID',
+    created_at DATETIME(3) NOT NULL COMMENT '발행 일시',
+    INDEX idx_cache_invalidation_event_created (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='캐시 무효화 이벤트';
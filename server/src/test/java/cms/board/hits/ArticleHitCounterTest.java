@@ -0,0 +1,117 @@
+package cms.board.hits;
+
+import cms.board.repository.BbsArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArticleHitCounterTest {
+
+    private BbsArticleRepository bbsArticleRepository;
+    private ArticleHitCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        bbsArticleRepository = mock(BbsArticleRepository.class);
+        counter = new ArticleHitCounter(bbsArticleRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void writesAGenerationOneFlushAfterItWasSwapped() {
+        hit(1L, 3);
+
+        assertThat(counter.flush()).isZero();
+        verify(bbsArticleRepository, never()).addHits(anyInt(), anyCollection());
+        assertThat(counter.pending(1L)).isEqualTo(3);
+
+        assertThat(counter.flush()).isEqualTo(3);
+        verify(bbsArticleRepository).addHits(3, Collections.singletonList(1L));
+        assertThat(counter.pending(1L)).isZero();
+    }
+
+    @Test
+    void pendingIncludesTheGenerationBeingWritten() {
+        hit(1L, 3);
+        counter.flush();
+        AtomicInteger seenDuringWrite = new AtomicInteger(-1);
+        when(bbsArticleRepository.addHits(anyInt(), anyCollection())).thenAnswer(invocation -> {
+            seenDuringWrite.set(counter.pending(1L));
+            return 1;
+        });
+
+        counter.flush();
+
+        assertThat(seenDuringWrite.get()).isEqualTo(3);
+        assertThat(counter.pending(1L)).isZero();
+    }
+
+    @Test
+    void groupsArticlesWithTheSameDeltaIntoOneStatement() {
+        hit(1L, 2);
+        hit(2L, 2);
+        hit(3L, 5);
+        List<Collection<Long>> twoHitBatches = new ArrayList<>();
+        when(bbsArticleRepository.addHits(eq(2), anyCollection())).thenAnswer(invocation -> {
+            twoHitBatches.add(new ArrayList<>(invocation.<Collection<Long>>getArgument(1)));
+            return 2;
+        });
+
+        counter.flush();
+        assertThat(counter.flush()).isEqualTo(9);
+
+        assertThat(twoHitBatches).containsExactly(Arrays.asList(1L, 2L));
+        verify(bbsArticleRepository).addHits(5, Collections.singletonList(3L));
+    }
+
+    @Test
+    void failedWriteIsRequeuedWithoutLosingHits() {
+        hit(1L, 4);
+        counter.flush();
+        when(bbsArticleRepository.addHits(anyInt(), anyCollection()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+
+        assertThat(counter.flush()).isZero();
+        assertThat(counter.pending(1L)).isEqualTo(4);
+
+        hit(1L, 1);
+        counter.flush();
+        assertThat(counter.flush()).isEqualTo(5);
+        assertThat(counter.pending(1L)).isZero();
+    }
+
+    @Test
+    void flushAllWritesBothGenerationsOnShutdown() {
+        hit(1L, 2);
+        counter.flush();
+        hit(1L, 1);
+
+        counter.flushAll();
+
+        verify(bbsArticleRepository).addHits(3, Collections.singletonList(1L));
+        assertThat(counter.pending(1L)).isZero();
+    }
+
+    private void hit(Long nttId, int times) {
+        for (int i = 0; i < times; i++) {
+            counter.increment(nttId);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package cms.enroll.ledger;
+
+import cms.enroll.repository.EnrollRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LessonSeatLedgerTest {
+
+    private static final Long LESSON_ID = 1L;
+
+    private EnrollRepository enrollRepository;
+    private LessonSeatLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        enrollRepository = mock(EnrollRepository.class);
+        when(enrollRepository.countActiveEnrollmentsForLesson(eq(LESSON_ID), any(LocalDateTime.class))).thenReturn(0L);
+        ledger = new LessonSeatLedger(enrollRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void hydratesFromDatabaseAndRejectsOnceFull() {
+        when(enrollRepository.countActiveEnrollmentsForLesson(eq(LESSON_ID), any(LocalDateTime.class))).thenReturn(1L);
+
+        assertThat(ledger.tryReserve(LESSON_ID, 2)).isTrue();
+        assertThat(ledger.tryReserve(LESSON_ID, 2)).isFalse();
+        assertThat(ledger.occupiedSlots(LESSON_ID)).isEqualTo(2);
+        assertThat(ledger.availableSlots(LESSON_ID, 2)).isZero();
+    }
+
+    @Test
+    void concurrentReservationsNeverExceedCapacity() throws Exception {
+        int capacity = 50;
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int admitted = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (ledger.tryReserve(LESSON_ID, capacity)) {
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                }));
+            }
+            start.countDown();
+            int admitted = 0;
+            for (Future<Integer> result : results) {
+                admitted += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(admitted).isEqualTo(capacity);
+            assertThat(ledger.occupiedSlots(LESSON_ID)).isEqualTo(capacity);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rolledBackReservationReturnsTheSeat() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(ledger.tryReserve(LESSON_ID, 1)).isTrue();
+        assertThat(ledger.tryReserve(LESSON_ID, 1)).isFalse();
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(ledger.occupiedSlots(LESSON_ID)).isZero();
+        assertThat(ledger.tryReserve(LESSON_ID, 1)).isTrue();
+    }
+
+    @Test
+    void reconcileCorrectsDriftFromTheEnrollTable() {
+        ledger.tryReserve(LESSON_ID, 10);
+        ledger.tryReserve(LESSON_ID, 10);
+        ledger.tryReserve(LESSON_ID, 10);
+        when(enrollRepository.countActiveEnrollmentsGroupedByLesson(any(), any()))
+                .thenReturn(Collections.singletonList(new Object[] { LESSON_ID, 1L }));
+
+        assertThat(ledger.reconcileAll()).isEqualTo(1);
+        assertThat(ledger.occupiedSlots(LESSON_ID)).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileKeepsUncommittedReservations() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(ledger.tryReserve(LESSON_ID, 10)).isTrue();
+        // 아직 커밋되지 않아 DB 집계에는 없음
+        when(enrollRepository.countActiveEnrollmentsGroupedByLesson(any(), any()))
+                .thenReturn(Collections.singletonList(new Object[] { LESSON_ID, 0L }));
+
+        assertThat(ledger.reconcileAll()).isZero();
+        assertThat(ledger.occupiedSlots(LESSON_ID)).isEqualTo(1);
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(ledger.occupiedSlots(LESSON_ID)).isEqualTo(1);
+    }
+
+    @Test
+    void resyncRealignsWithTheDatabaseAfterARelease() {
+        ledger.tryReserve(LESSON_ID, 10);
+        ledger.tryReserve(LESSON_ID, 10);
+        when(enrollRepository.countActiveEnrollmentsForLesson(eq(LESSON_ID), any(LocalDateTime.class))).thenReturn(1L);
+
+        ledger.resync(LESSON_ID);
+
+        assertThat(ledger.occupiedSlots(LESSON_ID)).isEqualTo(1);
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(status);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package cms.kispg.webhook;
+
+import cms.kispg.domain.KispgWebhookReceipt;
+import cms.kispg.dto.KispgNotificationRequest;
+import cms.kispg.repository.KispgWebhookReceiptRepository;
+import cms.kispg.repository.PaymentMoidMappingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KispgWebhookIngestorTest {
+
+    // receipt_key -> status
+    private final Map<String, String> receipts = new ConcurrentHashMap<>();
+
+    private KispgWebhookReceiptRepository receiptRepository;
+    private KispgWebhookIngestor ingestor;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        receiptRepository = mock(KispgWebhookReceiptRepository.class);
+        when(receiptRepository.findStatus(anyString())).thenAnswer(invocation -> receipts.get(invocation.<String>getArgument(0)));
+        when(receiptRepository.updateStatus(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            receipts.put(invocation.getArgument(0), invocation.getArgument(1));
+            return 1;
+        });
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        ingestor = new KispgWebhookIngestor(receiptRepository, mock(PaymentMoidMappingRepository.class),
+                transactionManager, 4, 5000, 100, 86400000L);
+        ingestor.start();
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        ingestor.stop();
+    }
+
+    @Test
+    void retransmissionAfterProcessingIsAnsweredWithoutRunningTheHandler() {
+        AtomicInteger handled = new AtomicInteger();
+        Function<KispgNotificationRequest, String> handler = n -> {
+            handled.incrementAndGet();
+            return "OK";
+        };
+
+        assertThat(ingestor.ingest(notification("T1", "M1"), handler)).isEqualTo("OK");
+        assertThat(ingestor.ingest(notification("T1", "M1"), handler)).isEqualTo("OK");
+
+        assertThat(handled.get()).isEqualTo(1);
+        verify(receiptRepository).updateStatus(anyString(), eq(KispgWebhookReceipt.STATUS_PROCESSED), eq("OK"));
+    }
+
+    @Test
+    void notificationProcessedOnAnotherNodeIsAcknowledgedFromTheReceipt() {
+        ingestor.ingest(notification("T1", "M1"), n -> "OK");
+        String key = receipts.keySet().iterator().next();
+        KispgWebhookIngestor otherNode = new KispgWebhookIngestor(receiptRepository,
+                mock(PaymentMoidMappingRepository.class), mock(PlatformTransactionManager.class), 1, 5000, 100,
+                86400000L);
+        otherNode.start();
+        try {
+            AtomicInteger handled = new AtomicInteger();
+            assertThat(otherNode.ingest(notification("T1", "M1"), n -> {
+                handled.incrementAndGet();
+                return "OK";
+            })).isEqualTo("OK");
+
+            assertThat(handled.get()).isZero();
+            verify(receiptRepository).claim(eq(key), anyString(), anyString(), any());
+        } finally {
+            otherNode.stop();
+        }
+    }
+
+    @Test
+    void concurrentRetransmissionsAreHandledOnce() throws Exception {
+        AtomicInteger handled = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            responses.add(callers.submit(() -> {
+                start.await();
+                return ingestor.ingest(notification("T1", "M1"), n -> {
+                    handled.incrementAndGet();
+                    sleep(20);
+                    return "OK";
+                });
+            }));
+        }
+        start.countDown();
+
+        for (Future<String> response : responses) {
+            assertThat(response.get(10, TimeUnit.SECONDS)).isEqualTo("OK");
+        }
+        assertThat(handled.get()).isEqualTo(1);
+    }
+
+    @Test
+    void notificationsForTheSameOrderRunOneAtATime() throws Exception {
+        CountDownLatch firstEntered = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger secondRuns = new AtomicInteger();
+        CountDownLatch otherOrderDone = new CountDownLatch(1);
+
+        Future<String> first = callers.submit(() -> ingestor.ingest(notification("T1", "M1"), n -> {
+            firstEntered.countDown();
+            await(releaseFirst);
+            return "OK";
+        }));
+        assertThat(firstEntered.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> second = callers.submit(() -> ingestor.ingest(notification("T2", "M1"), n -> {
+            secondRuns.incrementAndGet();
+            return "OK";
+        }));
+        callers.submit(() -> ingestor.ingest(notification("T3", "M2"), n -> {
+            otherOrderDone.countDown();
+            return "OK";
+        }));
+
+        // 다른 주문은 막히지 않고, 같은 주문의 다음 통지는 앞 통지가 끝날 때까지 대기
+        assertThat(otherOrderDone.await(5, TimeUnit.SECONDS)).isTrue();
+        sleep(100);
+        assertThat(secondRuns.get()).isZero();
+
+        releaseFirst.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("OK");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("OK");
+        assertThat(secondRuns.get()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedNotificationIsRecordedAsFailedAndProcessedAgainOnRetry() {
+        AtomicInteger handled = new AtomicInteger();
+        Function<KispgNotificationRequest, String> handler = n -> handled.incrementAndGet() == 1 ? "FAIL" : "OK";
+
+        assertThat(ingestor.ingest(notification("T1", "M1"), handler)).isEqualTo("FAIL");
+        verify(receiptRepository).recordFailure(anyString(), eq("T1"), eq("M1"), any(), eq("FAIL"));
+        verify(receiptRepository, never()).updateStatus(anyString(), anyString(), any());
+
+        assertThat(ingestor.ingest(notification("T1", "M1"), handler)).isEqualTo("OK");
+        assertThat(handled.get()).isEqualTo(2);
+    }
+
+    private static KispgNotificationRequest notification(String tid, String moid) {
+        KispgNotificationRequest notification = new KispgNotificationRequest();
+        notification.setTid(tid);
+        notification.setMoid(moid);
+        notification.setResultCode("0000");
+        return notification;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
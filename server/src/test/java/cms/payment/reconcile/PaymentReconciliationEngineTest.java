@@ -0,0 +1,230 @@
+package cms.payment.reconcile;
+
+import cms.common.exception.BusinessRuleException;
+import cms.kispg.client.PgCircuitOpenException;
+import cms.kispg.service.KispgPaymentService;
+import cms.payment.domain.Payment;
+import cms.payment.domain.PaymentReconcileMismatch;
+import cms.payment.domain.PaymentReconcileRun;
+import cms.payment.domain.PaymentStatus;
+import cms.payment.repository.PaymentReconcileMismatchRepository;
+import cms.payment.repository.PaymentReconcileRunRepository;
+import cms.payment.repository.PaymentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PaymentReconciliationEngineTest {
+
+    private static final LocalDate DAY = LocalDate.of(2001, 1, 15);
+    private static final int BATCH_SIZE = 2;
+
+    private final List<Payment> payments = new ArrayList<>();
+    // moid -> PG 거래조회 응답
+    private final Map<String, Map<String, Object>> pgTransactions = new ConcurrentHashMap<>();
+    private final Map<Long, PaymentReconcileRun> runs = new ConcurrentHashMap<>();
+    private final List<PaymentReconcileMismatch> savedMismatches = Collections.synchronizedList(new ArrayList<>());
+
+    // 이 주문의 첫 조회에서 회로 차단기가 열린 것처럼 실패
+    private final AtomicReference<String> circuitOpenAt = new AtomicReference<>();
+
+    private PaymentReconciliationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        PaymentRepository paymentRepository = mock(PaymentRepository.class);
+        when(paymentRepository.findReconcileBatch(any(), any(), anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(2);
+            Pageable page = invocation.getArgument(3);
+            return payments.stream()
+                    .filter(p -> p.getId() > afterId)
+                    .limit(page.getPageSize())
+                    .collect(Collectors.toList());
+        });
+
+        PaymentReconcileRunRepository runRepository = mock(PaymentReconcileRunRepository.class);
+        when(runRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(runs.get(invocation.<Long>getArgument(0))));
+        when(runRepository.save(any())).thenAnswer(invocation -> {
+            PaymentReconcileRun run = invocation.getArgument(0);
+            runs.put(run.getRunId(), run);
+            return run;
+        });
+        when(runRepository.findByStatus(anyString())).thenAnswer(invocation -> runs.values().stream()
+                .filter(run -> run.getStatus().equals(invocation.getArgument(0)))
+                .collect(Collectors.toList()));
+
+        PaymentReconcileMismatchRepository mismatchRepository = mock(PaymentReconcileMismatchRepository.class);
+        when(mismatchRepository.saveAll(any())).thenAnswer(invocation -> {
+            savedMismatches.addAll(invocation.<Collection<PaymentReconcileMismatch>>getArgument(0));
+            return new ArrayList<>(invocation.<Collection<PaymentReconcileMismatch>>getArgument(0));
+        });
+
+        KispgPaymentService kispgPaymentService = mock(KispgPaymentService.class);
+        when(kispgPaymentService.fetchTransactionAtPg(any(), anyString(), isNull())).thenAnswer(invocation -> {
+            String moid = invocation.getArgument(1);
+            String openAt = circuitOpenAt.get();
+            if (moid.equals(openAt) && circuitOpenAt.compareAndSet(openAt, null)) {
+                throw new PgCircuitOpenException();
+            }
+            return pgTransactions.get(moid);
+        });
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        engine = new PaymentReconciliationEngine(paymentRepository, runRepository, mismatchRepository,
+                kispgPaymentService, transactionManager, BATCH_SIZE, 2, 0, 0, 300000);
+        engine.start();
+
+        payment(1L, PaymentStatus.PAID, 10000, pg(10000, false));
+        payment(2L, PaymentStatus.PAID, 10000, pg(9000, false));
+        payment(3L, PaymentStatus.PAID, 10000, pg(10000, false));
+        payment(4L, PaymentStatus.PAID, 10000, pg(10000, true));
+        payment(5L, PaymentStatus.CANCELED, 10000, pg(10000, true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    @Test
+    void pausedRunResumesFromItsCheckpointWithoutRecordingMismatchesTwice() throws Exception {
+        circuitOpenAt.set("M3");
+        PaymentReconcileRun run = storedRun(1L, PaymentReconcileRun.STATUS_PAUSED, 0L);
+
+        engine.resumeRun(run.getRunId());
+        PaymentReconcileRun paused = awaitFinished(run.getRunId());
+
+        assertThat(paused.getStatus()).isEqualTo(PaymentReconcileRun.STATUS_PAUSED);
+        assertThat(paused.getCheckpointPaymentId()).isEqualTo(2L);
+        assertThat(paused.getScannedCount()).isEqualTo(2);
+        assertThat(mismatchedPaymentIds()).containsExactly(2L);
+
+        engine.resumeRun(run.getRunId());
+        PaymentReconcileRun completed = awaitFinished(run.getRunId());
+
+        assertThat(completed.getStatus()).isEqualTo(PaymentReconcileRun.STATUS_COMPLETED);
+        assertThat(completed.getCheckpointPaymentId()).isEqualTo(5L);
+        assertThat(completed.getScannedCount()).isEqualTo(5);
+        assertThat(completed.getMatchedCount()).isEqualTo(3);
+        assertThat(completed.getMismatchedCount()).isEqualTo(2);
+        assertThat(mismatchedPaymentIds()).containsExactlyInAnyOrder(2L, 4L);
+        assertThat(savedMismatches).extracting(PaymentReconcileMismatch::getMismatchType)
+                .containsExactlyInAnyOrder(PaymentReconcileMismatch.TYPE_AMOUNT, PaymentReconcileMismatch.TYPE_STATUS);
+    }
+
+    @Test
+    void crashedRunIsResumedAfterItsLastSavedBatch() throws Exception {
+        // 노드가 배치 1 저장 직후 중단되어 RUNNING 으로 남은 실행
+        PaymentReconcileRun run = storedRun(1L, PaymentReconcileRun.STATUS_RUNNING, 2L);
+        run.setScannedCount(2);
+        run.setMatchedCount(1);
+        run.setMismatchedCount(1);
+
+        engine.resumeRun(run.getRunId());
+        PaymentReconcileRun completed = awaitFinished(run.getRunId());
+
+        assertThat(completed.getStatus()).isEqualTo(PaymentReconcileRun.STATUS_COMPLETED);
+        assertThat(completed.getScannedCount()).isEqualTo(5);
+        assertThat(completed.getMismatchedCount()).isEqualTo(2);
+        assertThat(mismatchedPaymentIds()).containsExactly(4L);
+    }
+
+    @Test
+    void runStillReportingProgressOnAnotherNodeIsNotResumed() {
+        PaymentReconcileRun run = storedRun(1L, PaymentReconcileRun.STATUS_RUNNING, 2L);
+        run.setUpdatedAt(LocalDateTime.now());
+
+        assertThatThrownBy(() -> engine.resumeRun(run.getRunId())).isInstanceOf(BusinessRuleException.class);
+        assertThat(runs.get(run.getRunId()).getCheckpointPaymentId()).isEqualTo(2L);
+    }
+
+    @Test
+    void completedRunCannotBeResumed() {
+        PaymentReconcileRun run = storedRun(1L, PaymentReconcileRun.STATUS_COMPLETED, 5L);
+
+        assertThatThrownBy(() -> engine.resumeRun(run.getRunId())).isInstanceOf(BusinessRuleException.class);
+    }
+
+    private PaymentReconcileRun storedRun(Long runId, String status, long checkpoint) {
+        LocalDateTime now = LocalDateTime.now();
+        PaymentReconcileRun run = PaymentReconcileRun.builder()
+                .runId(runId)
+                .periodStart(DAY)
+                .periodEnd(DAY)
+                .status(status)
+                .totalCount(payments.size())
+                .checkpointPaymentId(checkpoint)
+                .startedAt(now)
+                .updatedAt(now.minusHours(1))
+                .build();
+        runs.put(runId, run);
+        return run;
+    }
+
+    private PaymentReconcileRun awaitFinished(Long runId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < deadline) {
+            PaymentReconcileRun run = runs.get(runId);
+            if (run.getFinishedAt() != null && !PaymentReconcileRun.STATUS_RUNNING.equals(run.getStatus())) {
+                // finish 저장 뒤 activeRunId 가 풀릴 때까지 대기
+                Thread.sleep(50);
+                return run;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Run " + runId + " did not finish: " + runs.get(runId).getStatus());
+    }
+
+    private List<Long> mismatchedPaymentIds() {
+        synchronized (savedMismatches) {
+            return savedMismatches.stream().map(PaymentReconcileMismatch::getPaymentId).collect(Collectors.toList());
+        }
+    }
+
+    private void payment(Long id, PaymentStatus status, int amount, Map<String, Object> pgTransaction) {
+        Payment payment = new Payment();
+        payment.setId(id);
+        payment.setStatus(status);
+        payment.setPaidAmt(amount);
+        payment.setTid("T" + id);
+        payment.setMoid("M" + id);
+        payment.setCreatedAt(DAY.atTime(12, 0));
+        payments.add(payment);
+        pgTransactions.put(payment.getMoid(), pgTransaction);
+    }
+
+    private static Map<String, Object> pg(int amount, boolean cancelled) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("resultCd", "0000");
+        response.put("amt", String.valueOf(amount));
+        response.put("cancelYN", cancelled ? "Y" : "N");
+        return response;
+    }
+}
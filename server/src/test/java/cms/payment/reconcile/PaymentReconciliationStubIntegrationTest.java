@@ -0,0 +1,272 @@
+package cms.payment.reconcile;
+
+import cms.enroll.repository.EnrollRepository;
+import cms.kispg.service.KispgPaymentService;
+import cms.payment.domain.Payment;
+import cms.payment.domain.PaymentReconcileMismatch;
+import cms.payment.domain.PaymentReconcileRun;
+import cms.payment.domain.PaymentStatus;
+import cms.payment.repository.PaymentReconcileMismatchRepository;
+import cms.payment.repository.PaymentReconcileRunRepository;
+import cms.payment.repository.PaymentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 결제 대사 + KISPG 스텁 통합 테스트 (pg-stub 프로필)
+ *
+ * 애플리케이션과 같이 작업 디렉터리의 .env 로 DB 에 연결하므로 .env 가 없으면 건너뜁니다.
+ * 서버를 고정 포트로 띄우고 kispg.url 을 같은 서버의 스텁으로 지정해 실제 HTTP 경로(KispgHttpClient, encData 해시)를 거칩니다.
+ * 다른 데이터와 섞이지 않도록 2001년 1월 생성일로 결제를 만들고 테스트가 끝나면 지웁니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
+@ActiveProfiles("pg-stub")
+@EnabledIf("envFilePresent")
+class PaymentReconciliationStubIntegrationTest {
+
+    private static final int PORT = freePort();
+    private static final LocalDate PERIOD_START = LocalDate.of(2001, 1, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2001, 1, 31);
+    private static final String STUB_MID = "stubmid01m";
+    private static final String STUB_MERCHANT_KEY = "stub-merchant-key";
+
+    @DynamicPropertySource
+    static void stubProperties(DynamicPropertyRegistry registry) {
+        registry.add("server.port", () -> PORT);
+        registry.add("server.servlet.context-path", () -> "/");
+        registry.add("kispg.url", () -> "http://localhost:" + PORT + "/api/v1/pg-stub/kispg");
+        registry.add("kispg.mid", () -> STUB_MID);
+        registry.add("kispg.merchantKey", () -> STUB_MERCHANT_KEY);
+        registry.add("app.payment.reconcile.batch-size", () -> 2);
+        registry.add("app.payment.reconcile.retries", () -> 0);
+    }
+
+    static boolean envFilePresent() {
+        return Files.exists(Paths.get(".env"));
+    }
+
+    @Autowired
+    private PaymentReconciliationEngine engine;
+    @Autowired
+    private KispgPaymentService kispgPaymentService;
+    @Autowired
+    private PaymentRepository paymentRepository;
+    @Autowired
+    private EnrollRepository enrollRepository;
+    @Autowired
+    private PaymentReconcileRunRepository runRepository;
+    @Autowired
+    private PaymentReconcileMismatchRepository mismatchRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private Long enrollId;
+    private final List<Long> paymentIds = new ArrayList<>();
+    private final List<Long> runIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Long> enrolls = jdbcTemplate.queryForList("SELECT enroll_id FROM enroll ORDER BY enroll_id LIMIT 1",
+                Long.class);
+        assumeTrue(!enrolls.isEmpty(), "결제를 연결할 수강 신청이 없습니다.");
+        assumeTrue(paymentRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+                PERIOD_START.atStartOfDay(), PERIOD_END.plusDays(1).atStartOfDay()) == 0,
+                "테스트 기간에 다른 결제가 있습니다.");
+        enrollId = enrolls.get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        restTemplate.delete("/api/v1/pg-stub/kispg/transactions");
+        for (Long runId : runIds) {
+            jdbcTemplate.update("DELETE FROM payment_reconcile_run WHERE run_id = ?", runId);
+        }
+        for (Long paymentId : paymentIds) {
+            jdbcTemplate.update("DELETE FROM payment WHERE id = ?", paymentId);
+        }
+    }
+
+    @Test
+    void stubAcceptsServerHashAndRejectsTamperedEncData() {
+        Payment payment = createPayment(PaymentStatus.PAID, 30000);
+
+        // 서버가 만든 encData (금액 조건 없음 -> amt 자리는 빈 문자열) 는 통과
+        Map<String, Object> pg = kispgPaymentService.fetchTransactionAtPg(payment.getTid(), null, null);
+        assertThat(pg.get("resultCd")).isEqualTo("0000");
+        assertThat(pg.get("amt")).isEqualTo("30000");
+
+        Map<String, String> tampered = new HashMap<>();
+        tampered.put("mid", STUB_MID);
+        tampered.put("tid", payment.getTid());
+        tampered.put("ediDate", "20010101000000");
+        tampered.put("encData", "0000000000000000000000000000000000000000000000000000000000000000");
+        ResponseEntity<Map> response = restTemplate.postForEntity("/api/v1/pg-stub/kispg/v2/order", tampered, Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).containsEntry("resultCd", "STUB_ENC");
+    }
+
+    @Test
+    void detectsEachMismatchType() {
+        Payment matched = createPayment(PaymentStatus.PAID, 10000);
+        Payment amount = createPayment(PaymentStatus.PAID, 20000);
+        Payment cancelledAtPg = createPayment(PaymentStatus.PAID, 30000);
+        Payment missing = createPayment(PaymentStatus.PAID, 40000);
+        Payment cancelled = createPayment(PaymentStatus.CANCELED, 50000);
+        override(amount.getTid(), "amt", "19000");
+        override(cancelledAtPg.getTid(), "cancelYN", "Y");
+        override(missing.getTid(), "resultCd", "3011");
+
+        PaymentReconcileRun run = engine.startRun(PERIOD_START, PERIOD_END, "integration-test");
+        runIds.add(run.getRunId());
+        PaymentReconcileRun finished = awaitFinished(run.getRunId());
+
+        assertThat(finished.getStatus()).isEqualTo(PaymentReconcileRun.STATUS_COMPLETED);
+        assertThat(finished.getScannedCount()).isEqualTo(5);
+        assertThat(finished.getMatchedCount()).isEqualTo(2);
+        assertThat(finished.getMismatchedCount()).isEqualTo(3);
+        Map<Long, String> types = mismatchTypes(run.getRunId());
+        assertThat(types).containsOnlyKeys(amount.getId(), cancelledAtPg.getId(), missing.getId());
+        assertThat(types.get(amount.getId())).isEqualTo(PaymentReconcileMismatch.TYPE_AMOUNT);
+        assertThat(types.get(cancelledAtPg.getId())).isEqualTo(PaymentReconcileMismatch.TYPE_STATUS);
+        assertThat(types.get(missing.getId())).isEqualTo(PaymentReconcileMismatch.TYPE_MISSING_AT_PG);
+        assertThat(types).doesNotContainKeys(matched.getId(), cancelled.getId());
+    }
+
+    @Test
+    void resumesCrashedRunFromCheckpointWithoutDuplicates() {
+        Payment first = createPayment(PaymentStatus.PAID, 10000);
+        Payment second = createPayment(PaymentStatus.PAID, 20000);
+        Payment third = createPayment(PaymentStatus.PAID, 30000);
+        Payment fourth = createPayment(PaymentStatus.PAID, 40000);
+        Payment fifth = createPayment(PaymentStatus.PAID, 50000);
+        override(second.getTid(), "amt", "1");
+        override(fourth.getTid(), "amt", "2");
+
+        // 첫 배치(first, second)를 저장한 직후 노드가 죽어 RUNNING 으로 남은 실행
+        LocalDateTime crashedAt = LocalDateTime.now().minusHours(1);
+        PaymentReconcileRun crashed = runRepository.save(PaymentReconcileRun.builder()
+                .periodStart(PERIOD_START)
+                .periodEnd(PERIOD_END)
+                .status(PaymentReconcileRun.STATUS_RUNNING)
+                .totalCount(5)
+                .checkpointPaymentId(second.getId())
+                .scannedCount(2)
+                .matchedCount(1)
+                .mismatchedCount(1)
+                .skippedCount(0)
+                .createdBy("integration-test")
+                .startedAt(crashedAt)
+                .updatedAt(crashedAt)
+                .build());
+        runIds.add(crashed.getRunId());
+        mismatchRepository.save(PaymentReconcileMismatch.builder()
+                .runId(crashed.getRunId())
+                .paymentId(second.getId())
+                .tid(second.getTid())
+                .moid(second.getMoid())
+                .mismatchType(PaymentReconcileMismatch.TYPE_AMOUNT)
+                .dbStatus(PaymentStatus.PAID.name())
+                .dbAmount(20000)
+                .pgAmount(1)
+                .createdAt(crashedAt)
+                .build());
+
+        engine.resumeRun(crashed.getRunId());
+        PaymentReconcileRun finished = awaitFinished(crashed.getRunId());
+
+        assertThat(finished.getStatus()).isEqualTo(PaymentReconcileRun.STATUS_COMPLETED);
+        assertThat(finished.getScannedCount()).isEqualTo(5);
+        assertThat(finished.getMatchedCount()).isEqualTo(3);
+        assertThat(finished.getMismatchedCount()).isEqualTo(2);
+        assertThat(finished.getCheckpointPaymentId()).isEqualTo(fifth.getId());
+        // second 는 재개 전에 기록된 한 건만, fourth 는 재개 후 새로 기록
+        Map<Long, String> types = mismatchTypes(crashed.getRunId());
+        assertThat(types).containsOnlyKeys(second.getId(), fourth.getId());
+        assertThat(types).doesNotContainKeys(first.getId(), third.getId(), fifth.getId());
+    }
+
+    private Payment createPayment(PaymentStatus status, int amount) {
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 20);
+        Payment payment = paymentRepository.save(Payment.builder()
+                .enroll(enrollRepository.getReferenceById(enrollId))
+                .status(status)
+                .tid("STUBIT" + suffix)
+                .moid("stub-it-" + suffix)
+                .paidAmt(amount)
+                .refundedAmt(0)
+                .payMethod("CARD")
+                .build());
+        paymentIds.add(payment.getId());
+        // 생성일은 @PrePersist 가 현재 시각으로 채우므로 테스트 기간으로 옮김
+        jdbcTemplate.update("UPDATE payment SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(PERIOD_START.plusDays(paymentIds.size()).atStartOfDay()), payment.getId());
+        return payment;
+    }
+
+    private void override(String key, String field, String value) {
+        restTemplate.put("/api/v1/pg-stub/kispg/transactions/" + key, Collections.singletonMap(field, value));
+    }
+
+    private PaymentReconcileRun awaitFinished(Long runId) {
+        long deadline = System.currentTimeMillis() + 30000;
+        while (System.currentTimeMillis() < deadline) {
+            PaymentReconcileRun run = engine.getRun(runId);
+            if (!PaymentReconcileRun.STATUS_RUNNING.equals(run.getStatus())) {
+                return run;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new AssertionError("Run " + runId + " did not finish in time");
+    }
+
+    private Map<Long, String> mismatchTypes(Long runId) {
+        return mismatchRepository.findByRunIdOrderByPaymentIdAsc(runId, PageRequest.of(0, 100)).getContent().stream()
+                .collect(Collectors.toMap(PaymentReconcileMismatch::getPaymentId,
+                        PaymentReconcileMismatch::getMismatchType));
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}